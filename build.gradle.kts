@@ -14,7 +14,7 @@ layout.buildDirectory.set(file("build"))
 
 java {
 	toolchain {
-		languageVersion.set(JavaLanguageVersion.of(17))
+		languageVersion.set(JavaLanguageVersion.of(21))
 	}
 }
 
@@ -62,6 +62,27 @@ dependencies {
 
 tasks.test {
 	useJUnitPlatform()
+	// Simulated scripts run without a screen, so the mouse overlay is skipped
+	systemProperty("java.awt.headless", "true")
+}
+
+// Wall-clock benchmarks live apart from the unit tests, so a loaded machine can't fail the build.
+// They are compiled and checked with everything else, and run one at a time, e.g.
+// gradle benchmark -Pbenchmark=com.chromascape.utils.core.input.distribution.ClickDistributionBenchmark
+val benchmarkSourceSet = sourceSets.create("benchmark") {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[benchmarkSourceSet.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[benchmarkSourceSet.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+tasks.register<JavaExec>("benchmark") {
+	group = "verification"
+	description = "Runs the benchmark class named by the 'benchmark' project property"
+	classpath = benchmarkSourceSet.runtimeClasspath
+	mainClass.set(providers.gradleProperty("benchmark"))
+	systemProperty("java.awt.headless", "true")
 }
 
 checkstyle {
@@ -0,0 +1,81 @@
+package com.chromascape.utils.core.input.distribution;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import org.apache.commons.math3.distribution.MultivariateNormalDistribution;
+import org.apache.commons.math3.random.MersenneTwister;
+
+/**
+ * Compares the throughput of {@link ClickDistribution} with the rejection sampler it replaced,
+ * which built a commons-math {@link MultivariateNormalDistribution} for every point and drew from
+ * it until the rounded point fell inside. Distribution equivalence is checked by {@code
+ * ClickDistributionTest}; this only reports timings.
+ */
+public final class ClickDistributionBenchmark {
+
+  private static final int SAMPLES = 200_000;
+  private static final int WARMUP_ROUNDS = 3;
+  private static final double TIGHTNESS = 4;
+
+  /** Shared generator, as in the old implementation. */
+  private static final MersenneTwister RNG = new MersenneTwister();
+
+  private ClickDistributionBenchmark() {}
+
+  /**
+   * Runs the comparison and prints the time each sampler took.
+   *
+   * @param args Ignored.
+   */
+  public static void main(String[] args) {
+    Rectangle rect = new Rectangle(0, 0, 36, 32);
+    int[] xs = new int[SAMPLES];
+    int[] ys = new int[SAMPLES];
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      timeReference(rect, SAMPLES / 10);
+      timeSingle(rect, SAMPLES / 10);
+      ClickDistribution.fillPoints(rect, TIGHTNESS, xs, ys);
+    }
+
+    long referenceNanos = timeReference(rect, SAMPLES);
+    long singleNanos = timeSingle(rect, SAMPLES);
+    long start = System.nanoTime();
+    ClickDistribution.fillPoints(rect, TIGHTNESS, xs, ys);
+    long batchNanos = System.nanoTime() - start;
+
+    System.out.printf(
+        "%d points in %s: rejection %.1fns, generateRandomPoint %.1fns, fillPoints %.1fns each%n",
+        SAMPLES,
+        rect.width + "x" + rect.height,
+        (double) referenceNanos / SAMPLES,
+        (double) singleNanos / SAMPLES,
+        (double) batchNanos / SAMPLES);
+  }
+
+  /** Times the old implementation. */
+  private static long timeReference(Rectangle rect, int count) {
+    double stdDevX = rect.width / TIGHTNESS;
+    double stdDevY = rect.height / TIGHTNESS;
+    double[] mean = {rect.getCenterX(), rect.getCenterY()};
+    double[][] covariance = {{stdDevX * stdDevX, 0}, {0, stdDevY * stdDevY}};
+    long start = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      MultivariateNormalDistribution mnd =
+          new MultivariateNormalDistribution(RNG, mean, covariance);
+      Point point;
+      do {
+        double[] sample = mnd.sample();
+        point = new Point((int) Math.round(sample[0]), (int) Math.round(sample[1]));
+      } while (!rect.contains(point));
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static long timeSingle(Rectangle rect, int count) {
+    long start = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      ClickDistribution.generateRandomPoint(rect, TIGHTNESS);
+    }
+    return System.nanoTime() - start;
+  }
+}
@@ -0,0 +1,71 @@
+package com.chromascape.utils.core.runtime;
+
+import com.chromascape.utils.core.runtime.Workers.Mode;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * Measures the cost of handing control between two threads on platform and virtual threads, which
+ * is what a script and its input or WebSocket threads do all the time. The thread counts each mode
+ * needs are checked by {@code WorkersTest}; this only reports timings.
+ */
+public final class WorkersBenchmark {
+
+  private static final int ROUND_TRIPS = 20_000;
+  private static final int WARMUP_ROUNDS = 2;
+
+  private WorkersBenchmark() {}
+
+  /**
+   * Runs the handoff in both modes and prints the time per round trip.
+   *
+   * @param args Ignored.
+   * @throws Exception If either side of a handoff fails.
+   */
+  public static void main(String[] args) throws Exception {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      pingPong(Mode.PLATFORM, ROUND_TRIPS / 10);
+      pingPong(Mode.VIRTUAL, ROUND_TRIPS / 10);
+    }
+
+    long platformNanos = pingPong(Mode.PLATFORM, ROUND_TRIPS);
+    long virtualNanos = pingPong(Mode.VIRTUAL, ROUND_TRIPS);
+
+    System.out.printf(
+        "%d round trips: platform %.2fus, virtual %.2fus per round trip%n",
+        ROUND_TRIPS, platformNanos / 1000.0 / ROUND_TRIPS, virtualNanos / 1000.0 / ROUND_TRIPS);
+  }
+
+  /** Bounces a token between two threads over a synchronous queue. */
+  private static long pingPong(Mode mode, int roundTrips) throws Exception {
+    SynchronousQueue<Integer> ping = new SynchronousQueue<>();
+    SynchronousQueue<Integer> pong = new SynchronousQueue<>();
+    ExecutorService executor = Workers.newBlockingExecutor(mode, "ping");
+    try {
+      Future<?> echo =
+          executor.submit(
+              () -> {
+                for (int i = 0; i < roundTrips; i++) {
+                  pong.put(ping.take());
+                }
+                return null;
+              });
+      Future<Long> result =
+          executor.submit(
+              () -> {
+                long start = System.nanoTime();
+                for (int i = 0; i < roundTrips; i++) {
+                  ping.put(i);
+                  pong.take();
+                }
+                return System.nanoTime() - start;
+              });
+      long elapsed = result.get();
+      echo.get();
+      return elapsed;
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
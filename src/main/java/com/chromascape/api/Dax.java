@@ -1,5 +1,6 @@
 package com.chromascape.api;
 
+import com.chromascape.utils.core.runtime.Workers;
 import com.chromascape.utils.core.runtime.exception.DaxAuthException;
 import com.chromascape.utils.core.runtime.exception.DaxException;
 import com.chromascape.utils.core.runtime.exception.DaxRateLimitException;
@@ -19,7 +20,26 @@ public class Dax {
   private static final String WALKER_ENDPOINT = "https://walker.dax.cloud/walker/generatePath";
 
   private final HttpClient client =
-      HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_2)
+          .executor(Workers.newBlockingExecutor("dax-http"))
+          .build();
+
+  private final URI endpoint;
+
+  /** Constructs a client for the public DAX Walker API. */
+  public Dax() {
+    this(URI.create(WALKER_ENDPOINT));
+  }
+
+  /**
+   * Constructs a client for a DAX compatible endpoint, e.g. a local stub in tests.
+   *
+   * @param endpoint The full URI of the generatePath endpoint.
+   */
+  public Dax(URI endpoint) {
+    this.endpoint = endpoint;
+  }
 
   /**
    * Sends a pathfinding request to the DAX Walker API.
@@ -49,7 +69,7 @@ public class Dax {
 
     HttpRequest request =
         HttpRequest.newBuilder()
-            .uri(URI.create(WALKER_ENDPOINT))
+            .uri(endpoint)
             .header("Content-Type", "application/json")
             .header("Accept", "application/json")
             .header("key", "sub_DPjXXzL5DeSiPf")
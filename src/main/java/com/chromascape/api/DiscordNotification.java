@@ -1,5 +1,6 @@
 package com.chromascape.api;
 
+import com.chromascape.utils.core.runtime.Workers;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -8,6 +9,7 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +29,7 @@ import org.slf4j.LoggerFactory;
 public class DiscordNotification {
 
   private static final Logger logger = LoggerFactory.getLogger(DiscordNotification.class);
+  private static final ExecutorService sender = Workers.newBlockingExecutor("discord");
   private static String webhookUrl;
 
   static {
@@ -43,13 +46,24 @@ public class DiscordNotification {
    * Sends a user specified message to a Discord WebHook endpoint. Sets up a post request and
    * expects a 204 response code for success.
    *
+   * <p>The request is sent in the background, so a slow or unreachable webhook never stalls the
+   * script; failures are logged.
+   *
    * @param message User specified String to send to the endpoint.
    */
   public static void send(String message) {
     if (webhookUrl == null || webhookUrl.isEmpty()) {
       return;
     }
+    sender.execute(() -> post(message));
+  }
 
+  /**
+   * Posts a message to the WebHook on the calling thread.
+   *
+   * @param message User specified String to send to the endpoint.
+   */
+  private static void post(String message) {
     String sanitizedMessage = message.replace("\"", "\\\"").replace("\n", "\\n");
     String jsonPayload = "{\"content\": \"" + sanitizedMessage + "\"}";
 
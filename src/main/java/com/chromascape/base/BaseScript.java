@@ -1,11 +1,21 @@
 package com.chromascape.base;
 
 import com.chromascape.controller.Controller;
+import com.chromascape.utils.core.runtime.ScriptContext;
 import com.chromascape.utils.core.runtime.exception.ScriptStoppedException;
 import com.chromascape.utils.core.state.BotState;
 import com.chromascape.utils.core.state.StateManager;
+import com.chromascape.utils.core.statistics.StageProfiler;
 import com.chromascape.utils.core.statistics.StatisticsManager;
+import com.chromascape.utils.core.statistics.WaitStatistics;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.PollPolicies;
+import com.chromascape.utils.core.timing.PollPolicy;
+import com.chromascape.utils.core.timing.TimerService;
+import com.chromascape.utils.core.timing.TimerService.Precision;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -42,6 +52,8 @@ public abstract class BaseScript {
     scriptThread = Thread.currentThread();
     controller.init();
     StatisticsManager.reset();
+    StageProfiler.current().reset();
+    WaitStatistics.current().reset();
 
     try {
       while (running) {
@@ -50,7 +62,7 @@ public abstract class BaseScript {
           logger.info("Thread interrupted, exiting.");
           break;
         }
-        try {
+        try (StageProfiler.Span span = StageProfiler.start(StageProfiler.CYCLE)) {
           cycle();
         } catch (ScriptStoppedException e) {
           logger.error("Cycle interrupted: {}", e.getMessage());
@@ -91,15 +103,17 @@ public abstract class BaseScript {
    * Pauses the current thread for the specified number of milliseconds.
    *
    * <p>If the sleep is interrupted, this method throws ScriptStoppedException to enable immediate
-   * stopping.
+   * stopping. Waits go through the script context's {@link Clock}, normally the shared {@link
+   * TimerService} so their accuracy is measured alongside input playback. Under a virtual clock
+   * they return at once.
    *
    * @param ms the duration to sleep in milliseconds
    * @throws ScriptStoppedException if the thread is interrupted during sleep
    */
   public static void waitMillis(long ms) {
     StateManager.setState(BotState.WAITING);
-    try {
-      Thread.sleep(ms);
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.WAIT)) {
+      ScriptContext.current().clock().sleep(TimeUnit.MILLISECONDS.toNanos(ms), Precision.COARSE);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt(); // Restore interrupt status
       throw new ScriptStoppedException();
@@ -124,6 +138,69 @@ public abstract class BaseScript {
     waitMillis(ThreadLocalRandom.current().nextLong(min, max + 1));
   }
 
+  /**
+   * Polls a condition until it is true or the timeout elapses, with the poll timing decided by a
+   * {@link PollPolicy}. Equivalent to {@link #waitUntil(String, BooleanSupplier, long, PollPolicy)}
+   * with the name {@code "waitUntil"}.
+   *
+   * @param condition The condition, evaluated on the calling thread.
+   * @param timeoutMillis Maximum time to wait, in milliseconds.
+   * @param policy When to poll, e.g. {@link PollPolicies#fixed(long)}.
+   * @return {@code true} if the condition became true, {@code false} on timeout.
+   * @throws ScriptStoppedException if the thread is interrupted while waiting
+   */
+  public static boolean waitUntil(
+      BooleanSupplier condition, long timeoutMillis, PollPolicy policy) {
+    return waitUntil("waitUntil", condition, timeoutMillis, policy);
+  }
+
+  /**
+   * Polls a condition until it is true or the timeout elapses, with the poll timing decided by a
+   * {@link PollPolicy}.
+   *
+   * <p>The condition is evaluated once immediately and once more at the deadline, so a timeout
+   * always reflects a final check. The time to detection and number of polls are recorded in {@link
+   * WaitStatistics} under {@code name}, and reported to the policy so adaptive policies can learn.
+   *
+   * @param name Identifies the condition in the wait statistics, e.g. {@code "xp drop"}.
+   * @param condition The condition, evaluated on the calling thread.
+   * @param timeoutMillis Maximum time to wait, in milliseconds.
+   * @param policy When to poll, e.g. {@link PollPolicies#adaptive()}.
+   * @return {@code true} if the condition became true, {@code false} on timeout.
+   * @throws ScriptStoppedException if the thread is interrupted while waiting
+   */
+  public static boolean waitUntil(
+      String name, BooleanSupplier condition, long timeoutMillis, PollPolicy policy) {
+    Clock clock = ScriptContext.current().clock();
+    long start = clock.nanoTime();
+    long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    int polls = 0;
+    while (true) {
+      checkInterrupted();
+      polls++;
+      boolean satisfied = condition.getAsBoolean();
+      long now = clock.nanoTime();
+      if (satisfied || now - deadline >= 0) {
+        policy.onFinished(satisfied, now - start);
+        WaitStatistics.record(name, satisfied, now - start, polls);
+        return satisfied;
+      }
+      long next = policy.nextPollNanos(start, polls, now);
+      sleepUntil(clock, next - deadline < 0 ? next : deadline);
+    }
+  }
+
+  /** Sleeps until a time on a clock, as {@link #waitMillis(long)} does for a duration. */
+  private static void sleepUntil(Clock clock, long nanos) {
+    StateManager.setState(BotState.WAITING);
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.WAIT)) {
+      clock.sleepUntil(nanos, Precision.COARSE);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // Restore interrupt status
+      throw new ScriptStoppedException();
+    }
+  }
+
   /**
    * Checks if the current thread has been interrupted and throws ScriptStoppedException if so. Call
    * this method frequently in your cycle implementation, especially in loops.
@@ -2,10 +2,19 @@ package com.chromascape.controller;
 
 import com.chromascape.utils.core.input.keyboard.VirtualKeyboardUtils;
 import com.chromascape.utils.core.input.mouse.VirtualMouseUtils;
+import com.chromascape.utils.core.input.remoteinput.InputSink;
 import com.chromascape.utils.core.input.remoteinput.Kinput;
+import com.chromascape.utils.core.perception.PerceptionService;
+import com.chromascape.utils.core.runtime.ScriptContext;
 import com.chromascape.utils.core.screen.window.ScreenManager;
 import com.chromascape.utils.core.screen.window.WindowHandler;
+import com.chromascape.utils.core.statistics.StageProfiler;
+import com.chromascape.utils.core.statistics.WaitStatistics;
+import com.chromascape.utils.core.timing.TickClock;
+import com.chromascape.utils.core.timing.TimerService;
 import com.chromascape.utils.domain.ocr.Ocr;
+import com.chromascape.utils.domain.walker.MinimapMotionDetector;
+import com.chromascape.utils.domain.walker.PositionTracker;
 import com.chromascape.utils.domain.walker.Walker;
 import com.chromascape.utils.domain.zones.ZoneManager;
 import org.apache.logging.log4j.LogManager;
@@ -34,7 +43,12 @@ public class Controller {
   private VirtualMouseUtils virtualMouseUtils;
   private VirtualKeyboardUtils virtualKeyboardUtils;
   private ZoneManager zoneManager;
+  private TickClock tickClock;
+  private PerceptionService perception;
+  private MinimapMotionDetector minimapMotion;
+  private PositionTracker positionTracker;
   private Walker walker;
+  private volatile String lastIdleMessage = "";
   private static final Logger logger = LogManager.getLogger(Controller.class);
 
   /** Constructs a new Controller instance. */
@@ -61,8 +75,14 @@ public class Controller {
     }
 
     logger.info("Setting up Remote Input Library...");
-    // Obtain process ID of the target window to initialize input injection
-    kinput = new Kinput(WindowHandler.getPid(WindowHandler.getTargetWindow()));
+    InputSink inputSink = ScriptContext.current().getInputSink();
+    if (inputSink != null) {
+      // The context stands in for the client, e.g. a simulated game
+      kinput = new Kinput(inputSink);
+    } else {
+      // Obtain process ID of the target window to initialize input injection
+      kinput = new Kinput(WindowHandler.getPid(ScriptContext.current().targetWindow()));
+    }
 
     // Initialize virtual input utilities with current window bounds and fullscreen status
     logger.info("Initialising mouse and keyboard utils...");
@@ -77,6 +97,20 @@ public class Controller {
 
     state = ControllerState.RUNNING;
 
+    // Tick phase is learned from tile changes and minimap movement as they are observed
+    tickClock = new TickClock();
+
+    // Shared capture loop for waits, started lazily when something first waits on a signal
+    perception = new PerceptionService();
+
+    // Position tracking runs on its own thread, started lazily on first read, and only OCRs the
+    // Tile zone when the minimap shows the player may have moved
+    minimapMotion = new MinimapMotionDetector(this);
+    minimapMotion.setTickClock(tickClock);
+    positionTracker = new PositionTracker(this);
+    positionTracker.setMotionDetector(minimapMotion);
+    positionTracker.setTickClock(tickClock);
+
     // Initialises a walker to provide the script with Walking functionality through the DAX API
     walker = new Walker(this);
     logger.info("Controller State: {}", state);
@@ -89,7 +123,25 @@ public class Controller {
    * utilities until re-initialized.
    */
   public void shutdown() {
-    mouse().getMouseOverlay().eraseOverlay();
+    positionTracker.stop();
+    perception.stop();
+    walker.shutdown();
+    tickClock.shutdown();
+    logger.info(
+        "Mouse dispatch latency: {}, coalesced {}",
+        mouse().getDispatcher().getLatency().summaryMillis(),
+        mouse().getDispatcher().getCoalescedCount());
+    logger.info("Timer service: {}", TimerService.getDefault().summary());
+    if (kinput.getNativeLatency() != null) {
+      logger.info("Kinput native latency: {}", kinput.getNativeLatency().summary());
+    }
+    logger.info("Mouse pre-positioning: {}", mouse().prepositioner().summary());
+    mouse().shutdown();
+    logger.info("Stage profile:{}", StageProfiler.current().summary());
+    logger.info("Waits:{}", WaitStatistics.current().summary());
+    if (mouse().getMouseOverlay() != null) {
+      mouse().getMouseOverlay().eraseOverlay();
+    }
     kinput.destroy();
     state = ControllerState.STOPPED;
     logger.info("Shutting down");
@@ -131,6 +183,62 @@ public class Controller {
     return zoneManager;
   }
 
+  /**
+   * Provides access to the player position tracker.
+   *
+   * <p>The tracker reads the Grid Info "Tile" zone on a background thread, so the latest position
+   * can be read without a capture and OCR pass on the calling thread.
+   *
+   * @return The PositionTracker instance.
+   * @throws IllegalStateException if called while the controller is not running.
+   */
+  public PositionTracker positionTracker() {
+    assertRunning("PositionTracker");
+    return positionTracker;
+  }
+
+  /**
+   * Provides access to the game tick clock.
+   *
+   * <p>The clock estimates where server ticks fall from observed state changes, so scripts can wait
+   * for a point in the tick rather than a fixed delay.
+   *
+   * @return The TickClock instance.
+   * @throws IllegalStateException if called while the controller is not running.
+   */
+  public TickClock tickClock() {
+    assertRunning("TickClock");
+    return tickClock;
+  }
+
+  /**
+   * Provides access to the perception service.
+   *
+   * <p>The service captures the client once per frame and runs the detectors scripts are waiting
+   * on, so waits share captures instead of each polling for themselves.
+   *
+   * @return The PerceptionService instance.
+   * @throws IllegalStateException if called while the controller is not running.
+   */
+  public PerceptionService perception() {
+    assertRunning("PerceptionService");
+    return perception;
+  }
+
+  /**
+   * Provides access to the minimap motion detector.
+   *
+   * <p>The detector compares successive minimap captures to tell whether the player is moving,
+   * without reading the Tile zone.
+   *
+   * @return The MinimapMotionDetector instance.
+   * @throws IllegalStateException if called while the controller is not running.
+   */
+  public MinimapMotionDetector minimapMotion() {
+    assertRunning("MinimapMotionDetector");
+    return minimapMotion;
+  }
+
   /**
    * Provides access to the walker domain utility.
    *
@@ -141,6 +249,25 @@ public class Controller {
     return walker;
   }
 
+  /**
+   * Returns the timestamp of the last idle chat message this script acted on, so a later wait only
+   * returns on a newer one. Kept per controller, since each script reads its own client's chat.
+   *
+   * @return The timestamp, or an empty string if none has been seen.
+   */
+  public String getLastIdleMessage() {
+    return lastIdleMessage;
+  }
+
+  /**
+   * Records the timestamp of an idle chat message this script has acted on.
+   *
+   * @param lastIdleMessage The message's timestamp.
+   */
+  public void setLastIdleMessage(String lastIdleMessage) {
+    this.lastIdleMessage = lastIdleMessage;
+  }
+
   /**
    * Checks that the controller is currently running before allowing access to any stateful utility,
    * logging and throwing an exception if not.
@@ -2,16 +2,21 @@ package com.chromascape.scripts;
 
 import com.chromascape.api.DiscordNotification;
 import com.chromascape.base.BaseScript;
+import com.chromascape.utils.actions.Detectors;
 import com.chromascape.utils.actions.Minimap;
 import com.chromascape.utils.actions.MovingObject;
 import com.chromascape.utils.actions.PointSelector;
+import com.chromascape.utils.core.input.mouse.MousePrepositioner;
+import com.chromascape.utils.core.perception.PerceptionEvent;
 import com.chromascape.utils.core.screen.colour.ColourObj;
+import com.chromascape.utils.core.screen.topology.ChromaObj;
 import com.chromascape.utils.core.screen.topology.ColourContours;
+import com.chromascape.utils.core.timing.TickClock;
 import java.awt.Point;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import org.apache.logging.log4j.LogManager;
@@ -120,7 +125,8 @@ public class DemoAgilityScript extends BaseScript {
 
     // Humanizing sleep to mimic natural player behavior
     // And to prevent overloading moving object logic
-    waitRandomMillis(650, 800);
+    // Lands a little into the next tick rather than a fixed delay after the XP drop was seen
+    controller().tickClock().awaitTickOffset(random.nextInt(50, 200));
 
     // 1% chance to take a break between 2 and 5 minutes after clicking an obstacle
     if (random.nextInt(100) < 1) {
@@ -190,22 +196,51 @@ public class DemoAgilityScript extends BaseScript {
   /**
    * Blocks execution until the Total XP value changes or the timeout is reached.
    *
+   * <p>The XP is read by the shared perception loop, which reads it every frame while this waits.
+   *
    * @param previousXp the XP value captured before the action started
    */
   private void waitUntilXpChange(int previousXp) {
-    LocalDateTime endTime = LocalDateTime.now().plusSeconds(TIMEOUT_XP_CHANGE);
-    // Ensure we do not hang if the initial OCR read failed and returned an empty string
-    while (previousXp == Minimap.getXp(this) && LocalDateTime.now().isBefore(endTime)) {
-      waitMillis(300);
+    hintNextObstacle();
+    PerceptionEvent<Integer> event =
+        Detectors.xp(this).awaitChange(previousXp, TIMEOUT_XP_CHANGE * 1000L);
+    if (event != null) {
+      // XP drops land on a tick, which helps the clock calibrate
+      TickClock tickClock = controller().tickClock();
+      tickClock.observe(event.capturedAtNanos(), event.resolutionNanos());
+    }
+  }
+
+  /**
+   * Lets the mouse drift toward the obstacle most likely to be clicked next while the current one
+   * is being crossed: the highlighted obstacle closest to the centre, other than the one just
+   * clicked. Skipped entirely when pre-positioning is off, to save the capture.
+   */
+  private void hintNextObstacle() {
+    MousePrepositioner prepositioner = controller().mouse().prepositioner();
+    if (!prepositioner.isEnabled()) {
+      return;
+    }
+    Point lastTarget = controller().mouse().getLastTarget();
+    BufferedImage gameView = controller().zones().getGameView();
+    List<ChromaObj> obstacles = ColourContours.getChromaObjsInColour(gameView, OBSTACLE_COLOUR);
+    try {
+      List<ChromaObj> candidates =
+          obstacles.stream()
+              .filter(obj -> lastTarget == null || !obj.boundingBox().contains(lastTarget))
+              .toList();
+      if (!candidates.isEmpty()) {
+        prepositioner.hint(ColourContours.getChromaObjClosestToCentre(candidates).boundingBox());
+      }
+    } finally {
+      obstacles.forEach(ChromaObj::release);
     }
   }
 
   /** Blocks execution until the obstacle highlight appears or the timeout is reached. */
   private void waitForObstacleToAppear() {
-    LocalDateTime endTime = LocalDateTime.now().plusSeconds(TIMEOUT_OBSTACLE_APPEAR);
-    while (!isObstacleVisible() && LocalDateTime.now().isBefore(endTime)) {
-      waitMillis(300);
-    }
+    Detectors.colourPresent(this, OBSTACLE_COLOUR)
+        .await(Boolean.TRUE::equals, TIMEOUT_OBSTACLE_APPEAR * 1000L);
   }
 
   /**
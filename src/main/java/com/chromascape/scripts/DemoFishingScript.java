@@ -4,16 +4,19 @@ import com.chromascape.base.BaseScript;
 import com.chromascape.utils.actions.Idler;
 import com.chromascape.utils.actions.ItemDropper;
 import com.chromascape.utils.actions.PointSelector;
+import com.chromascape.utils.core.runtime.ScriptContext;
 import com.chromascape.utils.core.screen.colour.ColourInstances;
 import com.chromascape.utils.core.screen.colour.ColourObj;
 import com.chromascape.utils.core.screen.topology.MatchResult;
 import com.chromascape.utils.core.screen.topology.TemplateMatching;
 import com.chromascape.utils.core.screen.window.ScreenManager;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.PollPolicies;
 import com.chromascape.utils.domain.ocr.Ocr;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -79,17 +82,21 @@ public class DemoFishingScript extends BaseScript {
    * Queries {@link DemoFishingScript#getCurrentWorldPos()} every tick until the player has stopped
    * moving or the WALK_TIMEOUT_SECONDS is reached. Blocks execution of the script until either
    * condition is met.
+   *
+   * <p>Polls are kept a little over a tick apart, so a moving player is always on a new tile.
    */
   private void waitUntilStoppedMoving() {
-    LocalDateTime end = LocalDateTime.now().plusSeconds(WALK_TIMEOUT_SECONDS);
-    String currentTile = getCurrentWorldPos();
-    while (LocalDateTime.now().isBefore(end)) {
-      waitMillis(650);
-      if (currentTile.equals(getCurrentWorldPos())) {
-        return;
-      }
-      currentTile = getCurrentWorldPos();
-    }
+    String[] lastTile = {null};
+    waitUntil(
+        "stopped moving",
+        () -> {
+          String tile = getCurrentWorldPos();
+          boolean stopped = tile.equals(lastTile[0]);
+          lastTile[0] = tile;
+          return stopped;
+        },
+        WALK_TIMEOUT_SECONDS * 1000L,
+        PollPolicies.fixed(650));
   }
 
   /**
@@ -184,8 +191,9 @@ public class DemoFishingScript extends BaseScript {
    * have elapsed.
    */
   private void waitUntilStoppedFishing() {
-    LocalDateTime end = LocalDateTime.now().plusSeconds(IDLE_TIMEOUT_SECONDS);
-    while (LocalDateTime.now().isBefore(end)) {
+    Clock clock = ScriptContext.current().clock();
+    long end = clock.nanoTime() + TimeUnit.SECONDS.toNanos(IDLE_TIMEOUT_SECONDS);
+    while (clock.nanoTime() - end < 0) {
       if (Idler.waitUntilIdle(this, 3)) {
         return;
       }
@@ -2,6 +2,7 @@ package com.chromascape.scripts;
 
 import com.chromascape.base.BaseScript;
 import com.chromascape.utils.actions.Idler;
+import com.chromascape.utils.actions.InventoryScanner;
 import com.chromascape.utils.actions.ItemDropper;
 import com.chromascape.utils.actions.PointSelector;
 import com.chromascape.utils.core.screen.topology.TemplateMatching;
@@ -9,6 +10,7 @@ import com.chromascape.utils.core.screen.window.ScreenManager;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -44,7 +46,31 @@ public class DemoMiningScript extends BaseScript {
     }
     clickOre();
     waitRandomMillis(800, 1000);
-    Idler.waitUntilIdle(this, 20);
+    Rectangle dropHint = nextDropHint();
+    if (dropHint != null) {
+      Idler.waitUntilIdle(this, 20, dropHint);
+    } else {
+      Idler.waitUntilIdle(this, 20);
+    }
+  }
+
+  /**
+   * Returns the inventory as a pre-positioning hint if the ore being mined will fill it, so
+   * dropping comes next. The inventory is only captured when pre-positioning is enabled.
+   *
+   * @return The inventory bounds, or {@code null} if there is nothing to hint.
+   */
+  private Rectangle nextDropHint() {
+    if (!controller().mouse().prepositioner().isEnabled()) {
+      return null;
+    }
+    List<Rectangle> slots = controller().zones().getInventorySlots();
+    if (!InventoryScanner.readOccupancy(slots)[slots.size() - 2]) {
+      return null;
+    }
+    Rectangle inventory = new Rectangle(slots.get(0));
+    slots.forEach(inventory::add);
+    return inventory;
   }
 
   /**
@@ -0,0 +1,237 @@
+package com.chromascape.simulation;
+
+import com.chromascape.utils.core.input.remoteinput.Kinput;
+import com.chromascape.utils.core.timing.TickClock;
+import com.chromascape.utils.domain.zones.SubZoneMapper;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+
+/**
+ * A scripted mining game in a fixed-size client: a few rocks marked in {@link #ROCK_COLOUR} in the
+ * game view, and a 28 slot inventory.
+ *
+ * <p>Left-clicking a rock mines it for one to four game ticks, after which an ore appears in the
+ * first free inventory slot and the rock is depleted for {@value #RESPAWN_TICKS} ticks. Clicking
+ * anywhere else stops mining, as walking would. Left-clicking an ore while shift is held drops it.
+ * With a full inventory a rock can't be mined.
+ *
+ * <p>Ores are drawn with the user's {@code /images/user/Iron_ore.png} sprite if it is on the
+ * classpath, so template matching finds them as in game, and otherwise as a placeholder with the
+ * black outline the inventory scanner looks for. The chat box is drawn but never shows messages.
+ */
+public class MiningScene implements Scene {
+
+  /** Colour of a rock that can be mined, as a Cyan object highlight would draw it. */
+  public static final Color ROCK_COLOUR = new Color(0, 255, 255);
+
+  /** Ticks a depleted rock takes to respawn. */
+  public static final int RESPAWN_TICKS = 3;
+
+  private static final Dimension SIZE = new Dimension(765, 503);
+  private static final Rectangle CHAT = new Rectangle(0, 338, 519, 165);
+  private static final Rectangle INVENTORY = new Rectangle(548, 205, 217, 298);
+  private static final Rectangle MINIMAP = new Rectangle(570, 0, 195, 165);
+  private static final List<Rectangle> SLOTS = SubZoneMapper.mapInventory(INVENTORY);
+  private static final Rectangle[] ROCKS = {
+    new Rectangle(150, 140, 40, 32),
+    new Rectangle(260, 110, 40, 32),
+    new Rectangle(360, 170, 40, 32)
+  };
+
+  private static final Color GROUND = new Color(70, 90, 60);
+  private static final Color DEPLETED = new Color(90, 90, 90);
+  private static final Color PANEL = new Color(62, 53, 41);
+  private static final Color PARCHMENT = new Color(200, 190, 150);
+  private static final Color ORE = new Color(110, 70, 50);
+
+  private static final long TICK_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(TickClock.DEFAULT_PERIOD_MILLIS);
+  private static final int LEFT = Kinput.MouseButton.LEFT.id;
+  private static final int MOUSE_PRESS = Kinput.MouseEventType.MOUSE_PRESS.id;
+  private static final int KEY_PRESS = 401;
+  private static final int KEY_RELEASE = 402;
+  private static final int VK_SHIFT = 16;
+
+  private final BufferedImage oreSprite = loadSprite("/images/user/Iron_ore.png");
+  private final Random random;
+
+  // Game state, guarded by this
+  private final boolean[] inventory = new boolean[SLOTS.size()];
+  private final long[] depletedUntil = new long[ROCKS.length];
+  private int miningRock = -1;
+  private long minedAt;
+  private boolean shift;
+  private long oresMined;
+  private long oresDropped;
+
+  /** Constructs a scene with an empty inventory and every rock available. */
+  public MiningScene() {
+    this(new Random());
+  }
+
+  /**
+   * Constructs a scene with an empty inventory and every rock available.
+   *
+   * @param random Decides how long each rock takes to mine, seeded for repeatable runs.
+   */
+  public MiningScene(Random random) {
+    this.random = random;
+  }
+
+  @Override
+  public Dimension getSize() {
+    return new Dimension(SIZE);
+  }
+
+  @Override
+  public Rectangle locateUiElement(String templatePath) {
+    return switch (templatePath) {
+      case "/images/ui/chat.png" -> new Rectangle(CHAT);
+      case "/images/ui/inv.png" -> new Rectangle(INVENTORY);
+      case "/images/ui/minimap.png" -> new Rectangle(MINIMAP);
+      default -> null;
+    };
+  }
+
+  @Override
+  public synchronized void render(Graphics2D g, long nowNanos) {
+    update(nowNanos);
+    g.setColor(GROUND);
+    g.fillRect(0, 0, SIZE.width, SIZE.height);
+    for (int i = 0; i < ROCKS.length; i++) {
+      Rectangle rock = ROCKS[i];
+      g.setColor(nowNanos < depletedUntil[i] ? DEPLETED : ROCK_COLOUR);
+      g.fillOval(rock.x, rock.y, rock.width, rock.height);
+    }
+    g.setColor(Color.DARK_GRAY);
+    g.fillOval(MINIMAP.x, MINIMAP.y, MINIMAP.width, MINIMAP.height);
+    g.setColor(PARCHMENT);
+    g.fill(CHAT);
+    g.setColor(PANEL);
+    g.fill(INVENTORY);
+    for (int i = 0; i < inventory.length; i++) {
+      if (inventory[i]) {
+        drawOre(g, SLOTS.get(i));
+      }
+    }
+  }
+
+  @Override
+  public synchronized void mouseEvent(int eventId, int x, int y, int button, long nowNanos) {
+    if (eventId != MOUSE_PRESS || button != LEFT) {
+      return;
+    }
+    update(nowNanos);
+    Point click = new Point(x, y);
+    if (shift) {
+      for (int i = 0; i < SLOTS.size(); i++) {
+        if (inventory[i] && SLOTS.get(i).contains(click)) {
+          inventory[i] = false;
+          oresDropped++;
+        }
+      }
+      return;
+    }
+    miningRock = -1;
+    for (int i = 0; i < ROCKS.length; i++) {
+      if (ROCKS[i].contains(click) && nowNanos >= depletedUntil[i] && freeSlot() >= 0) {
+        miningRock = i;
+        minedAt = nowNanos + (1 + random.nextInt(4)) * TICK_NANOS;
+      }
+    }
+  }
+
+  @Override
+  public synchronized void keyEvent(int eventId, int keyCode, char keyChar, long nowNanos) {
+    if (keyCode == VK_SHIFT) {
+      if (eventId == KEY_PRESS) {
+        shift = true;
+      } else if (eventId == KEY_RELEASE) {
+        shift = false;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of ores that have entered the inventory.
+   *
+   * @return The ore count.
+   */
+  public synchronized long getOresMined() {
+    return oresMined;
+  }
+
+  /**
+   * Returns the number of ores dropped from the inventory.
+   *
+   * @return The drop count.
+   */
+  public synchronized long getOresDropped() {
+    return oresDropped;
+  }
+
+  /**
+   * Returns the inventory slots in client co-ordinates, as the zone manager maps them.
+   *
+   * @return The 28 slots.
+   */
+  public List<Rectangle> getInventorySlots() {
+    return SLOTS.stream().map(Rectangle::new).toList();
+  }
+
+  /** Finishes mining once its time has come. */
+  private void update(long nowNanos) {
+    if (miningRock < 0 || nowNanos < minedAt) {
+      return;
+    }
+    int slot = freeSlot();
+    if (slot >= 0) {
+      inventory[slot] = true;
+      oresMined++;
+    }
+    depletedUntil[miningRock] = minedAt + RESPAWN_TICKS * TICK_NANOS;
+    miningRock = -1;
+  }
+
+  private int freeSlot() {
+    for (int i = 0; i < inventory.length; i++) {
+      if (!inventory[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void drawOre(Graphics2D g, Rectangle slot) {
+    if (oreSprite != null) {
+      g.drawImage(
+          oreSprite,
+          slot.x + (slot.width - oreSprite.getWidth()) / 2,
+          slot.y + (slot.height - oreSprite.getHeight()) / 2,
+          null);
+      return;
+    }
+    g.setColor(ORE);
+    g.fillOval(slot.x + 8, slot.y + 6, 20, 18);
+    g.setColor(Color.BLACK);
+    g.drawOval(slot.x + 8, slot.y + 6, 20, 18);
+  }
+
+  private static BufferedImage loadSprite(String path) {
+    try (InputStream in = MiningScene.class.getResourceAsStream(path)) {
+      return in != null ? ImageIO.read(in) : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.chromascape.simulation;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+/**
+ * A scripted stand-in for the game, drawn into captures by a {@link SimulatedClient} and driven by
+ * the input a script sends it.
+ *
+ * <p>A scene keeps its own state and advances it from the times it is given, which come from the
+ * simulation's {@link VirtualClock}. All co-ordinates are client co-ordinates. Calls may come from
+ * more than one thread, e.g. captures from the script and moves from the mouse dispatcher, so
+ * implementations should be thread-safe.
+ */
+public interface Scene {
+
+  /**
+   * Returns the size of the client area.
+   *
+   * @return The size in pixels.
+   */
+  Dimension getSize();
+
+  /**
+   * Draws the whole client area as it looks at a point in time.
+   *
+   * @param g The graphics to draw on, covering the client area.
+   * @param nowNanos The current time on the simulation's clock.
+   */
+  void render(Graphics2D g, long nowNanos);
+
+  /**
+   * Handles a mouse event sent by the script.
+   *
+   * @param eventId The AWT event id, e.g. {@code 501} for a press.
+   * @param x The x co-ordinate.
+   * @param y The y co-ordinate.
+   * @param button The button, as in {@code Kinput.MouseButton}.
+   * @param nowNanos The current time on the simulation's clock.
+   */
+  default void mouseEvent(int eventId, int x, int y, int button, long nowNanos) {}
+
+  /**
+   * Handles a key event sent by the script.
+   *
+   * @param eventId The AWT event id, e.g. {@code 401} for a press.
+   * @param keyCode The virtual key code, or 0 for a typed character.
+   * @param keyChar The character, or 0 for a virtual key.
+   * @param nowNanos The current time on the simulation's clock.
+   */
+  default void keyEvent(int eventId, int keyCode, char keyChar, long nowNanos) {}
+
+  /**
+   * Returns where a UI element is drawn, so zones can be mapped without UI templates.
+   *
+   * @param templatePath The classpath of the UI template, e.g. {@code "/images/ui/inv.png"}.
+   * @return The element's bounds, or {@code null} if the scene doesn't draw it.
+   */
+  default Rectangle locateUiElement(String templatePath) {
+    return null;
+  }
+}
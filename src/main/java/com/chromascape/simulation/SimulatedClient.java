@@ -0,0 +1,201 @@
+package com.chromascape.simulation;
+
+import com.chromascape.utils.core.input.remoteinput.InputSink;
+import com.chromascape.utils.core.input.remoteinput.Kinput;
+import com.chromascape.utils.core.screen.window.ScreenSource;
+import com.chromascape.utils.core.timing.Clock;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stands in for a RuneLite client: captures are drawn from a {@link Scene}, and the input a script
+ * sends through {@link Kinput} is recorded and fed back into the same scene.
+ *
+ * <p>The scene is drawn at most once per point in time and input event, and captures are cropped
+ * from that frame, so the many small captures a cycle makes cost one draw between them.
+ */
+public class SimulatedClient implements ScreenSource, InputSink {
+
+  private static final int MOUSE_PRESS = Kinput.MouseEventType.MOUSE_PRESS.id;
+  private static final int MOUSE_MOVE = Kinput.MouseEventType.MOUSE_MOVE.id;
+
+  private final Scene scene;
+  private final Clock clock;
+  private final Rectangle bounds;
+
+  // Last drawn frame and what it was drawn for, guarded by this
+  private BufferedImage frame;
+  private long frameNanos;
+  private long frameVersion = -1;
+  private long version;
+  private boolean closed;
+
+  private final LongAdder renders = new LongAdder();
+  private final LongAdder captures = new LongAdder();
+  private final LongAdder moves = new LongAdder();
+  private final LongAdder presses = new LongAdder();
+  private final LongAdder keys = new LongAdder();
+
+  /**
+   * Constructs a client whose client area sits at the origin of the screen.
+   *
+   * @param scene The scene to draw and send input to.
+   * @param clock The clock that times the scene.
+   */
+  public SimulatedClient(Scene scene, Clock clock) {
+    this.scene = scene;
+    this.clock = clock;
+    Dimension size = scene.getSize();
+    this.bounds = new Rectangle(0, 0, size.width, size.height);
+  }
+
+  @Override
+  public Rectangle getWindowBounds() {
+    return new Rectangle(bounds);
+  }
+
+  @Override
+  public BufferedImage capture(Rectangle clientArea) {
+    captures.increment();
+    BufferedImage image =
+        new BufferedImage(
+            Math.max(1, clientArea.width),
+            Math.max(1, clientArea.height),
+            BufferedImage.TYPE_3BYTE_BGR);
+    Graphics2D g = image.createGraphics();
+    synchronized (this) {
+      g.drawImage(currentFrame(), -clientArea.x, -clientArea.y, null);
+    }
+    g.dispose();
+    return image;
+  }
+
+  @Override
+  public Rectangle locateUiElement(String templatePath) {
+    Rectangle element = scene.locateUiElement(templatePath);
+    if (element == null) {
+      return null;
+    }
+    element = new Rectangle(element);
+    element.translate(bounds.x, bounds.y);
+    return element;
+  }
+
+  @Override
+  public boolean focusEvent(int eventId) {
+    return !isClosed();
+  }
+
+  @Override
+  public boolean mouseEvent(
+      int eventId,
+      long when,
+      int modifiers,
+      int x,
+      int y,
+      int clickCount,
+      boolean popupTrigger,
+      int button) {
+    if (eventId == MOUSE_MOVE) {
+      moves.increment();
+    } else if (eventId == MOUSE_PRESS) {
+      presses.increment();
+    }
+    scene.mouseEvent(eventId, x, y, button, clock.nanoTime());
+    return inputReceived();
+  }
+
+  @Override
+  public boolean keyEvent(
+      int eventId, long when, int modifiers, int keyCode, char keyChar, int keyLocation) {
+    keys.increment();
+    scene.keyEvent(eventId, keyCode, keyChar, clock.nanoTime());
+    return inputReceived();
+  }
+
+  @Override
+  public synchronized boolean close() {
+    closed = true;
+    return true;
+  }
+
+  /**
+   * Returns whether the script has released its input, as it does on shutdown.
+   *
+   * @return true once {@link #close()} has been called.
+   */
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Returns the number of times the scene has been drawn.
+   *
+   * @return The draw count.
+   */
+  public long getRenderCount() {
+    return renders.sum();
+  }
+
+  /**
+   * Returns the number of captures taken, of the whole client or a zone.
+   *
+   * @return The capture count.
+   */
+  public long getCaptureCount() {
+    return captures.sum();
+  }
+
+  /**
+   * Returns the number of mouse moves received.
+   *
+   * @return The move count.
+   */
+  public long getMoveCount() {
+    return moves.sum();
+  }
+
+  /**
+   * Returns the number of mouse button presses received, i.e. clicks.
+   *
+   * @return The press count.
+   */
+  public long getPressCount() {
+    return presses.sum();
+  }
+
+  /**
+   * Returns the number of key events received.
+   *
+   * @return The key event count.
+   */
+  public long getKeyCount() {
+    return keys.sum();
+  }
+
+  /** Marks the current frame stale after input that may have changed the scene. */
+  private synchronized boolean inputReceived() {
+    version++;
+    return !closed;
+  }
+
+  /** Returns the frame for the current time and input, drawing it if needed. */
+  private synchronized BufferedImage currentFrame() {
+    long now = clock.nanoTime();
+    if (frame == null || frameNanos != now || frameVersion != version) {
+      if (frame == null) {
+        frame = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_3BYTE_BGR);
+      }
+      Graphics2D g = frame.createGraphics();
+      scene.render(g, now);
+      g.dispose();
+      renders.increment();
+      frameNanos = now;
+      frameVersion = version;
+    }
+    return frame;
+  }
+}
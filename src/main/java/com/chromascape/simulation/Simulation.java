@@ -0,0 +1,140 @@
+package com.chromascape.simulation;
+
+import com.chromascape.base.BaseScript;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.statistics.ScriptStatistics;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs a script headless against a {@link Scene}, on a {@link VirtualClock}, for a set number of
+ * cycles.
+ *
+ * <p>The script runs unchanged: it is given its own {@link ScriptContext} whose clock, screen
+ * source and input sink are the simulation's, so its captures are drawn from the scene, its input
+ * is fed back into the scene, and its waits, mouse paths and click delays return at once. This
+ * allows regression and performance testing of whole cycles without RuneLite, Windows or Kinput.
+ *
+ * <p>Scripts whose checks need assets the scene doesn't draw, such as chat OCR fonts, will find
+ * nothing to match and behave accordingly.
+ */
+public class Simulation {
+
+  private static final Logger logger = LogManager.getLogger(Simulation.class);
+  private static final AtomicInteger ids = new AtomicInteger();
+
+  private final VirtualClock clock = new VirtualClock();
+  private final SimulatedClient client;
+  private final ScriptContext context;
+
+  /**
+   * Constructs a simulation of a scene.
+   *
+   * @param scene The scene the script will see and act on.
+   */
+  public Simulation(Scene scene) {
+    this.client = new SimulatedClient(scene, clock);
+    this.context = new ScriptContext("simulation-" + ids.incrementAndGet(), 0);
+    context.setClock(clock);
+    context.setScreenSource(client);
+    context.setInputSink(client);
+  }
+
+  /**
+   * Runs a script until it has completed a number of cycles, stops itself, or runs out of real
+   * time. The script runs on a new thread bound to this simulation's context, and is stopped as
+   * {@link BaseScript#stop()} would stop it from the web UI.
+   *
+   * @param script A new script instance.
+   * @param cycles The number of cycles to run.
+   * @param timeoutMillis The longest real time to run for, in milliseconds.
+   * @return What the run achieved.
+   * @throws InterruptedException if the calling thread is interrupted while waiting for the script.
+   */
+  public SimulationReport run(BaseScript script, int cycles, long timeoutMillis)
+      throws InterruptedException {
+    ScriptStatistics statistics = context.statistics();
+    statistics.reset();
+    Thread thread = new Thread(() -> context.runWith(script::run), "Simulation-" + context.getId());
+    long clicks = client.getPressCount();
+    long moves = client.getMoveCount();
+    long keys = client.getKeyCount();
+    long captures = client.getCaptureCount();
+    long virtualStart = clock.nanoTime();
+    long wallStart = System.nanoTime();
+    long wallDeadline = wallStart + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    thread.start();
+
+    long allocated = -1;
+    boolean stopped = false;
+    while (thread.isAlive()) {
+      // A thread's allocation can only be read while it is alive, so keep the latest reading
+      long bytes = allocatedBytes(thread);
+      if (bytes >= 0) {
+        allocated = bytes;
+      }
+      if (!stopped && (statistics.getCycles() > cycles || System.nanoTime() > wallDeadline)) {
+        if (statistics.getCycles() <= cycles) {
+          logger.warn("Simulation timed out after {}ms", timeoutMillis);
+        }
+        script.stop();
+        stopped = true;
+      }
+      thread.join(1);
+    }
+
+    // The cycle the script was stopped in didn't complete
+    int completed = stopped ? Math.max(0, statistics.getCycles() - 1) : statistics.getCycles();
+    SimulationReport report =
+        new SimulationReport(
+            completed,
+            System.nanoTime() - wallStart,
+            clock.nanoTime() - virtualStart,
+            allocated,
+            client.getPressCount() - clicks,
+            client.getMoveCount() - moves,
+            client.getKeyCount() - keys,
+            client.getCaptureCount() - captures);
+    logger.info("Simulation: {}", report.summary());
+    return report;
+  }
+
+  /**
+   * Returns the simulation's clock, e.g. to let the scene's timers run out between runs.
+   *
+   * @return The clock.
+   */
+  public VirtualClock getClock() {
+    return clock;
+  }
+
+  /**
+   * Returns the client the script sees, with counts of the input it received.
+   *
+   * @return The simulated client.
+   */
+  public SimulatedClient getClient() {
+    return client;
+  }
+
+  /**
+   * Returns the context scripts run in, e.g. to read their statistics.
+   *
+   * @return The context.
+   */
+  public ScriptContext getContext() {
+    return context;
+  }
+
+  /** Reads a thread's total allocation, on JVMs that measure it. */
+  private static long allocatedBytes(Thread thread) {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+        && threads.isThreadAllocatedMemorySupported()) {
+      return threads.getThreadAllocatedBytes(thread.threadId());
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,78 @@
+package com.chromascape.simulation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a {@link Simulation} run achieved and what it cost.
+ *
+ * @param cycles Script cycles run.
+ * @param wallNanos Real time the run took, including controller start-up and shutdown.
+ * @param virtualNanos Time that passed on the simulation's clock, i.e. how long the same cycles
+ *     would have taken against a live client.
+ * @param allocatedBytes Bytes allocated by the script thread, or -1 if the JVM can't measure it.
+ * @param clicks Mouse button presses the script sent.
+ * @param moves Mouse moves the script sent.
+ * @param keys Key events the script sent.
+ * @param captures Captures the script took.
+ */
+public record SimulationReport(
+    int cycles,
+    long wallNanos,
+    long virtualNanos,
+    long allocatedBytes,
+    long clicks,
+    long moves,
+    long keys,
+    long captures) {
+
+  /**
+   * Returns the throughput of the run in real time.
+   *
+   * @return Cycles per real minute.
+   */
+  public double cyclesPerMinute() {
+    return wallNanos == 0 ? 0 : cycles * (double) TimeUnit.MINUTES.toNanos(1) / wallNanos;
+  }
+
+  /**
+   * Returns how much faster than a live client the run went.
+   *
+   * @return Simulated time divided by real time.
+   */
+  public double speedup() {
+    return wallNanos == 0 ? 0 : (double) virtualNanos / wallNanos;
+  }
+
+  /**
+   * Returns the mean allocation per cycle.
+   *
+   * @return Bytes per cycle, or -1 if allocation wasn't measured.
+   */
+  public double allocatedBytesPerCycle() {
+    if (allocatedBytes < 0) {
+      return -1;
+    }
+    return cycles == 0 ? 0 : (double) allocatedBytes / cycles;
+  }
+
+  /**
+   * Formats the report for logging.
+   *
+   * @return A one line summary.
+   */
+  public String summary() {
+    return String.format(
+        "%d cycles in %.1fs (%.0f/min, %.0fx real time, %.1fs simulated), %.1fKB/cycle, "
+            + "%d clicks, %d moves, %d keys, %d captures",
+        cycles,
+        wallNanos / 1e9,
+        cyclesPerMinute(),
+        speedup(),
+        virtualNanos / 1e9,
+        allocatedBytesPerCycle() / 1024,
+        clicks,
+        moves,
+        keys,
+        captures);
+  }
+}
@@ -0,0 +1,83 @@
+package com.chromascape.simulation;
+
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.TimerService.Precision;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Clock} whose time only moves when something sleeps on it. A sleep returns at once, having
+ * moved the clock forward to its deadline, so a script's waits, mouse paths and click delays take
+ * no real time while everything that reads the clock sees them take exactly as long as asked.
+ *
+ * <p>Time never moves backwards: a sleep to a deadline that has already passed returns without
+ * moving it. The clock is thread-safe, but is designed for one script thread driving a simulation.
+ * When several threads sleep on it, each moves it forward for all of them.
+ */
+public class VirtualClock implements Clock {
+
+  private final long epochMillis;
+  private final AtomicLong nanos = new AtomicLong();
+  private final LongAdder sleeps = new LongAdder();
+
+  /** Constructs a clock reading zero nanoseconds, and the current wall-clock time. */
+  public VirtualClock() {
+    this(System.currentTimeMillis());
+  }
+
+  /**
+   * Constructs a clock reading zero nanoseconds.
+   *
+   * @param epochMillis The wall-clock time it starts at, in milliseconds since the Unix epoch.
+   */
+  public VirtualClock(long epochMillis) {
+    this.epochMillis = epochMillis;
+  }
+
+  @Override
+  public long nanoTime() {
+    return nanos.get();
+  }
+
+  @Override
+  public long currentTimeMillis() {
+    return epochMillis + nanos.get() / 1_000_000L;
+  }
+
+  /**
+   * Moves the clock forward to the deadline and returns at once.
+   *
+   * @param deadlineNanos The deadline.
+   * @param precision Ignored, since a virtual sleep is always exact.
+   * @throws InterruptedException if the calling thread is interrupted, with its interrupt status
+   *     cleared.
+   */
+  @Override
+  public void sleepUntil(long deadlineNanos, Precision precision) throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    sleeps.increment();
+    nanos.accumulateAndGet(deadlineNanos, Math::max);
+  }
+
+  /**
+   * Moves the clock forward without sleeping, e.g. to let a scene's timers run out.
+   *
+   * @param nanos How far to move, in nanoseconds. Negative values are ignored.
+   */
+  public void advance(long nanos) {
+    if (nanos > 0) {
+      this.nanos.addAndGet(nanos);
+    }
+  }
+
+  /**
+   * Returns the number of sleeps taken on this clock.
+   *
+   * @return The sleep count.
+   */
+  public long getSleepCount() {
+    return sleeps.sum();
+  }
+}
@@ -0,0 +1,124 @@
+package com.chromascape.utils.actions;
+
+import com.chromascape.base.BaseScript;
+import com.chromascape.utils.core.perception.Frame;
+import com.chromascape.utils.core.perception.PerceptionService;
+import com.chromascape.utils.core.perception.Signal;
+import com.chromascape.utils.core.screen.colour.ColourObj;
+import com.chromascape.utils.core.screen.topology.ChromaObj;
+import com.chromascape.utils.core.screen.topology.ColourContours;
+import com.chromascape.utils.domain.ocr.Ocr;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.List;
+import org.bytedeco.opencv.opencv_core.Scalar;
+
+/**
+ * Standard {@link Signal}s on the script's {@link PerceptionService}.
+ *
+ * <ul>
+ *   <li>{@link #xp(BaseScript)} reads the total XP beside the minimap.
+ *   <li>{@link #latestChat(BaseScript, ColourObj)} reads the latest chat line in one colour.
+ *   <li>{@link #colourPresent(BaseScript, ColourObj)} reports whether a colour is in the game view.
+ *   <li>{@link #inventory(BaseScript)} reports which inventory slots are occupied.
+ * </ul>
+ *
+ * <p>Each signal is registered under a fixed name, so every caller shares one detector. Colour
+ * signals share the masked game view of each frame, so waiting on several colours masks it once.
+ */
+public final class Detectors {
+
+  private static final ColourObj black =
+      new ColourObj("black", new Scalar(0, 0, 0, 0), new Scalar(0, 0, 0, 0));
+
+  private Detectors() {}
+
+  /**
+   * The latest chat line in one colour, with the timestamp it was posted at.
+   *
+   * @param timestamp The black timestamp text, which tells repeated messages apart.
+   * @param text The text in the requested colour, without spaces.
+   */
+  public record ChatLine(String timestamp, String text) {}
+
+  /**
+   * Returns the total XP signal.
+   *
+   * @param script The current running script (typically pass {@code this})
+   * @return A signal of the XP, skipping frames where it can't be read.
+   */
+  public static Signal<Integer> xp(BaseScript script) {
+    return perception(script).register("xp", frame -> Minimap.getXp(script, frame));
+  }
+
+  /**
+   * Returns a signal of the "Latest Message" chat zone, read in a given colour.
+   *
+   * @param script The current running script (typically pass {@code this})
+   * @param colour The colour of the text to read, e.g. the red of the Idle Notifier plugin.
+   * @return A signal of the latest line.
+   */
+  public static Signal<ChatLine> latestChat(BaseScript script, ColourObj colour) {
+    return perception(script)
+        .register(
+            "chat:" + colour.name(),
+            frame -> {
+              Rectangle zone = script.controller().zones().getChatTabs().get("Latest Message");
+              BufferedImage line = frame.region(zone);
+              return new ChatLine(
+                  Ocr.extractText(line, "Plain 12", black, true),
+                  Ocr.extractText(line, "Plain 12", colour, true));
+            });
+  }
+
+  /**
+   * Returns a signal of whether a colour appears in the game view, such as an object highlight.
+   *
+   * @param script The current running script (typically pass {@code this})
+   * @param colour The colour to look for.
+   * @return A signal that is {@code true} while at least one contour of the colour is visible.
+   */
+  public static Signal<Boolean> colourPresent(BaseScript script, ColourObj colour) {
+    return perception(script)
+        .register(
+            "colour:" + colour.name(),
+            frame -> {
+              List<ChromaObj> objs =
+                  ColourContours.getChromaObjsInColour(gameView(script, frame), colour);
+              objs.forEach(ChromaObj::release);
+              return !objs.isEmpty();
+            });
+  }
+
+  /**
+   * Returns a signal of the occupied inventory slots.
+   *
+   * @param script The current running script (typically pass {@code this})
+   * @return A signal with one bit per slot, set where an item was found.
+   */
+  public static Signal<BitSet> inventory(BaseScript script) {
+    return perception(script)
+        .register(
+            "inventory",
+            frame -> {
+              boolean[] occupied =
+                  InventoryScanner.readOccupancy(
+                      script.controller().zones().getInventorySlots(), frame);
+              BitSet bits = new BitSet(occupied.length);
+              for (int i = 0; i < occupied.length; i++) {
+                bits.set(i, occupied[i]);
+              }
+              return bits;
+            });
+  }
+
+  /** Returns the frame's game view with the UI zones masked out, shared between detectors. */
+  private static BufferedImage gameView(BaseScript script, Frame frame) {
+    return frame.derive("gameView", f -> script.controller().zones().maskGameView(f.image()));
+  }
+
+  private static PerceptionService perception(BaseScript script) {
+    return script.controller().perception();
+  }
+}
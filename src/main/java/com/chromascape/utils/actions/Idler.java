@@ -1,11 +1,10 @@
 package com.chromascape.utils.actions;
 
 import com.chromascape.base.BaseScript;
+import com.chromascape.utils.actions.Detectors.ChatLine;
+import com.chromascape.utils.core.perception.PerceptionEvent;
 import com.chromascape.utils.core.screen.colour.ColourObj;
-import com.chromascape.utils.domain.ocr.Ocr;
 import java.awt.Rectangle;
-import java.time.Duration;
-import java.time.Instant;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bytedeco.opencv.opencv_core.Scalar;
@@ -15,14 +14,15 @@ import org.bytedeco.opencv.opencv_core.Scalar;
  *
  * <p>This class provides functionality to pause execution for a given amount of time, or until the
  * game client indicates the player has become idle again through a chat message.
+ *
+ * <p>While waiting, the mouse's {@link com.chromascape.utils.core.input.mouse.MousePrepositioner}
+ * (if enabled) is told where the next action is likely to be, so the cursor can drift there in the
+ * meantime.
  */
 public class Idler {
 
   private static final Logger logger = LogManager.getLogger(Idler.class);
-  private static volatile String lastMessage = "";
 
-  private static final ColourObj black =
-      new ColourObj("black", new Scalar(0, 0, 0, 0), new Scalar(0, 0, 0, 0));
   private static final ColourObj chatRed =
       new ColourObj("chatRed", new Scalar(177, 229, 239, 0), new Scalar(179, 240, 240, 0));
 
@@ -34,28 +34,49 @@ public class Idler {
    * message containing the substring {@code "idle"} or {@code "moving"}, which typically appears
    * when using the Idle Notifier plugin
    *
+   * <p>The next action is assumed to be on the same target as the last one, as when mining or
+   * fishing.
+   *
    * @param base the active {@link BaseScript} instance, usually passed as {@code this}
    * @param timeoutSeconds the maximum number of seconds to remain idle before continuing
    * @return {@code true} if the idle message was found, {@code false} if the timeout was reached
    */
   public static boolean waitUntilIdle(BaseScript base, int timeoutSeconds) {
+    base.controller().mouse().prepositioner().hintLastTarget();
+    return awaitIdleMessage(base, timeoutSeconds);
+  }
+
+  /**
+   * Waits like {@link #waitUntilIdle(BaseScript, int)}, with an explicit region where the next
+   * action is expected, e.g. the inventory panel when it is about to fill up.
+   *
+   * @param base the active {@link BaseScript} instance, usually passed as {@code this}
+   * @param timeoutSeconds the maximum number of seconds to remain idle before continuing
+   * @param nextTarget the screen region the next action is likely to be in
+   * @return {@code true} if the idle message was found, {@code false} if the timeout was reached
+   */
+  public static boolean waitUntilIdle(BaseScript base, int timeoutSeconds, Rectangle nextTarget) {
+    base.controller().mouse().prepositioner().hint(nextTarget);
+    return awaitIdleMessage(base, timeoutSeconds);
+  }
+
+  /** Waits on the shared chat signal for a new idle message. */
+  private static boolean awaitIdleMessage(BaseScript base, int timeoutSeconds) {
     // Initial wait to prevent race condition to previous idle message.
     BaseScript.waitMillis(600);
     BaseScript.checkInterrupted();
-    Instant start = Instant.now();
-    Instant deadline = start.plus(Duration.ofSeconds(timeoutSeconds));
-    while (Instant.now().isBefore(deadline)) {
-      // Throttle wait to reduce lag, this is enough.
-      BaseScript.waitMillis(300);
-      Rectangle latestMessage = base.controller().zones().getChatTabs().get("Latest Message");
-      String idleText = Ocr.extractText(latestMessage, "Plain 12", chatRed, true);
-      String timeStamp = Ocr.extractText(latestMessage, "Plain 12", black, true);
-      if ((idleText.contains("moving") || idleText.contains("idle"))
-          && !timeStamp.equals(lastMessage)) {
-        lastMessage = timeStamp;
-        return true;
-      }
+    String lastMessage = base.controller().getLastIdleMessage();
+    PerceptionEvent<ChatLine> event =
+        Detectors.latestChat(base, chatRed)
+            .await(
+                line ->
+                    (line.text().contains("moving") || line.text().contains("idle"))
+                        && !line.timestamp().equals(lastMessage),
+                timeoutSeconds * 1000L);
+    if (event == null) {
+      return false;
     }
-    return false;
+    base.controller().setLastIdleMessage(event.value().timestamp());
+    return true;
   }
 }
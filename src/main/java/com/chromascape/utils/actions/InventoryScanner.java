@@ -0,0 +1,105 @@
+package com.chromascape.utils.actions;
+
+import com.chromascape.utils.core.perception.Frame;
+import com.chromascape.utils.core.screen.window.ScreenManager;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Reads which inventory slots hold an item from a single capture of the inventory panel.
+ *
+ * <p>Every item sprite is drawn with a black outline, while the inventory background is a brown
+ * texture with no pixels anywhere near black. A slot counts as occupied when it contains at least
+ * {@link #MIN_OUTLINE_PIXELS} near-black pixels. This needs no templates, so it works for any item.
+ */
+public class InventoryScanner {
+
+  /** Highest channel value of a pixel that counts as part of an item outline. */
+  private static final int OUTLINE_MAX_CHANNEL = 16;
+
+  /** Outline pixels needed for a slot to count as occupied, to ignore stray dark pixels. */
+  private static final int MIN_OUTLINE_PIXELS = 8;
+
+  private InventoryScanner() {}
+
+  /**
+   * Captures the area spanned by the slots once and reports which of them are occupied.
+   *
+   * @param slots The inventory slot bounds in screen co-ordinates, e.g. from {@code
+   *     controller().zones().getInventorySlots()}.
+   * @return One flag per slot, in the same order, {@code true} where an item was found.
+   */
+  public static boolean[] readOccupancy(List<Rectangle> slots) {
+    if (slots.isEmpty()) {
+      return new boolean[0];
+    }
+    Rectangle panel = panelOf(slots);
+    return readOccupancy(slots, panel, ScreenManager.captureZone(panel));
+  }
+
+  /**
+   * Reports which slots are occupied in a frame that has already been captured.
+   *
+   * @param slots The inventory slot bounds in screen co-ordinates.
+   * @param frame The frame to read them from.
+   * @return One flag per slot, in the same order, {@code true} where an item was found.
+   */
+  public static boolean[] readOccupancy(List<Rectangle> slots, Frame frame) {
+    if (slots.isEmpty()) {
+      return new boolean[0];
+    }
+    Rectangle panel = panelOf(slots);
+    return readOccupancy(slots, panel, frame.region(panel));
+  }
+
+  /** Checks each slot in a capture of the panel. */
+  private static boolean[] readOccupancy(
+      List<Rectangle> slots, Rectangle panel, BufferedImage image) {
+    boolean[] occupied = new boolean[slots.size()];
+    for (int i = 0; i < slots.size(); i++) {
+      Rectangle slot = slots.get(i);
+      occupied[i] = isOccupied(image, slot.x - panel.x, slot.y - panel.y, slot.width, slot.height);
+    }
+    return occupied;
+  }
+
+  /** Returns the smallest rectangle containing every slot. */
+  private static Rectangle panelOf(List<Rectangle> slots) {
+    Rectangle panel = new Rectangle(slots.get(0));
+    for (Rectangle slot : slots) {
+      panel.add(slot);
+    }
+    return panel;
+  }
+
+  /**
+   * Counts outline pixels in one slot of a panel capture.
+   *
+   * @param image The capture of the whole panel.
+   * @param x The slot's left edge within the capture.
+   * @param y The slot's top edge within the capture.
+   * @param width The slot width.
+   * @param height The slot height.
+   * @return {@code true} if the slot holds an item.
+   */
+  static boolean isOccupied(BufferedImage image, int x, int y, int width, int height) {
+    int maxX = Math.min(image.getWidth(), x + width);
+    int maxY = Math.min(image.getHeight(), y + height);
+    int outlinePixels = 0;
+    for (int py = Math.max(0, y); py < maxY; py++) {
+      for (int px = Math.max(0, x); px < maxX; px++) {
+        int rgb = image.getRGB(px, py);
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = rgb & 0xFF;
+        if (r <= OUTLINE_MAX_CHANNEL && g <= OUTLINE_MAX_CHANNEL && b <= OUTLINE_MAX_CHANNEL) {
+          if (++outlinePixels >= MIN_OUTLINE_PIXELS) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -2,11 +2,13 @@ package com.chromascape.utils.actions;
 
 import com.chromascape.base.BaseScript;
 import com.chromascape.utils.core.input.distribution.ClickDistribution;
+import com.chromascape.utils.core.input.mouse.MovementCostModel;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.logging.log4j.LogManager;
@@ -15,6 +17,10 @@ import org.apache.logging.log4j.Logger;
 /**
  * An actions utility - a utility that does commonly repeated tasks found in bot scripts. This
  * utility provides functionality for dropping items using human-like patterns.
+ *
+ * <p>Before dropping, the inventory is captured once with {@link InventoryScanner} and empty slots
+ * are left out of the plan, so a half-full inventory costs half the clicks. If the scan finds no
+ * items at all, e.g. under a client theme it can't read, every slot is clicked as before.
  */
 public class ItemDropper {
 
@@ -26,6 +32,19 @@ public class ItemDropper {
 
   private static final int INVENTORY_SIZE = 28;
 
+  /** Speed profile used to move between slots. */
+  private static final String DROP_SPEED = "fast";
+
+  /** Average time spent on each slot besides moving: the click hold plus the wait after it. */
+  private static final double DROP_OVERHEAD_MILLIS = 65 + 65;
+
+  /**
+   * How much further than the nearest remaining slot the next slot in a {@link
+   * DropPattern#NEAREST_NEIGHBOUR} tour may be. 0.35 allows both the horizontal and vertical
+   * neighbour of a slot, but not a diagonal.
+   */
+  private static final double NEIGHBOUR_SLACK = 0.35;
+
   /** Defines the order in which items should be dropped. */
   public enum DropPattern {
 
@@ -38,7 +57,14 @@ public class ItemDropper {
      * <p>Drops pairs of items vertically (e.g., 0 then 4, 1 then 5) moving across, then moves to
      * the next set of two rows, imo this looks most human.
      */
-    ZIGZAG
+    ZIGZAG,
+
+    /**
+     * Starts at the occupied slot nearest the cursor and repeatedly moves to a nearby remaining
+     * slot, chosen at random among those almost as close as the nearest. This keeps total cursor
+     * travel close to the shortest tour while never repeating the exact same order.
+     */
+    NEAREST_NEIGHBOUR
   }
 
   /**
@@ -65,7 +91,25 @@ public class ItemDropper {
 
     logger.info("Dropping all items using pattern: {}", pattern);
 
-    List<Integer> slotsToDrop = generateSlotIndices(pattern);
+    List<Rectangle> slots = baseScript.controller().zones().getInventorySlots();
+    boolean[] occupied = InventoryScanner.readOccupancy(slots);
+    if (!anyOccupied(occupied)) {
+      // Dropping from an empty inventory is rare, misreading one is likelier, so click every slot
+      logger.warn("Inventory scan found no items, dropping from every slot");
+      Arrays.fill(occupied, true);
+    }
+    for (int slotIndex : exclude) {
+      if (slotIndex >= 0 && slotIndex < occupied.length) {
+        occupied[slotIndex] = false;
+      }
+    }
+    Point start = baseScript.controller().mouse().getCurrentPosition();
+    List<Integer> slotsToDrop = planDrops(pattern, slots, occupied, start);
+    if (slotsToDrop.isEmpty()) {
+      logger.info("No items to drop.");
+      return;
+    }
+    logExpectedTimes(pattern, slotsToDrop, slots, occupied, start);
 
     // Start Shift-Drop
     baseScript.controller().keyboard().sendModifierKey(KEY_PRESS, "shift");
@@ -73,18 +117,10 @@ public class ItemDropper {
 
     try {
       for (int slotIndex : slotsToDrop) {
-        if (slotIndex >= baseScript.controller().zones().getInventorySlots().size()) {
-          continue;
-        }
-
-        if (Arrays.stream(exclude).anyMatch(x -> x == slotIndex)) {
-          continue;
-        }
-
-        Rectangle slotZone = baseScript.controller().zones().getInventorySlots().get(slotIndex);
+        Rectangle slotZone = slots.get(slotIndex);
         Point clickPoint = ClickDistribution.generateRandomPoint(slotZone);
 
-        baseScript.controller().mouse().moveTo(clickPoint, "fast");
+        baseScript.controller().mouse().moveTo(clickPoint, DROP_SPEED);
         baseScript.controller().mouse().leftClick();
         BaseScript.waitRandomMillis(40, 90);
       }
@@ -94,6 +130,126 @@ public class ItemDropper {
     }
   }
 
+  private static boolean anyOccupied(boolean[] occupied) {
+    for (boolean slot : occupied) {
+      if (slot) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Orders the occupied slots for dropping.
+   *
+   * @param pattern The pattern strategy.
+   * @param slots The inventory slot bounds.
+   * @param occupied Which slots hold an item that should be dropped.
+   * @param start The cursor position before the first drop.
+   * @return The slot indices to click, in order.
+   */
+  private static List<Integer> planDrops(
+      DropPattern pattern, List<Rectangle> slots, boolean[] occupied, Point start) {
+    if (pattern == DropPattern.NEAREST_NEIGHBOUR) {
+      return nearestNeighbourOrder(slots, occupied, start);
+    }
+    List<Integer> order = new ArrayList<>();
+    for (int slotIndex : generateSlotIndices(pattern)) {
+      if (slotIndex < occupied.length && occupied[slotIndex]) {
+        order.add(slotIndex);
+      }
+    }
+    return order;
+  }
+
+  /**
+   * Builds a {@link DropPattern#NEAREST_NEIGHBOUR} tour over the occupied slots.
+   *
+   * @param slots The inventory slot bounds.
+   * @param occupied Which slots hold an item that should be dropped.
+   * @param start The cursor position before the first drop.
+   * @return The slot indices to click, in order.
+   */
+  private static List<Integer> nearestNeighbourOrder(
+      List<Rectangle> slots, boolean[] occupied, Point start) {
+    List<Integer> remaining = new ArrayList<>();
+    for (int i = 0; i < occupied.length; i++) {
+      if (occupied[i]) {
+        remaining.add(i);
+      }
+    }
+
+    List<Integer> order = new ArrayList<>(remaining.size());
+    List<Integer> candidates = new ArrayList<>();
+    double currentX = start.x;
+    double currentY = start.y;
+    while (!remaining.isEmpty()) {
+      double nearest = Double.MAX_VALUE;
+      for (int slotIndex : remaining) {
+        nearest = Math.min(nearest, distance(currentX, currentY, slots.get(slotIndex)));
+      }
+      candidates.clear();
+      for (int slotIndex : remaining) {
+        if (distance(currentX, currentY, slots.get(slotIndex)) <= nearest * (1 + NEIGHBOUR_SLACK)) {
+          candidates.add(slotIndex);
+        }
+      }
+      Integer next = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+      remaining.remove(next);
+      order.add(next);
+      currentX = slots.get(next).getCenterX();
+      currentY = slots.get(next).getCenterY();
+    }
+    return order;
+  }
+
+  /**
+   * Estimates how long dropping slots in a given order takes: the expected mouse travel between
+   * slot centres from {@link MovementCostModel} plus a fixed overhead per click.
+   *
+   * @param order The slot indices to click, in order.
+   * @param slots The inventory slot bounds.
+   * @param start The cursor position before the first drop.
+   * @return The expected duration in milliseconds.
+   */
+  public static double estimateDropMillis(List<Integer> order, List<Rectangle> slots, Point start) {
+    MovementCostModel model = MovementCostModel.getDefault();
+    double total = 0;
+    double currentX = start.x;
+    double currentY = start.y;
+    for (int slotIndex : order) {
+      Rectangle slot = slots.get(slotIndex);
+      total += model.travelMillis(distance(currentX, currentY, slot), DROP_SPEED);
+      total += DROP_OVERHEAD_MILLIS;
+      currentX = slot.getCenterX();
+      currentY = slot.getCenterY();
+    }
+    return total;
+  }
+
+  /** Logs the expected time of the chosen plan next to the other patterns. */
+  private static void logExpectedTimes(
+      DropPattern chosen,
+      List<Integer> plan,
+      List<Rectangle> slots,
+      boolean[] occupied,
+      Point start) {
+    StringBuilder summary = new StringBuilder();
+    for (DropPattern pattern : DropPattern.values()) {
+      List<Integer> order = pattern == chosen ? plan : planDrops(pattern, slots, occupied, start);
+      if (summary.length() > 0) {
+        summary.append(", ");
+      }
+      summary.append(
+          String.format("%s %.1fs", pattern, estimateDropMillis(order, slots, start) / 1000));
+    }
+    logger.info("Dropping {} items, expected time: {}", plan.size(), summary);
+  }
+
+  private static double distance(double x, double y, Rectangle slot) {
+    return Math.hypot(slot.getCenterX() - x, slot.getCenterY() - y);
+  }
+
   /**
    * Generates a list of inventory slot indices based on the selected pattern.
    *
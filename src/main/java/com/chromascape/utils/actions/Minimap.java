@@ -1,6 +1,7 @@
 package com.chromascape.utils.actions;
 
 import com.chromascape.base.BaseScript;
+import com.chromascape.utils.core.perception.Frame;
 import com.chromascape.utils.core.screen.colour.ColourObj;
 import com.chromascape.utils.domain.ocr.Ocr;
 import java.awt.Rectangle;
@@ -88,4 +89,19 @@ public class Minimap {
     String xpText = Ocr.extractText(xpZone, "Plain 12", white, true);
     return Integer.parseInt(xpText.trim().replace(",", ""));
   }
+
+  /**
+   * Reads the current XP from a frame that has already been captured, e.g. by a {@link
+   * com.chromascape.utils.core.perception.Detector}.
+   *
+   * @param script The current running script (typically pass {@code this})
+   * @param frame The frame to read from
+   * @return the XP integer
+   * @throws NumberFormatException if the XP could not be read
+   */
+  public static int getXp(BaseScript script, Frame frame) {
+    Rectangle xpZone = script.controller().zones().getMinimap().get("totalXP");
+    String xpText = Ocr.extractText(frame.region(xpZone), "Plain 12", white, true);
+    return Integer.parseInt(xpText.trim().replace(",", ""));
+  }
 }
@@ -1,6 +1,7 @@
 package com.chromascape.utils.actions;
 
 import com.chromascape.base.BaseScript;
+import com.chromascape.utils.core.runtime.Workers;
 import com.chromascape.utils.core.screen.colour.ColourInstances;
 import com.chromascape.utils.core.screen.colour.ColourObj;
 import com.chromascape.utils.core.screen.topology.TemplateMatching;
@@ -94,7 +95,7 @@ public class MovingObject {
       // Start calculating the NEXT point immediately
       // Running this in the background during the wait below
       CompletableFuture<Point> nextPointFuture =
-          CompletableFuture.supplyAsync(
+          Workers.supplyCpu(
               () -> {
                 BufferedImage futureView = baseScript.controller().zones().getGameView();
                 // Increased scan radius for retries to catch moving targets
@@ -28,6 +28,8 @@ import org.apache.logging.log4j.Logger;
  *   <li>Finds a random point inside the contour of the first detected object of a specified colour.
  *   <li>Supports both <b>heuristic-based</b> distributions (dynamic sizing) and <b>explicit
  *       tightness</b> control.
+ *   <li>Chooses between several detected objects with a pluggable {@link TargetSelector}, by
+ *       default the one closest to the screen centre.
  * </ul>
  *
  * <p>These utilities are commonly reused across scripts. The class does not perform any input
@@ -155,7 +157,11 @@ public class PointSelector {
       BufferedImage image, ColourObj colour, int maxAttempts) {
     // Defines which function to apply onto the rectangle found
     return findPointInColourInternal(
-        image, colour, maxAttempts, ClickDistribution::generateRandomPoint);
+        image,
+        colour,
+        maxAttempts,
+        ClickDistribution::generateRandomPoint,
+        TargetSelectors.closestToCentre());
   }
 
   /**
@@ -175,7 +181,61 @@ public class PointSelector {
       BufferedImage image, ColourObj colour, int maxAttempts, double tightness) {
     // Defines which function to apply onto the rectangle found
     return findPointInColourInternal(
-        image, colour, maxAttempts, rect -> ClickDistribution.generateRandomPoint(rect, tightness));
+        image,
+        colour,
+        maxAttempts,
+        rect -> ClickDistribution.generateRandomPoint(rect, tightness),
+        TargetSelectors.closestToCentre());
+  }
+
+  /**
+   * Attempts to find a random point inside the contour of an object of the specified {@link
+   * ColourObj}, letting a {@link TargetSelector} choose which object when several are detected.
+   *
+   * <p>For example, {@code TargetSelectors.fastestToReach(controller().mouse(), "medium")} picks
+   * the object the mouse can reach soonest instead of the one closest to the player.
+   *
+   * @param image the image to search in
+   * @param colour the specific {@link ColourObj} to detect
+   * @param maxAttempts maximum number of re-rolls to find a point that falls exactly inside the
+   *     irregular contour
+   * @param selector chooses the object to sample a point from
+   * @return a random {@link Point} inside the contour, or {@code null} if not found or max attempts
+   *     exceeded
+   */
+  public static Point getRandomPointByColourObj(
+      BufferedImage image, ColourObj colour, int maxAttempts, TargetSelector selector) {
+    return findPointInColourInternal(
+        image, colour, maxAttempts, ClickDistribution::generateRandomPoint, selector);
+  }
+
+  /**
+   * Attempts to find a random point inside the contour of an object of the specified {@link
+   * ColourObj} using a specific Gaussian tightness, letting a {@link TargetSelector} choose which
+   * object when several are detected.
+   *
+   * @param image the image to search in
+   * @param colour the specific {@link ColourObj} to detect
+   * @param maxAttempts maximum number of re-rolls to find a point that falls exactly inside the
+   *     irregular contour
+   * @param tightness the distribution divisor. Higher values (e.g., 15.0) result in a tighter
+   *     cluster around the center
+   * @param selector chooses the object to sample a point from
+   * @return a random {@link Point} inside the contour, or {@code null} if not found or max attempts
+   *     exceeded
+   */
+  public static Point getRandomPointByColourObj(
+      BufferedImage image,
+      ColourObj colour,
+      int maxAttempts,
+      double tightness,
+      TargetSelector selector) {
+    return findPointInColourInternal(
+        image,
+        colour,
+        maxAttempts,
+        rect -> ClickDistribution.generateRandomPoint(rect, tightness),
+        selector);
   }
 
   /**
@@ -206,7 +266,8 @@ public class PointSelector {
       BufferedImage image,
       ColourObj colour,
       int maxAttempts,
-      Function<Rectangle, Point> pointGenerator) {
+      Function<Rectangle, Point> pointGenerator,
+      TargetSelector selector) {
 
     List<ChromaObj> objs;
     try {
@@ -222,8 +283,8 @@ public class PointSelector {
       return null;
     }
 
-    // Use the closest object to screen centre since only one object is desired
-    ChromaObj obj = ColourContours.getChromaObjClosestToCentre(objs);
+    // Only one object is desired, let the selector choose it
+    ChromaObj obj = selector.select(objs);
     try {
       int attempts = 0;
       // Generate initial point using the function provided (Heuristic or Tightness)
@@ -0,0 +1,22 @@
+package com.chromascape.utils.actions;
+
+import com.chromascape.utils.core.screen.topology.ChromaObj;
+import java.util.List;
+
+/**
+ * Chooses which of several detected objects to interact with.
+ *
+ * <p>{@link PointSelector} detects every object of a colour but only clicks one of them. Standard
+ * strategies are provided by {@link TargetSelectors}.
+ */
+@FunctionalInterface
+public interface TargetSelector {
+
+  /**
+   * Chooses one object.
+   *
+   * @param candidates The detected objects, never empty.
+   * @return One of the candidates.
+   */
+  ChromaObj select(List<ChromaObj> candidates);
+}
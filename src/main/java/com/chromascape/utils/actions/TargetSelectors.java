@@ -0,0 +1,109 @@
+package com.chromascape.utils.actions;
+
+import com.chromascape.utils.core.input.mouse.MovementCostModel;
+import com.chromascape.utils.core.input.mouse.VirtualMouseUtils;
+import com.chromascape.utils.core.screen.topology.ChromaObj;
+import com.chromascape.utils.core.screen.topology.ColourContours;
+import com.chromascape.utils.core.statistics.StatisticsManager;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Standard {@link TargetSelector} strategies.
+ *
+ * <ul>
+ *   <li>{@link #closestToCentre()} picks the object nearest the screen centre, i.e. the player. It
+ *       is the default, and usually the right choice when the player has to walk to the target.
+ *   <li>{@link #closestToCursor(VirtualMouseUtils)} picks the object nearest the mouse.
+ *   <li>{@link #fastestToReach(VirtualMouseUtils, String)} picks the object the mouse can reach
+ *       soonest according to a {@link MovementCostModel}, taking object size into account.
+ * </ul>
+ *
+ * <p>The cursor based strategies add the estimated travel time they saved over {@link
+ * #closestToCentre()} to {@link StatisticsManager#addTravelMillisSaved(long)}. A choice that costs
+ * more than the centre choice saves nothing; it is not counted as negative.
+ */
+public final class TargetSelectors {
+
+  private TargetSelectors() {}
+
+  /**
+   * Picks the object closest to the screen centre.
+   *
+   * @return The selector.
+   */
+  public static TargetSelector closestToCentre() {
+    return ColourContours::getChromaObjClosestToCentre;
+  }
+
+  /**
+   * Picks the object whose centre is closest to the current mouse position.
+   *
+   * @param mouse The mouse whose position is used.
+   * @return The selector.
+   */
+  public static TargetSelector closestToCursor(VirtualMouseUtils mouse) {
+    MovementCostModel model = MovementCostModel.getDefault();
+    return candidates -> {
+      Point cursor = mouse.getCurrentPosition();
+      ChromaObj chosen = minBy(candidates, obj -> cursor.distance(centre(obj.boundingBox())));
+      recordSaving(
+          candidates, chosen, obj -> model.expectedMillis(cursor, obj.boundingBox(), "medium"));
+      return chosen;
+    };
+  }
+
+  /**
+   * Picks the object with the lowest expected mouse travel time from the current position.
+   *
+   * @param mouse The mouse whose position is used.
+   * @param speed The speed profile the mouse will move with: "slow", "medium", "fast".
+   * @return The selector.
+   */
+  public static TargetSelector fastestToReach(VirtualMouseUtils mouse, String speed) {
+    MovementCostModel model = MovementCostModel.getDefault();
+    return candidates -> {
+      Point cursor = mouse.getCurrentPosition();
+      ToDoubleFunction<ChromaObj> cost =
+          obj -> model.expectedMillis(cursor, obj.boundingBox(), speed);
+      ChromaObj chosen = minBy(candidates, cost);
+      recordSaving(candidates, chosen, cost);
+      return chosen;
+    };
+  }
+
+  /**
+   * Records how much cheaper the chosen object is than the one {@link #closestToCentre()} would
+   * have picked, if anything.
+   */
+  private static void recordSaving(
+      List<ChromaObj> candidates, ChromaObj chosen, ToDoubleFunction<ChromaObj> cost) {
+    ChromaObj centreChoice = ColourContours.getChromaObjClosestToCentre(candidates);
+    if (centreChoice != chosen) {
+      long saved = Math.round(cost.applyAsDouble(centreChoice) - cost.applyAsDouble(chosen));
+      // closestToCursor chooses by raw distance, which the size penalty can make the dearer pick
+      if (saved > 0) {
+        StatisticsManager.addTravelMillisSaved(saved);
+      }
+    }
+  }
+
+  private static ChromaObj minBy(List<ChromaObj> candidates, ToDoubleFunction<ChromaObj> score) {
+    ChromaObj best = null;
+    double bestScore = Double.MAX_VALUE;
+    for (ChromaObj candidate : candidates) {
+      double candidateScore = score.applyAsDouble(candidate);
+      if (candidateScore < bestScore) {
+        bestScore = candidateScore;
+        best = candidate;
+      }
+    }
+    return best;
+  }
+
+  private static Point centre(Rectangle rect) {
+    return new Point((int) rect.getCenterX(), (int) rect.getCenterY());
+  }
+}
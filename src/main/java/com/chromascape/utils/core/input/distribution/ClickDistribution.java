@@ -2,24 +2,22 @@ package com.chromascape.utils.core.input.distribution;
 
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.security.SecureRandom;
-import org.apache.commons.math3.distribution.MultivariateNormalDistribution;
-import org.apache.commons.math3.random.MersenneTwister;
-import org.apache.commons.math3.random.RandomGenerator;
 
 /**
  * Utility class for generating biased, Gaussian-distributed click points within a rectangular UI
  * region.
  *
- * <p>Instead of uniformly sampling click coordinates, this utility uses a {@link
- * MultivariateNormalDistribution} centered within the given rectangle. This approach simulates
- * human-like behavior by favoring points near the center while still allowing edge hits.
+ * <p>Instead of uniformly sampling click coordinates, this utility uses a 2D normal distribution
+ * centered within the given rectangle. This approach simulates human-like behavior by favoring
+ * points near the center while still allowing edge hits.
+ *
+ * <p>The axes are uncorrelated, so each is drawn independently from a normal truncated to the
+ * rectangle by {@link TruncatedGaussianSampler}. This gives exactly the distribution of sampling
+ * the full 2D normal and resampling until the rounded point falls inside, without the retries or
+ * per-call allocation.
  */
 public class ClickDistribution {
 
-  /** Shared random generator with a secure, non-deterministic seed. */
-  private static final RandomGenerator rng = new MersenneTwister(new SecureRandom().nextLong());
-
   /**
    * Generates a pseudo-random {@link Point} within the specified {@link Rectangle}, following a 2D
    * normal (Gaussian) distribution biased toward the center using internal heuristics.
@@ -74,41 +72,64 @@ public class ClickDistribution {
     return samplePoint(rect, stdDevX, stdDevY);
   }
 
-  /** Internal helper to execute the sampling logic given specific standard deviations. */
-  private static Point samplePoint(Rectangle rect, double stdDevX, double stdDevY) {
-    MultivariateNormalDistribution mnd = getMultivariateNormalDistribution(rect, stdDevX, stdDevY);
-
-    Point randomPoint;
-    do {
-      double[] sample = mnd.sample();
-      randomPoint = new Point((int) Math.round(sample[0]), (int) Math.round(sample[1]));
-    } while (!rect.contains(randomPoint)); // Resample until within bounds
-
-    return randomPoint;
+  /**
+   * Fills two arrays with click points within the rectangle, using the default heuristic of {@link
+   * #generateRandomPoint(Rectangle)}. Nothing is allocated, so this suits generating many candidate
+   * points at once.
+   *
+   * @param rect the rectangular region to sample from
+   * @param xs receives the x co-ordinates
+   * @param ys receives the y co-ordinates; {@code min(xs.length, ys.length)} points are written
+   */
+  public static void fillPoints(Rectangle rect, int[] xs, int[] ys) {
+    double stdDevX = rect.width / deviation(rect.getWidth());
+    double stdDevY = rect.height / deviation(rect.getHeight());
+    fillPoints(rect, stdDevX, stdDevY, xs, ys);
   }
 
   /**
-   * Constructs a {@link MultivariateNormalDistribution} centered within the given rectangle using
-   * explicit standard deviations.
+   * Fills two arrays with click points within the rectangle, with a custom tightness factor as in
+   * {@link #generateRandomPoint(Rectangle, double)}.
    *
-   * @param rect the rectangle to derive center from
-   * @param stdDevX the standard deviation for the X axis
-   * @param stdDevY the standard deviation for the Y axis
-   * @return a 2D normal distribution configured with the provided spread
+   * @param rect the rectangular region to sample from
+   * @param tightness the factor by which to divide the dimension to get sigma. Must be positive.
+   * @param xs receives the x co-ordinates
+   * @param ys receives the y co-ordinates; {@code min(xs.length, ys.length)} points are written
+   * @throws IllegalArgumentException if tightness is less than or equal to zero
    */
-  private static MultivariateNormalDistribution getMultivariateNormalDistribution(
-      Rectangle rect, double stdDevX, double stdDevY) {
-
-    double meanX = rect.getX() + rect.getWidth() / 2.0;
-    double meanY = rect.getY() + rect.getHeight() / 2.0;
-    double[] mean = {meanX, meanY};
+  public static void fillPoints(Rectangle rect, double tightness, int[] xs, int[] ys) {
+    if (tightness <= 0) {
+      throw new IllegalArgumentException("Tightness factor must be greater than 0");
+    }
+    fillPoints(rect, rect.width / tightness, rect.height / tightness, xs, ys);
+  }
 
-    double[][] covariance = {
-      {stdDevX * stdDevX, 0}, // No correlation between X and Y
-      {0, stdDevY * stdDevY}
-    };
+  /** Internal helper to fill point arrays given specific standard deviations. */
+  private static void fillPoints(
+      Rectangle rect, double stdDevX, double stdDevY, int[] xs, int[] ys) {
+    int count = Math.min(xs.length, ys.length);
+    if (isTooSmall(rect)) {
+      for (int i = 0; i < count; i++) {
+        xs[i] = (int) rect.getCenterX();
+        ys[i] = (int) rect.getCenterY();
+      }
+      return;
+    }
+    TruncatedGaussianSampler.fillRounded(
+        rect.getCenterX(), stdDevX, rect.x, rect.x + rect.width - 1, xs, count);
+    TruncatedGaussianSampler.fillRounded(
+        rect.getCenterY(), stdDevY, rect.y, rect.y + rect.height - 1, ys, count);
+  }
 
-    return new MultivariateNormalDistribution(ClickDistribution.rng, mean, covariance);
+  /** Internal helper to execute the sampling logic given specific standard deviations. */
+  private static Point samplePoint(Rectangle rect, double stdDevX, double stdDevY) {
+    int x =
+        TruncatedGaussianSampler.sampleRounded(
+            rect.getCenterX(), stdDevX, rect.x, rect.x + rect.width - 1);
+    int y =
+        TruncatedGaussianSampler.sampleRounded(
+            rect.getCenterY(), stdDevY, rect.y, rect.y + rect.height - 1);
+    return new Point(x, y);
   }
 
   /**
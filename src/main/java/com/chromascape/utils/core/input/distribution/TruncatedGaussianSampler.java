@@ -0,0 +1,218 @@
+package com.chromascape.utils.core.input.distribution;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws normally distributed values restricted to an interval, without rejection and without
+ * allocating.
+ *
+ * <p>When the interval cuts off a large part of the distribution, the inverse-CDF method is used: a
+ * uniform value is drawn between the normal CDF of the two bounds and mapped back through the
+ * inverse CDF, so every draw lands inside the interval on the first try. When the interval keeps
+ * nearly all of it, a plain normal draw from {@link ThreadLocalRandom#nextGaussian()} (a ziggurat
+ * sampler) is retried until it lands inside, which is cheaper than evaluating the CDF and needs
+ * fewer than 1.2 draws on average. Both give exactly the same distribution. Randomness comes from
+ * {@link ThreadLocalRandom}, so concurrent callers never contend on a shared generator.
+ *
+ * <p>The CDF is computed from a rational approximation of {@code erfc} (relative error below
+ * 1.2e-7) and its inverse with Acklam's algorithm (relative error below 1.2e-9), both far finer
+ * than the pixel grid the samples end up on.
+ */
+public final class TruncatedGaussianSampler {
+
+  private static final double SQRT_2 = Math.sqrt(2);
+
+  // Coefficients of Acklam's rational approximation to the inverse normal CDF
+  private static final double[] A = {
+    -3.969683028665376e+01,
+    2.209460984245205e+02,
+    -2.759285104469687e+02,
+    1.383577518672690e+02,
+    -3.066479806614716e+01,
+    2.506628277459239e+00
+  };
+  private static final double[] B = {
+    -5.447609879822406e+01,
+    1.615858368580409e+02,
+    -1.556989798598866e+02,
+    6.680131188771972e+01,
+    -1.328068155288572e+01
+  };
+  private static final double[] C = {
+    -7.784894002430293e-03,
+    -3.223964580411365e-01,
+    -2.400758277161838e+00,
+    -2.549732539343734e+00,
+    4.374664141464968e+00,
+    2.938163982698783e+00
+  };
+  private static final double[] D = {
+    7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00
+  };
+
+  // Coefficients of the erfc Chebyshev fit, lowest order first
+  private static final double[] ERFC = {
+    -1.26551223,
+    1.00002368,
+    0.37409196,
+    0.09678418,
+    -0.18628806,
+    0.27886807,
+    -1.13520398,
+    1.48851587,
+    -0.82215223,
+    0.17087277
+  };
+
+  /**
+   * Distance from the mean to the nearest bound, in standard deviations, beyond which rejection is
+   * used. At 1.5 at least 86% of draws land inside.
+   */
+  private static final double REJECTION_THRESHOLD = 1.5;
+
+  /** Boundary between the central and tail regions of the inverse CDF approximation. */
+  private static final double P_LOW = 0.02425;
+
+  private TruncatedGaussianSampler() {}
+
+  /**
+   * Draws a value from a normal distribution restricted to {@code [lower, upper]}.
+   *
+   * @param mean The mean of the untruncated distribution.
+   * @param stdDev The standard deviation of the untruncated distribution. Must be positive.
+   * @param lower The lower bound.
+   * @param upper The upper bound. Must be above {@code lower}.
+   * @return A value in {@code [lower, upper]}.
+   */
+  public static double sample(double mean, double stdDev, double lower, double upper) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (useRejection(mean, stdDev, lower, upper)) {
+      double value;
+      do {
+        value = mean + stdDev * random.nextGaussian();
+      } while (value < lower || value >= upper);
+      return value;
+    }
+    double lowerCdf = cdf((lower - mean) / stdDev);
+    double upperCdf = cdf((upper - mean) / stdDev);
+    double u = lowerCdf + random.nextDouble() * (upperCdf - lowerCdf);
+    double value = mean + stdDev * inverseCdf(u);
+    // Guards against the approximations stepping just outside a bound
+    return Math.max(lower, Math.min(upper, value));
+  }
+
+  /**
+   * Draws an integer whose distribution matches rounding a normal sample and rejecting it until it
+   * lands in {@code [min, max]}, i.e. a normal truncated to {@code [min - 0.5, max + 0.5)} and
+   * rounded.
+   *
+   * @param mean The mean of the untruncated distribution.
+   * @param stdDev The standard deviation of the untruncated distribution. Must be positive.
+   * @param min The smallest value returned.
+   * @param max The largest value returned.
+   * @return A value in {@code [min, max]}.
+   */
+  public static int sampleRounded(double mean, double stdDev, int min, int max) {
+    long rounded = Math.round(sample(mean, stdDev, min - 0.5, max + 0.5));
+    return (int) Math.max(min, Math.min(max, rounded));
+  }
+
+  /**
+   * Fills an array with rounded samples for one axis, computing the truncation bounds once.
+   *
+   * @param mean The mean of the untruncated distribution.
+   * @param stdDev The standard deviation of the untruncated distribution. Must be positive.
+   * @param min The smallest value written.
+   * @param max The largest value written.
+   * @param out The array to fill.
+   * @param count How many leading elements of {@code out} to fill.
+   */
+  public static void fillRounded(
+      double mean, double stdDev, int min, int max, int[] out, int count) {
+    double lower = min - 0.5;
+    double upper = max + 0.5;
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (useRejection(mean, stdDev, lower, upper)) {
+      for (int i = 0; i < count; i++) {
+        double value;
+        do {
+          value = mean + stdDev * random.nextGaussian();
+        } while (value < lower || value >= upper);
+        out[i] = (int) Math.max(min, Math.min(max, Math.round(value)));
+      }
+      return;
+    }
+    double lowerCdf = cdf((lower - mean) / stdDev);
+    double upperCdf = cdf((upper - mean) / stdDev);
+    double range = upperCdf - lowerCdf;
+    for (int i = 0; i < count; i++) {
+      double value = mean + stdDev * inverseCdf(lowerCdf + random.nextDouble() * range);
+      out[i] = (int) Math.max(min, Math.min(max, Math.round(value)));
+    }
+  }
+
+  /**
+   * Decides whether an interval keeps enough of the distribution for rejection to be cheaper than
+   * the inverse CDF.
+   */
+  private static boolean useRejection(double mean, double stdDev, double lower, double upper) {
+    return Math.min(mean - lower, upper - mean) >= REJECTION_THRESHOLD * stdDev;
+  }
+
+  /**
+   * The standard normal cumulative distribution function.
+   *
+   * @param z The standard score.
+   * @return The probability that a standard normal value is at most {@code z}.
+   */
+  static double cdf(double z) {
+    return 0.5 * erfc(-z / SQRT_2);
+  }
+
+  /**
+   * The inverse of the standard normal cumulative distribution function.
+   *
+   * @param p A probability in {@code [0, 1]}.
+   * @return The standard score with cumulative probability {@code p}, infinite at 0 and 1.
+   */
+  static double inverseCdf(double p) {
+    if (p <= 0) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    if (p >= 1) {
+      return Double.POSITIVE_INFINITY;
+    }
+    if (p < P_LOW) {
+      double q = Math.sqrt(-2 * Math.log(p));
+      return (((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5])
+          / ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+    }
+    if (p > 1 - P_LOW) {
+      double q = Math.sqrt(-2 * Math.log(1 - p));
+      return -(((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5])
+          / ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+    }
+    double q = p - 0.5;
+    double r = q * q;
+    return (((((A[0] * r + A[1]) * r + A[2]) * r + A[3]) * r + A[4]) * r + A[5])
+        * q
+        / (((((B[0] * r + B[1]) * r + B[2]) * r + B[3]) * r + B[4]) * r + 1);
+  }
+
+  /**
+   * The complementary error function, from the Chebyshev fit in Numerical Recipes.
+   *
+   * @param x The argument.
+   * @return {@code erfc(x)}.
+   */
+  private static double erfc(double x) {
+    double z = Math.abs(x);
+    double t = 1 / (1 + 0.5 * z);
+    double poly = 0;
+    for (int i = ERFC.length - 1; i >= 0; i--) {
+      poly = poly * t + ERFC[i];
+    }
+    double ans = t * Math.exp(-z * z + poly);
+    return x >= 0 ? ans : 2 - ans;
+  }
+}
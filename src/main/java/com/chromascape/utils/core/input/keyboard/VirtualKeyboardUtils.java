@@ -33,7 +33,7 @@ public class VirtualKeyboardUtils {
   public synchronized void sendKeyChar(char keyChar) {
     BaseScript.checkInterrupted();
     StateManager.setState(BotState.ACTING);
-    StatisticsManager.incrementInputs();
+    StatisticsManager.incrementInputs("key_char");
     kinput.sendCharEvent(keyChar);
   }
 
@@ -44,7 +44,7 @@ public class VirtualKeyboardUtils {
   private void prepareInput() {
     BaseScript.checkInterrupted();
     StateManager.setState(BotState.ACTING);
-    StatisticsManager.incrementInputs();
+    StatisticsManager.incrementInputs("key");
   }
 
   /**
@@ -0,0 +1,166 @@
+package com.chromascape.utils.core.input.mouse;
+
+import com.chromascape.utils.core.runtime.exception.ScriptStoppedException;
+import com.chromascape.utils.core.statistics.LatencyHistogram;
+import java.awt.Point;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Single-producer, single-consumer hand-off of mouse positions to a slow native sink.
+ *
+ * <p>The producer (the physics loop) publishes each new point into a single slot and unparks the
+ * consumer thread. The consumer takes whatever is in the slot, sends it, and parks again once the
+ * slot is empty. If the sink falls behind, newer points overwrite older ones in the slot, so the
+ * native side always receives the most recent position rather than a growing backlog. The consumer
+ * uses no CPU while there is nothing to send.
+ *
+ * <p>The time from {@link #submit(Point)} until the sink returns is recorded per dispatched point.
+ * The consumer thread runs until {@link #close()} is called or it is interrupted.
+ */
+public class InputDispatcher {
+
+  private static final Logger logger = LogManager.getLogger(InputDispatcher.class);
+
+  /**
+   * A point waiting to be sent.
+   *
+   * @param point The position to send.
+   * @param sequence Monotonic submission number, used by {@link #submitAndAwait(Point)}.
+   * @param submittedAtNanos The {@link System#nanoTime()} of submission.
+   */
+  private record Pending(Point point, long sequence, long submittedAtNanos) {}
+
+  private final Consumer<Point> sink;
+  private final AtomicReference<Pending> slot = new AtomicReference<>();
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final Thread consumer;
+
+  /** Sequence of the last point the consumer has finished with, sent or skipped. */
+  private volatile long completed = 0;
+
+  /** Producer thread blocked in {@link #submitAndAwait(Point)}, if any. */
+  private volatile Thread waiter;
+
+  private volatile boolean closed;
+
+  /**
+   * Creates a dispatcher and starts its consumer thread.
+   *
+   * @param name The name of the consumer thread.
+   * @param sink Sends a point to the native side. Called only from the consumer thread.
+   */
+  public InputDispatcher(String name, Consumer<Point> sink) {
+    this.sink = sink;
+    this.consumer = new Thread(this::consumeLoop, name);
+    this.consumer.setDaemon(true); // Ensure thread dies when JVM shuts down
+    this.consumer.start();
+  }
+
+  /**
+   * Publishes a point for the consumer, replacing any point it hasn't picked up yet. Never blocks.
+   *
+   * @param point The latest position.
+   */
+  public void submit(Point point) {
+    Pending previous =
+        slot.getAndSet(new Pending(point, submitted.incrementAndGet(), System.nanoTime()));
+    if (previous != null) {
+      coalesced.incrementAndGet();
+    }
+    LockSupport.unpark(consumer);
+  }
+
+  /**
+   * Publishes a point and blocks until it has been sent, so that nothing submitted earlier can
+   * reach the sink after it. Used for the final position of a movement. Returns at once if the
+   * dispatcher has been closed.
+   *
+   * @param point The position to send.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public void submitAndAwait(Point point) {
+    waiter = Thread.currentThread();
+    try {
+      submit(point);
+      long sequence = submitted.get();
+      while (completed < sequence && !closed) {
+        LockSupport.park(this);
+        if (Thread.currentThread().isInterrupted()) {
+          throw new ScriptStoppedException();
+        }
+      }
+    } finally {
+      waiter = null;
+    }
+  }
+
+  /**
+   * Returns the submit-to-sent latency of every dispatched point, in nanoseconds.
+   *
+   * @return The latency histogram.
+   */
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  /**
+   * Returns how many points were overwritten before the consumer could send them.
+   *
+   * @return The number of coalesced points.
+   */
+  public long getCoalescedCount() {
+    return coalesced.get();
+  }
+
+  /**
+   * Stops the consumer thread and releases any producer waiting on it. Points not yet sent are
+   * dropped, and later ones are never sent.
+   */
+  public void close() {
+    closed = true;
+    LockSupport.unpark(consumer);
+    Thread blocked = waiter;
+    if (blocked != null) {
+      LockSupport.unpark(blocked);
+    }
+  }
+
+  /**
+   * The loop for the consumer thread. Sends the latest point, then parks until the next one, until
+   * the dispatcher is closed or the thread interrupted.
+   */
+  private void consumeLoop() {
+    Point lastSent = null;
+
+    while (!closed && !Thread.currentThread().isInterrupted()) {
+      Pending next = slot.getAndSet(null);
+      if (next == null) {
+        // Spurious wake-ups are harmless, the slot is simply checked again
+        LockSupport.park(this);
+        continue;
+      }
+      try {
+        if (!next.point().equals(lastSent)) {
+          sink.accept(next.point());
+          latency.record(System.nanoTime() - next.submittedAtNanos());
+          lastSent = new Point(next.point());
+        }
+      } catch (Exception e) {
+        // Log error but keep thread alive
+        logger.error("Error while dispatching input: {}", e.getMessage());
+      }
+      completed = next.sequence();
+      Thread blocked = waiter;
+      if (blocked != null) {
+        LockSupport.unpark(blocked);
+      }
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package com.chromascape.utils.core.input.mouse;
+
+import com.chromascape.utils.core.input.distribution.ClickDistribution;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.runtime.Workers;
+import com.chromascape.utils.core.statistics.LatencyHistogram;
+import com.chromascape.utils.core.timing.TimerService.Precision;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drifts the virtual mouse toward where the next action is likely to be while a script waits, so
+ * the movement that follows is short.
+ *
+ * <p>Scripts (or helpers such as {@code Idler}) call {@link #hint(Rectangle)} when they start
+ * waiting, with the region they expect to click next: the last target, a predicted obstacle, the
+ * inventory panel. After a short, random reaction delay the cursor moves part of the way there at
+ * the slow speed profile on a background thread, stopping short of the region like a hand resting
+ * near its next target. Any real movement or click through {@link VirtualMouseUtils} cancels the
+ * drift within one step and takes over from wherever the cursor got to.
+ *
+ * <p>Disabled by default; enable with {@link #setEnabled(boolean)} or the {@code
+ * chromascape.preposition} system property. The duration of every {@link
+ * VirtualMouseUtils#moveTo(Point, String)} is recorded separately for the enabled and disabled
+ * state, so the saving can be measured by running with the feature on and off.
+ */
+public class MousePrepositioner {
+
+  /** Shortest reaction delay before a drift starts. */
+  private static final int MIN_DELAY_MILLIS = 250;
+
+  /** Longest reaction delay before a drift starts. */
+  private static final int MAX_DELAY_MILLIS = 900;
+
+  /** Smallest share of the distance to the target covered by a drift. */
+  private static final double MIN_DRIFT_FRACTION = 0.6;
+
+  /** Largest share of the distance to the target covered by a drift. */
+  private static final double MAX_DRIFT_FRACTION = 0.85;
+
+  /** Targets closer than this are not worth drifting toward. */
+  private static final int MIN_DRIFT_PIXELS = 40;
+
+  /** Half the size of the region around the last target used by {@link #hintLastTarget()}. */
+  private static final int LAST_TARGET_RADIUS = 30;
+
+  private final VirtualMouseUtils mouse;
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          Workers.threadFactory(Workers.Mode.PLATFORM, "MousePrepositioner"));
+
+  /** Incremented by every hint and cancellation; a drift runs only while it holds the latest. */
+  private final AtomicLong generation = new AtomicLong();
+
+  private final LatencyHistogram enabledMoves = new LatencyHistogram();
+  private final LatencyHistogram disabledMoves = new LatencyHistogram();
+  private volatile boolean enabled = Boolean.getBoolean("chromascape.preposition");
+
+  /**
+   * Constructs a pre-positioner for a mouse.
+   *
+   * @param mouse The mouse to drift.
+   */
+  MousePrepositioner(VirtualMouseUtils mouse) {
+    this.mouse = mouse;
+  }
+
+  /**
+   * Turns drifting on or off. Turning it off cancels any drift in progress.
+   *
+   * @param enabled Whether hints should move the cursor.
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    if (!enabled) {
+      cancel();
+    }
+  }
+
+  /**
+   * Returns whether hints move the cursor.
+   *
+   * @return true if enabled.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts drifting toward a region in the background, replacing any earlier hint. The drift runs
+   * against the caller's {@link ScriptContext}. Does nothing while disabled.
+   *
+   * @param region The screen region the next action is expected in.
+   */
+  public void hint(Rectangle region) {
+    if (!enabled || region == null || region.isEmpty()) {
+      return;
+    }
+    ScriptContext context = ScriptContext.current();
+    Rectangle target = new Rectangle(region);
+    long token = generation.incrementAndGet();
+    executor.execute(() -> context.runWith(() -> drift(target, token)));
+  }
+
+  /**
+   * Hints the area around the last point the mouse was moved to, for actions that repeat on the
+   * same target such as fishing spots or rocks. Does nothing if the mouse hasn't moved yet.
+   */
+  public void hintLastTarget() {
+    Point last = mouse.getLastTarget();
+    if (last != null) {
+      hint(
+          new Rectangle(
+              last.x - LAST_TARGET_RADIUS,
+              last.y - LAST_TARGET_RADIUS,
+              LAST_TARGET_RADIUS * 2,
+              LAST_TARGET_RADIUS * 2));
+    }
+  }
+
+  /** Stops any pending or running drift. */
+  public void cancel() {
+    generation.incrementAndGet();
+  }
+
+  /**
+   * Records the duration of a real movement against the current state.
+   *
+   * @param nanos How long the movement took.
+   */
+  void recordMove(long nanos) {
+    (enabled ? enabledMoves : disabledMoves).record(nanos);
+  }
+
+  /**
+   * Returns the durations of movements made while enabled, in nanoseconds.
+   *
+   * @return The histogram.
+   */
+  public LatencyHistogram getEnabledMoves() {
+    return enabledMoves;
+  }
+
+  /**
+   * Returns the durations of movements made while disabled, in nanoseconds.
+   *
+   * @return The histogram.
+   */
+  public LatencyHistogram getDisabledMoves() {
+    return disabledMoves;
+  }
+
+  /**
+   * Formats the movement durations with the feature on and off.
+   *
+   * @return A one line summary.
+   */
+  public String summary() {
+    return String.format(
+        "moves with pre-positioning %s, without %s",
+        enabledMoves.summaryMillis(), disabledMoves.summaryMillis());
+  }
+
+  /** Cancels any drift and stops the background thread. */
+  public void shutdown() {
+    cancel();
+    executor.shutdownNow();
+  }
+
+  /**
+   * Waits a reaction delay, then moves part of the way toward a random point in the region unless a
+   * newer hint or cancellation has arrived.
+   */
+  private void drift(Rectangle region, long token) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    try {
+      ScriptContext.current()
+          .clock()
+          .sleep(
+              TimeUnit.MILLISECONDS.toNanos(random.nextInt(MIN_DELAY_MILLIS, MAX_DELAY_MILLIS)),
+              Precision.COARSE);
+    } catch (InterruptedException e) {
+      return;
+    }
+    if (generation.get() != token) {
+      return;
+    }
+
+    Point from = mouse.getCurrentPosition();
+    Point aim = ClickDistribution.generateRandomPoint(region);
+    if (from.distance(aim) < MIN_DRIFT_PIXELS) {
+      return;
+    }
+    double fraction = random.nextDouble(MIN_DRIFT_FRACTION, MAX_DRIFT_FRACTION);
+    Point stop =
+        new Point(
+            (int) Math.round(from.x + (aim.x - from.x) * fraction),
+            (int) Math.round(from.y + (aim.y - from.y) * fraction));
+    mouse.drift(mouse.planMove(from, stop, "slow"), () -> generation.get() != token);
+  }
+}
@@ -0,0 +1,163 @@
+package com.chromascape.utils.core.input.mouse;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * A precomputed mouse path: the pixel positions the cursor passes through and how long to wait
+ * before each one.
+ *
+ * <p>Stored as primitive arrays so that a path of a few hundred points is a handful of allocations,
+ * and can be generated ahead of time, inspected, cached or replayed any number of times by a {@link
+ * TrajectoryPlayer}. Instances are immutable.
+ */
+public final class Trajectory {
+
+  private final int[] xs;
+  private final int[] ys;
+  private final long[] delaysNanos;
+  private final int size;
+  private final long tailNanos;
+
+  private Trajectory(int[] xs, int[] ys, long[] delaysNanos, int size, long tailNanos) {
+    this.xs = xs;
+    this.ys = ys;
+    this.delaysNanos = delaysNanos;
+    this.size = size;
+    this.tailNanos = tailNanos;
+  }
+
+  /**
+   * Returns the number of points in the path.
+   *
+   * @return The point count.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the x co-ordinate of a point.
+   *
+   * @param index The point index.
+   * @return The screen x co-ordinate.
+   */
+  public int pointX(int index) {
+    checkIndex(index);
+    return xs[index];
+  }
+
+  /**
+   * Returns the y co-ordinate of a point.
+   *
+   * @param index The point index.
+   * @return The screen y co-ordinate.
+   */
+  public int pointY(int index) {
+    checkIndex(index);
+    return ys[index];
+  }
+
+  /**
+   * Returns how long to wait after the previous point (or the start of playback) before moving to
+   * this one.
+   *
+   * @param index The point index.
+   * @return The delay in nanoseconds.
+   */
+  public long delayNanos(int index) {
+    checkIndex(index);
+    return delaysNanos[index];
+  }
+
+  /**
+   * Returns how long to wait after the last point before the movement counts as finished.
+   *
+   * @return The trailing delay in nanoseconds.
+   */
+  public long tailNanos() {
+    return tailNanos;
+  }
+
+  /**
+   * Returns the total playback time, including the trailing delay.
+   *
+   * @return The duration in nanoseconds.
+   */
+  public long durationNanos() {
+    long total = tailNanos;
+    for (int i = 0; i < size; i++) {
+      total += delaysNanos[i];
+    }
+    return total;
+  }
+
+  /**
+   * Returns a point as a new {@link Point}.
+   *
+   * @param index The point index.
+   * @return The screen point.
+   */
+  public Point point(int index) {
+    checkIndex(index);
+    return new Point(xs[index], ys[index]);
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+  }
+
+  /** Accumulates points and delays for a {@link Trajectory}. */
+  static final class Builder {
+
+    private int[] xs = new int[64];
+    private int[] ys = new int[64];
+    private long[] delaysNanos = new long[64];
+    private int size = 0;
+    private long pendingDelayNanos = 0;
+
+    /**
+     * Adds a wait that will precede the next point.
+     *
+     * @param nanos The delay in nanoseconds.
+     */
+    void delay(long nanos) {
+      pendingDelayNanos += nanos;
+    }
+
+    /**
+     * Adds a point, preceded by all delays added since the previous point.
+     *
+     * @param x Screen x co-ordinate.
+     * @param y Screen y co-ordinate.
+     */
+    void point(int x, int y) {
+      if (size == xs.length) {
+        xs = Arrays.copyOf(xs, size * 2);
+        ys = Arrays.copyOf(ys, size * 2);
+        delaysNanos = Arrays.copyOf(delaysNanos, size * 2);
+      }
+      xs[size] = x;
+      ys[size] = y;
+      delaysNanos[size] = pendingDelayNanos;
+      pendingDelayNanos = 0;
+      size++;
+    }
+
+    /**
+     * Builds the trajectory. Delays added after the last point become its trailing delay.
+     *
+     * @return The immutable trajectory.
+     */
+    Trajectory build() {
+      return new Trajectory(
+          Arrays.copyOf(xs, size),
+          Arrays.copyOf(ys, size),
+          Arrays.copyOf(delaysNanos, size),
+          size,
+          pendingDelayNanos);
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package com.chromascape.utils.core.input.mouse;
+
+import java.awt.Point;
+import java.util.Random;
+
+/**
+ * Generates human-like {@link Trajectory} paths with the WindMouse physics model, without moving
+ * anything or sleeping.
+ *
+ * <p>See {@link WindMouse} for the model: gravity towards the target, random wind, and friction
+ * near the target, stepped at roughly 60Hz. The sleeps between steps are recorded as delays on the
+ * trajectory instead of being slept, so a whole path is computed in microseconds and can be played
+ * back later by a {@link TrajectoryPlayer}.
+ *
+ * <p>Generation only touches its own {@link Random}, so it is safe to call from any thread, e.g. to
+ * plan the next movement while the current one is still playing.
+ */
+public class TrajectoryGenerator {
+
+  private static final double SQRT_2 = Math.sqrt(2);
+  private static final double SQRT_3 = Math.sqrt(3);
+  private static final double SQRT_5 = Math.sqrt(5);
+
+  /** Safety cap on the simulated duration of a single leg, in milliseconds. */
+  private static final long MAX_LEG_MILLIS = 10000;
+
+  private final Random random;
+
+  /** Constructs a generator with its own random source. */
+  public TrajectoryGenerator() {
+    this(new Random());
+  }
+
+  /**
+   * Constructs a generator around a given random source, e.g. a seeded one for reproducible paths.
+   *
+   * @param random The random source.
+   */
+  public TrajectoryGenerator(Random random) {
+    this.random = random;
+  }
+
+  /**
+   * Generates a path from a starting point to a destination.
+   *
+   * @param start The current coordinates of the mouse cursor.
+   * @param target The destination coordinates.
+   * @param speedProfile A string constant determining movement characteristics ("slow", "medium",
+   *     "fast"). Defaults to "medium" if the profile is unrecognized.
+   * @return The trajectory, whose last point is always {@code target} unless {@code start} already
+   *     equals it.
+   */
+  public Trajectory generate(Point start, Point target, String speedProfile) {
+    // defaults (Tuned for ~60Hz update rate)
+    // Speed: Controls loop frequency (higher = lower sleep times).
+    // Gravity/Wind: Forces applied per loop iteration.
+    double mouseSpeed = 30;
+    double mouseGravity = 4.5;
+    double mouseWind = 1.5;
+
+    // Adjust parameters based on profile
+    switch (speedProfile.toLowerCase()) {
+      case "slow" -> {
+        mouseSpeed = 20;
+        mouseGravity = 5.0;
+        mouseWind = 1.0;
+      }
+      case "fast" -> {
+        mouseSpeed = 50;
+        mouseGravity = 6.0;
+        mouseWind = 2.0;
+      }
+      default -> {
+        // Keeps defaults
+      }
+    }
+
+    Trajectory.Builder builder = new Trajectory.Builder();
+
+    // Random intermediate point for long distances (simulates human "arc" or "correction")
+    Point from = start;
+    if (start.distance(target) > 250 && random.nextInt(2) == 1) {
+      Point intermediate = randomPointBetween(target, start);
+      leg(builder, from, intermediate, mouseGravity, mouseWind, mouseSpeed);
+      // Small pause between "stages" of movement to look natural
+      builder.delay(millisToNanos(random.nextInt(1, 150)));
+      from = intermediate;
+    }
+
+    // Move to final target
+    leg(builder, from, target, mouseGravity, mouseWind, mouseSpeed);
+    return builder.build();
+  }
+
+  /**
+   * Simulates one leg of the movement, adding a point whenever the integer pixel position changes.
+   *
+   * @param builder The trajectory being built.
+   * @param start The starting point of the leg.
+   * @param end The end point of the leg.
+   * @param gravity The strength of the pull towards the target.
+   * @param maxWind The strength of the random wind forces.
+   * @param speed Controls the delay between steps.
+   */
+  private void leg(
+      Trajectory.Builder builder,
+      Point start,
+      Point end,
+      double gravity,
+      double maxWind,
+      double speed) {
+    double xs = start.x;
+    double ys = start.y;
+    final double xe = end.x;
+    final double ye = end.y;
+    // The radius (in pixels) around the target where "braking" logic begins
+    final double targetArea = random.nextInt(10, 25);
+    double wind = maxWind;
+    double veloX = 0;
+    double veloY = 0;
+    double windX = 0;
+    double windY = 0;
+
+    final int totalDistance = (int) start.distance(end);
+    long elapsedMillis = 0;
+    double dist;
+
+    // Loop until we are within 3 pixels.
+    // Stopping at 3px prevents the "micro-orbiting" physics glitch where gravity
+    // causes the cursor to overshoot and circle the target pixel indefinitely.
+    while ((dist = Math.hypot(xs - xe, ys - ye)) >= 3 && elapsedMillis <= MAX_LEG_MILLIS) {
+      // Cap wind force so it doesn't exceed the remaining distance
+      wind = Math.min(wind, dist);
+
+      // Adaptive step size based on total distance
+      long step = Math.round(totalDistance * 0.3) / 7;
+      step = Math.max(5, Math.min(20, step));
+
+      // Occasional random slowdown
+      if (random.nextInt(6) == 0) {
+        step = 2;
+      }
+
+      if (dist >= targetArea) {
+        // Apply normal wind
+        int windRange = (int) (Math.round(wind) * 2) + 1;
+        windX = (windX / SQRT_3) + ((random.nextInt(windRange) - wind) / SQRT_5);
+        windY = (windY / SQRT_3) + ((random.nextInt(windRange) - wind) / SQRT_5);
+      } else {
+        // Short range (Entering Target Area): dampen wind and apply friction.
+        // Multiplier 0.64 allows velocity to decay naturally over the standard frame count.
+        windX = windX / SQRT_2;
+        windY = windY / SQRT_2;
+        veloX *= 0.64;
+        veloY *= 0.64;
+      }
+
+      // Apply forces to velocity
+      veloX += windX + gravity * (xe - xs) / dist;
+      veloY += windY + gravity * (ye - ys) / dist;
+
+      // Max step calculation.
+      // Multiplier set to 1.5 (Standard WindMouse).
+      // Since we run at 60Hz (half the 120Hz rate), we need to cover twice the
+      // distance per frame to preserve the visual speed.
+      double maxStep = Math.min(step, Math.round(dist)) * 1.5;
+
+      // Cap velocity at maxStep
+      if (Math.hypot(veloX, veloY) > maxStep) {
+        maxStep = ((maxStep / 2) < 1) ? 2 : maxStep;
+        double randomDist = (maxStep / 2) + random.nextInt((int) (Math.round(maxStep) / 2));
+        double veloMag = Math.hypot(veloX, veloY);
+        veloX = (veloX / veloMag) * randomDist;
+        veloY = (veloY / veloMag) * randomDist;
+      }
+
+      // Update position
+      long lastX = Math.round(xs);
+      long lastY = Math.round(ys);
+      xs += veloX;
+      ys += veloY;
+
+      // Only add a point if the integer pixel coordinate actually changed
+      if (lastX != Math.round(xs) || lastY != Math.round(ys)) {
+        builder.point((int) Math.round(xs), (int) Math.round(ys));
+      }
+
+      // Delay calculation, yields ~10-20ms steps targeting 60Hz
+      int wait = random.nextInt((int) Math.round(100.0 / speed)) * 12;
+      wait = (int) Math.round(Math.max(10, wait) * 0.9);
+      builder.delay(millisToNanos(wait));
+      elapsedMillis += wait;
+    }
+
+    // Instantly bridge the last <3 pixels to ensure pixel-perfect accuracy.
+    if (Math.round(xe) != Math.round(xs) || Math.round(ye) != Math.round(ys)) {
+      builder.point(end.x, end.y);
+    }
+  }
+
+  /**
+   * Gets a random point in the rectangle spanned by two points.
+   *
+   * @param p1 The first point.
+   * @param p2 The second point.
+   * @return The random point.
+   */
+  private Point randomPointBetween(Point p1, Point p2) {
+    return new Point((int) randomBetween(p1.x, p2.x), (int) randomBetween(p1.y, p2.y));
+  }
+
+  /**
+   * Generates a pseudo-random floating-point value between two bounds, in either direction.
+   *
+   * @param corner1 The first boundary (e.g., the starting coordinate).
+   * @param corner2 The second boundary (e.g., the target coordinate).
+   * @return A random value between {@code corner1} and {@code corner2}.
+   */
+  private float randomBetween(float corner1, float corner2) {
+    if (corner1 == corner2) {
+      return corner1;
+    }
+    return corner1 + random.nextFloat() * (corner2 - corner1);
+  }
+
+  private static long millisToNanos(long millis) {
+    return millis * 1_000_000L;
+  }
+}
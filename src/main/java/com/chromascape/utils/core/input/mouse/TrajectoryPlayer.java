@@ -0,0 +1,87 @@
+package com.chromascape.utils.core.input.mouse;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.runtime.exception.ScriptStoppedException;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.TimerService;
+import com.chromascape.utils.core.timing.TimerService.Precision;
+import java.awt.Point;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Replays a {@link Trajectory} in real time, handing each point to a callback at its scheduled
+ * moment.
+ *
+ * <p>Deadlines are absolute, measured from the start of playback, so small oversleeps don't add up
+ * over a long path. Waits go through the shared {@link TimerService}, which parks for most of each
+ * step and only spins for as long as the machine's timer resolution requires. A script whose
+ * context has a virtual {@link Clock} plays on that clock instead, so paths take no real time.
+ */
+public class TrajectoryPlayer {
+
+  // Null to play on the clock of the calling thread's script context
+  private final Clock timer;
+  private final Precision precision;
+
+  /**
+   * Constructs a player on the calling script's clock, normally the shared timer, with {@link
+   * Precision#NORMAL} precision.
+   */
+  public TrajectoryPlayer() {
+    this(null, Precision.NORMAL);
+  }
+
+  /**
+   * Constructs a player with an explicit timer and precision, e.g. to trade accuracy for CPU.
+   *
+   * @param timer The clock used to wait between points, or null for the calling script's clock.
+   * @param precision How much spinning each wait may do.
+   */
+  public TrajectoryPlayer(Clock timer, Precision precision) {
+    this.timer = timer;
+    this.precision = precision;
+  }
+
+  /**
+   * Plays a trajectory on the calling thread, returning once its trailing delay has elapsed.
+   *
+   * @param trajectory The path to play.
+   * @param onMove Receives every point of the path, in order. This is typically used to trigger the
+   *     actual hardware or robot input.
+   * @throws ScriptStoppedException if the calling thread is interrupted during playback.
+   */
+  public void play(Trajectory trajectory, Consumer<Point> onMove) {
+    play(trajectory, onMove, () -> false);
+  }
+
+  /**
+   * Plays a trajectory on the calling thread, stopping early if asked to. The condition is checked
+   * before every point, so playback stops within one step of it becoming true.
+   *
+   * @param trajectory The path to play.
+   * @param onMove Receives every point of the path, in order.
+   * @param cancelled Returns true once playback should stop.
+   * @return {@code true} if the whole trajectory was played, {@code false} if it was cancelled.
+   * @throws ScriptStoppedException if the calling thread is interrupted during playback.
+   */
+  public boolean play(Trajectory trajectory, Consumer<Point> onMove, BooleanSupplier cancelled) {
+    Clock clock = timer != null ? timer : ScriptContext.current().clock();
+    long deadline = clock.nanoTime();
+    try {
+      for (int i = 0; i < trajectory.size(); i++) {
+        deadline += trajectory.delayNanos(i);
+        clock.sleepUntil(deadline, precision);
+        if (cancelled.getAsBoolean()) {
+          return false;
+        }
+        onMove.accept(trajectory.point(i));
+      }
+      clock.sleepUntil(deadline + trajectory.tailNanos(), precision);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // Restore interrupt status
+      throw new ScriptStoppedException();
+    }
+  }
+}
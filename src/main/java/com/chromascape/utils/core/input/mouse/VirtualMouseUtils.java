@@ -2,15 +2,19 @@ package com.chromascape.utils.core.input.mouse;
 
 import com.chromascape.base.BaseScript;
 import com.chromascape.utils.core.input.remoteinput.Kinput;
+import com.chromascape.utils.core.runtime.ScriptContext;
 import com.chromascape.utils.core.screen.window.ScreenManager;
 import com.chromascape.utils.core.state.BotState;
 import com.chromascape.utils.core.state.StateManager;
+import com.chromascape.utils.core.statistics.StageProfiler;
 import com.chromascape.utils.core.statistics.StatisticsManager;
+import com.chromascape.utils.core.timing.Clock;
+import java.awt.GraphicsEnvironment;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.util.Random;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import javax.swing.SwingUtilities;
 import org.apache.logging.log4j.LogManager;
@@ -23,15 +27,19 @@ import org.apache.logging.log4j.Logger;
  * hijacking the physical system cursor. Designed for use with remote input libraries like {@link
  * Kinput}, enabling low-level mouse event simulation.
  *
- * <p><b>Performance Note:</b> This class uses a Producer-Consumer threading model. The physics
- * engine (Producer) runs on the calling thread at ~60Hz, while the Input Dispatcher (Consumer) runs
- * on a background thread. This ensures that slow hardware input calls do not slow down the physics
- * calculation.
+ * <p><b>Performance Note:</b> This class uses a Producer-Consumer threading model. Paths are
+ * generated up front by a {@link TrajectoryGenerator} and played back (Producer) on the calling
+ * thread at ~60Hz, while the {@link InputDispatcher} (Consumer) runs on a background thread that
+ * parks whenever there is nothing to send. This ensures that slow hardware input calls do not slow
+ * down playback.
  */
 public class VirtualMouseUtils {
 
   /** The current virtual mouse position. */
-  private Point currentPosition;
+  private volatile Point currentPosition;
+
+  /** The destination of the last real movement, or null before the first. */
+  private volatile Point lastTarget;
 
   /** Timestamp of the last overlay repaint to control frame rate. */
   private long lastOverlayUpdate = 0;
@@ -45,17 +53,26 @@ public class VirtualMouseUtils {
   /** Random number generator. */
   private final Random random;
 
-  /** Humanised mouse movement service. */
-  private final WindMouse windMouse;
+  /** Generates humanised WindMouse paths. */
+  private final TrajectoryGenerator trajectoryGenerator;
+
+  /** Replays generated paths in real time. */
+  private final TrajectoryPlayer trajectoryPlayer;
 
   /** Logger with appender to publish logs to the web UI. */
   private static final Logger logger = LogManager.getLogger(VirtualMouseUtils.class);
 
-  /** The latest point generated by the physics engine, waiting to be consumed by Kinput. */
-  private final AtomicReference<Point> pendingInputPoint = new AtomicReference<>();
+  /** Hands points generated by the physics engine to Kinput on a background thread. */
+  private final InputDispatcher dispatcher;
+
+  /** Drifts the cursor toward the next likely target during waits. */
+  private final MousePrepositioner prepositioner;
 
-  /** Flag to indicate if the virtual mouse is currently performing a movement path. */
-  private final AtomicBoolean isMoving = new AtomicBoolean(false);
+  /**
+   * Held while the cursor is being moved or clicked, so a background drift never interleaves with a
+   * real action.
+   */
+  private final ReentrantLock movementLock = new ReentrantLock();
 
   /**
    * Lock object to ensure Kinput is accessed by only one thread at a time.
@@ -75,61 +92,41 @@ public class VirtualMouseUtils {
    */
   public VirtualMouseUtils(final Kinput kinput, final Rectangle bounds) {
     this.kinput = kinput;
-    overlay = new MouseOverlay();
-    overlay.setSize(bounds.width, bounds.height);
+    // A headless JVM, e.g. a simulated run, has no screen to draw the overlay on
+    overlay = GraphicsEnvironment.isHeadless() ? null : new MouseOverlay();
 
     random = new Random();
-    windMouse = new WindMouse();
+    trajectoryGenerator = new TrajectoryGenerator();
+    trajectoryPlayer = new TrajectoryPlayer();
 
     // Randomize starting position within the client window
     int startX = bounds.x + random.nextInt(bounds.width);
     int startY = bounds.y + random.nextInt(bounds.height);
     currentPosition = new Point(startX, startY);
-    // Initialize atomic reference to prevent null pointer in consumer
-    pendingInputPoint.set(currentPosition);
 
-    // Place overlay at the same randomized position
-    SwingUtilities.invokeLater(() -> overlay.setMousePoint(currentPosition));
-    overlay.setLocation(bounds.x, bounds.y); // keep overlay frame aligned with window
+    if (overlay != null) {
+      overlay.setSize(bounds.width, bounds.height);
+      // Place overlay at the same randomized position
+      SwingUtilities.invokeLater(() -> overlay.setMousePoint(currentPosition));
+      overlay.setLocation(bounds.x, bounds.y); // keep overlay frame aligned with window
+    }
 
     // Start the background Input Consumer thread
-    Thread inputConsumerThread = new Thread(this::consumeInputLoop, "VirtualMouse-Input-Consumer");
-    inputConsumerThread.setDaemon(true); // Ensure thread dies when JVM shuts down
-    inputConsumerThread.start();
+    dispatcher = new InputDispatcher("VirtualMouse-Input-Consumer", this::sendMove);
+    prepositioner = new MousePrepositioner(this);
   }
 
   /**
-   * The loop for the background thread. Continuously checks for new points and sends them to
-   * Kinput.
+   * Sends a move to Kinput. Called from the dispatcher's consumer thread.
+   *
+   * @param target The screen point to move to.
    */
-  private void consumeInputLoop() {
-    Point lastSentPoint = null;
-
-    while (true) {
-      try {
-        if (isMoving.get()) {
-          Point target = pendingInputPoint.get();
-
-          // Only send input if the point is new (and not null)
-          if (target != null && !target.equals(lastSentPoint)) {
-            Point clientPoint = ScreenManager.toClientCoords(target);
-
-            // Prevent collision with clicks or final snaps
-            synchronized (kinputLock) {
-              kinput.moveMouse(clientPoint.x, clientPoint.y);
-            }
+  private void sendMove(Point target) {
+    Point clientPoint = ScreenManager.toClientCoords(target);
 
-            lastSentPoint = target;
-          }
-        } else {
-          // If not moving, sleep longer to save resources
-          BaseScript.waitMillis(5);
-        }
-      } catch (Exception e) {
-        // Log error but keep thread alive
-        logger.error("Error while consuming inputL {}", e.getMessage());
-        logger.error(e.getStackTrace());
-      }
+    // Prevent collision with clicks
+    synchronized (kinputLock) {
+      kinput.moveMouse(clientPoint.x, clientPoint.y);
     }
   }
 
@@ -141,50 +138,148 @@ public class VirtualMouseUtils {
    */
   public void moveTo(final Point target, final String speed) {
     BaseScript.checkInterrupted();
-    StateManager.setState(BotState.ACTING);
-    StatisticsManager.incrementInputs();
+    prepositioner.cancel();
+    movementLock.lock();
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.MOUSE)) {
+      Clock clock = ScriptContext.current().clock();
+      long start = clock.nanoTime();
+      play(planMove(currentPosition, target, speed), target);
+      prepositioner.recordMove(clock.nanoTime() - start);
+      lastTarget = new Point(target);
+    } finally {
+      movementLock.unlock();
+    }
+  }
 
-    // Flag start of movement for the Consumer thread
-    isMoving.set(true);
+  /**
+   * Generates a WindMouse path without moving the mouse. Safe to call from any thread, e.g. to plan
+   * the next movement while the current one is playing.
+   *
+   * @param from The point the movement will start from, usually {@link #getCurrentPosition()} or
+   *     the end of the movement before it.
+   * @param target The destination point.
+   * @param speed Speed profile: "slow", "medium", "fast".
+   * @return The planned {@link Trajectory}.
+   */
+  public Trajectory planMove(final Point from, final Point target, final String speed) {
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.MOUSE_PATH)) {
+      return trajectoryGenerator.generate(from, target, speed);
+    }
+  }
 
+  /**
+   * Moves the virtual mouse along a previously planned path, ending on its last point. The path
+   * should start at or near the current position, otherwise the cursor jumps to its first point.
+   *
+   * @param trajectory A path from {@link #planMove(Point, Point, String)}.
+   */
+  public void follow(final Trajectory trajectory) {
+    BaseScript.checkInterrupted();
+    Point end =
+        trajectory.size() > 0 ? trajectory.point(trajectory.size() - 1) : getCurrentPosition();
+    prepositioner.cancel();
+    movementLock.lock();
     try {
-      // Run Physics Loop (Producer) on the current thread.
-      // The callback purely updates the AtomicReference and Overlay.
-      // It does NOT wait for Kinput.
-      windMouse.move(
-          currentPosition,
-          target,
-          speed,
-          p -> {
-            // Update the shared reference for the Consumer to pick up
-            pendingInputPoint.set(p);
-            currentPosition = p;
-
-            // Throttle overlay updates to ~60 FPS (16ms)
-            long now = System.currentTimeMillis();
-            if (now - lastOverlayUpdate >= 16) {
-              if (!SwingUtilities.isEventDispatchThread()) {
-                SwingUtilities.invokeLater(() -> overlay.setMousePoint(p));
-                lastOverlayUpdate = now;
-              }
-            }
-          });
+      play(trajectory, end);
+      lastTarget = end;
     } finally {
-      // Movement finished.
-      isMoving.set(false);
+      movementLock.unlock();
+    }
+  }
 
-      // Force the final position update to ensure exact accuracy.
-      currentPosition = target;
-      pendingInputPoint.set(target); // Sync consumer for safety
+  /**
+   * Plays a background drift unless a real action holds the mouse. Called by the {@link
+   * MousePrepositioner} thread; does not count as an input.
+   *
+   * @param trajectory The drift path.
+   * @param cancelled Returns true once the drift should stop.
+   */
+  void drift(final Trajectory trajectory, final BooleanSupplier cancelled) {
+    if (!movementLock.tryLock()) {
+      return;
+    }
+    try {
+      trajectoryPlayer.play(trajectory, this::onPathPoint, cancelled);
+      // Wait for the last point played so a real movement starts from where the cursor really is
+      dispatcher.submitAndAwait(new Point(currentPosition));
+    } finally {
+      movementLock.unlock();
+    }
+  }
 
-      Point finalClientPoint = ScreenManager.toClientCoords(target);
+  /**
+   * Returns the destination of the last movement made with {@link #moveTo(Point, String)} or {@link
+   * #follow(Trajectory)}.
+   *
+   * @return A copy of the point, or {@code null} if the mouse hasn't been moved yet.
+   */
+  public Point getLastTarget() {
+    Point target = lastTarget;
+    return target == null ? null : new Point(target);
+  }
 
-      // SYNCHRONIZED: Ensure final snap doesn't crash connection
-      synchronized (kinputLock) {
-        kinput.moveMouse(finalClientPoint.x, finalClientPoint.y);
+  /**
+   * Returns a copy of the current virtual mouse position.
+   *
+   * @return The position in screen co-ordinates.
+   */
+  public Point getCurrentPosition() {
+    return new Point(currentPosition);
+  }
+
+  /**
+   * Plays a trajectory on the current thread and snaps to the final point.
+   *
+   * @param trajectory The path to play.
+   * @param target The point the movement must end on.
+   */
+  private void play(final Trajectory trajectory, final Point target) {
+    StateManager.setState(BotState.ACTING);
+    StatisticsManager.incrementInputs("move");
+
+    try {
+      // Play back the path (Producer) on the current thread.
+      // The callback purely hands the point to the dispatcher and updates the Overlay.
+      // It does NOT wait for Kinput.
+      trajectoryPlayer.play(trajectory, this::onPathPoint);
+    } finally {
+      // Movement finished. Force the final position update to ensure exact accuracy.
+      // Waiting for it guarantees no stale point from the path lands after it.
+      currentPosition = new Point(target);
+      dispatcher.submitAndAwait(new Point(target));
+
+      showOnOverlay(target);
+    }
+  }
+
+  /**
+   * Hands one point of a path to the dispatcher and the overlay.
+   *
+   * @param p The point reached.
+   */
+  private void onPathPoint(final Point p) {
+    // Hand the point to the Consumer, replacing any it hasn't sent yet
+    dispatcher.submit(p);
+    currentPosition = p;
+
+    // Throttle overlay updates to ~60 FPS (16ms)
+    long now = ScriptContext.current().clock().currentTimeMillis();
+    if (now - lastOverlayUpdate >= 16) {
+      if (!SwingUtilities.isEventDispatchThread()) {
+        showOnOverlay(p);
+        lastOverlayUpdate = now;
       }
+    }
+  }
 
-      SwingUtilities.invokeLater(() -> overlay.setMousePoint(target));
+  /**
+   * Moves the overlay's marker to a point on the Swing thread, if there is an overlay.
+   *
+   * @param p The point in screen co-ordinates.
+   */
+  private void showOnOverlay(final Point p) {
+    if (overlay != null) {
+      SwingUtilities.invokeLater(() -> overlay.setMousePoint(p));
     }
   }
 
@@ -231,19 +326,19 @@ public class VirtualMouseUtils {
    */
   public void microJitter() {
     if (random.nextBoolean()) {
-      currentPosition.translate(random.nextInt(-1, 2), random.nextInt(-1, 4));
-
-      // Update consumer reference so hardware reflects jitter
-      pendingInputPoint.set(currentPosition);
-
-      SwingUtilities.invokeLater(() -> overlay.setMousePoint(currentPosition));
+      prepositioner.cancel();
+      movementLock.lock();
+      try {
+        Point jittered = new Point(currentPosition);
+        jittered.translate(random.nextInt(-1, 2), random.nextInt(-1, 4));
+        currentPosition = jittered;
 
-      // We can force this update directly as jitter is a single discrete action,
-      // not a high-frequency loop.
-      Point clientPoint = ScreenManager.toClientCoords(currentPosition);
+        showOnOverlay(jittered);
 
-      synchronized (kinputLock) {
-        kinput.moveMouse(clientPoint.x, clientPoint.y);
+        // Jitter is a single discrete action, so wait for it to reach the hardware before clicking
+        dispatcher.submitAndAwait(new Point(jittered));
+      } finally {
+        movementLock.unlock();
       }
     }
   }
@@ -251,16 +346,49 @@ public class VirtualMouseUtils {
   /** Helper to perform common action logic (Stats, State, Coordinate Conversion). */
   private void performClick(Consumer<Point> action) {
     BaseScript.checkInterrupted();
-    StateManager.setState(BotState.ACTING);
-    StatisticsManager.incrementInputs();
-    Point clientPoint = ScreenManager.toClientCoords(currentPosition);
-    action.accept(clientPoint);
+    prepositioner.cancel();
+    movementLock.lock();
+    try {
+      StateManager.setState(BotState.ACTING);
+      StatisticsManager.incrementInputs("click");
+      Point clientPoint = ScreenManager.toClientCoords(currentPosition);
+      action.accept(clientPoint);
+    } finally {
+      movementLock.unlock();
+    }
+  }
+
+  /**
+   * Stops the pre-positioning and input dispatch threads. Called by the Controller on shutdown; the
+   * mouse can't be moved afterwards.
+   */
+  public void shutdown() {
+    prepositioner.shutdown();
+    dispatcher.close();
+  }
+
+  /**
+   * Returns the dispatcher that sends movement points to Kinput, e.g. to inspect its latency.
+   *
+   * @return The InputDispatcher object.
+   */
+  public InputDispatcher getDispatcher() {
+    return dispatcher;
+  }
+
+  /**
+   * Returns the service that drifts the cursor toward the next likely target during waits.
+   *
+   * @return The MousePrepositioner object.
+   */
+  public MousePrepositioner prepositioner() {
+    return prepositioner;
   }
 
   /**
    * Returns the Mouse overlay object. Intended to be used by the Controller to destroy the overlay.
    *
-   * @return The MouseOverlay object.
+   * @return The MouseOverlay object, or null if the JVM is headless.
    */
   public MouseOverlay getMouseOverlay() {
     return overlay;
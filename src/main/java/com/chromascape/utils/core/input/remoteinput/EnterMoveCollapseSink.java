@@ -0,0 +1,79 @@
+package com.chromascape.utils.core.input.remoteinput;
+
+import com.chromascape.utils.core.input.remoteinput.Kinput.MouseEventType;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.timing.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drops mouse-enter events while the cursor is already inside the client.
+ *
+ * <p>{@link Kinput#moveMouse(int, int)} sends an enter before every move so the canvas always
+ * treats the cursor as present. Most are redundant: this sink forwards an enter, then drops the
+ * following ones until the refresh interval has passed, focus is sent again, or a mouse-exit is
+ * seen. The client is never told when the real cursor leaves the canvas, so the periodic re-send is
+ * what keeps injected moves from being treated as outside it.
+ */
+public class EnterMoveCollapseSink extends ForwardingSink {
+
+  /** Default time after which a mouse-enter event is sent again. */
+  public static final long DEFAULT_REFRESH_MILLIS = FocusDedupSink.DEFAULT_REFRESH_MILLIS;
+
+  private final Clock clock = ScriptContext.current().clock();
+  private final long refreshNanos;
+  private boolean inside = false;
+  private long lastEnterNanos;
+
+  /**
+   * Constructs an enter filter with the {@link #DEFAULT_REFRESH_MILLIS default} refresh interval.
+   *
+   * @param next The sink calls are forwarded to.
+   */
+  public EnterMoveCollapseSink(InputSink next) {
+    this(next, DEFAULT_REFRESH_MILLIS);
+  }
+
+  /**
+   * Constructs an enter filter.
+   *
+   * @param next The sink calls are forwarded to.
+   * @param refreshMillis How long a forwarded mouse-enter event suppresses the following ones.
+   */
+  public EnterMoveCollapseSink(InputSink next, long refreshMillis) {
+    super(next);
+    this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(refreshMillis);
+  }
+
+  @Override
+  public synchronized boolean focusEvent(int eventId) {
+    // Any focus change that reaches the client may also reset its idea of where the cursor is
+    inside = false;
+    return next.focusEvent(eventId);
+  }
+
+  @Override
+  public synchronized boolean mouseEvent(
+      int eventId,
+      long when,
+      int modifiers,
+      int x,
+      int y,
+      int clickCount,
+      boolean popupTrigger,
+      int button) {
+    boolean enter = eventId == MouseEventType.MOUSE_ENTER.id;
+    long now = clock.nanoTime();
+    if (enter && inside && now - lastEnterNanos < refreshNanos) {
+      return true;
+    }
+    boolean accepted =
+        next.mouseEvent(eventId, when, modifiers, x, y, clickCount, popupTrigger, button);
+    if (enter) {
+      inside = accepted;
+      lastEnterNanos = now;
+    } else if (eventId == MouseEventType.MOUSE_EXIT.id) {
+      inside = false;
+    }
+    return accepted;
+  }
+}
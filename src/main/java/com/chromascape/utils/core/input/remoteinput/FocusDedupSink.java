@@ -0,0 +1,57 @@
+package com.chromascape.utils.core.input.remoteinput;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.timing.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drops focus-gained events when the client was already given focus recently.
+ *
+ * <p>{@link Kinput} sends a focus event before every action so the client never ignores input,
+ * which makes one of every three native calls during a mouse movement a redundant focus event. This
+ * sink forwards the first one and then only re-sends it once the refresh interval has passed, so
+ * the client still regains focus shortly after something else took it. Focus-lost events are always
+ * forwarded and force the next focus-gained through.
+ */
+public class FocusDedupSink extends ForwardingSink {
+
+  /** Default time after which a focus-gained event is sent again. */
+  public static final long DEFAULT_REFRESH_MILLIS = 1000;
+
+  private final Clock clock = ScriptContext.current().clock();
+  private final long refreshNanos;
+  private boolean focused = false;
+  private long lastFocusNanos;
+
+  /**
+   * Constructs a focus filter with the {@link #DEFAULT_REFRESH_MILLIS default} refresh interval.
+   *
+   * @param next The sink calls are forwarded to.
+   */
+  public FocusDedupSink(InputSink next) {
+    this(next, DEFAULT_REFRESH_MILLIS);
+  }
+
+  /**
+   * Constructs a focus filter.
+   *
+   * @param next The sink calls are forwarded to.
+   * @param refreshMillis How long a forwarded focus-gained event suppresses the following ones.
+   */
+  public FocusDedupSink(InputSink next, long refreshMillis) {
+    super(next);
+    this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(refreshMillis);
+  }
+
+  @Override
+  public synchronized boolean focusEvent(int eventId) {
+    long now = clock.nanoTime();
+    if (eventId == FOCUS_GAINED && focused && now - lastFocusNanos < refreshNanos) {
+      return true;
+    }
+    boolean accepted = next.focusEvent(eventId);
+    focused = accepted && eventId == FOCUS_GAINED;
+    lastFocusNanos = now;
+    return accepted;
+  }
+}
@@ -0,0 +1,49 @@
+package com.chromascape.utils.core.input.remoteinput;
+
+/**
+ * Base class for middleware: an {@link InputSink} that passes every call to the sink it wraps.
+ * Subclasses override the calls they want to drop, delay or observe.
+ */
+public abstract class ForwardingSink implements InputSink {
+
+  /** The next sink in the pipeline. */
+  protected final InputSink next;
+
+  /**
+   * Constructs a middleware sink in front of another sink.
+   *
+   * @param next The sink calls are forwarded to.
+   */
+  protected ForwardingSink(InputSink next) {
+    this.next = next;
+  }
+
+  @Override
+  public boolean focusEvent(int eventId) {
+    return next.focusEvent(eventId);
+  }
+
+  @Override
+  public boolean mouseEvent(
+      int eventId,
+      long when,
+      int modifiers,
+      int x,
+      int y,
+      int clickCount,
+      boolean popupTrigger,
+      int button) {
+    return next.mouseEvent(eventId, when, modifiers, x, y, clickCount, popupTrigger, button);
+  }
+
+  @Override
+  public boolean keyEvent(
+      int eventId, long when, int modifiers, int keyCode, char keyChar, int keyLocation) {
+    return next.keyEvent(eventId, when, modifiers, keyCode, keyChar, keyLocation);
+  }
+
+  @Override
+  public boolean close() {
+    return next.close();
+  }
+}
@@ -0,0 +1,84 @@
+package com.chromascape.utils.core.input.remoteinput;
+
+/**
+ * A destination for raw AWT-style input events, mirroring the native Kinput calls without the
+ * process ID.
+ *
+ * <p>{@link Kinput} turns its high-level actions (move, click, type) into calls on a sink. The sink
+ * at the end of the chain is usually a {@link KinputNativeSink}, which injects the events into the
+ * client; in between sit middleware sinks that wrap another sink and drop, delay or measure calls
+ * on the way through:
+ *
+ * <ul>
+ *   <li>{@link FocusDedupSink} drops repeated focus-gained events
+ *   <li>{@link EnterMoveCollapseSink} drops mouse-enter events while the cursor is already inside
+ *   <li>{@link MoveRateLimitSink} spaces out mouse moves
+ *   <li>{@link LatencyRecordingSink} measures how long each call to the next sink takes
+ * </ul>
+ *
+ * <p>A {@link RecordingSink} stores events in memory instead, so input can be tested and
+ * benchmarked without the Windows DLL.
+ *
+ * <p>Like the native calls, every method returns whether the event was accepted. Middleware that
+ * deliberately drops an event reports it as accepted.
+ */
+public interface InputSink {
+
+  /** AWT event ID for a focus-gained event. */
+  int FOCUS_GAINED = 1004;
+
+  /** AWT event ID for a focus-lost event. */
+  int FOCUS_LOST = 1005;
+
+  /**
+   * Sends a focus event.
+   *
+   * @param eventId {@link #FOCUS_GAINED} or {@link #FOCUS_LOST}.
+   * @return true if the event was accepted; false otherwise
+   */
+  boolean focusEvent(int eventId);
+
+  /**
+   * Sends a mouse event.
+   *
+   * @param eventId the mouse event type ID, see {@link Kinput.MouseEventType}
+   * @param when event timestamp for queuing
+   * @param modifiers mouse modifiers
+   * @param x the x-coordinate of the mouse event, client relative
+   * @param y the y-coordinate of the mouse event, client relative
+   * @param clickCount number of clicks
+   * @param popupTrigger whether this event should pop up
+   * @param button mouse button ID, see {@link Kinput.MouseButton}
+   * @return true if the event was accepted; false otherwise
+   */
+  boolean mouseEvent(
+      int eventId,
+      long when,
+      int modifiers,
+      int x,
+      int y,
+      int clickCount,
+      boolean popupTrigger,
+      int button);
+
+  /**
+   * Sends a keyboard event.
+   *
+   * @param eventId the keyboard event ID
+   * @param when event timestamp for queuing
+   * @param modifiers key modifiers
+   * @param keyCode virtual key code
+   * @param keyChar the character associated
+   * @param keyLocation key location
+   * @return true if the event was accepted; false otherwise
+   */
+  boolean keyEvent(
+      int eventId, long when, int modifiers, int keyCode, char keyChar, int keyLocation);
+
+  /**
+   * Releases the sink and everything behind it. Middleware forwards this to the wrapped sink.
+   *
+   * @return true if the resources were released; false otherwise
+   */
+  boolean close();
+}
@@ -1,11 +1,10 @@
 package com.chromascape.utils.core.input.remoteinput;
 
-import com.sun.jna.Library;
-import com.sun.jna.Native;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.TimerService.Precision;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Provides a wrapper for the native Kinput interface, allowing injection of mouse and keyboard
@@ -14,95 +13,26 @@ import java.util.Random;
  * <p>This class is responsible for:
  *
  * <ul>
- *   <li>Loading native Kinput libraries
- *   <li>Creating and managing the Kinput instance lifecycle
- *   <li>Sending mouse and keyboard events to a remote process
+ *   <li>Turning mouse and keyboard actions into the AWT event sequences the client expects
+ *   <li>Sending those events through an {@link InputSink} pipeline
+ *   <li>Releasing the pipeline on shutdown
  * </ul>
  *
+ * <p>The native calls themselves live in {@link KinputNativeSink}. By default they are reached
+ * through {@link #defaultPipeline(InputSink)}, which drops the redundant focus and enter events
+ * sent before every move, and a {@link LatencyRecordingSink} that times each native call. Passing a
+ * {@link RecordingSink} to {@link #Kinput(InputSink)} instead runs everything without the DLL.
+ *
+ * <p>Event timestamps and click delays are taken from the clock of the script that created the
+ * instance, so a simulated client sees the same times the script does.
+ *
  * <p>Intended for use with 64-bit Java applications that expose a {@code java.awt.Canvas}.
  */
 public class Kinput {
 
-  /** JNA interface mapping for KInputCtrl.dll native methods. */
-  public interface KinputInterface extends Library {
-
-    /**
-     * Creates a Kinput instance for the specified process ID.
-     *
-     * @param pid the target process ID
-     * @return true if creation succeeded; false otherwise
-     */
-    boolean KInput_Create(int pid);
-
-    /**
-     * Deletes the Kinput instance for the specified process ID.
-     *
-     * @param pid the target process ID
-     * @return true if deletion succeeded; false otherwise
-     */
-    boolean KInput_Delete(int pid);
-
-    /**
-     * Sends a focus event to the target process.
-     *
-     * @param pid the target process ID
-     * @param eventID the focus event type (e.g., gain or loss)
-     * @return true if event succeeded; false otherwise
-     */
-    boolean KInput_FocusEvent(int pid, int eventID);
-
-    /**
-     * Sends a keyboard event to the target process.
-     *
-     * @param pid the target process ID
-     * @param eventID the keyboard event ID
-     * @param when event timestamp for queuing
-     * @param modifiers key modifiers
-     * @param keyCode virtual key code
-     * @param keyChar the character associated
-     * @param keyLocation key location
-     * @return true if the event was successfully sent; false otherwise
-     */
-    boolean KInput_KeyEvent(
-        int pid,
-        int eventID,
-        long when,
-        int modifiers,
-        int keyCode,
-        short keyChar,
-        int keyLocation);
-
-    /**
-     * Sends a mouse event to the target process.
-     *
-     * @param pid the target process ID
-     * @param eventID the mouse event type ID
-     * @param when event timestamp for queuing
-     * @param modifiers mouse modifiers
-     * @param x the x-coordinate of the mouse event
-     * @param y the y-coordinate of the mouse event
-     * @param clickCount number of clicks
-     * @param popupTrigger whether this event should pop up
-     * @param button mouse button ID
-     * @return true if the event was successfully sent; false otherwise
-     */
-    boolean KInput_MouseEvent(
-        int pid,
-        int eventID,
-        long when,
-        int modifiers,
-        int x,
-        int y,
-        int clickCount,
-        boolean popupTrigger,
-        int button);
-  }
-
-  private static final int FOCUS_GAINED = 1004;
-  private static final int FOCUS_LOST = 1005;
-
-  private final int pid;
-  private final KinputInterface kinput;
+  private final Clock clock = ScriptContext.current().clock();
+  private final InputSink sink;
+  private final LatencyRecordingSink nativeLatency;
 
   /** Mouse event type IDs mapped to standard AWT semantics. */
   public enum MouseEventType {
@@ -137,48 +67,54 @@ public class Kinput {
   }
 
   /**
-   * Constructs a new Kinput instance for the given process ID.
+   * Constructs a new Kinput instance for the given process ID, sending events through the {@link
+   * #defaultPipeline(InputSink) default pipeline} to a {@link KinputNativeSink}.
    *
    * @param pid the process ID of the target Java application
    */
   public Kinput(int pid) {
-    this.pid = pid;
-    this.kinput = loadLibrary();
-    if (!kinput.KInput_Create(pid)) {
-      throw new RuntimeException("Failed to create Kinput instance for PID: " + pid);
-    }
+    this.nativeLatency = new LatencyRecordingSink(new KinputNativeSink(pid));
+    this.sink = defaultPipeline(nativeLatency);
   }
 
   /**
-   * Loads the Kinput native libraries from the build directory and prepares them for JNA.
+   * Constructs a Kinput that sends every event to the given sink unchanged. The sink is expected to
+   * be a complete pipeline, e.g. {@code defaultPipeline(new RecordingSink())}.
    *
-   * @return the loaded KinputInterface
+   * @param sink the sink events are sent to
    */
-  private static KinputInterface loadLibrary() {
-    try {
-      // Try to load from build/dist directory first (preferred)
-      Path buildDistPath = Path.of("build/dist");
-      Path dllFileCtrl = buildDistPath.resolve("KInputCtrl.dll");
-      Path dllFile64 = buildDistPath.resolve("KInput.dll");
+  public Kinput(InputSink sink) {
+    this.sink = sink;
+    this.nativeLatency = null;
+  }
 
-      if (Files.exists(dllFileCtrl) && Files.exists(dllFile64)) {
-        // Use build directory directly
-        System.setProperty("jna.library.path", buildDistPath.toAbsolutePath().toString());
-        return Native.load("KInputCtrl", KinputInterface.class);
-      }
+  /**
+   * Wraps a sink in the middleware used by default: focus-gained events are sent at most once a
+   * second and mouse-enter events only when the cursor isn't already inside, turning the three
+   * native calls of a move into one.
+   *
+   * @param target the sink at the end of the pipeline
+   * @return the head of the pipeline
+   */
+  public static InputSink defaultPipeline(InputSink target) {
+    return new FocusDedupSink(new EnterMoveCollapseSink(target));
+  }
 
-      // If DLLs are not found in build directory, throw an error
-      throw new IOException(
-          "Missing native libraries in build/dist directory. Please run the build process first.");
-    } catch (Throwable e) {
-      throw new RuntimeException("Failed to load Kinput DLLs", e);
-    }
+  /**
+   * Returns the per-call latency of the native library, when this instance was created for a
+   * process ID.
+   *
+   * @return the latency recorder in front of the native sink, or {@code null} if this instance was
+   *     given its own sink
+   */
+  public LatencyRecordingSink getNativeLatency() {
+    return nativeLatency;
   }
 
-  /** Sleeps briefly to simulate human-like click timing. */
+  /** Sleeps briefly on the calling script's clock to simulate human-like click timing. */
   private void sleepHumanClick() {
     try {
-      Thread.sleep(new Random().nextInt(50, 80));
+      clock.sleep(TimeUnit.MILLISECONDS.toNanos(new Random().nextInt(50, 80)), Precision.COARSE);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
     }
@@ -186,8 +122,8 @@ public class Kinput {
 
   /** Ensures the target window is focused before sending input. */
   private synchronized void focus() {
-    if (!kinput.KInput_FocusEvent(pid, FOCUS_GAINED)) {
-      throw new RuntimeException("Focus event failed for PID: " + pid);
+    if (!sink.focusEvent(InputSink.FOCUS_GAINED)) {
+      throw new RuntimeException("Focus event failed");
     }
   }
 
@@ -201,29 +137,13 @@ public class Kinput {
    */
   public synchronized void clickMouse(int x, int y, int button) {
     focus();
-    if (!kinput.KInput_MouseEvent(
-        pid,
-        MouseEventType.MOUSE_PRESS.id,
-        System.currentTimeMillis(),
-        1,
-        x,
-        y,
-        1,
-        false,
-        button)) {
+    if (!sink.mouseEvent(
+        MouseEventType.MOUSE_PRESS.id, clock.currentTimeMillis(), 1, x, y, 1, false, button)) {
       throw new RuntimeException(button + " press failed");
     }
     sleepHumanClick();
-    if (!kinput.KInput_MouseEvent(
-        pid,
-        MouseEventType.MOUSE_RELEASE.id,
-        System.currentTimeMillis(),
-        1,
-        x,
-        y,
-        1,
-        false,
-        button)) {
+    if (!sink.mouseEvent(
+        MouseEventType.MOUSE_RELEASE.id, clock.currentTimeMillis(), 1, x, y, 1, false, button)) {
       throw new RuntimeException(button + " release failed");
     }
   }
@@ -231,8 +151,8 @@ public class Kinput {
   /** Sends a middle mouse button input. */
   public synchronized void middleInput(int x, int y, int eventID) {
     focus();
-    if (!kinput.KInput_MouseEvent(
-        pid, eventID, System.currentTimeMillis(), 1, x, y, 1, false, MouseButton.MIDDLE.id)) {
+    if (!sink.mouseEvent(
+        eventID, clock.currentTimeMillis(), 1, x, y, 1, false, MouseButton.MIDDLE.id)) {
       throw new RuntimeException("Middle mouse event failed");
     }
   }
@@ -240,10 +160,9 @@ public class Kinput {
   /** Moves the mouse cursor to a given screen coordinate. */
   public synchronized void moveMouse(int x, int y) {
     focus();
-    if (!kinput.KInput_MouseEvent(
-        pid,
+    if (!sink.mouseEvent(
         MouseEventType.MOUSE_ENTER.id,
-        System.currentTimeMillis(),
+        clock.currentTimeMillis(),
         0,
         x,
         y,
@@ -252,10 +171,9 @@ public class Kinput {
         MouseButton.NONE.id)) {
       throw new RuntimeException("Mouse enter failed");
     }
-    if (!kinput.KInput_MouseEvent(
-        pid,
+    if (!sink.mouseEvent(
         MouseEventType.MOUSE_MOVE.id,
-        System.currentTimeMillis(),
+        clock.currentTimeMillis(),
         0,
         x,
         y,
@@ -274,8 +192,7 @@ public class Kinput {
    */
   public synchronized void sendKeyEvent(int eventID, char keyChar) {
     focus();
-    if (!kinput.KInput_KeyEvent(
-        pid, eventID, System.currentTimeMillis(), 0, 0, (short) keyChar, 0)) {
+    if (!sink.keyEvent(eventID, clock.currentTimeMillis(), 0, 0, keyChar, 0)) {
       throw new RuntimeException("Key event failed for char: " + keyChar);
     }
   }
@@ -288,7 +205,7 @@ public class Kinput {
   public synchronized void sendCharEvent(char keyChar) {
     focus();
     // Passes keyChar into the 'short' parameter (arg5)
-    if (!kinput.KInput_KeyEvent(pid, 400, System.currentTimeMillis(), 0, 0, (short) keyChar, 0)) {
+    if (!sink.keyEvent(400, clock.currentTimeMillis(), 0, 0, keyChar, 0)) {
       throw new RuntimeException("Character event failed for char: '" + keyChar + "'");
     }
   }
@@ -303,8 +220,7 @@ public class Kinput {
   public synchronized void sendVirtualKeyEvent(int eventID, int keyCode, String keyName) {
     focus();
     // Passes keyCode into the integer parameter (arg4)
-    if (!kinput.KInput_KeyEvent(
-        pid, eventID, System.currentTimeMillis(), 0, keyCode, (short) 0, 0)) {
+    if (!sink.keyEvent(eventID, clock.currentTimeMillis(), 0, keyCode, (char) 0, 0)) {
       throw new RuntimeException("Virtual key event failed for: " + keyName);
     }
   }
@@ -314,7 +230,7 @@ public class Kinput {
    * resources.
    */
   public synchronized void destroy() {
-    if (!kinput.KInput_Delete(pid)) {
+    if (!sink.close()) {
       throw new RuntimeException("Failed to delete KInput instance");
     }
   }
@@ -0,0 +1,168 @@
+package com.chromascape.utils.core.input.remoteinput;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An {@link InputSink} that injects events into a target Java application's process via JNA and the
+ * Kinput DLLs.
+ *
+ * <p>This is the end of a normal input pipeline. Constructing one loads the native libraries and
+ * creates the Kinput instance for the process; {@link #close()} deletes it again. Calls are
+ * synchronized, as the native side is not safe to call concurrently.
+ *
+ * <p>Intended for use with 64-bit Java applications that expose a {@code java.awt.Canvas}.
+ */
+public class KinputNativeSink implements InputSink {
+
+  /** JNA interface mapping for KInputCtrl.dll native methods. */
+  public interface KinputInterface extends Library {
+
+    /**
+     * Creates a Kinput instance for the specified process ID.
+     *
+     * @param pid the target process ID
+     * @return true if creation succeeded; false otherwise
+     */
+    boolean KInput_Create(int pid);
+
+    /**
+     * Deletes the Kinput instance for the specified process ID.
+     *
+     * @param pid the target process ID
+     * @return true if deletion succeeded; false otherwise
+     */
+    boolean KInput_Delete(int pid);
+
+    /**
+     * Sends a focus event to the target process.
+     *
+     * @param pid the target process ID
+     * @param eventID the focus event type (e.g., gain or loss)
+     * @return true if event succeeded; false otherwise
+     */
+    boolean KInput_FocusEvent(int pid, int eventID);
+
+    /**
+     * Sends a keyboard event to the target process.
+     *
+     * @param pid the target process ID
+     * @param eventID the keyboard event ID
+     * @param when event timestamp for queuing
+     * @param modifiers key modifiers
+     * @param keyCode virtual key code
+     * @param keyChar the character associated
+     * @param keyLocation key location
+     * @return true if the event was successfully sent; false otherwise
+     */
+    boolean KInput_KeyEvent(
+        int pid,
+        int eventID,
+        long when,
+        int modifiers,
+        int keyCode,
+        short keyChar,
+        int keyLocation);
+
+    /**
+     * Sends a mouse event to the target process.
+     *
+     * @param pid the target process ID
+     * @param eventID the mouse event type ID
+     * @param when event timestamp for queuing
+     * @param modifiers mouse modifiers
+     * @param x the x-coordinate of the mouse event
+     * @param y the y-coordinate of the mouse event
+     * @param clickCount number of clicks
+     * @param popupTrigger whether this event should pop up
+     * @param button mouse button ID
+     * @return true if the event was successfully sent; false otherwise
+     */
+    boolean KInput_MouseEvent(
+        int pid,
+        int eventID,
+        long when,
+        int modifiers,
+        int x,
+        int y,
+        int clickCount,
+        boolean popupTrigger,
+        int button);
+  }
+
+  private final int pid;
+  private final KinputInterface kinput;
+
+  /**
+   * Loads the native libraries and creates a Kinput instance for the given process ID.
+   *
+   * @param pid the process ID of the target Java application
+   */
+  public KinputNativeSink(int pid) {
+    this.pid = pid;
+    this.kinput = loadLibrary();
+    if (!kinput.KInput_Create(pid)) {
+      throw new RuntimeException("Failed to create Kinput instance for PID: " + pid);
+    }
+  }
+
+  /**
+   * Loads the Kinput native libraries from the build directory and prepares them for JNA.
+   *
+   * @return the loaded KinputInterface
+   */
+  private static KinputInterface loadLibrary() {
+    try {
+      // Try to load from build/dist directory first (preferred)
+      Path buildDistPath = Path.of("build/dist");
+      Path dllFileCtrl = buildDistPath.resolve("KInputCtrl.dll");
+      Path dllFile64 = buildDistPath.resolve("KInput.dll");
+
+      if (Files.exists(dllFileCtrl) && Files.exists(dllFile64)) {
+        // Use build directory directly
+        System.setProperty("jna.library.path", buildDistPath.toAbsolutePath().toString());
+        return Native.load("KInputCtrl", KinputInterface.class);
+      }
+
+      // If DLLs are not found in build directory, throw an error
+      throw new IOException(
+          "Missing native libraries in build/dist directory. Please run the build process first.");
+    } catch (Throwable e) {
+      throw new RuntimeException("Failed to load Kinput DLLs", e);
+    }
+  }
+
+  @Override
+  public synchronized boolean focusEvent(int eventId) {
+    return kinput.KInput_FocusEvent(pid, eventId);
+  }
+
+  @Override
+  public synchronized boolean mouseEvent(
+      int eventId,
+      long when,
+      int modifiers,
+      int x,
+      int y,
+      int clickCount,
+      boolean popupTrigger,
+      int button) {
+    return kinput.KInput_MouseEvent(
+        pid, eventId, when, modifiers, x, y, clickCount, popupTrigger, button);
+  }
+
+  @Override
+  public synchronized boolean keyEvent(
+      int eventId, long when, int modifiers, int keyCode, char keyChar, int keyLocation) {
+    return kinput.KInput_KeyEvent(
+        pid, eventId, when, modifiers, keyCode, (short) keyChar, keyLocation);
+  }
+
+  @Override
+  public synchronized boolean close() {
+    return kinput.KInput_Delete(pid);
+  }
+}
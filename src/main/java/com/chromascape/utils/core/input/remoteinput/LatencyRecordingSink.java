@@ -0,0 +1,95 @@
+package com.chromascape.utils.core.input.remoteinput;
+
+import com.chromascape.utils.core.statistics.LatencyHistogram;
+
+/**
+ * Measures how long each call to the next sink takes. Placed directly in front of a {@link
+ * KinputNativeSink}, this is the per-call cost of the JNA round trip.
+ */
+public class LatencyRecordingSink extends ForwardingSink {
+
+  private final LatencyHistogram focusLatency = new LatencyHistogram();
+  private final LatencyHistogram mouseLatency = new LatencyHistogram();
+  private final LatencyHistogram keyLatency = new LatencyHistogram();
+
+  /**
+   * Constructs a latency recorder.
+   *
+   * @param next The sink whose calls are timed.
+   */
+  public LatencyRecordingSink(InputSink next) {
+    super(next);
+  }
+
+  @Override
+  public boolean focusEvent(int eventId) {
+    long start = System.nanoTime();
+    boolean accepted = next.focusEvent(eventId);
+    focusLatency.record(System.nanoTime() - start);
+    return accepted;
+  }
+
+  @Override
+  public boolean mouseEvent(
+      int eventId,
+      long when,
+      int modifiers,
+      int x,
+      int y,
+      int clickCount,
+      boolean popupTrigger,
+      int button) {
+    long start = System.nanoTime();
+    boolean accepted =
+        next.mouseEvent(eventId, when, modifiers, x, y, clickCount, popupTrigger, button);
+    mouseLatency.record(System.nanoTime() - start);
+    return accepted;
+  }
+
+  @Override
+  public boolean keyEvent(
+      int eventId, long when, int modifiers, int keyCode, char keyChar, int keyLocation) {
+    long start = System.nanoTime();
+    boolean accepted = next.keyEvent(eventId, when, modifiers, keyCode, keyChar, keyLocation);
+    keyLatency.record(System.nanoTime() - start);
+    return accepted;
+  }
+
+  /**
+   * Returns the latency of focus events, in nanoseconds.
+   *
+   * @return The focus event histogram.
+   */
+  public LatencyHistogram getFocusLatency() {
+    return focusLatency;
+  }
+
+  /**
+   * Returns the latency of mouse events, in nanoseconds.
+   *
+   * @return The mouse event histogram.
+   */
+  public LatencyHistogram getMouseLatency() {
+    return mouseLatency;
+  }
+
+  /**
+   * Returns the latency of key events, in nanoseconds.
+   *
+   * @return The key event histogram.
+   */
+  public LatencyHistogram getKeyLatency() {
+    return keyLatency;
+  }
+
+  /**
+   * Formats the latency of each kind of call.
+   *
+   * @return A one line summary.
+   */
+  public String summary() {
+    return String.format(
+        "focus %s, mouse %s, key %s",
+        focusLatency.summaryMillis(), mouseLatency.summaryMillis(), keyLatency.summaryMillis());
+  }
+}
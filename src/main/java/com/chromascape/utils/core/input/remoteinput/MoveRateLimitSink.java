@@ -0,0 +1,62 @@
+package com.chromascape.utils.core.input.remoteinput;
+
+import com.chromascape.utils.core.input.remoteinput.Kinput.MouseEventType;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.TimerService.Precision;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out mouse moves and drags so that no more than one reaches the next sink per interval.
+ *
+ * <p>Moves are delayed rather than dropped, so the cursor always ends up where it was sent. When
+ * this sits behind the mouse's input dispatcher, the delay backs up into the dispatcher, which
+ * coalesces the points that arrive in the meantime; the effect is that the client sees at most one
+ * move per interval, always the latest one. Other events are never delayed. The interval is kept on
+ * the clock of the script that built the sink.
+ */
+public class MoveRateLimitSink extends ForwardingSink {
+
+  private final Clock clock = ScriptContext.current().clock();
+  private final long minIntervalNanos;
+  private long lastMoveNanos;
+  private boolean moved = false;
+
+  /**
+   * Constructs a move rate limiter.
+   *
+   * @param next The sink calls are forwarded to.
+   * @param maxMovesPerSecond The highest move rate passed on.
+   */
+  public MoveRateLimitSink(InputSink next, int maxMovesPerSecond) {
+    super(next);
+    if (maxMovesPerSecond <= 0) {
+      throw new IllegalArgumentException("maxMovesPerSecond must be positive");
+    }
+    this.minIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxMovesPerSecond;
+  }
+
+  @Override
+  public synchronized boolean mouseEvent(
+      int eventId,
+      long when,
+      int modifiers,
+      int x,
+      int y,
+      int clickCount,
+      boolean popupTrigger,
+      int button) {
+    if (eventId == MouseEventType.MOUSE_MOVE.id || eventId == MouseEventType.MOUSE_DRAG.id) {
+      if (moved) {
+        try {
+          clock.sleepUntil(lastMoveNanos + minIntervalNanos, Precision.NORMAL);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt(); // Restore interrupt status, send the move anyway
+        }
+      }
+      moved = true;
+      lastMoveNanos = clock.nanoTime();
+    }
+    return next.mouseEvent(eventId, when, modifiers, x, y, clickCount, popupTrigger, button);
+  }
+}
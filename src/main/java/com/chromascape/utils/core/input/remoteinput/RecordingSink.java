@@ -0,0 +1,118 @@
+package com.chromascape.utils.core.input.remoteinput;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link InputSink} that stores every event in memory instead of sending it anywhere.
+ *
+ * <p>Lets the input pipeline run without the native library, e.g. on Linux, to test what a script
+ * would send or to benchmark how fast the middleware and mouse playback can produce events.
+ */
+public class RecordingSink implements InputSink {
+
+  /** The kind of call an event was recorded from. */
+  public enum Kind {
+    FOCUS,
+    MOUSE,
+    KEY
+  }
+
+  /**
+   * A recorded event. Fields that don't apply to the event's kind are zero.
+   *
+   * @param kind Which call recorded it.
+   * @param eventId The AWT event ID.
+   * @param x The client x co-ordinate of a mouse event.
+   * @param y The client y co-ordinate of a mouse event.
+   * @param button The mouse button of a mouse event.
+   * @param keyCode The virtual key code of a key event.
+   * @param keyChar The character of a key event.
+   * @param recordedAtNanos The {@link System#nanoTime()} the event arrived.
+   */
+  public record Event(
+      Kind kind,
+      int eventId,
+      int x,
+      int y,
+      int button,
+      int keyCode,
+      char keyChar,
+      long recordedAtNanos) {}
+
+  private final List<Event> events = new ArrayList<>();
+  private boolean closed = false;
+
+  @Override
+  public synchronized boolean focusEvent(int eventId) {
+    events.add(new Event(Kind.FOCUS, eventId, 0, 0, 0, 0, (char) 0, System.nanoTime()));
+    return true;
+  }
+
+  @Override
+  public synchronized boolean mouseEvent(
+      int eventId,
+      long when,
+      int modifiers,
+      int x,
+      int y,
+      int clickCount,
+      boolean popupTrigger,
+      int button) {
+    events.add(new Event(Kind.MOUSE, eventId, x, y, button, 0, (char) 0, System.nanoTime()));
+    return true;
+  }
+
+  @Override
+  public synchronized boolean keyEvent(
+      int eventId, long when, int modifiers, int keyCode, char keyChar, int keyLocation) {
+    events.add(new Event(Kind.KEY, eventId, 0, 0, 0, keyCode, keyChar, System.nanoTime()));
+    return true;
+  }
+
+  @Override
+  public synchronized boolean close() {
+    closed = true;
+    return true;
+  }
+
+  /**
+   * Returns a copy of the events recorded so far, in arrival order.
+   *
+   * @return The recorded events.
+   */
+  public synchronized List<Event> getEvents() {
+    return new ArrayList<>(events);
+  }
+
+  /**
+   * Counts the recorded events with a given kind and event ID.
+   *
+   * @param kind The kind of call.
+   * @param eventId The AWT event ID.
+   * @return The number of matching events.
+   */
+  public synchronized int count(Kind kind, int eventId) {
+    int count = 0;
+    for (Event event : events) {
+      if (event.kind() == kind && event.eventId() == eventId) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Discards the recorded events. */
+  public synchronized void clear() {
+    events.clear();
+  }
+
+  /**
+   * Returns whether {@link #close()} has been called.
+   *
+   * @return true once the sink has been closed.
+   */
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+}
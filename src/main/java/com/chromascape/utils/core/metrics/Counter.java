@@ -0,0 +1,47 @@
+package com.chromascape.utils.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count backed by a {@link LongAdder}, so threads incrementing it at once never contend on one
+ * memory location.
+ */
+public final class Counter implements Metric {
+
+  private final LongAdder count = new LongAdder();
+
+  Counter() {}
+
+  /** Adds one. */
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * Adds an amount.
+   *
+   * @param amount The amount, normally positive.
+   */
+  public void add(long amount) {
+    count.add(amount);
+  }
+
+  /**
+   * Returns the count.
+   *
+   * @return The sum of everything added since the last reset.
+   */
+  public long get() {
+    return count.sum();
+  }
+
+  /** Sets the count back to zero, e.g. when a script restarts. */
+  public void reset() {
+    count.reset();
+  }
+
+  @Override
+  public Type type() {
+    return Type.COUNTER;
+  }
+}
@@ -0,0 +1,27 @@
+package com.chromascape.utils.core.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/** A value read from its source each time it is exported, such as a script's runtime. */
+public final class Gauge implements Metric {
+
+  private final DoubleSupplier value;
+
+  Gauge(DoubleSupplier value) {
+    this.value = value;
+  }
+
+  /**
+   * Reads the current value.
+   *
+   * @return The value.
+   */
+  public double get() {
+    return value.getAsDouble();
+  }
+
+  @Override
+  public Type type() {
+    return Type.GAUGE;
+  }
+}
@@ -0,0 +1,54 @@
+package com.chromascape.utils.core.metrics;
+
+import com.chromascape.utils.core.statistics.LatencyHistogram;
+
+/**
+ * A distribution of non-negative values, kept in a {@link LatencyHistogram} so recording never
+ * allocates and every quantile is within about 6% of the true value.
+ */
+public class Histogram implements Metric {
+
+  private final LatencyHistogram values = new LatencyHistogram();
+  private final double exportScale;
+
+  Histogram() {
+    this(1);
+  }
+
+  /**
+   * Constructs a histogram whose values are multiplied by a scale when exported.
+   *
+   * @param exportScale Converts recorded values to the exported unit.
+   */
+  Histogram(double exportScale) {
+    this.exportScale = exportScale;
+  }
+
+  /**
+   * Records a value. Negative values are recorded as zero.
+   *
+   * @param value The value.
+   */
+  public void record(long value) {
+    values.record(value);
+  }
+
+  /**
+   * Returns the recorded values.
+   *
+   * @return The underlying histogram.
+   */
+  public LatencyHistogram values() {
+    return values;
+  }
+
+  /** Multiplier from recorded values to the exported unit. */
+  double exportScale() {
+    return exportScale;
+  }
+
+  @Override
+  public Type type() {
+    return Type.SUMMARY;
+  }
+}
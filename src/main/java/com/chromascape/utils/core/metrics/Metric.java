@@ -0,0 +1,25 @@
+package com.chromascape.utils.core.metrics;
+
+/**
+ * A value kept in a {@link MetricsRegistry}: a {@link Counter}, {@link Gauge}, {@link Histogram} or
+ * {@link Timer}.
+ */
+public interface Metric {
+
+  /** How a metric is exported. */
+  enum Type {
+    /** A count that only goes up, except when its script restarts. */
+    COUNTER,
+    /** A value read when it is exported. */
+    GAUGE,
+    /** A distribution, exported as its count, sum and main quantiles. */
+    SUMMARY
+  }
+
+  /**
+   * Returns how the metric is exported.
+   *
+   * @return The type.
+   */
+  Type type();
+}
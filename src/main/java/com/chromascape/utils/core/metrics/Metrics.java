@@ -0,0 +1,88 @@
+package com.chromascape.utils.core.metrics;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+
+/**
+ * Static access to the {@link MetricsRegistry} of the script running on the calling thread, and the
+ * names of the metrics ChromaScape records.
+ *
+ * <p>Like {@link com.chromascape.utils.core.statistics.StatisticsManager}, every call resolves
+ * {@link ScriptContext#current()}, so detection and input utilities can record metrics without
+ * being handed a context while scripts running side by side still count separately.
+ */
+public final class Metrics {
+
+  /** Script cycles run. */
+  public static final String CYCLES = "chromascape_cycles_total";
+
+  /** Inputs sent, tagged with {@code type}: move, click, key or key_char. */
+  public static final String INPUTS = "chromascape_inputs_total";
+
+  /** Objects found, tagged with the {@code detector} that found them: colour or template. */
+  public static final String OBJECTS_DETECTED = "chromascape_objects_detected_total";
+
+  /** Estimated mouse travel time saved by target selection. */
+  public static final String TRAVEL_SAVED = "chromascape_travel_saved_milliseconds_total";
+
+  /** Time the script has been running. */
+  public static final String RUNTIME = "chromascape_runtime_seconds";
+
+  /** 1 while the script is running, else 0. */
+  public static final String RUNNING = "chromascape_running";
+
+  /**
+   * Time taken by one detection, tagged with the {@code detector} and its {@code target}: the
+   * colour name or template path.
+   */
+  public static final String DETECTOR_SECONDS = "chromascape_detector_seconds";
+
+  /** Time taken by one OCR read, tagged with the {@code font}. */
+  public static final String OCR_SECONDS = "chromascape_ocr_seconds";
+
+  private Metrics() {}
+
+  /**
+   * Returns the metrics of the calling thread's script.
+   *
+   * @return The current context's registry.
+   */
+  public static MetricsRegistry current() {
+    return ScriptContext.current().metrics();
+  }
+
+  /**
+   * Returns a counter of the calling thread's script.
+   *
+   * @param name The metric name.
+   * @param tags Alternating tag names and values.
+   * @return The counter.
+   * @see MetricsRegistry#counter(String, String...)
+   */
+  public static Counter counter(String name, String... tags) {
+    return current().counter(name, tags);
+  }
+
+  /**
+   * Returns a histogram of the calling thread's script.
+   *
+   * @param name The metric name.
+   * @param tags Alternating tag names and values.
+   * @return The histogram.
+   * @see MetricsRegistry#histogram(String, String...)
+   */
+  public static Histogram histogram(String name, String... tags) {
+    return current().histogram(name, tags);
+  }
+
+  /**
+   * Returns a timer of the calling thread's script.
+   *
+   * @param name The metric name.
+   * @param tags Alternating tag names and values.
+   * @return The timer.
+   * @see MetricsRegistry#timer(String, String...)
+   */
+  public static Timer timer(String name, String... tags) {
+    return current().timer(name, tags);
+  }
+}
@@ -0,0 +1,150 @@
+package com.chromascape.utils.core.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * The metrics of one script, each identified by a name and tags.
+ *
+ * <p>Tags are given as alternating names and values, e.g. {@code
+ * counter("chromascape_inputs_total", "type", "click")}, and each distinct combination is its own
+ * series. Asking again for the same name and tags returns the same metric, so callers needn't keep
+ * it, though code on a hot path may.
+ *
+ * <p>Each {@link com.chromascape.utils.core.runtime.ScriptContext} owns a registry, so the series
+ * of scripts running side by side stay apart and are told apart by their instance when exported
+ * with {@link PrometheusFormat}. Names follow Prometheus conventions: lower case with underscores,
+ * a {@code _total} suffix on counters, and base units such as seconds.
+ */
+public final class MetricsRegistry {
+
+  private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+  private static final Pattern TAG = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+  /**
+   * Identifies one series.
+   *
+   * @param name The metric name.
+   * @param tags Alternating tag names and values, in the order given.
+   */
+  public record Key(String name, List<String> tags) {}
+
+  /**
+   * One series as it stands.
+   *
+   * @param key The name and tags.
+   * @param metric The metric.
+   */
+  public record Series(Key key, Metric metric) {}
+
+  private final Map<Key, Metric> metrics = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the counter with a name and tags, creating it if needed.
+   *
+   * @param name The metric name.
+   * @param tags Alternating tag names and values.
+   * @return The counter.
+   * @throws IllegalArgumentException if the name or tags are malformed, or the series is already a
+   *     different kind of metric.
+   */
+  public Counter counter(String name, String... tags) {
+    return getOrCreate(name, tags, Counter.class, Counter::new);
+  }
+
+  /**
+   * Returns the gauge with a name and tags, creating it from a source if needed. A gauge that
+   * already exists keeps its original source.
+   *
+   * @param name The metric name.
+   * @param value Supplies the value each time it is exported.
+   * @param tags Alternating tag names and values.
+   * @return The gauge.
+   * @throws IllegalArgumentException if the name or tags are malformed, or the series is already a
+   *     different kind of metric.
+   */
+  public Gauge gauge(String name, DoubleSupplier value, String... tags) {
+    return getOrCreate(name, tags, Gauge.class, () -> new Gauge(value));
+  }
+
+  /**
+   * Returns the histogram with a name and tags, creating it if needed.
+   *
+   * @param name The metric name.
+   * @param tags Alternating tag names and values.
+   * @return The histogram.
+   * @throws IllegalArgumentException if the name or tags are malformed, or the series is already a
+   *     different kind of metric.
+   */
+  public Histogram histogram(String name, String... tags) {
+    return getOrCreate(name, tags, Histogram.class, Histogram::new);
+  }
+
+  /**
+   * Returns the timer with a name and tags, creating it if needed.
+   *
+   * @param name The metric name, ending in {@code _seconds}.
+   * @param tags Alternating tag names and values.
+   * @return The timer.
+   * @throws IllegalArgumentException if the name or tags are malformed, or the series is already a
+   *     different kind of metric.
+   */
+  public Timer timer(String name, String... tags) {
+    return getOrCreate(name, tags, Timer.class, Timer::new);
+  }
+
+  /**
+   * Returns every series, sorted by name and then tags.
+   *
+   * @return A snapshot of the series.
+   */
+  public List<Series> series() {
+    List<Series> series = new ArrayList<>(metrics.size());
+    for (Map.Entry<Key, Metric> entry : metrics.entrySet()) {
+      series.add(new Series(entry.getKey(), entry.getValue()));
+    }
+    series.sort(
+        Comparator.comparing((Series s) -> s.key().name())
+            .thenComparing(s -> String.join(",", s.key().tags())));
+    return series;
+  }
+
+  private <M extends Metric> M getOrCreate(
+      String name, String[] tags, Class<M> type, Supplier<M> factory) {
+    Key key = new Key(name, Arrays.asList(tags));
+    Metric metric = metrics.get(key);
+    if (metric == null) {
+      validate(name, tags);
+      metric = metrics.computeIfAbsent(key, k -> factory.get());
+    }
+    if (!type.isInstance(metric)) {
+      throw new IllegalArgumentException(
+          name + " is a " + metric.getClass().getSimpleName() + ", not a " + type.getSimpleName());
+    }
+    return type.cast(metric);
+  }
+
+  private static void validate(String name, String[] tags) {
+    if (name == null || !NAME.matcher(name).matches()) {
+      throw new IllegalArgumentException("Invalid metric name: " + name);
+    }
+    if (tags.length % 2 != 0) {
+      throw new IllegalArgumentException("Tags must be name and value pairs: " + name);
+    }
+    for (int i = 0; i < tags.length; i += 2) {
+      if (tags[i] == null || !TAG.matcher(tags[i]).matches()) {
+        throw new IllegalArgumentException("Invalid tag name on " + name + ": " + tags[i]);
+      }
+      if (tags[i + 1] == null) {
+        throw new IllegalArgumentException("Missing value for tag " + tags[i] + " on " + name);
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.chromascape.utils.core.metrics;
+
+import com.chromascape.utils.core.statistics.LatencyHistogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes metrics in the Prometheus text exposition format, version 0.0.4, so a local Prometheus can
+ * scrape them.
+ *
+ * <p>Every series gets a {@value #INSTANCE_LABEL} label naming the script instance it belongs to.
+ * The label isn't called {@code instance} because Prometheus sets that one to the scrape target.
+ * Histograms and timers are written as summaries: their count, sum and the {@link #QUANTILES}.
+ */
+public final class PrometheusFormat {
+
+  /** Content type of the output. */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  /** Name of the label holding the script instance id. */
+  public static final String INSTANCE_LABEL = "script_instance";
+
+  /** Quantiles written for each histogram and timer. */
+  static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+  private PrometheusFormat() {}
+
+  /**
+   * Writes the metrics of several script instances, grouped into one family per metric name.
+   *
+   * @param registries Each instance's registry, keyed by instance id.
+   * @return The exposition text.
+   */
+  public static String write(Map<String, MetricsRegistry> registries) {
+    // Prometheus wants all series of a name together, under one TYPE line
+    Map<String, List<Sample>> families = new TreeMap<>();
+    for (Map.Entry<String, MetricsRegistry> entry : registries.entrySet()) {
+      for (MetricsRegistry.Series series : entry.getValue().series()) {
+        families
+            .computeIfAbsent(series.key().name(), name -> new ArrayList<>())
+            .add(new Sample(entry.getKey(), series));
+      }
+    }
+
+    StringBuilder out = new StringBuilder();
+    for (Map.Entry<String, List<Sample>> family : families.entrySet()) {
+      String name = family.getKey();
+      Metric.Type type = family.getValue().get(0).series().metric().type();
+      out.append("# TYPE ").append(name).append(' ');
+      out.append(type.name().toLowerCase(Locale.ROOT)).append('\n');
+      for (Sample sample : family.getValue()) {
+        if (sample.series().metric().type() == type) {
+          writeSeries(out, sample);
+        }
+      }
+    }
+    return out.toString();
+  }
+
+  private static void writeSeries(StringBuilder out, Sample sample) {
+    MetricsRegistry.Key key = sample.series().key();
+    Metric metric = sample.series().metric();
+    if (metric instanceof Counter counter) {
+      line(out, key.name(), sample.instance(), key.tags(), null, formatLong(counter.get()));
+    } else if (metric instanceof Gauge gauge) {
+      line(out, key.name(), sample.instance(), key.tags(), null, formatDouble(gauge.get()));
+    } else if (metric instanceof Histogram histogram) {
+      LatencyHistogram values = histogram.values();
+      double scale = histogram.exportScale();
+      for (double quantile : QUANTILES) {
+        long value = values.getValueAtPercentile(quantile * 100);
+        line(
+            out,
+            key.name(),
+            sample.instance(),
+            key.tags(),
+            Double.toString(quantile),
+            formatDouble(value * scale));
+      }
+      String sum = formatDouble(values.getSum() * scale);
+      line(out, key.name() + "_sum", sample.instance(), key.tags(), null, sum);
+      String count = formatLong(values.getCount());
+      line(out, key.name() + "_count", sample.instance(), key.tags(), null, count);
+    }
+  }
+
+  private static void line(
+      StringBuilder out,
+      String name,
+      String instance,
+      List<String> tags,
+      String quantile,
+      String value) {
+    out.append(name).append('{').append(INSTANCE_LABEL).append("=\"");
+    escape(out, instance);
+    out.append('"');
+    for (int i = 0; i < tags.size(); i += 2) {
+      out.append(',').append(tags.get(i)).append("=\"");
+      escape(out, tags.get(i + 1));
+      out.append('"');
+    }
+    if (quantile != null) {
+      out.append(",quantile=\"").append(quantile).append('"');
+    }
+    out.append("} ").append(value).append('\n');
+  }
+
+  /** Escapes a label value: backslash, double quote and line feed. */
+  private static void escape(StringBuilder out, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\' -> out.append("\\\\");
+        case '"' -> out.append("\\\"");
+        case '\n' -> out.append("\\n");
+        default -> out.append(c);
+      }
+    }
+  }
+
+  private static String formatLong(long value) {
+    return Long.toString(value);
+  }
+
+  private static String formatDouble(double value) {
+    if (Double.isNaN(value)) {
+      return "NaN";
+    }
+    if (Double.isInfinite(value)) {
+      return value > 0 ? "+Inf" : "-Inf";
+    }
+    return Double.toString(value);
+  }
+
+  /** A series and the instance it belongs to. */
+  private record Sample(String instance, MetricsRegistry.Series series) {}
+}
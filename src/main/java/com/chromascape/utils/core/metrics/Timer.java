@@ -0,0 +1,60 @@
+package com.chromascape.utils.core.metrics;
+
+/**
+ * A {@link Histogram} of wall-clock durations, recorded in nanoseconds and exported in seconds.
+ *
+ * <p>Code is timed with try-with-resources, the same way as a {@link
+ * com.chromascape.utils.core.statistics.StageProfiler} span:
+ *
+ * <pre>{@code
+ * try (Timer.Sample sample = Metrics.timer(Metrics.OCR_SECONDS, "font", font).start()) {
+ *   // ...
+ * }
+ * }</pre>
+ *
+ * <p>Durations are wall-clock time, what the work really cost, even under a virtual script clock.
+ */
+public final class Timer extends Histogram {
+
+  private static final double SECONDS_PER_NANO = 1e-9;
+
+  Timer() {
+    super(SECONDS_PER_NANO);
+  }
+
+  /**
+   * Starts timing.
+   *
+   * @return A sample that records the time since now when closed.
+   */
+  public Sample start() {
+    return new Sample(this, System.nanoTime());
+  }
+
+  /**
+   * Records the time since a {@link System#nanoTime()} reading.
+   *
+   * @param startNanos The reading taken when the work started.
+   */
+  public void recordSince(long startNanos) {
+    record(System.nanoTime() - startNanos);
+  }
+
+  /** One timing in progress, recorded when it is closed. */
+  public static final class Sample implements AutoCloseable {
+
+    private final Timer timer;
+    private final long startNanos;
+
+    private Sample(Timer timer, long startNanos) {
+      this.timer = timer;
+      this.startNanos = startNanos;
+    }
+
+    /** Records the time since the sample was started. */
+    @Override
+    public void close() {
+      timer.recordSince(startNanos);
+    }
+  }
+}
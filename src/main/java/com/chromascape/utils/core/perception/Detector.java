@@ -0,0 +1,24 @@
+package com.chromascape.utils.core.perception;
+
+/**
+ * Reads one value, such as the XP counter or whether a colour is on screen, from a {@link Frame}.
+ *
+ * <p>Values are compared with {@link Object#equals(Object)} to decide whether they changed, so
+ * detectors should return immutable values with value equality, e.g. boxed numbers, strings,
+ * records or {@link java.util.BitSet}s.
+ *
+ * @param <T> The type of value detected.
+ */
+@FunctionalInterface
+public interface Detector<T> {
+
+  /**
+   * Reads the value from a frame.
+   *
+   * @param frame The current frame.
+   * @return The detected value, or {@code null} if there is none.
+   * @throws RuntimeException if the value can't be read from this frame, e.g. an OCR misread. The
+   *     frame is skipped for this detector.
+   */
+  T detect(Frame frame);
+}
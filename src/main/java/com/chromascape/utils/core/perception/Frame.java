@@ -0,0 +1,104 @@
+package com.chromascape.utils.core.perception;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.screen.window.ScreenManager;
+import com.chromascape.utils.core.timing.Clock;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One capture of the client window, shared by every {@link Detector} that runs on it.
+ *
+ * <p>Detectors read screen regions with {@link #region(Rectangle)} rather than capturing them, and
+ * can share intermediate results, such as the masked game view, through {@link #derive(String,
+ * Function)} so they are computed once per frame however many detectors use them.
+ *
+ * <p>Frames are only touched by the perception thread and are not thread-safe.
+ */
+public final class Frame {
+
+  private final BufferedImage image;
+  private final Point origin;
+  private final long capturedAtNanos;
+  private final Map<String, Object> derived = new HashMap<>();
+
+  /**
+   * Wraps a capture.
+   *
+   * @param image The window capture.
+   * @param origin The screen position of the image's top-left pixel.
+   * @param capturedAtNanos The {@link Clock#nanoTime()} at which the capture started.
+   */
+  public Frame(BufferedImage image, Point origin, long capturedAtNanos) {
+    this.image = image;
+    this.origin = new Point(origin);
+    this.capturedAtNanos = capturedAtNanos;
+  }
+
+  /**
+   * Captures the game canvas of the calling thread's client, timed on its script's clock.
+   *
+   * @return The new frame.
+   */
+  public static Frame capture() {
+    long capturedAt = ScriptContext.current().clock().nanoTime();
+    Point origin = ScreenManager.getWindowBounds().getLocation();
+    return new Frame(ScreenManager.captureWindow(), origin, capturedAt);
+  }
+
+  /**
+   * Returns the whole capture.
+   *
+   * @return The window image, in client co-ordinates.
+   */
+  public BufferedImage image() {
+    return image;
+  }
+
+  /**
+   * Returns when the capture started.
+   *
+   * @return The {@link Clock#nanoTime()} at capture.
+   */
+  public long capturedAtNanos() {
+    return capturedAtNanos;
+  }
+
+  /**
+   * Returns part of the capture, as {@link ScreenManager#captureZone(Rectangle)} would.
+   *
+   * @param zone The region in screen co-ordinates. It is clipped to the capture.
+   * @return A view of the region that shares the frame's pixels; don't draw on it.
+   */
+  public BufferedImage region(Rectangle zone) {
+    Rectangle bounds = new Rectangle(zone);
+    bounds.translate(-origin.x, -origin.y);
+    bounds = bounds.intersection(new Rectangle(image.getWidth(), image.getHeight()));
+    if (bounds.isEmpty()) {
+      return new BufferedImage(1, 1, BufferedImage.TYPE_3BYTE_BGR);
+    }
+    return image.getSubimage(bounds.x, bounds.y, bounds.width, bounds.height);
+  }
+
+  /**
+   * Returns a value computed from this frame, computing it on first use.
+   *
+   * @param key Identifies the value; detectors that need the same value must use the same key.
+   * @param compute Computes the value from the frame.
+   * @param <V> The value type.
+   * @return The value.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> V derive(String key, Function<Frame, V> compute) {
+    V value = (V) derived.get(key);
+    if (value == null) {
+      value = compute.apply(this);
+      derived.put(key, value);
+    }
+    return value;
+  }
+}
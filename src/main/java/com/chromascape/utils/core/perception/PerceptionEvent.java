@@ -0,0 +1,37 @@
+package com.chromascape.utils.core.perception;
+
+/**
+ * The value a {@link Signal} read from one frame, along with the value it read from the frame
+ * before.
+ *
+ * @param name The name of the signal.
+ * @param previous The value read from the previous frame the signal ran on, or {@code null}.
+ * @param value The value read from this frame.
+ * @param capturedAtNanos The time on the script's clock at which this frame was captured.
+ * @param previousAtNanos When the previous frame the signal ran on was captured, or {@code
+ *     capturedAtNanos} if this is the first.
+ * @param <T> The type of value detected.
+ */
+public record PerceptionEvent<T>(
+    String name, T previous, T value, long capturedAtNanos, long previousAtNanos) {
+
+  /**
+   * Returns whether the value differs from the previous frame's.
+   *
+   * @return {@code true} for a change.
+   */
+  public boolean changed() {
+    return previous == null ? value != null : !previous.equals(value);
+  }
+
+  /**
+   * Returns how long before {@link #capturedAtNanos()} a change could have happened, i.e. the gap
+   * between the two frames. Suitable for {@link
+   * com.chromascape.utils.core.timing.TickClock#observe(long, long)}.
+   *
+   * @return The gap in nanoseconds.
+   */
+  public long resolutionNanos() {
+    return capturedAtNanos - previousAtNanos;
+  }
+}
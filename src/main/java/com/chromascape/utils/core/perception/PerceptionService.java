@@ -0,0 +1,199 @@
+package com.chromascape.utils.core.perception;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.TimerService.Precision;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Background service that captures the client once per frame and runs every {@link Detector}
+ * someone is waiting on against that single capture.
+ *
+ * <p>Without it, each wait is its own polling loop that captures and detects for itself, so two
+ * waits on the same thing, or on things in the same capture, repeat the work. Here detectors are
+ * registered once by name as {@link Signal}s, and a frame is only captured when at least one signal
+ * has a waiter or subscriber. Values are published to waiters on every frame and to subscribers as
+ * change events.
+ *
+ * <p>The capture thread is started lazily on first use, runs in the {@link ScriptContext} the
+ * service was created in, and is stopped by the {@link com.chromascape.controller.Controller} on
+ * shutdown. Frames are paced on that context's clock. While no signal is wanted the thread blocks
+ * until one is, rather than sleeping through empty periods, so a simulated clock is not pushed
+ * forward by a service with nothing to do.
+ */
+public class PerceptionService {
+
+  /** Default frame period, several frames per game tick. */
+  public static final long DEFAULT_PERIOD_MILLIS = 100;
+
+  /** Consecutive failed captures before a warning is logged. */
+  private static final int FAILURE_WARN_THRESHOLD = 10;
+
+  private static final Logger logger = LogManager.getLogger(PerceptionService.class);
+
+  private final Supplier<Frame> source;
+  private final long periodMillis;
+  private final ScriptContext context = ScriptContext.current();
+  private final Map<String, Signal<?>> signals = new ConcurrentHashMap<>();
+
+  /** Guards {@link #demands}. */
+  private final Object demandLock = new Object();
+
+  private long demands;
+
+  private volatile boolean running = false;
+  private volatile long frameCount;
+  private Thread pollThread;
+
+  /** Constructs a service that captures the current script's client at the default rate. */
+  public PerceptionService() {
+    this(Frame::capture, DEFAULT_PERIOD_MILLIS);
+  }
+
+  /**
+   * Constructs a service around an arbitrary frame source.
+   *
+   * @param source Supplies each frame. May throw if the capture fails, in which case the frame is
+   *     skipped.
+   * @param periodMillis How often frames are captured while any signal is wanted, in milliseconds.
+   * @throws IllegalArgumentException if {@code periodMillis} is not positive.
+   */
+  public PerceptionService(Supplier<Frame> source, long periodMillis) {
+    if (periodMillis <= 0) {
+      throw new IllegalArgumentException("periodMillis must be greater than 0");
+    }
+    this.source = source;
+    this.periodMillis = periodMillis;
+  }
+
+  /**
+   * Returns the signal registered under a name, registering it with the given detector if there is
+   * none yet. Every caller using the same name shares one signal, so its detector runs once per
+   * frame however many waiters it has.
+   *
+   * @param name Identifies the value, e.g. {@code "xp"}.
+   * @param detector Reads the value; ignored if the name is already registered.
+   * @param <T> The type of value detected.
+   * @return The signal.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Signal<T> register(String name, Detector<T> detector) {
+    return (Signal<T>)
+        signals.computeIfAbsent(
+            name, n -> new Signal<>(n, detector, context.clock(), this::demand));
+  }
+
+  /**
+   * Returns how many frames have been captured.
+   *
+   * @return The frame count.
+   */
+  public long getFrameCount() {
+    return frameCount;
+  }
+
+  /** Starts the capture thread if it is not already running. */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    pollThread = new Thread(() -> context.runWith(this::pollLoop), "Perception");
+    pollThread.setDaemon(true);
+    pollThread.start();
+  }
+
+  /** Starts the capture thread if needed and wakes it, because a signal may have become wanted. */
+  private void demand() {
+    start();
+    synchronized (demandLock) {
+      demands++;
+      demandLock.notifyAll();
+    }
+  }
+
+  /** Stops the capture thread and waits for it to exit. */
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    pollThread.interrupt();
+    try {
+      pollThread.join(periodMillis * 4);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    pollThread = null;
+  }
+
+  /**
+   * The loop for the background thread. Captures a frame each period in which some signal is
+   * wanted, and runs the wanted signals against it. Blocks while none are.
+   */
+  private void pollLoop() {
+    Clock clock = context.clock();
+    List<Signal<?>> wanted = new ArrayList<>();
+    int consecutiveFailures = 0;
+    long nextPoll = clock.nanoTime();
+
+    while (running) {
+      long seenDemands;
+      synchronized (demandLock) {
+        seenDemands = demands;
+      }
+      wanted.clear();
+      for (Signal<?> signal : signals.values()) {
+        if (signal.isWanted()) {
+          wanted.add(signal);
+        }
+      }
+      if (wanted.isEmpty()) {
+        // A signal becoming wanted after the scan above has already moved the demand count on
+        try {
+          synchronized (demandLock) {
+            while (running && demands == seenDemands) {
+              demandLock.wait();
+            }
+          }
+        } catch (InterruptedException e) {
+          break;
+        }
+        nextPoll = clock.nanoTime();
+        continue;
+      }
+      try {
+        Frame frame = source.get();
+        frameCount++;
+        consecutiveFailures = 0;
+        for (Signal<?> signal : wanted) {
+          signal.update(frame);
+        }
+      } catch (Exception e) {
+        // Captures fail while the client is minimised or being resized, skip the frame
+        consecutiveFailures++;
+        if (consecutiveFailures == FAILURE_WARN_THRESHOLD) {
+          logger.warn("Failed to capture a frame {} times in a row", consecutiveFailures);
+        }
+      }
+
+      nextPoll += periodMillis * 1_000_000L;
+      if (nextPoll - clock.nanoTime() <= 0) {
+        // Detection is slower than the frame rate, don't try to catch up
+        nextPoll = clock.nanoTime();
+        continue;
+      }
+      try {
+        clock.sleepUntil(nextPoll, Precision.COARSE);
+      } catch (InterruptedException e) {
+        break;
+      }
+    }
+  }
+}
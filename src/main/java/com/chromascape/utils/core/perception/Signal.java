@@ -0,0 +1,225 @@
+package com.chromascape.utils.core.perception;
+
+import com.chromascape.utils.core.runtime.exception.ScriptStoppedException;
+import com.chromascape.utils.core.statistics.WaitStatistics;
+import com.chromascape.utils.core.timing.Clock;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A value that the {@link PerceptionService} reads from every frame while someone is interested in
+ * it, created with {@link PerceptionService#register(String, Detector)}.
+ *
+ * <p>Scripts either {@link #await(Predicate, long) await} a condition on the value, or {@link
+ * #subscribe(Consumer) subscribe} to be told when it changes. The detector only runs while there is
+ * at least one waiter or subscriber, and runs once per frame however many there are.
+ *
+ * @param <T> The type of value detected.
+ */
+public final class Signal<T> {
+
+  /** Consecutive failed reads before a warning is logged. */
+  private static final int FAILURE_WARN_THRESHOLD = 10;
+
+  private static final Logger logger = LogManager.getLogger(Signal.class);
+
+  private final String name;
+  private final Detector<T> detector;
+  private final Clock clock;
+  private final Runnable demand;
+  private final List<Consumer<? super PerceptionEvent<T>>> subscribers =
+      new CopyOnWriteArrayList<>();
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  /** Guards {@link #latest} and {@link #frames}. */
+  private final Object lock = new Object();
+
+  private PerceptionEvent<T> latest;
+  private long frames;
+  private int consecutiveFailures;
+
+  /** Handle returned by {@link #subscribe(Consumer)}. Closing it stops the notifications. */
+  @FunctionalInterface
+  public interface Subscription extends AutoCloseable {
+
+    /** Removes the subscriber. */
+    @Override
+    void close();
+  }
+
+  /**
+   * Constructs a signal.
+   *
+   * @param name The name it was registered under.
+   * @param detector Reads the value from a frame.
+   * @param clock The clock timeouts are measured on.
+   * @param demand Called whenever someone starts waiting or subscribes, to wake the service.
+   */
+  Signal(String name, Detector<T> detector, Clock clock, Runnable demand) {
+    this.name = name;
+    this.detector = detector;
+    this.clock = clock;
+    this.demand = demand;
+  }
+
+  /**
+   * Returns the name the signal was registered under.
+   *
+   * @return The name.
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Returns the value read from the last frame the signal ran on. This may be stale if nobody has
+   * been waiting on or subscribed to the signal.
+   *
+   * @return The latest value, or {@code null} if it has never been read.
+   */
+  public T latest() {
+    synchronized (lock) {
+      return latest == null ? null : latest.value();
+    }
+  }
+
+  /**
+   * Calls a listener on the perception thread every time the value changes. Listeners should return
+   * quickly, since they hold up every other detector.
+   *
+   * @param listener Receives each change.
+   * @return A handle to unsubscribe with.
+   */
+  public Subscription subscribe(Consumer<? super PerceptionEvent<T>> listener) {
+    subscribers.add(listener);
+    demand.run();
+    return () -> subscribers.remove(listener);
+  }
+
+  /**
+   * Blocks until a frame captured after this call has a value matching a condition, or the timeout
+   * elapses. Values from earlier frames are never accepted, so a stale read can't satisfy the
+   * condition. The wait is recorded in {@link WaitStatistics} under the signal's name, counting
+   * each frame checked as a poll.
+   *
+   * @param condition Tested against the value of each new frame.
+   * @param timeoutMillis Maximum time to wait, in milliseconds.
+   * @return The event for the first matching frame, or {@code null} if the timeout elapsed.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public PerceptionEvent<T> await(Predicate<? super T> condition, long timeoutMillis) {
+    waiters.incrementAndGet();
+    demand.run();
+    long start = clock.nanoTime();
+    int polls = 0;
+    try {
+      long deadline = start + timeoutMillis * 1_000_000L;
+      synchronized (lock) {
+        long seen = frames;
+        while (true) {
+          if (frames != seen) {
+            seen = frames;
+            polls++;
+            if (condition.test(latest.value())) {
+              WaitStatistics.record(name, true, clock.nanoTime() - start, polls);
+              return latest;
+            }
+          }
+          long remaining = deadline - clock.nanoTime();
+          if (remaining <= 0) {
+            WaitStatistics.record(name, false, clock.nanoTime() - start, polls);
+            return null;
+          }
+          waitOnLock(remaining);
+        }
+      }
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  /**
+   * Blocks until a new frame shows a value other than {@code from}, or the timeout elapses.
+   *
+   * @param from The value the caller last saw.
+   * @param timeoutMillis Maximum time to wait, in milliseconds.
+   * @return The event for the first differing frame, or {@code null} if the timeout elapsed.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public PerceptionEvent<T> awaitChange(T from, long timeoutMillis) {
+    return await(value -> !Objects.equals(value, from), timeoutMillis);
+  }
+
+  /**
+   * Returns whether anyone is waiting on or subscribed to the signal.
+   *
+   * @return {@code true} if the detector should run on the next frame.
+   */
+  boolean isWanted() {
+    return waiters.get() > 0 || !subscribers.isEmpty();
+  }
+
+  /**
+   * Runs the detector on a frame, publishes the value to waiters, and notifies subscribers if it
+   * changed. A failed read skips the frame.
+   *
+   * @param frame The current frame.
+   */
+  void update(Frame frame) {
+    T value;
+    try {
+      value = detector.detect(frame);
+      consecutiveFailures = 0;
+    } catch (RuntimeException e) {
+      // OCR occasionally fails while a zone is redrawn, skip the frame
+      if (++consecutiveFailures == FAILURE_WARN_THRESHOLD) {
+        logger.warn("Failed to read {} {} times in a row: {}", name, consecutiveFailures, e);
+      }
+      return;
+    }
+
+    PerceptionEvent<T> event;
+    synchronized (lock) {
+      event =
+          latest == null
+              ? new PerceptionEvent<>(
+                  name, null, value, frame.capturedAtNanos(), frame.capturedAtNanos())
+              : new PerceptionEvent<>(
+                  name, latest.value(), value, frame.capturedAtNanos(), latest.capturedAtNanos());
+      latest = event;
+      frames++;
+      lock.notifyAll();
+    }
+
+    if (event.changed()) {
+      for (Consumer<? super PerceptionEvent<T>> subscriber : subscribers) {
+        try {
+          subscriber.accept(event);
+        } catch (RuntimeException e) {
+          logger.warn("Subscriber to {} failed: {}", name, e.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * Waits on the lock for up to the given time. Must be called while holding {@link #lock}.
+   *
+   * @param nanos Maximum time to wait, in nanoseconds.
+   * @throws ScriptStoppedException if the calling thread is interrupted.
+   */
+  private void waitOnLock(long nanos) {
+    try {
+      lock.wait(Math.max(1, nanos / 1_000_000L));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // Restore interrupt status
+      throw new ScriptStoppedException();
+    }
+  }
+}
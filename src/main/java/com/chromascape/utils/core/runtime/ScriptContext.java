@@ -0,0 +1,282 @@
+package com.chromascape.utils.core.runtime;
+
+import com.chromascape.utils.core.input.remoteinput.InputSink;
+import com.chromascape.utils.core.metrics.MetricsRegistry;
+import com.chromascape.utils.core.screen.window.ScreenSource;
+import com.chromascape.utils.core.screen.window.WindowHandler;
+import com.chromascape.utils.core.state.BotState;
+import com.chromascape.utils.core.statistics.ScriptStatistics;
+import com.chromascape.utils.core.statistics.StageProfiler;
+import com.chromascape.utils.core.statistics.WaitStatistics;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.TimerService;
+import com.sun.jna.platform.win32.WinDef.HWND;
+import java.util.function.Supplier;
+
+/**
+ * State that belongs to one running script rather than to the whole process: the client window it
+ * captures and sends input to, its semantic {@link BotState}, its {@link ScriptStatistics} and the
+ * {@link MetricsRegistry} they are kept in, its {@link StageProfiler} timings and its {@link
+ * WaitStatistics}.
+ *
+ * <p>A context is bound to the thread that runs the script with {@link #runWith(Runnable)}, and is
+ * inherited by every thread that script starts, such as the input dispatcher and position tracker.
+ * Pooled threads from {@link Workers} don't inherit it; work handed to them binds it explicitly.
+ * The static managers ({@code StateManager}, {@code StatisticsManager}, {@code ScreenManager})
+ * resolve {@link #current()} on each call, so utilities stay static while several scripts drive
+ * different clients from one JVM. Threads that aren't running a script see the default context,
+ * which targets the first RuneLite window found, exactly as a single script always has.
+ *
+ * <p>A context can also replace the client altogether: a {@link Clock}, {@link ScreenSource} and
+ * {@link InputSink} set before the script starts are used in place of real time, GDI capture and
+ * Kinput, which is how a script is run headless against a simulated game.
+ */
+public final class ScriptContext {
+
+  /** Identifier of the default context. */
+  public static final String DEFAULT_ID = "default";
+
+  private static final ScriptContext DEFAULT = new ScriptContext(DEFAULT_ID, 0);
+  private static final InheritableThreadLocal<ScriptContext> CURRENT =
+      new InheritableThreadLocal<>();
+
+  private final String id;
+  private final int pid;
+  private final MetricsRegistry metrics = new MetricsRegistry();
+  private final ScriptStatistics statistics = new ScriptStatistics(this::clock, metrics);
+  private final StageProfiler profiler = new StageProfiler();
+  private final WaitStatistics waits = new WaitStatistics();
+  private volatile BotState state = BotState.WAITING;
+  private volatile HWND targetWindow;
+  private volatile HWND canvas;
+  private volatile Clock clock = TimerService.getDefault();
+  private volatile ScreenSource screenSource;
+  private volatile InputSink inputSink;
+
+  /**
+   * Creates a context for one client.
+   *
+   * @param id A unique identifier, used to address the script over the web API.
+   * @param pid The process ID of the RuneLite client to drive, or 0 for the first one found.
+   */
+  public ScriptContext(String id, int pid) {
+    this.id = id;
+    this.pid = pid;
+  }
+
+  /**
+   * Returns the context bound to the calling thread.
+   *
+   * @return The bound context, or the default context if none is bound.
+   */
+  public static ScriptContext current() {
+    ScriptContext context = CURRENT.get();
+    return context != null ? context : DEFAULT;
+  }
+
+  /**
+   * Returns the context used by threads outside any script.
+   *
+   * @return The default context.
+   */
+  public static ScriptContext getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Runs a task with this context bound to the calling thread, restoring the previous binding
+   * afterwards. Threads the task starts inherit the binding.
+   *
+   * @param task The task, usually a script's run loop.
+   */
+  public void runWith(Runnable task) {
+    callWith(
+        () -> {
+          task.run();
+          return null;
+        });
+  }
+
+  /**
+   * Computes a result with this context bound to the calling thread, restoring the previous binding
+   * afterwards. Used to run script work on pooled threads that didn't inherit the context.
+   *
+   * @param task The task.
+   * @param <T> The result type.
+   * @return The task's result.
+   */
+  public <T> T callWith(Supplier<T> task) {
+    ScriptContext previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      return task.get();
+    } finally {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    }
+  }
+
+  /**
+   * Returns the identifier of this context.
+   *
+   * @return The id.
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Returns the process ID this context targets.
+   *
+   * @return The pid, or 0 if it targets the first client found.
+   */
+  public int getPid() {
+    return pid;
+  }
+
+  /**
+   * Returns the statistics of this context.
+   *
+   * @return The statistics.
+   */
+  public ScriptStatistics statistics() {
+    return statistics;
+  }
+
+  /**
+   * Returns the metrics of this context.
+   *
+   * @return The registry.
+   */
+  public MetricsRegistry metrics() {
+    return metrics;
+  }
+
+  /**
+   * Returns the per-stage timings of this context.
+   *
+   * @return The profile.
+   */
+  public StageProfiler profiler() {
+    return profiler;
+  }
+
+  /**
+   * Returns the per-condition wait metrics of this context.
+   *
+   * @return The wait statistics.
+   */
+  public WaitStatistics waits() {
+    return waits;
+  }
+
+  /**
+   * Returns the semantic state of this context.
+   *
+   * @return The state.
+   */
+  public BotState getState() {
+    return state;
+  }
+
+  /**
+   * Sets the semantic state of this context.
+   *
+   * @param state The new state.
+   * @return true if it differs from the previous state.
+   */
+  public boolean setState(BotState state) {
+    BotState previous = this.state;
+    this.state = state;
+    return previous != state;
+  }
+
+  /**
+   * Returns the clock this context's waits and input pacing run on.
+   *
+   * @return The clock, the shared {@link TimerService} unless replaced.
+   */
+  public Clock clock() {
+    return clock;
+  }
+
+  /**
+   * Replaces the clock of this context, e.g. with a virtual clock whose waits return at once. Set
+   * it before the script starts.
+   *
+   * @param clock The new clock.
+   */
+  public void setClock(Clock clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the source captures are taken from in place of the client window.
+   *
+   * @return The screen source, or null to capture the client window.
+   */
+  public ScreenSource getScreenSource() {
+    return screenSource;
+  }
+
+  /**
+   * Replaces the client window as the source of captures. Set it before the script starts.
+   *
+   * @param screenSource The screen source, or null to capture the client window.
+   */
+  public void setScreenSource(ScreenSource screenSource) {
+    this.screenSource = screenSource;
+  }
+
+  /**
+   * Returns the sink input is sent to in place of Kinput.
+   *
+   * @return The input sink, or null to inject into the client process.
+   */
+  public InputSink getInputSink() {
+    return inputSink;
+  }
+
+  /**
+   * Replaces Kinput as the receiver of this context's input. Set it before the script starts, since
+   * the controller binds its input utilities once on initialisation.
+   *
+   * @param inputSink The input sink, or null to inject into the client process.
+   */
+  public void setInputSink(InputSink inputSink) {
+    this.inputSink = inputSink;
+  }
+
+  /**
+   * Returns the top-level RuneLite window of this context, looking it up on first use.
+   *
+   * @return The window handle, or null if no matching client is open.
+   */
+  public HWND targetWindow() {
+    HWND window = targetWindow;
+    if (window == null) {
+      window = pid == 0 ? WindowHandler.getTargetWindow() : WindowHandler.getTargetWindow(pid);
+      targetWindow = window;
+    }
+    return window;
+  }
+
+  /**
+   * Returns the game canvas of this context's client, i.e. the second {@code SunAwtCanvas} child of
+   * its window. This is prone to breaking if RuneLite add more canvas elements, but this is not
+   * likely.
+   *
+   * @return The canvas handle, or null if it can't be found.
+   */
+  public HWND canvas() {
+    HWND handle = canvas;
+    if (handle == null) {
+      handle = WindowHandler.findNthChildWindow(targetWindow(), "SunAwtCanvas", 2);
+      canvas = handle;
+    }
+    return handle;
+  }
+}
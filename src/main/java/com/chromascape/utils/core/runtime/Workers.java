@@ -0,0 +1,134 @@
+package com.chromascape.utils.core.runtime;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+/**
+ * Creates the threads ChromaScape runs work on, so the choice between platform and virtual threads
+ * is made in one place.
+ *
+ * <p>Work is split into two kinds:
+ *
+ * <ul>
+ *   <li><b>Blocking</b> work spends most of its time waiting: script run loops and their sleeps,
+ *       HTTP calls to DAX and Discord, and WebSocket sends. {@link #newBlockingExecutor(String)}
+ *       runs it on virtual threads when the {@code chromascape.virtualThreads} system property is
+ *       {@code true}, and on a cached pool of platform threads otherwise.
+ *   <li><b>CPU-bound</b> work such as OpenCV colour and contour detection always runs on {@link
+ *       #cpu()}, a platform pool sized to the machine, since virtual threads can't make it faster
+ *       and native calls would pin their carriers anyway.
+ * </ul>
+ *
+ * <p>Pooled threads outlive the task that happened to create them, so threads from {@link
+ * #threadFactory(Mode, String)} never inherit the creating thread's {@link ScriptContext}. Work
+ * that needs a context binds it explicitly with {@link ScriptContext#callWith(Supplier)} or {@link
+ * ScriptContext#runWith(Runnable)}, as {@link #supplyCpu(Supplier)} does.
+ *
+ * <p>Latency critical loops (input dispatch, position polling, the tick clock) keep their own
+ * dedicated platform threads in both modes. The same property switches Spring's request and
+ * scheduler threads through {@code spring.threads.virtual.enabled}.
+ */
+public final class Workers {
+
+  /** System property that enables virtual threads for blocking work. */
+  public static final String PROPERTY = "chromascape.virtualThreads";
+
+  /** Kind of thread blocking work runs on. */
+  public enum Mode {
+    /** Daemon platform threads, created on demand and reused. */
+    PLATFORM,
+    /** One virtual thread per task. */
+    VIRTUAL
+  }
+
+  private static final Mode MODE = Boolean.getBoolean(PROPERTY) ? Mode.VIRTUAL : Mode.PLATFORM;
+
+  private Workers() {}
+
+  /**
+   * Returns the mode selected at startup.
+   *
+   * @return {@link Mode#VIRTUAL} if {@value #PROPERTY} is true, else {@link Mode#PLATFORM}.
+   */
+  public static Mode mode() {
+    return MODE;
+  }
+
+  /**
+   * Creates an executor for blocking work in the startup mode.
+   *
+   * @param name Prefix for thread names.
+   * @return A new executor; shut it down when its owner is done with it.
+   */
+  public static ExecutorService newBlockingExecutor(String name) {
+    return newBlockingExecutor(MODE, name);
+  }
+
+  /**
+   * Creates an executor for blocking work in a given mode.
+   *
+   * @param mode The kind of thread to use.
+   * @param name Prefix for thread names.
+   * @return A new executor; shut it down when its owner is done with it.
+   */
+  public static ExecutorService newBlockingExecutor(Mode mode, String name) {
+    if (mode == Mode.VIRTUAL) {
+      return Executors.newThreadPerTaskExecutor(threadFactory(mode, name));
+    }
+    return Executors.newCachedThreadPool(threadFactory(mode, name));
+  }
+
+  /**
+   * Creates a factory for named threads of a given kind. Platform threads are daemons, so they
+   * never keep the JVM alive. No thread inherits the creator's inheritable thread locals, so a pool
+   * never holds on to the context of the script that first used it.
+   *
+   * @param mode The kind of thread to create.
+   * @param name Prefix for thread names; a counter is appended.
+   * @return The factory.
+   */
+  public static ThreadFactory threadFactory(Mode mode, String name) {
+    if (mode == Mode.VIRTUAL) {
+      return Thread.ofVirtual().name(name + "-", 1).inheritInheritableThreadLocals(false).factory();
+    }
+    return Thread.ofPlatform()
+        .name(name + "-", 1)
+        .daemon(true)
+        .inheritInheritableThreadLocals(false)
+        .factory();
+  }
+
+  /**
+   * Returns the shared pool for CPU-bound work, one platform thread per core less one for the
+   * script itself.
+   *
+   * @return The pool.
+   */
+  public static ExecutorService cpu() {
+    return CpuPool.INSTANCE;
+  }
+
+  /**
+   * Runs CPU-bound work on {@link #cpu()} with the caller's {@link ScriptContext} bound, so the
+   * work captures and counts against the right client.
+   *
+   * @param task The work, e.g. finding the next click point.
+   * @param <T> The result type.
+   * @return A future for the result.
+   */
+  public static <T> CompletableFuture<T> supplyCpu(Supplier<T> task) {
+    ScriptContext context = ScriptContext.current();
+    return CompletableFuture.supplyAsync(() -> context.callWith(task), cpu());
+  }
+
+  /** Holder so the pool is only created once something uses it. */
+  private static final class CpuPool {
+    private static final ExecutorService INSTANCE =
+        Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() - 1),
+            threadFactory(Mode.PLATFORM, "cpu-worker"));
+  }
+}
@@ -4,10 +4,13 @@ import static org.bytedeco.opencv.global.opencv_core.CV_8UC1;
 import static org.bytedeco.opencv.global.opencv_core.inRange;
 import static org.bytedeco.opencv.global.opencv_imgproc.*;
 
+import com.chromascape.utils.core.metrics.Metrics;
+import com.chromascape.utils.core.metrics.Timer;
 import com.chromascape.utils.core.screen.colour.ColourObj;
 import com.chromascape.utils.core.screen.viewport.ViewportManager;
 import com.chromascape.utils.core.screen.window.ScreenManager;
 import com.chromascape.utils.core.state.StateManager;
+import com.chromascape.utils.core.statistics.StageProfiler;
 import com.chromascape.utils.core.statistics.StatisticsManager;
 import java.awt.Point;
 import java.awt.Rectangle;
@@ -40,12 +43,18 @@ public class ColourContours {
    * @return a list of ChromaObj objects representing detected contours of the specified colour
    */
   public static List<ChromaObj> getChromaObjsInColour(BufferedImage image, ColourObj colourObj) {
-    Mat mask = extractColours(image, colourObj);
-    morphClose(mask);
-    ViewportManager.getInstance().updateState(mask);
-    MatVector contours = extractContours(mask);
-    mask.release();
-    return createChromaObjects(contours);
+    String target = colourObj.name() == null ? "" : colourObj.name();
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.COLOUR);
+        Timer.Sample sample =
+            Metrics.timer(Metrics.DETECTOR_SECONDS, "detector", "colour", "target", target)
+                .start()) {
+      Mat mask = extractColours(image, colourObj);
+      morphClose(mask);
+      ViewportManager.getInstance().updateState(mask);
+      MatVector contours = extractContours(mask);
+      mask.release();
+      return createChromaObjects(contours);
+    }
   }
 
   /**
@@ -183,7 +192,7 @@ public class ColourContours {
       Rectangle contourBounds =
           new Rectangle(rect.x() + offset.x, rect.y() + offset.y, rect.width(), rect.height());
       chromaObjects.add(new ChromaObj(i, contour, contourBounds));
-      StatisticsManager.incrementObjectsDetected();
+      StatisticsManager.incrementObjectsDetected("colour");
     }
     return chromaObjects;
   }
@@ -5,10 +5,13 @@ import static org.bytedeco.opencv.global.opencv_core.minMaxLoc;
 import static org.bytedeco.opencv.global.opencv_imgproc.*;
 import static org.opencv.imgproc.Imgproc.TM_SQDIFF_NORMED;
 
+import com.chromascape.utils.core.metrics.Metrics;
+import com.chromascape.utils.core.metrics.Timer;
 import com.chromascape.utils.core.screen.viewport.ViewportManager;
 import com.chromascape.utils.core.screen.window.ScreenManager;
 import com.chromascape.utils.core.state.BotState;
 import com.chromascape.utils.core.state.StateManager;
+import com.chromascape.utils.core.statistics.StageProfiler;
 import com.chromascape.utils.core.statistics.StatisticsManager;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
@@ -57,6 +60,17 @@ public class TemplateMatching {
    *     base image, or {@code null} if no match meets the threshold criteria.
    */
   public static MatchResult match(String templateImg, BufferedImage baseImg, double threshold) {
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.TEMPLATE);
+        Timer.Sample sample =
+            Metrics.timer(Metrics.DETECTOR_SECONDS, "detector", "template", "target", templateImg)
+                .start()) {
+      return findMatch(templateImg, baseImg, threshold);
+    }
+  }
+
+  /** Implementation of {@link #match(String, BufferedImage, double)}. */
+  private static MatchResult findMatch(
+      String templateImg, BufferedImage baseImg, double threshold) {
 
     // Update bot's semantic state
     StateManager.setState(BotState.SEARCHING);
@@ -144,7 +158,7 @@ public class TemplateMatching {
               offset.x + minLoc.x(), offset.y + minLoc.y(), template.cols(), template.rows());
 
       // Update singleton state manager to update stats in UI
-      StatisticsManager.incrementObjectsDetected();
+      StatisticsManager.incrementObjectsDetected("template");
 
       return new MatchResult(match, minVal.get(), true, "Match found");
     } finally {
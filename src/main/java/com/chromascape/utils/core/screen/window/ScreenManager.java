@@ -1,5 +1,7 @@
 package com.chromascape.utils.core.screen.window;
 
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.statistics.StageProfiler;
 import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.platform.win32.GDI32;
@@ -30,15 +32,21 @@ import java.awt.image.DataBufferInt;
  *   <li>Determining window bounds using native window handles.
  *   <li>Focusing or checking fullscreen status of a given window.
  * </ul>
+ *
+ * <p>If the calling thread's {@link ScriptContext} has a {@link ScreenSource}, captures and bounds
+ * come from it instead of the client window.
  */
 public class ScreenManager {
 
   /**
-   * Grabs the HWND of the second child of the RuneLite window - The game view portion. This is
-   * prone to breaking if RuneLite add more canvas elements, but this is not likely.
+   * Returns the game view canvas of the calling thread's client, so each running script captures
+   * its own client.
+   *
+   * @return The canvas handle from {@link ScriptContext#canvas()}.
    */
-  private static final HWND canvasHwnd =
-      WindowHandler.findNthChildWindow(WindowHandler.getTargetWindow(), "SunAwtCanvas", 2);
+  private static HWND canvasHwnd() {
+    return ScriptContext.current().canvas();
+  }
 
   /**
    * JNA extension interface to allow calling {@code ClientToScreen} which converts window-relative
@@ -87,8 +95,13 @@ public class ScreenManager {
    *     OpenCV processing.
    */
   public static BufferedImage captureWindow() {
+    ScreenSource source = ScriptContext.current().getScreenSource();
+    if (source != null) {
+      Rectangle bounds = source.getWindowBounds();
+      return performCapture(0, 0, bounds.width, bounds.height);
+    }
     RECT bounds = new RECT();
-    User32.INSTANCE.GetClientRect(canvasHwnd, bounds);
+    User32.INSTANCE.GetClientRect(canvasHwnd(), bounds);
     int width = bounds.right - bounds.left;
     int height = bounds.bottom - bounds.top;
 
@@ -110,13 +123,25 @@ public class ScreenManager {
     return performCapture(clientRect.x, clientRect.y, clientRect.width, clientRect.height);
   }
 
-  /** Internal helper to perform GDI BitBlt and pixel conversion. */
+  /** Internal helper to perform GDI BitBlt and pixel conversion, or read the screen source. */
   private static BufferedImage performCapture(int x, int y, int w, int h) {
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.CAPTURE)) {
+      ScreenSource source = ScriptContext.current().getScreenSource();
+      if (source != null) {
+        return source.capture(new Rectangle(x, y, w, h));
+      }
+      return blit(x, y, w, h);
+    }
+  }
+
+  /** Copies a region of the canvas Device Context into a {@link BufferedImage}. */
+  private static BufferedImage blit(int x, int y, int w, int h) {
     if (w <= 0 || h <= 0) {
       return new BufferedImage(1, 1, BufferedImage.TYPE_3BYTE_BGR);
     }
 
-    HDC hdcSrc = User32.INSTANCE.GetDC(canvasHwnd);
+    HWND canvas = canvasHwnd();
+    HDC hdcSrc = User32.INSTANCE.GetDC(canvas);
     HDC hdcMem = GDI32.INSTANCE.CreateCompatibleDC(hdcSrc);
     HBITMAP hBitmap = GDI32.INSTANCE.CreateCompatibleBitmap(hdcSrc, w, h);
     HANDLE hOld = GDI32.INSTANCE.SelectObject(hdcMem, hBitmap);
@@ -150,7 +175,7 @@ public class ScreenManager {
     GDI32.INSTANCE.SelectObject(hdcMem, hOld);
     GDI32.INSTANCE.DeleteObject(hBitmap);
     GDI32.INSTANCE.DeleteDC(hdcMem);
-    User32.INSTANCE.ReleaseDC(canvasHwnd, hdcSrc);
+    User32.INSTANCE.ReleaseDC(canvas, hdcSrc);
 
     if (bgr == null) {
       throw new RuntimeException("GDI Capture failed");
@@ -167,15 +192,20 @@ public class ScreenManager {
    *     area excluding possible window borders, title or scrollbars.
    */
   public static Rectangle getWindowBounds() {
+    ScreenSource source = ScriptContext.current().getScreenSource();
+    if (source != null) {
+      return source.getWindowBounds();
+    }
+    HWND canvas = canvasHwnd();
     WinDef.RECT dimensions = new WinDef.RECT();
-    User32.INSTANCE.GetClientRect(canvasHwnd, dimensions);
+    User32.INSTANCE.GetClientRect(canvas, dimensions);
 
     WinDef.POINT clientTopLeft = new WinDef.POINT();
     clientTopLeft.x = 0;
     clientTopLeft.y = 0;
 
     User32Extended uex = User32Extended.INSTANCE;
-    uex.ClientToScreen(canvasHwnd, clientTopLeft);
+    uex.ClientToScreen(canvas, clientTopLeft);
 
     return new Rectangle(
         clientTopLeft.x,
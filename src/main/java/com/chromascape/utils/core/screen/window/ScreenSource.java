@@ -0,0 +1,41 @@
+package com.chromascape.utils.core.screen.window;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+/**
+ * Stands in for a client window as the source of captures, so scripts can run against something
+ * other than a live RuneLite canvas, such as a simulated scene.
+ *
+ * <p>When a script's context has a screen source, {@link ScreenManager} captures from it and takes
+ * the window bounds from it instead of calling into GDI.
+ */
+public interface ScreenSource {
+
+  /**
+   * Returns the bounds of the client area in screen co-ordinates.
+   *
+   * @return The bounds.
+   */
+  Rectangle getWindowBounds();
+
+  /**
+   * Captures part of the client area.
+   *
+   * @param clientArea The area to capture, in client co-ordinates. It may extend past the client.
+   * @return A {@link BufferedImage#TYPE_3BYTE_BGR} image of exactly the requested size.
+   */
+  BufferedImage capture(Rectangle clientArea);
+
+  /**
+   * Returns where a UI element is drawn, for sources that know their own layout. This lets the zone
+   * manager map zones without matching UI templates against the capture.
+   *
+   * @param templatePath The classpath of the UI template, e.g. {@code "/images/ui/inv.png"}.
+   * @return The element's bounds in screen co-ordinates, or {@code null} to locate it by template
+   *     matching.
+   */
+  default Rectangle locateUiElement(String templatePath) {
+    return null;
+  }
+}
@@ -103,6 +103,37 @@ public class WindowHandler {
     return targetHwnd.get(); // May be null if not found
   }
 
+  /**
+   * Attempts to locate the window whose title matches the {@code WINDOW_NAME} and which belongs to
+   * a given process, for when several clients are open.
+   *
+   * @param pid The process ID of the client.
+   * @return The {@link HWND} handle of the target window, or {@code null} if not found.
+   */
+  public static HWND getTargetWindow(int pid) {
+    AtomicReference<HWND> targetHwnd = new AtomicReference<>();
+    User32 user32 = User32.INSTANCE;
+
+    user32.EnumWindows(
+        (hwnd, arg) -> {
+          byte[] buffer = new byte[512];
+          user32.GetWindowTextA(hwnd, buffer, 512);
+          String title = Native.toString(buffer);
+
+          if (title.trim().equals(WINDOW_NAME) && getPid(hwnd) == pid) {
+            targetHwnd.set(hwnd);
+            return false; // stop enumeration
+          }
+          return true;
+        },
+        null);
+
+    if (targetHwnd.get() == null) {
+      logger.warn("No {} window found for process {}", WINDOW_NAME, pid);
+    }
+    return targetHwnd.get();
+  }
+
   /**
    * Searches for the N-th child window of a given parent window that matches the specified class
    * name.
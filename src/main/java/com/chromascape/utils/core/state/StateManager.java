@@ -1,15 +1,20 @@
 package com.chromascape.utils.core.state;
 
+import com.chromascape.utils.core.runtime.ScriptContext;
+
 /**
  * Singleton manager for tracking and broadcasting the bot's semantic state.
  *
  * <p>This class serves as the bridge between core bot logic (which triggers state changes) and the
  * presentation layer (which listens for them), without introducing direct dependencies.
+ *
+ * <p>The state itself is held per script by the calling thread's {@link ScriptContext}, so scripts
+ * running side by side don't overwrite each other. The listener is shared and is notified on the
+ * thread that changed the state, where {@link ScriptContext#current()} identifies the script.
  */
 public class StateManager {
 
-  private static BotStateListener listener = state -> {}; // Default No-Op
-  private static BotState currentState = BotState.WAITING;
+  private static volatile BotStateListener listener = state -> {}; // Default No-Op
 
   private StateManager() {}
 
@@ -30,8 +35,7 @@ public class StateManager {
    * @param newState The state to transition to.
    */
   public static void setState(BotState newState) {
-    if (currentState != newState) {
-      currentState = newState;
+    if (ScriptContext.current().setState(newState)) {
       listener.onStateChange(newState);
     }
   }
@@ -42,6 +46,6 @@ public class StateManager {
    * @return The active {@link BotState}.
    */
   public static BotState getState() {
-    return currentState;
+    return ScriptContext.current().getState();
   }
 }
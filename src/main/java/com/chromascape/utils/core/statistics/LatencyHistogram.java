@@ -0,0 +1,146 @@
+package com.chromascape.utils.core.statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe, fixed-size histogram of non-negative long values, typically durations in
+ * nanoseconds.
+ *
+ * <p>Buckets are log-linear: each power of two is split into 16 equal sub-buckets, so any recorded
+ * value is reported to within ~6% regardless of magnitude, and the whole histogram is under 8KB.
+ * Recording is a couple of atomic increments and never allocates, so it can be used on hot paths
+ * such as per-event input dispatch.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a value. Negative values are recorded as zero.
+   *
+   * @param value The value to record, e.g. a duration in nanoseconds.
+   */
+  public void record(long value) {
+    long v = Math.max(0, value);
+    counts.incrementAndGet(bucketIndex(v));
+    count.incrementAndGet();
+    sum.addAndGet(v);
+    max.accumulateAndGet(v, Math::max);
+  }
+
+  /**
+   * Returns the number of recorded values.
+   *
+   * @return The count.
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Returns the exact sum of the recorded values.
+   *
+   * @return The sum, or 0 if nothing has been recorded.
+   */
+  public long getSum() {
+    return sum.get();
+  }
+
+  /**
+   * Returns the exact mean of the recorded values.
+   *
+   * @return The mean, or 0 if nothing has been recorded.
+   */
+  public double getMean() {
+    long n = count.get();
+    return n == 0 ? 0 : (double) sum.get() / n;
+  }
+
+  /**
+   * Returns the exact largest recorded value.
+   *
+   * @return The maximum, or 0 if nothing has been recorded.
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns an estimate of the value at a percentile, accurate to the width of its bucket.
+   *
+   * @param percentile The percentile in {@code [0, 100]}.
+   * @return The midpoint of the bucket holding that percentile, or 0 if nothing has been recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100.0 * total);
+    rank = Math.max(1, rank);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        long lower = lowerBound(i);
+        long upper = lowerBound(i + 1);
+        return Math.min(max.get(), lower + (upper - lower) / 2);
+      }
+    }
+    return max.get();
+  }
+
+  /** Clears all recorded values. */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  /**
+   * Formats the count, mean and main percentiles, treating values as nanoseconds.
+   *
+   * @return A one line summary in milliseconds.
+   */
+  public String summaryMillis() {
+    return String.format(
+        "n=%d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms",
+        getCount(),
+        getMean() / 1_000_000.0,
+        getValueAtPercentile(50) / 1_000_000.0,
+        getValueAtPercentile(99) / 1_000_000.0,
+        getMax() / 1_000_000.0);
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  private static long lowerBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int group = index / SUB_BUCKETS;
+    int sub = index % SUB_BUCKETS;
+    if (group - 1 >= Long.SIZE - SUB_BUCKET_BITS - 1) {
+      return Long.MAX_VALUE;
+    }
+    return (long) (SUB_BUCKETS + sub) << (group - 1);
+  }
+}
@@ -0,0 +1,207 @@
+package com.chromascape.utils.core.statistics;
+
+import com.chromascape.utils.core.metrics.Counter;
+import com.chromascape.utils.core.metrics.Metrics;
+import com.chromascape.utils.core.metrics.MetricsRegistry;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.TimerService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Statistics of one running script: runtime, cycles, inputs, and objects detected.
+ *
+ * <p>Each {@link com.chromascape.utils.core.runtime.ScriptContext} owns one, so scripts running
+ * side by side count separately. Scripts usually update it through the static {@link
+ * StatisticsManager} methods, which resolve the calling thread's context.
+ *
+ * <p>The counts are {@link Counter}s in the context's {@link MetricsRegistry}, so they are exported
+ * with the script's other metrics, inputs tagged by type and objects by the detector that found
+ * them. They allow concurrent updates from different parts of the bot (e.g. input thread, vision
+ * thread, main loop) without blocking, and restart from zero on {@link #reset()}.
+ *
+ * <p>Runtime is measured on the owning context's {@link Clock}, so a simulated script reports the
+ * time it would have taken against a live client.
+ */
+public class ScriptStatistics {
+
+  /** Tag value for inputs and detections whose source wasn't given. */
+  public static final String OTHER = "other";
+
+  private final Supplier<Clock> clock;
+  private final MetricsRegistry metrics;
+
+  private final AtomicLong startTime = new AtomicLong(0);
+  private final AtomicLong endTime = new AtomicLong(0);
+  private volatile boolean running = false;
+
+  private final Counter cycles;
+  private final Counter travelMillisSaved;
+  private final Map<String, Counter> inputs = new ConcurrentHashMap<>();
+  private final Map<String, Counter> objectsDetected = new ConcurrentHashMap<>();
+
+  /** Constructs statistics timed on the shared {@link TimerService}, with their own registry. */
+  public ScriptStatistics() {
+    this(TimerService::getDefault);
+  }
+
+  /**
+   * Constructs statistics timed on a clock that may be replaced, with their own registry.
+   *
+   * @param clock Supplies the clock to read on each start, stop and elapsed time query.
+   */
+  public ScriptStatistics(Supplier<Clock> clock) {
+    this(clock, new MetricsRegistry());
+  }
+
+  /**
+   * Constructs statistics timed on a clock that may be replaced, such as a context's, and kept in a
+   * registry.
+   *
+   * @param clock Supplies the clock to read on each start, stop and elapsed time query.
+   * @param metrics The registry the counts are kept in.
+   */
+  public ScriptStatistics(Supplier<Clock> clock, MetricsRegistry metrics) {
+    this.clock = clock;
+    this.metrics = metrics;
+    this.cycles = metrics.counter(Metrics.CYCLES);
+    this.travelMillisSaved = metrics.counter(Metrics.TRAVEL_SAVED);
+    metrics.gauge(Metrics.RUNTIME, () -> getElapsedTime() / 1000.0);
+    metrics.gauge(Metrics.RUNNING, () -> running ? 1 : 0);
+  }
+
+  /**
+   * Resets all statistics to zero and sets the start time to the current time.
+   *
+   * <p>Also resets the {@code endTime} and sets {@code running} to true.
+   */
+  public void reset() {
+    startTime.set(clock.get().currentTimeMillis());
+    endTime.set(0);
+    running = true;
+    cycles.reset();
+    inputs.values().forEach(Counter::reset);
+    objectsDetected.values().forEach(Counter::reset);
+    travelMillisSaved.reset();
+  }
+
+  /**
+   * Stops the statistics tracking, freezing the elapsed time.
+   *
+   * <p>Sets {@code running} to false and records the current time as {@code endTime}. This ensures
+   * {@link #getElapsedTime()} returns a static duration after stopping.
+   */
+  public void stop() {
+    running = false;
+    endTime.set(clock.get().currentTimeMillis());
+  }
+
+  /** Increments the cycle count by one. */
+  public void incrementCycles() {
+    cycles.increment();
+  }
+
+  /** Increments the total input count by one, for an input of no particular type. */
+  public void incrementInputs() {
+    incrementInputs(OTHER);
+  }
+
+  /**
+   * Increments the input count of a type by one.
+   *
+   * @param type The kind of input, e.g. {@code click}.
+   */
+  public void incrementInputs(String type) {
+    inputs.computeIfAbsent(type, t -> metrics.counter(Metrics.INPUTS, "type", t)).increment();
+  }
+
+  /** Increments the total objects detected count by one, for an object of no particular source. */
+  public void incrementObjectsDetected() {
+    incrementObjectsDetected(OTHER);
+  }
+
+  /**
+   * Increments the count of objects found by a detector by one.
+   *
+   * @param detector The detector that found it, e.g. {@code colour}.
+   */
+  public void incrementObjectsDetected(String detector) {
+    objectsDetected
+        .computeIfAbsent(detector, d -> metrics.counter(Metrics.OBJECTS_DETECTED, "detector", d))
+        .increment();
+  }
+
+  /**
+   * Adds to the estimated mouse travel time saved by choosing targets closer to the cursor than the
+   * default choice would have been.
+   *
+   * @param millis The estimated saving for one action, in milliseconds.
+   */
+  public void addTravelMillisSaved(long millis) {
+    travelMillisSaved.add(millis);
+  }
+
+  // Getters
+
+  public long getStartTime() {
+    return startTime.get();
+  }
+
+  public int getCycles() {
+    return (int) cycles.get();
+  }
+
+  public int getInputs() {
+    return (int) sum(inputs);
+  }
+
+  public int getObjectsDetected() {
+    return (int) sum(objectsDetected);
+  }
+
+  public long getTravelMillisSaved() {
+    return travelMillisSaved.get();
+  }
+
+  /**
+   * Returns whether the statistics are still counting.
+   *
+   * @return true between {@link #reset()} and {@link #stop()}.
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+  private static long sum(Map<String, Counter> counters) {
+    long total = 0;
+    for (Counter counter : counters.values()) {
+      total += counter.get();
+    }
+    return total;
+  }
+
+  /**
+   * Calculates the elapsed time in milliseconds.
+   *
+   * <p>If the bot is running, returns {@code now - startTime}. If the bot is stopped, returns
+   * {@code endTime - startTime}.
+   *
+   * @return runtime in ms, or 0 if not started.
+   */
+  public long getElapsedTime() {
+    long start = startTime.get();
+    if (start == 0) {
+      return 0;
+    }
+    if (running) {
+      return clock.get().currentTimeMillis() - start;
+    } else {
+      long end = endTime.get();
+      // If end is somehow invalid or 0 (shouldn't happen if stop called), return 0 or
+      // current diff
+      return end > start ? end - start : 0;
+    }
+  }
+}
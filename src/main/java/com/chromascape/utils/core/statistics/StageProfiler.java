@@ -0,0 +1,280 @@
+package com.chromascape.utils.core.statistics;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.timing.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Breaks script time down by pipeline stage: capture, colour extraction, template matching, OCR,
+ * mouse movement and waits.
+ *
+ * <p>Code is wrapped in nestable spans with try-with-resources:
+ *
+ * <pre>{@code
+ * try (StageProfiler.Span span = StageProfiler.start(StageProfiler.CAPTURE)) {
+ *   // ...
+ * }
+ * }</pre>
+ *
+ * <p>Each stage keeps a {@link LatencyHistogram} of its inclusive span durations and the sum of its
+ * self time, i.e. time not spent in a nested span. {@link #CYCLE} spans wrap every script cycle, so
+ * the self time of that stage is script logic that no other stage accounts for.
+ *
+ * <p>Alongside wall-clock time each stage sums its logical self time, read from the script's {@link
+ * Clock}. On the real clock the two agree. Under a virtual clock, wall time is what the stage
+ * really costs and logical time is how long it would have taken against a live client, so a
+ * simulated run shows both where CPU goes and where game time goes.
+ *
+ * <p>Each {@link ScriptContext} keeps its own profile, so scripts running side by side are timed
+ * separately, and spans opened on a thread a script started, such as OCR on its position tracker,
+ * count against that script. {@link #start(String)} records into the profile of {@link
+ * ScriptContext#current()}.
+ *
+ * <p>Spans are pooled per thread and recording never allocates, so the overhead is four clock reads
+ * and a few atomic updates per span. Spans must be closed in the reverse order they were started,
+ * which try-with-resources guarantees. A stage nested inside itself is counted once per span.
+ */
+public final class StageProfiler {
+
+  /** Screen and window captures. */
+  public static final String CAPTURE = "capture";
+
+  /** HSV colour extraction, morphology and contour detection. */
+  public static final String COLOUR = "colour";
+
+  /** Template matching of UI elements. */
+  public static final String TEMPLATE = "template";
+
+  /** Glyph matching OCR. */
+  public static final String OCR = "ocr";
+
+  /** Mouse movements, from path generation until the last point is played. */
+  public static final String MOUSE = "mouse";
+
+  /** WindMouse path generation, nested in {@link #MOUSE} for real movements. */
+  public static final String MOUSE_PATH = "mouse.path";
+
+  /** Script waits. */
+  public static final String WAIT = "wait";
+
+  /** One script cycle. */
+  public static final String CYCLE = "cycle";
+
+  private static final ThreadLocal<SpanStack> stacks = ThreadLocal.withInitial(SpanStack::new);
+  private static final Span NO_OP = new Span(null);
+  private static volatile boolean enabled = true;
+
+  private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+
+  /** Constructs an empty profile. Each {@link ScriptContext} owns one. */
+  public StageProfiler() {}
+
+  /**
+   * Returns the profile of the calling thread's script.
+   *
+   * @return The current context's profile.
+   */
+  public static StageProfiler current() {
+    return ScriptContext.current().profiler();
+  }
+
+  /**
+   * Starts a span in the calling thread's profile. Close it, ideally with try-with-resources, when
+   * the stage ends.
+   *
+   * @param stage The stage name, usually one of the constants in this class.
+   * @return The running span.
+   */
+  public static Span start(String stage) {
+    if (!enabled) {
+      return NO_OP;
+    }
+    ScriptContext context = ScriptContext.current();
+    StageProfiler profile = context.profiler();
+    return stacks.get().push(profile.stages.computeIfAbsent(stage, Stage::new), context.clock());
+  }
+
+  /**
+   * Turns recording on or off. Spans already running are still recorded when they close.
+   *
+   * @param enabled Whether new spans are recorded.
+   */
+  public static void setEnabled(boolean enabled) {
+    StageProfiler.enabled = enabled;
+  }
+
+  /** Clears all stages of this profile, e.g. when its script starts. */
+  public void reset() {
+    stages.values().forEach(Stage::reset);
+  }
+
+  /**
+   * Returns a summary of every stage recorded in this profile so far, most self time first.
+   *
+   * @return One entry per stage that has been entered at least once.
+   */
+  public List<StageSummary> snapshot() {
+    List<StageSummary> summaries = new ArrayList<>();
+    for (Stage stage : stages.values()) {
+      if (stage.total.getCount() > 0) {
+        summaries.add(stage.summarise());
+      }
+    }
+    summaries.sort(Comparator.comparingDouble(StageSummary::selfMillis).reversed());
+    return summaries;
+  }
+
+  /**
+   * Formats {@link #snapshot()} for logging.
+   *
+   * @return One line per stage.
+   */
+  public String summary() {
+    StringBuilder builder = new StringBuilder();
+    for (StageSummary s : snapshot()) {
+      builder.append(
+          String.format(
+              "%n  %-10s n=%d self=%.0fms logical=%.0fms p50=%.3fms p95=%.3fms p99=%.3fms"
+                  + " max=%.3fms",
+              s.name(),
+              s.count(),
+              s.selfMillis(),
+              s.logicalSelfMillis(),
+              s.p50Millis(),
+              s.p95Millis(),
+              s.p99Millis(),
+              s.maxMillis()));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Aggregated timings of one stage, in milliseconds.
+   *
+   * @param name The stage name.
+   * @param count Number of spans recorded.
+   * @param meanMillis Mean inclusive duration.
+   * @param p50Millis Median inclusive duration.
+   * @param p95Millis 95th percentile inclusive duration.
+   * @param p99Millis 99th percentile inclusive duration.
+   * @param maxMillis Longest inclusive duration.
+   * @param selfMillis Total time spent in the stage itself, excluding nested spans.
+   * @param logicalSelfMillis Total self time on the script's clock, which differs from {@code
+   *     selfMillis} only under a virtual clock.
+   */
+  public record StageSummary(
+      String name,
+      long count,
+      double meanMillis,
+      double p50Millis,
+      double p95Millis,
+      double p99Millis,
+      double maxMillis,
+      double selfMillis,
+      double logicalSelfMillis) {}
+
+  /** A running span. Closing it records its duration against its stage. */
+  public static final class Span implements AutoCloseable {
+
+    private final SpanStack stack;
+    private Stage stage;
+    private Clock clock;
+    private long startNanos;
+    private long childNanos;
+    private long logicalStartNanos;
+    private long logicalChildNanos;
+
+    private Span(SpanStack stack) {
+      this.stack = stack;
+    }
+
+    /** Ends the span. */
+    @Override
+    public void close() {
+      if (stack != null) {
+        stack.pop(this);
+      }
+    }
+  }
+
+  /** Per-thread stack of pooled spans. */
+  private static final class SpanStack {
+
+    private Span[] spans = new Span[8];
+    private int depth;
+
+    Span push(Stage stage, Clock clock) {
+      if (depth == spans.length) {
+        spans = Arrays.copyOf(spans, depth * 2);
+      }
+      Span span = spans[depth];
+      if (span == null) {
+        span = new Span(this);
+        spans[depth] = span;
+      }
+      depth++;
+      span.stage = stage;
+      span.clock = clock;
+      span.childNanos = 0;
+      span.logicalChildNanos = 0;
+      span.logicalStartNanos = span.clock.nanoTime();
+      span.startNanos = System.nanoTime();
+      return span;
+    }
+
+    void pop(Span span) {
+      final long elapsed = System.nanoTime() - span.startNanos;
+      final long logical = span.clock.nanoTime() - span.logicalStartNanos;
+      if (depth == 0 || spans[depth - 1] != span) {
+        // Closed twice or out of order; ignore rather than corrupt the stack
+        return;
+      }
+      depth--;
+      span.stage.total.record(elapsed);
+      span.stage.selfNanos.add(elapsed - span.childNanos);
+      span.stage.logicalSelfNanos.add(logical - span.logicalChildNanos);
+      if (depth > 0) {
+        spans[depth - 1].childNanos += elapsed;
+        spans[depth - 1].logicalChildNanos += logical;
+      }
+    }
+  }
+
+  /** Accumulated timings of one stage across all of a script's threads. */
+  private static final class Stage {
+
+    private final String name;
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LongAdder selfNanos = new LongAdder();
+    private final LongAdder logicalSelfNanos = new LongAdder();
+
+    Stage(String name) {
+      this.name = name;
+    }
+
+    void reset() {
+      total.reset();
+      selfNanos.reset();
+      logicalSelfNanos.reset();
+    }
+
+    StageSummary summarise() {
+      return new StageSummary(
+          name,
+          total.getCount(),
+          total.getMean() / 1_000_000.0,
+          total.getValueAtPercentile(50) / 1_000_000.0,
+          total.getValueAtPercentile(95) / 1_000_000.0,
+          total.getValueAtPercentile(99) / 1_000_000.0,
+          total.getMax() / 1_000_000.0,
+          selfNanos.sum() / 1_000_000.0,
+          logicalSelfNanos.sum() / 1_000_000.0);
+    }
+  }
+}
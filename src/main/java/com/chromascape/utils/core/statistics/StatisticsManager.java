@@ -1,105 +1,118 @@
 package com.chromascape.utils.core.statistics;
 
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import com.chromascape.utils.core.runtime.ScriptContext;
 
 /**
- * Singleton manager for tracking bot statistics such as runtime, cycles, inputs, and objects
- * detected.
+ * Static access to the statistics of the script running on the calling thread, such as runtime,
+ * cycles, inputs, and objects detected.
  *
- * <p>Uses thread-safe atomic variables to allow concurrent updates from different parts of the bot
- * (e.g. input thread, vision thread, main loop) without blocking.
+ * <p>Every call is forwarded to the {@link ScriptStatistics} of {@link ScriptContext#current()}, so
+ * utilities can record statistics without being handed a context, while scripts running side by
+ * side still count separately. Threads outside any script use the default context.
  */
 public class StatisticsManager {
 
-  private static final AtomicLong startTime = new AtomicLong(0);
-  private static final AtomicLong endTime = new AtomicLong(0);
-  private static volatile boolean running = false;
-
-  private static final AtomicInteger cycles = new AtomicInteger(0);
-  private static final AtomicInteger inputs = new AtomicInteger(0);
-  private static final AtomicInteger objectsDetected = new AtomicInteger(0);
-
   private StatisticsManager() {}
 
+  /**
+   * Returns the statistics of the calling thread's script.
+   *
+   * @return The current context's statistics.
+   */
+  public static ScriptStatistics current() {
+    return ScriptContext.current().statistics();
+  }
+
   /**
    * Resets all statistics to zero and sets the start time to the current system time.
    *
-   * <p>Also resets the {@code endTime} and sets {@code running} to true.
+   * @see ScriptStatistics#reset()
    */
   public static void reset() {
-    startTime.set(System.currentTimeMillis());
-    endTime.set(0);
-    running = true;
-    cycles.set(0);
-    inputs.set(0);
-    objectsDetected.set(0);
+    current().reset();
   }
 
   /**
    * Stops the statistics tracking, freezing the elapsed time.
    *
-   * <p>Sets {@code running} to false and records the current time as {@code endTime}. This ensures
-   * {@link #getElapsedTime()} returns a static duration after stopping.
+   * @see ScriptStatistics#stop()
    */
   public static void stop() {
-    running = false;
-    endTime.set(System.currentTimeMillis());
+    current().stop();
   }
 
   /** Increments the cycle count by one. */
   public static void incrementCycles() {
-    cycles.incrementAndGet();
+    current().incrementCycles();
   }
 
   /** Increments the total input count by one. */
   public static void incrementInputs() {
-    inputs.incrementAndGet();
+    current().incrementInputs();
+  }
+
+  /**
+   * Increments the input count of a type by one.
+   *
+   * @param type The kind of input, e.g. {@code click}.
+   */
+  public static void incrementInputs(String type) {
+    current().incrementInputs(type);
   }
 
   /** Increments the total objects detected count by one. */
   public static void incrementObjectsDetected() {
-    objectsDetected.incrementAndGet();
+    current().incrementObjectsDetected();
+  }
+
+  /**
+   * Increments the count of objects found by a detector by one.
+   *
+   * @param detector The detector that found it, e.g. {@code colour}.
+   */
+  public static void incrementObjectsDetected(String detector) {
+    current().incrementObjectsDetected(detector);
+  }
+
+  /**
+   * Adds to the estimated mouse travel time saved by choosing targets closer to the cursor than the
+   * default choice would have been.
+   *
+   * @param millis The estimated saving for one action, in milliseconds.
+   */
+  public static void addTravelMillisSaved(long millis) {
+    current().addTravelMillisSaved(millis);
   }
 
   // Getters
 
   public static long getStartTime() {
-    return startTime.get();
+    return current().getStartTime();
   }
 
   public static int getCycles() {
-    return cycles.get();
+    return current().getCycles();
   }
 
   public static int getInputs() {
-    return inputs.get();
+    return current().getInputs();
   }
 
   public static int getObjectsDetected() {
-    return objectsDetected.get();
+    return current().getObjectsDetected();
+  }
+
+  public static long getTravelMillisSaved() {
+    return current().getTravelMillisSaved();
   }
 
   /**
    * Calculates the elapsed time in milliseconds.
    *
-   * <p>If the bot is running, returns {@code now - startTime}. If the bot is stopped, returns
-   * {@code endTime - startTime}.
-   *
    * @return runtime in ms, or 0 if not started.
+   * @see ScriptStatistics#getElapsedTime()
    */
   public static long getElapsedTime() {
-    long start = startTime.get();
-    if (start == 0) {
-      return 0;
-    }
-    if (running) {
-      return System.currentTimeMillis() - start;
-    } else {
-      long end = endTime.get();
-      // If end is somehow invalid or 0 (shouldn't happen if stop called), return 0 or
-      // current diff
-      return end > start ? end - start : 0;
-    }
+    return current().getElapsedTime();
   }
 }
@@ -0,0 +1,159 @@
+package com.chromascape.utils.core.statistics;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how each named wait condition performs: how long it took to detect, how many polls it
+ * cost, and how often it timed out.
+ *
+ * <p>Filled in by {@code BaseScript.waitUntil}, so the poll policy of each condition can be tuned
+ * by comparing its detection time against its poll count.
+ *
+ * <p>Each {@link ScriptContext} keeps its own statistics, so scripts running side by side that wait
+ * on conditions of the same name don't mix their metrics, and a script starting clears only its
+ * own. {@link #record(String, boolean, long, int)} records into the statistics of {@link
+ * ScriptContext#current()}.
+ */
+public final class WaitStatistics {
+
+  private final Map<String, Condition> conditions = new ConcurrentHashMap<>();
+
+  /** Constructs empty statistics. Each {@link ScriptContext} owns one. */
+  public WaitStatistics() {}
+
+  /**
+   * Returns the wait statistics of the calling thread's script.
+   *
+   * @return The current context's statistics.
+   */
+  public static WaitStatistics current() {
+    return ScriptContext.current().waits();
+  }
+
+  /**
+   * Records one finished wait in the calling thread's statistics.
+   *
+   * @param name The condition name.
+   * @param satisfied {@code true} if the condition became true, {@code false} on timeout.
+   * @param elapsedNanos Time from the start of the wait to the poll that ended it.
+   * @param polls Number of times the condition was evaluated.
+   */
+  public static void record(String name, boolean satisfied, long elapsedNanos, int polls) {
+    current().add(name, satisfied, elapsedNanos, polls);
+  }
+
+  private void add(String name, boolean satisfied, long elapsedNanos, int polls) {
+    Condition condition = conditions.computeIfAbsent(name, Condition::new);
+    condition.polls.add(polls);
+    if (satisfied) {
+      condition.detect.record(elapsedNanos);
+    } else {
+      condition.timeouts.increment();
+    }
+  }
+
+  /** Clears all conditions, e.g. when a new script starts. */
+  public void reset() {
+    conditions.values().forEach(Condition::reset);
+  }
+
+  /**
+   * Returns a summary of every condition waited on so far, most polls first.
+   *
+   * @return One entry per condition.
+   */
+  public List<WaitSummary> snapshot() {
+    List<WaitSummary> summaries = new ArrayList<>();
+    for (Condition condition : conditions.values()) {
+      WaitSummary summary = condition.summarise();
+      if (summary.waits() > 0) {
+        summaries.add(summary);
+      }
+    }
+    summaries.sort(Comparator.comparingLong(WaitSummary::totalPolls).reversed());
+    return summaries;
+  }
+
+  /**
+   * Formats {@link #snapshot()} for logging.
+   *
+   * @return One line per condition.
+   */
+  public String summary() {
+    StringBuilder builder = new StringBuilder();
+    for (WaitSummary s : snapshot()) {
+      builder.append(
+          String.format(
+              "%n  %-16s waits=%d timeouts=%d polls/wait=%.1f p50=%.0fms p95=%.0fms max=%.0fms",
+              s.name(),
+              s.waits(),
+              s.timeouts(),
+              s.meanPolls(),
+              s.p50DetectMillis(),
+              s.p95DetectMillis(),
+              s.maxDetectMillis()));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Aggregated metrics of one wait condition. Detection times only include waits that succeeded.
+   *
+   * @param name The condition name.
+   * @param waits Number of waits, including timeouts.
+   * @param timeouts Number of waits that timed out.
+   * @param totalPolls Number of polls across all waits.
+   * @param meanPolls Mean polls per wait.
+   * @param p50DetectMillis Median time to detection.
+   * @param p95DetectMillis 95th percentile time to detection.
+   * @param maxDetectMillis Longest time to detection.
+   */
+  public record WaitSummary(
+      String name,
+      long waits,
+      long timeouts,
+      long totalPolls,
+      double meanPolls,
+      double p50DetectMillis,
+      double p95DetectMillis,
+      double maxDetectMillis) {}
+
+  /** Accumulated metrics of one condition. */
+  private static final class Condition {
+
+    private final String name;
+    private final LatencyHistogram detect = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder polls = new LongAdder();
+
+    Condition(String name) {
+      this.name = name;
+    }
+
+    void reset() {
+      detect.reset();
+      timeouts.reset();
+      polls.reset();
+    }
+
+    WaitSummary summarise() {
+      long waits = detect.getCount() + timeouts.sum();
+      long totalPolls = polls.sum();
+      return new WaitSummary(
+          name,
+          waits,
+          timeouts.sum(),
+          totalPolls,
+          waits == 0 ? 0 : (double) totalPolls / waits,
+          detect.getValueAtPercentile(50) / 1_000_000.0,
+          detect.getValueAtPercentile(95) / 1_000_000.0,
+          detect.getMax() / 1_000_000.0);
+    }
+  }
+}
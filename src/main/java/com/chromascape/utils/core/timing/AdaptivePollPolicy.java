@@ -0,0 +1,115 @@
+package com.chromascape.utils.core.timing;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PollPolicy} that learns how long its condition usually takes to become true, and polls
+ * densely only around that time.
+ *
+ * <p>The policy keeps the durations of the last {@value #WINDOW} successful waits. Until it has
+ * {@value #MIN_SAMPLES} of them it polls at the fine period. After that each wait has three phases,
+ * bounded by the 10th and 90th percentiles of the recent durations:
+ *
+ * <ul>
+ *   <li>Before the expected window, it polls at the coarse period, or at the start of the window if
+ *       that is sooner. A condition that comes true early is seen at most one coarse period late.
+ *   <li>Inside the window, it polls at the fine period.
+ *   <li>After the window, the delay grows with the time overrun, up to the coarse period, so a wait
+ *       that has gone wrong stops burning captures.
+ * </ul>
+ *
+ * <p>Timeouts are not learned from, since they say nothing about when the condition would have been
+ * met. One instance should be kept per condition; instances are thread-safe.
+ */
+public class AdaptivePollPolicy implements PollPolicy {
+
+  /** Default period inside the expected window. */
+  public static final long DEFAULT_FINE_MILLIS = 50;
+
+  /** Default longest period, one game tick. */
+  public static final long DEFAULT_COARSE_MILLIS = 600;
+
+  /** Number of recent waits learned from. */
+  private static final int WINDOW = 32;
+
+  /** Successful waits needed before the learned window is used. */
+  private static final int MIN_SAMPLES = 5;
+
+  private final long fineNanos;
+  private final long coarseNanos;
+
+  // Ring buffer of recent durations, guarded by this
+  private final long[] durations = new long[WINDOW];
+  private int count;
+  private int next;
+  private long windowStartNanos;
+  private long windowEndNanos;
+
+  /** Constructs a policy with the default fine and coarse periods. */
+  public AdaptivePollPolicy() {
+    this(DEFAULT_FINE_MILLIS, DEFAULT_COARSE_MILLIS);
+  }
+
+  /**
+   * Constructs a policy.
+   *
+   * @param fineMillis Time between polls while the condition is expected, in milliseconds.
+   * @param coarseMillis Longest time between polls, in milliseconds.
+   * @throws IllegalArgumentException if either period is not positive, or {@code fineMillis} is
+   *     greater than {@code coarseMillis}.
+   */
+  public AdaptivePollPolicy(long fineMillis, long coarseMillis) {
+    if (fineMillis <= 0 || coarseMillis < fineMillis) {
+      throw new IllegalArgumentException("Require 0 < fineMillis <= coarseMillis");
+    }
+    this.fineNanos = TimeUnit.MILLISECONDS.toNanos(fineMillis);
+    this.coarseNanos = TimeUnit.MILLISECONDS.toNanos(coarseMillis);
+  }
+
+  @Override
+  public synchronized long nextPollNanos(long startNanos, int polls, long nowNanos) {
+    if (count < MIN_SAMPLES) {
+      return nowNanos + fineNanos;
+    }
+    long elapsed = nowNanos - startNanos;
+    if (elapsed < windowStartNanos) {
+      return Math.min(startNanos + windowStartNanos, nowNanos + coarseNanos);
+    }
+    if (elapsed <= windowEndNanos) {
+      return nowNanos + fineNanos;
+    }
+    long overrun = elapsed - windowEndNanos;
+    return nowNanos + Math.max(fineNanos, Math.min(coarseNanos, overrun / 2));
+  }
+
+  @Override
+  public synchronized void onFinished(boolean satisfied, long elapsedNanos) {
+    if (!satisfied) {
+      return;
+    }
+    durations[next] = elapsedNanos;
+    next = (next + 1) % WINDOW;
+    count = Math.min(count + 1, WINDOW);
+
+    long[] sorted = Arrays.copyOf(durations, count);
+    Arrays.sort(sorted);
+    windowStartNanos = sorted[(int) ((count - 1) * 0.1)];
+    windowEndNanos = sorted[(int) Math.ceil((count - 1) * 0.9)];
+  }
+
+  /**
+   * Returns the window in which the condition is currently expected to become true.
+   *
+   * @return The start and end of the window in milliseconds from the start of a wait, or {@code
+   *     null} while the policy is still learning.
+   */
+  public synchronized long[] getExpectedWindowMillis() {
+    if (count < MIN_SAMPLES) {
+      return null;
+    }
+    return new long[] {
+      TimeUnit.NANOSECONDS.toMillis(windowStartNanos), TimeUnit.NANOSECONDS.toMillis(windowEndNanos)
+    };
+  }
+}
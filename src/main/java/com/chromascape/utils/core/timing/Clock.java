@@ -0,0 +1,53 @@
+package com.chromascape.utils.core.timing;
+
+import com.chromascape.utils.core.timing.TimerService.Precision;
+
+/**
+ * Source of time for script waits, input pacing and timestamps.
+ *
+ * <p>A running script reads its clock from {@code ScriptContext.current().clock()}, which is the
+ * shared {@link TimerService} unless the context has been given another clock, e.g. a virtual clock
+ * that lets a simulated script skip its waits.
+ *
+ * <p>Everything a script's behaviour depends on, such as timeouts, poll and tick scheduling, input
+ * pacing and event timestamps, is read from this clock. Measurements of what work actually costs,
+ * such as dispatch and native call latency or the wall time in {@link
+ * com.chromascape.utils.core.statistics.StageProfiler}, stay on {@link System#nanoTime()}.
+ */
+public interface Clock {
+
+  /**
+   * Returns the current value of this clock's monotonic time source.
+   *
+   * @return Nanoseconds from an arbitrary origin, comparable only with other readings of this
+   *     clock.
+   */
+  long nanoTime();
+
+  /**
+   * Returns the current wall-clock time.
+   *
+   * @return Milliseconds since the Unix epoch.
+   */
+  long currentTimeMillis();
+
+  /**
+   * Blocks the calling thread until {@link #nanoTime()} reaches a deadline.
+   *
+   * @param deadlineNanos The deadline, on this clock's time source.
+   * @param precision How much spinning the wait may do, where the clock sleeps for real.
+   * @throws InterruptedException if the thread is interrupted while waiting.
+   */
+  void sleepUntil(long deadlineNanos, Precision precision) throws InterruptedException;
+
+  /**
+   * Blocks the calling thread for a duration.
+   *
+   * @param nanos The duration in nanoseconds.
+   * @param precision How much spinning the wait may do, where the clock sleeps for real.
+   * @throws InterruptedException if the thread is interrupted while waiting.
+   */
+  default void sleep(long nanos, Precision precision) throws InterruptedException {
+    sleepUntil(nanoTime() + nanos, precision);
+  }
+}
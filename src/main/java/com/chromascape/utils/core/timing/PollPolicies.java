@@ -0,0 +1,93 @@
+package com.chromascape.utils.core.timing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Standard {@link PollPolicy} strategies.
+ *
+ * <ul>
+ *   <li>{@link #fixed(long)} polls at a constant period, like a hand-written sleep loop.
+ *   <li>{@link #exponential(long, long, double)} polls quickly at first and backs off, for
+ *       conditions that are usually met immediately but sometimes take a long time.
+ *   <li>{@link #tickAligned(TickClock, long)} polls once per game tick, just after the client has
+ *       drawn the tick's changes.
+ *   <li>{@link #adaptive()} learns how long the condition usually takes and polls densely only
+ *       around that time. See {@link AdaptivePollPolicy}.
+ * </ul>
+ */
+public final class PollPolicies {
+
+  private PollPolicies() {}
+
+  /**
+   * Polls at a constant period.
+   *
+   * @param periodMillis Time between polls, in milliseconds.
+   * @return The policy.
+   * @throws IllegalArgumentException if {@code periodMillis} is not positive.
+   */
+  public static PollPolicy fixed(long periodMillis) {
+    long periodNanos = positiveNanos(periodMillis, "periodMillis");
+    return (startNanos, polls, nowNanos) -> nowNanos + periodNanos;
+  }
+
+  /**
+   * Polls with a delay that starts at {@code initialMillis} and grows by {@code factor} after each
+   * poll, up to {@code maxMillis}.
+   *
+   * @param initialMillis The first delay, in milliseconds.
+   * @param maxMillis The longest delay, in milliseconds.
+   * @param factor How much the delay grows per poll, at least 1.
+   * @return The policy.
+   * @throws IllegalArgumentException if a delay is not positive or {@code factor} is below 1.
+   */
+  public static PollPolicy exponential(long initialMillis, long maxMillis, double factor) {
+    long initialNanos = positiveNanos(initialMillis, "initialMillis");
+    long maxNanos = positiveNanos(maxMillis, "maxMillis");
+    if (factor < 1) {
+      throw new IllegalArgumentException("factor must be at least 1");
+    }
+    return (startNanos, polls, nowNanos) -> {
+      double delay = initialNanos * Math.pow(factor, polls - 1);
+      return nowNanos + (long) Math.min(delay, maxNanos);
+    };
+  }
+
+  /**
+   * Polls at a fixed offset into each game tick, since most conditions can only change on a tick.
+   * Before the clock is calibrated this polls every half tick.
+   *
+   * @param clock The script's tick clock.
+   * @param offsetMillis How far into the tick to poll, giving the client time to draw.
+   * @return The policy.
+   */
+  public static PollPolicy tickAligned(TickClock clock, long offsetMillis) {
+    long offsetNanos = TimeUnit.MILLISECONDS.toNanos(offsetMillis);
+    return (startNanos, polls, nowNanos) -> {
+      if (!clock.isCalibrated()) {
+        return clock.nextTickAfter(nowNanos);
+      }
+      long periodNanos = TimeUnit.MILLISECONDS.toNanos(clock.getPeriodMillis());
+      long next = clock.nextTickAfter(nowNanos) + Math.floorMod(offsetNanos, periodNanos);
+      // The offset into the current tick may still be ahead
+      return next - periodNanos > nowNanos ? next - periodNanos : next;
+    };
+  }
+
+  /**
+   * Learns the condition's usual time to become true and polls densely only around it, with the
+   * default fine and coarse periods.
+   *
+   * @return A new policy; keep one per condition.
+   */
+  public static AdaptivePollPolicy adaptive() {
+    return new AdaptivePollPolicy();
+  }
+
+  private static long positiveNanos(long millis, String name) {
+    if (millis <= 0) {
+      throw new IllegalArgumentException(name + " must be greater than 0");
+    }
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -0,0 +1,32 @@
+package com.chromascape.utils.core.timing;
+
+/**
+ * Decides how often a condition is polled while a script waits for it to become true, trading
+ * reaction latency against the CPU and capture cost of each poll.
+ *
+ * <p>Standard policies are in {@link PollPolicies}. A policy may be stateful, learning from each
+ * wait through {@link #onFinished(boolean, long)}, in which case one instance should be kept per
+ * condition.
+ */
+@FunctionalInterface
+public interface PollPolicy {
+
+  /**
+   * Returns when to poll next, after a poll that found the condition false.
+   *
+   * @param startNanos The {@link Clock#nanoTime()} at which the wait started, on the waiting
+   *     script's clock.
+   * @param polls The number of polls made so far, at least 1.
+   * @param nowNanos The current {@link Clock#nanoTime()}.
+   * @return The {@link Clock#nanoTime()} of the next poll. Times in the past poll immediately.
+   */
+  long nextPollNanos(long startNanos, int polls, long nowNanos);
+
+  /**
+   * Reports how a wait using this policy ended.
+   *
+   * @param satisfied {@code true} if the condition became true, {@code false} on timeout.
+   * @param elapsedNanos Time from the start of the wait to the poll that ended it.
+   */
+  default void onFinished(boolean satisfied, long elapsedNanos) {}
+}
@@ -0,0 +1,253 @@
+package com.chromascape.utils.core.timing;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.runtime.exception.ScriptStoppedException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates where the server's game ticks fall on the local clock, from changes that can only
+ * happen on a tick.
+ *
+ * <p>The tile the player stands on, the XP counter and the start of minimap movement all change on
+ * a tick boundary. Each time one of those is seen to change, the caller reports when it was seen
+ * and how stale that observation could be (usually the poll interval that found it). The midpoint
+ * of that window is taken as the boundary and folded into an exponentially weighted circular mean
+ * of the tick phase. The spread of those samples is reported as jitter. Once calibrated, samples
+ * far from the phase are ignored, but a run of them starts calibration again, since the phase can
+ * move after a lag spike or world hop.
+ *
+ * <p>Once calibrated, {@link #awaitNextTick()} and {@link #awaitTickOffset(long)} let loops poll or
+ * click at a fixed point in the tick instead of sleeping fixed delays that drift against it. Before
+ * calibration they fall back to sleeping half a tick, so callers oversample rather than miss a
+ * change.
+ *
+ * <p>Times are read from the clock of the script that constructed the instance. Each instance owns
+ * the thread behind {@link #scheduleAtTickOffset(long, Runnable)}, released by {@link #shutdown()}.
+ */
+public class TickClock {
+
+  /** Nominal server tick length. */
+  public static final long DEFAULT_PERIOD_MILLIS = 600;
+
+  /** Weight of each new sample in the running phase estimate. */
+  private static final double ALPHA = 0.15;
+
+  /** Samples needed before the estimate is used. */
+  private static final int MIN_SAMPLES = 5;
+
+  /**
+   * Observations whose timing is more uncertain than this fraction of a tick are ignored. Allows
+   * for half-tick polls plus the time taken by an OCR read.
+   */
+  private static final double MAX_RESOLUTION_FRACTION = 0.6;
+
+  /** Once calibrated, samples further than this fraction of a tick from the phase are ignored. */
+  private static final double OUTLIER_FRACTION = 0.25;
+
+  /**
+   * Outliers in a row after which the estimate is started again from scratch. A lag spike,
+   * reconnect or world hop can move the tick phase, after which every correct sample is an outlier.
+   */
+  private static final int MAX_CONSECUTIVE_OUTLIERS = 4;
+
+  private final Clock clock;
+  private final long periodNanos;
+  private final long epochNanos;
+
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread thread = new Thread(r, "TickClock");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // Exponentially weighted mean of the unit phase vectors, guarded by this
+  private double meanCos;
+  private double meanSin;
+  private int samples;
+  private int outliers;
+
+  /** Constructs a clock for the default 600ms tick. */
+  public TickClock() {
+    this(DEFAULT_PERIOD_MILLIS);
+  }
+
+  /**
+   * Constructs a clock for a given tick length.
+   *
+   * @param periodMillis The tick length in milliseconds.
+   * @throws IllegalArgumentException if {@code periodMillis} is not positive.
+   */
+  public TickClock(long periodMillis) {
+    if (periodMillis <= 0) {
+      throw new IllegalArgumentException("periodMillis must be greater than 0");
+    }
+    this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+    this.clock = ScriptContext.current().clock();
+    this.epochNanos = clock.nanoTime();
+  }
+
+  /**
+   * Reports a state change that happens on a tick boundary.
+   *
+   * @param detectedAtNanos The {@link Clock#nanoTime()} at which the change was seen.
+   * @param resolutionNanos How long before {@code detectedAtNanos} the change could have happened,
+   *     typically the time since the previous poll that didn't see it.
+   */
+  public synchronized void observe(long detectedAtNanos, long resolutionNanos) {
+    if (resolutionNanos < 0 || resolutionNanos > periodNanos * MAX_RESOLUTION_FRACTION) {
+      return;
+    }
+    double angle = toAngle(detectedAtNanos - resolutionNanos / 2);
+    double cos = Math.cos(angle);
+    double sin = Math.sin(angle);
+
+    if (samples >= MIN_SAMPLES) {
+      double deviation = Math.abs(wrap(angle - Math.atan2(meanSin, meanCos)));
+      if (deviation > 2 * Math.PI * OUTLIER_FRACTION) {
+        if (++outliers < MAX_CONSECUTIVE_OUTLIERS) {
+          return;
+        }
+        // The phase has moved; re-seed from this sample and calibrate again
+        samples = 0;
+      }
+    }
+    outliers = 0;
+    if (samples == 0) {
+      meanCos = cos;
+      meanSin = sin;
+    } else {
+      meanCos += ALPHA * (cos - meanCos);
+      meanSin += ALPHA * (sin - meanSin);
+    }
+    samples++;
+  }
+
+  /**
+   * Whether enough consistent samples have been seen for the phase estimate to be used.
+   *
+   * @return {@code true} once calibrated.
+   */
+  public synchronized boolean isCalibrated() {
+    return samples >= MIN_SAMPLES;
+  }
+
+  /**
+   * Returns the estimated offset of tick boundaries within the tick period.
+   *
+   * @return The phase in milliseconds, in {@code [0, period)}.
+   */
+  public synchronized double getPhaseMillis() {
+    double angle = Math.atan2(meanSin, meanCos);
+    if (angle < 0) {
+      angle += 2 * Math.PI;
+    }
+    return angle / (2 * Math.PI) * periodNanos / 1_000_000.0;
+  }
+
+  /**
+   * Returns the circular standard deviation of the boundary samples, a measure of how tightly the
+   * observed changes line up.
+   *
+   * @return The jitter in milliseconds, or the full period if there are no samples.
+   */
+  public synchronized double getJitterMillis() {
+    double resultant = Math.hypot(meanCos, meanSin);
+    if (samples == 0 || resultant <= 0) {
+      return periodNanos / 1_000_000.0;
+    }
+    double sigma = Math.sqrt(-2 * Math.log(Math.min(1.0, resultant)));
+    return sigma / (2 * Math.PI) * periodNanos / 1_000_000.0;
+  }
+
+  /**
+   * Returns the tick length this clock assumes.
+   *
+   * @return The period in milliseconds.
+   */
+  public long getPeriodMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(periodNanos);
+  }
+
+  /**
+   * Predicts the first tick boundary strictly after a given time.
+   *
+   * @param nanos A {@link Clock#nanoTime()} value.
+   * @return The {@link Clock#nanoTime()} of the next boundary, or {@code nanos} plus half a tick if
+   *     the clock isn't calibrated yet.
+   */
+  public synchronized long nextTickAfter(long nanos) {
+    if (samples < MIN_SAMPLES) {
+      return nanos + periodNanos / 2;
+    }
+    long phaseNanos = (long) (getPhaseMillis() * 1_000_000.0);
+    long sinceEpoch = nanos - epochNanos - phaseNanos;
+    long ticks = Math.floorDiv(sinceEpoch, periodNanos) + 1;
+    return epochNanos + phaseNanos + ticks * periodNanos;
+  }
+
+  /**
+   * Blocks until the next tick boundary.
+   *
+   * @return The {@link Clock#nanoTime()} the wait was aimed at.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public long awaitNextTick() {
+    return awaitTickOffset(0);
+  }
+
+  /**
+   * Blocks until a fixed offset into the next tick, e.g. to poll just after a change would have
+   * been drawn.
+   *
+   * @param offsetMillis Milliseconds after the next boundary, in {@code [0, period)}.
+   * @return The {@link Clock#nanoTime()} the wait was aimed at.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public long awaitTickOffset(long offsetMillis) {
+    long target = targetFor(offsetMillis);
+    try {
+      clock.sleepUntil(target, TimerService.Precision.NORMAL);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // Restore interrupt status
+      throw new ScriptStoppedException();
+    }
+    return target;
+  }
+
+  /**
+   * Runs an action at a fixed offset into the next tick on the clock's own thread.
+   *
+   * @param offsetMillis Milliseconds after the next boundary, in {@code [0, period)}.
+   * @param action The action to run.
+   * @return A future that can be used to cancel the action.
+   * @throws java.util.concurrent.RejectedExecutionException if the clock has been shut down.
+   */
+  public ScheduledFuture<?> scheduleAtTickOffset(long offsetMillis, Runnable action) {
+    long delay = Math.max(0, targetFor(offsetMillis) - clock.nanoTime());
+    return scheduler.schedule(action, delay, TimeUnit.NANOSECONDS);
+  }
+
+  /** Cancels scheduled actions and stops the clock's thread. Waits keep working. */
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private long targetFor(long offsetMillis) {
+    long offsetNanos = Math.floorMod(TimeUnit.MILLISECONDS.toNanos(offsetMillis), periodNanos);
+    return nextTickAfter(clock.nanoTime()) + offsetNanos;
+  }
+
+  private double toAngle(long nanos) {
+    return 2 * Math.PI * Math.floorMod(nanos - epochNanos, periodNanos) / periodNanos;
+  }
+
+  /** Wraps an angle into {@code [-pi, pi)}. */
+  private static double wrap(double angle) {
+    return angle - 2 * Math.PI * Math.floor((angle + Math.PI) / (2 * Math.PI));
+  }
+}
@@ -0,0 +1,194 @@
+package com.chromascape.utils.core.timing;
+
+import com.chromascape.utils.core.statistics.LatencyHistogram;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Shared high-resolution sleep service for input playback, script waits and polling loops.
+ *
+ * <p>Every wait parks the calling thread until shortly before its deadline and then spins for the
+ * rest. How early it wakes (the slack) is calibrated continuously from how late parks actually
+ * return on this machine, and capped per call by a {@link Precision}. On a system whose timer wakes
+ * within ~50µs the service barely spins at all, while on a coarse Windows timer a {@link
+ * Precision#PRECISE} wait still lands on time at the cost of a longer spin. Callers that don't need
+ * sub-millisecond accuracy pay no CPU for it.
+ *
+ * <p>The lateness of every wait, the total time spent spinning and the current slack are recorded,
+ * so precision can be measured and traded against CPU explicitly.
+ *
+ * <p>The shared instance is also the real-time {@link Clock} every script uses unless its context
+ * supplies another.
+ */
+public final class TimerService implements Clock {
+
+  /** How much spinning a wait may do to hit its deadline. */
+  public enum Precision {
+    /** Never spins. For script waits and polls, where a millisecond or two late doesn't matter. */
+    COARSE(0),
+    /** Spins up to 250µs. For input playback, where steps are 10-20ms apart. */
+    NORMAL(250_000L),
+    /** Spins up to 2ms. For waits that must land on a specific moment. */
+    PRECISE(2_000_000L);
+
+    private final long maxSpinNanos;
+
+    Precision(long maxSpinNanos) {
+      this.maxSpinNanos = maxSpinNanos;
+    }
+  }
+
+  private static final TimerService DEFAULT = new TimerService();
+
+  /** Park overshoots collected before the slack is recalibrated. */
+  private static final int CALIBRATION_WINDOW = 256;
+
+  /** Percentile of park overshoot the slack is set to. */
+  private static final double SLACK_PERCENTILE = 90;
+
+  private final LatencyHistogram lateness = new LatencyHistogram();
+  private final LatencyHistogram overshootWindow = new LatencyHistogram();
+  private final LongAdder spinNanos = new LongAdder();
+  private final AtomicLong slackNanos = new AtomicLong(100_000L);
+
+  /**
+   * Returns the process-wide timer service.
+   *
+   * @return The shared instance.
+   */
+  public static TimerService getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Returns {@link System#nanoTime()}.
+   *
+   * @return The current monotonic time in nanoseconds.
+   */
+  @Override
+  public long nanoTime() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Returns {@link System#currentTimeMillis()}.
+   *
+   * @return The current wall-clock time in milliseconds since the Unix epoch.
+   */
+  @Override
+  public long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * Sleeps for a duration.
+   *
+   * @param nanos How long to sleep, in nanoseconds.
+   * @param precision How much spinning is allowed to hit the deadline.
+   * @throws InterruptedException if the calling thread is interrupted, with its interrupt status
+   *     cleared as by {@link Thread#sleep(long)}.
+   */
+  @Override
+  public void sleep(long nanos, Precision precision) throws InterruptedException {
+    sleepUntil(System.nanoTime() + nanos, precision);
+  }
+
+  /**
+   * Sleeps until an absolute {@link System#nanoTime()} deadline. Returns immediately if it has
+   * already passed.
+   *
+   * @param deadline The time to wake at.
+   * @param precision How much spinning is allowed to hit the deadline.
+   * @throws InterruptedException if the calling thread is interrupted, with its interrupt status
+   *     cleared as by {@link Thread#sleep(long)}.
+   */
+  @Override
+  public void sleepUntil(long deadline, Precision precision) throws InterruptedException {
+    long spin = Math.min(slackNanos.get(), precision.maxSpinNanos);
+
+    while (true) {
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      long now = System.nanoTime();
+      long parkFor = deadline - now - spin;
+      if (parkFor <= 0) {
+        break;
+      }
+      LockSupport.parkNanos(this, parkFor);
+      long overshoot = System.nanoTime() - (now + parkFor);
+      // Early returns are interrupts or spurious wake-ups, and say nothing about timer resolution
+      if (overshoot >= 0) {
+        recordOvershoot(overshoot);
+      }
+    }
+
+    long spinStart = System.nanoTime();
+    while (deadline - System.nanoTime() > 0) {
+      Thread.onSpinWait();
+    }
+    long end = System.nanoTime();
+    spinNanos.add(Math.max(0, end - spinStart));
+    lateness.record(end - deadline);
+  }
+
+  /**
+   * Returns how late each wait returned relative to its deadline, in nanoseconds.
+   *
+   * @return The lateness histogram.
+   */
+  public LatencyHistogram getLateness() {
+    return lateness;
+  }
+
+  /**
+   * Returns the total time all waits have spent spinning.
+   *
+   * @return The spin time in nanoseconds.
+   */
+  public long getSpinNanos() {
+    return spinNanos.sum();
+  }
+
+  /**
+   * Returns how long before a deadline waits currently stop parking, before the per-call cap.
+   *
+   * @return The calibrated slack in nanoseconds.
+   */
+  public long getSlackNanos() {
+    return slackNanos.get();
+  }
+
+  /**
+   * Formats lateness, spin time and slack.
+   *
+   * @return A one line summary.
+   */
+  public String summary() {
+    return String.format(
+        "lateness %s, spin=%dms, slack=%.3fms",
+        lateness.summaryMillis(),
+        TimeUnit.NANOSECONDS.toMillis(getSpinNanos()),
+        getSlackNanos() / 1_000_000.0);
+  }
+
+  /**
+   * Records how late a park returned and recalibrates the slack once a window has been collected.
+   *
+   * @param overshoot The lateness of the park in nanoseconds.
+   */
+  private void recordOvershoot(long overshoot) {
+    overshootWindow.record(overshoot);
+    if (overshootWindow.getCount() >= CALIBRATION_WINDOW) {
+      synchronized (overshootWindow) {
+        // Another thread may have recalibrated while this one waited
+        if (overshootWindow.getCount() >= CALIBRATION_WINDOW) {
+          slackNanos.set(overshootWindow.getValueAtPercentile(SLACK_PERCENTILE));
+          overshootWindow.reset();
+        }
+      }
+    }
+  }
+}
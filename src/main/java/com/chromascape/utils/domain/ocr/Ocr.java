@@ -10,9 +10,12 @@ import static org.bytedeco.opencv.global.opencv_imgproc.cvtColor;
 import static org.bytedeco.opencv.global.opencv_imgproc.matchTemplate;
 import static org.bytedeco.opencv.global.opencv_imgproc.rectangle;
 
+import com.chromascape.utils.core.metrics.Metrics;
+import com.chromascape.utils.core.metrics.Timer;
 import com.chromascape.utils.core.screen.colour.ColourObj;
 import com.chromascape.utils.core.screen.topology.ColourContours;
 import com.chromascape.utils.core.screen.window.ScreenManager;
+import com.chromascape.utils.core.statistics.StageProfiler;
 import com.chromascape.utils.domain.zones.MaskZones;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
@@ -42,8 +45,12 @@ import org.bytedeco.opencv.opencv_core.Scalar;
  */
 public class Ocr {
 
-  /** Stores successful character matches during Ocr extraction. */
-  private static final List<CharMatch> matches = new ArrayList<>();
+  /**
+   * Stores successful character matches during Ocr extraction. Confined to the calling thread so
+   * background readers (e.g. the walker's position tracker) can run OCR alongside the script.
+   */
+  private static final ThreadLocal<List<CharMatch>> matches =
+      ThreadLocal.withInitial(ArrayList::new);
 
   /** Cached zero scalar to prevent CPU allocation fatigue. */
   private static final Scalar ZERO_SCALAR = new Scalar(0);
@@ -147,11 +154,35 @@ public class Ocr {
    * @return The extracted text string from the zone.
    */
   public static String extractText(Rectangle zone, String font, ColourObj colour, boolean clean) {
-    Map<String, Mat> fontMap = loadFont(font);
-    matches.clear();
-    BufferedImage zoneImage = ScreenManager.captureZone(zone);
-    Mat zoneMat = ColourContours.extractColours(zoneImage, colour);
-    return extraction(fontMap, zoneMat, font, clean);
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.OCR);
+        Timer.Sample sample = Metrics.timer(Metrics.OCR_SECONDS, "font", font).start()) {
+      Map<String, Mat> fontMap = loadFont(font);
+      matches.get().clear();
+      BufferedImage zoneImage = ScreenManager.captureZone(zone);
+      Mat zoneMat = ColourContours.extractColours(zoneImage, colour);
+      return extraction(fontMap, zoneMat, font, clean);
+    }
+  }
+
+  /**
+   * Extracts a string of text from an image that has already been captured, such as a region of a
+   * {@link com.chromascape.utils.core.perception.Frame}. Note: this will not include any spaces.
+   *
+   * @param image Image to extract text from.
+   * @param font Font name to use for glyph matching.
+   * @param colour ColourObj specifying the color to isolate.
+   * @param clean Whether to clear internal match storage after use.
+   * @return The extracted text string from the image.
+   */
+  public static String extractText(
+      BufferedImage image, String font, ColourObj colour, boolean clean) {
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.OCR);
+        Timer.Sample sample = Metrics.timer(Metrics.OCR_SECONDS, "font", font).start()) {
+      Map<String, Mat> fontMap = loadFont(font);
+      matches.get().clear();
+      Mat zoneMat = ColourContours.extractColours(image, colour);
+      return extraction(fontMap, zoneMat, font, clean);
+    }
   }
 
   /**
@@ -164,9 +195,12 @@ public class Ocr {
    * @return The extracted text string from the zone.
    */
   public static String extractTextFromMask(Mat mask, String font, boolean clean) {
-    Map<String, Mat> fontMap = loadFont(font);
-    matches.clear();
-    return extraction(fontMap, mask.clone(), font, clean);
+    try (StageProfiler.Span span = StageProfiler.start(StageProfiler.OCR);
+        Timer.Sample sample = Metrics.timer(Metrics.OCR_SECONDS, "font", font).start()) {
+      Map<String, Mat> fontMap = loadFont(font);
+      matches.get().clear();
+      return extraction(fontMap, mask.clone(), font, clean);
+    }
   }
 
   /**
@@ -222,8 +256,11 @@ public class Ocr {
 
           Rectangle matchLocation =
               new Rectangle(maxLoc.x(), maxLoc.y(), glyphImgCols, glyphImgRows);
-          matches.add(
-              new CharMatch(glyph, matchLocation.x, matchLocation.y, glyphImgCols, glyphImgRows));
+          matches
+              .get()
+              .add(
+                  new CharMatch(
+                      glyph, matchLocation.x, matchLocation.y, glyphImgCols, glyphImgRows));
 
           zeroOutRegion(correlation, matchLocation);
 
@@ -237,15 +274,15 @@ public class Ocr {
     }
 
     // Sort CharMatch objects based on left-most positions.
-    matches.sort(Comparator.comparingInt(CharMatch::y).thenComparingInt(CharMatch::x));
+    matches.get().sort(Comparator.comparingInt(CharMatch::y).thenComparingInt(CharMatch::x));
 
     StringBuilder result = new StringBuilder();
-    for (CharMatch match : matches) {
+    for (CharMatch match : matches.get()) {
       result.append(match.character());
     }
 
     if (clean) {
-      matches.clear();
+      matches.get().clear();
     }
 
     return result.toString();
@@ -279,7 +316,7 @@ public class Ocr {
     Mat zoneMask = new Mat(zone.height, zone.width, CV_8UC1, new Scalar(0));
 
     // Draw rectangles for matched characters
-    for (CharMatch match : matches) {
+    for (CharMatch match : matches.get()) {
       rectangle(
           zoneMask,
           new Point(match.x(), match.y()),
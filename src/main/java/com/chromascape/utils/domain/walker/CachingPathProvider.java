@@ -0,0 +1,290 @@
+package com.chromascape.utils.domain.walker;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.runtime.Workers;
+import java.awt.Point;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * {@link PathProvider} decorator that caches paths by start tile bucket, destination and
+ * membership.
+ *
+ * <p>A cached path is reused when the player is standing on, or within a few tiles of, a tile on
+ * any cached path to the same destination. The remainder of the path from the closest tile is
+ * returned, so repeated walks to the same destination from roughly the same area don't need a new
+ * request.
+ *
+ * <p>Identical requests that arrive while one is already in flight wait for that request instead of
+ * issuing their own, and {@link #prefetch(Tile, Point, boolean)} lets the {@link Walker} warm the
+ * cache on a background thread while the player is still walking.
+ */
+public class CachingPathProvider implements PathProvider {
+
+  private static final Logger logger = LogManager.getLogger(CachingPathProvider.class);
+
+  /**
+   * Start tiles are bucketed into 8x8 squares, so every start in a bucket is within {@link
+   * #MAX_REJOIN_DISTANCE} of the path cached for that bucket.
+   */
+  private static final int BUCKET_SHIFT = 3;
+
+  /** Default number of cached paths. */
+  private static final int DEFAULT_CAPACITY = 32;
+
+  /**
+   * How far from a cached path the player may stand for it to be reused. Matches the walker's own
+   * tolerance before it recalculates.
+   */
+  private static final int MAX_REJOIN_DISTANCE = 7;
+
+  private final PathProvider delegate;
+  private final Map<PathKey, List<Tile>> cache;
+  private final Map<PathKey, CompletableFuture<List<Tile>>> inFlight = new ConcurrentHashMap<>();
+  private final ExecutorService prefetcher =
+      Executors.newSingleThreadExecutor(Workers.threadFactory(Workers.mode(), "PathPrefetch"));
+
+  /**
+   * Cache key.
+   *
+   * @param bucketX Start bucket x.
+   * @param bucketY Start bucket y.
+   * @param plane Start plane.
+   * @param destX Destination x.
+   * @param destY Destination y.
+   * @param members Whether the path may use members areas.
+   */
+  private record PathKey(
+      int bucketX, int bucketY, int plane, int destX, int destY, boolean members) {
+
+    static PathKey of(Tile start, Point destination, boolean members) {
+      return new PathKey(
+          start.x() >> BUCKET_SHIFT,
+          start.y() >> BUCKET_SHIFT,
+          start.z(),
+          destination.x,
+          destination.y,
+          members);
+    }
+
+    boolean sameDestination(PathKey other) {
+      return destX == other.destX && destY == other.destY && members == other.members;
+    }
+  }
+
+  /**
+   * Constructs a caching provider with the default capacity.
+   *
+   * @param delegate The provider used on cache misses.
+   */
+  public CachingPathProvider(PathProvider delegate) {
+    this(delegate, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a caching provider.
+   *
+   * @param delegate The provider used on cache misses.
+   * @param capacity The maximum number of cached paths, least recently used are evicted first.
+   */
+  public CachingPathProvider(PathProvider delegate, int capacity) {
+    this.delegate = delegate;
+    this.cache =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<PathKey, List<Tile>> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  /**
+   * Returns a cached path if one passes near the start tile, otherwise asks the delegate. If the
+   * same request is already in flight, waits for it rather than asking the delegate again.
+   *
+   * @param start The {@link Tile} the player is currently standing on.
+   * @param destination A {@link Point} object defining the co-ordinates of your destination.
+   * @param isMembers A boolean dictating whether your character is a member or free to play.
+   * @return A mutable {@link List} of {@link Tile} objects starting at {@code start}.
+   * @throws IOException If the delegate fails to produce a path.
+   * @throws InterruptedException If the thread is interrupted while waiting for the delegate.
+   */
+  @Override
+  public List<Tile> getPath(Tile start, Point destination, boolean isMembers)
+      throws IOException, InterruptedException {
+    PathKey key = PathKey.of(start, destination, isMembers);
+    List<Tile> cached = lookup(key, start);
+    if (cached != null) {
+      return cached;
+    }
+
+    CompletableFuture<List<Tile>> request = new CompletableFuture<>();
+    CompletableFuture<List<Tile>> existing = inFlight.putIfAbsent(key, request);
+    if (existing != null) {
+      return awaitInFlight(existing, start, destination, isMembers);
+    }
+
+    try {
+      List<Tile> path = delegate.getPath(start, destination, isMembers);
+      List<Tile> copy = List.copyOf(path);
+      synchronized (cache) {
+        cache.put(key, copy);
+      }
+      request.complete(copy);
+      return path;
+    } catch (IOException | InterruptedException | RuntimeException e) {
+      request.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, request);
+    }
+  }
+
+  /**
+   * Requests a path on a background thread so that a later {@link #getPath(Tile, Point, boolean)}
+   * from nearby is answered from the cache. Does nothing if a cached path already passes near the
+   * start tile. Failures are logged and otherwise ignored.
+   *
+   * @param start The {@link Tile} the path should start from.
+   * @param destination A {@link Point} object defining the co-ordinates of your destination.
+   * @param isMembers A boolean dictating whether your character is a member or free to play.
+   */
+  @Override
+  public void prefetch(Tile start, Point destination, boolean isMembers) {
+    PathKey key = PathKey.of(start, destination, isMembers);
+    if (prefetcher.isShutdown() || inFlight.containsKey(key) || lookup(key, start) != null) {
+      return;
+    }
+    ScriptContext context = ScriptContext.current();
+    try {
+      prefetcher.execute(
+          () ->
+              context.runWith(
+                  () -> {
+                    try {
+                      getPath(start, destination, isMembers);
+                    } catch (IOException | RuntimeException e) {
+                      logger.warn("Path prefetch failed: {}", e.getMessage());
+                    } catch (InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                    }
+                  }));
+    } catch (RejectedExecutionException e) {
+      // Shut down between the check and the submit, the hint is simply dropped
+    }
+  }
+
+  /**
+   * Stops the prefetch thread, interrupting a prefetch in progress, and shuts down the delegate.
+   * Later prefetch hints are ignored; {@link #getPath(Tile, Point, boolean)} keeps working.
+   */
+  @Override
+  public void shutdown() {
+    prefetcher.shutdownNow();
+    delegate.shutdown();
+  }
+
+  /** Discards all cached paths. */
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Looks for a cached path usable from the start tile, trying the exact key first and then any
+   * other path to the same destination.
+   *
+   * @return The rejoined path, or {@code null} on a miss.
+   */
+  private List<Tile> lookup(PathKey key, Tile start) {
+    synchronized (cache) {
+      List<Tile> exact = cache.get(key);
+      List<Tile> rejoined = exact == null ? null : rejoin(exact, start);
+      if (rejoined != null) {
+        return rejoined;
+      }
+      for (Map.Entry<PathKey, List<Tile>> entry : cache.entrySet()) {
+        if (entry.getKey().sameDestination(key)) {
+          rejoined = rejoin(entry.getValue(), start);
+          if (rejoined != null) {
+            return rejoined;
+          }
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Waits for another thread's identical request and adapts its result to this start tile.
+   *
+   * @throws IOException If the other request failed.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  private List<Tile> awaitInFlight(
+      CompletableFuture<List<Tile>> existing, Tile start, Point destination, boolean isMembers)
+      throws IOException, InterruptedException {
+    List<Tile> shared;
+    try {
+      shared = existing.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException io) {
+        throw io;
+      } else if (cause instanceof InterruptedException) {
+        // The other caller was interrupted, not this one, so ask again
+        return getPath(start, destination, isMembers);
+      } else if (cause instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IOException("Path request failed", cause);
+    }
+    List<Tile> rejoined = rejoin(shared, start);
+    return rejoined != null ? rejoined : new ArrayList<>(shared);
+  }
+
+  /**
+   * Finds the tile on a cached path closest to the start and returns the remainder of the path from
+   * there, beginning with the start tile itself.
+   *
+   * @return The rejoined path, or {@code null} if the start is too far from the cached path.
+   */
+  private static List<Tile> rejoin(List<Tile> cached, Tile start) {
+    int bestIndex = -1;
+    int bestDistance = Integer.MAX_VALUE;
+    for (int i = 0; i < cached.size(); i++) {
+      Tile tile = cached.get(i);
+      if (tile.z() != start.z()) {
+        continue;
+      }
+      int distance = Math.max(Math.abs(tile.x() - start.x()), Math.abs(tile.y() - start.y()));
+      // Prefer earlier tiles on ties, never skip ahead past an obstacle the path goes around
+      if (distance < bestDistance) {
+        bestDistance = distance;
+        bestIndex = i;
+      }
+    }
+    if (bestIndex == -1 || bestDistance > MAX_REJOIN_DISTANCE) {
+      return null;
+    }
+
+    List<Tile> path = new ArrayList<>(cached.size() - bestIndex + 1);
+    if (bestDistance > 0) {
+      path.add(start);
+    }
+    path.addAll(cached.subList(bestIndex, cached.size()));
+    return path;
+  }
+}
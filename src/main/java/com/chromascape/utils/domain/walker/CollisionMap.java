@@ -0,0 +1,257 @@
+package com.chromascape.utils.domain.walker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped collision data used by the {@link LocalPathfinder}.
+ *
+ * <p>The file is a fixed header followed by one flag byte per tile, stored plane by plane, then row
+ * by row (south to north), then column by column (west to east):
+ *
+ * <pre>
+ * int magic    'CSCM'
+ * int version  1
+ * int baseX    world x of the first column
+ * int baseY    world y of the first row
+ * int width    number of columns
+ * int height   number of rows
+ * int planes   number of planes, starting at z = 0
+ * byte[width * height * planes] flags
+ * </pre>
+ *
+ * <p>All integers are big-endian. Only the pages touched by a search are loaded by the operating
+ * system, so opening even a full world map is cheap.
+ *
+ * <p>No map is shipped with ChromaScape, since the data comes from the game. To build one, dump the
+ * client's collision flags for each tile of the area you need (in RuneLite, from {@code
+ * Client.getCollisionMaps()} for each loaded scene), convert each with {@link
+ * #fromClientFlags(int)}, and save the result with {@link #write} to {@link #DEFAULT_PATH}.
+ */
+public class CollisionMap {
+
+  /** Default location of the collision map, relative to the working directory. */
+  public static final Path DEFAULT_PATH = Path.of("collision", "collision.map");
+
+  /** The tile itself cannot be stood on. */
+  public static final int BLOCKED = 1;
+
+  /** A wall runs along the north edge of the tile. */
+  public static final int WALL_NORTH = 1 << 1;
+
+  /** A wall runs along the east edge of the tile. */
+  public static final int WALL_EAST = 1 << 2;
+
+  /** A wall runs along the south edge of the tile. */
+  public static final int WALL_SOUTH = 1 << 3;
+
+  /** A wall runs along the west edge of the tile. */
+  public static final int WALL_WEST = 1 << 4;
+
+  // Client collision flags, as in RuneLite's CollisionDataFlag
+  private static final int CLIENT_WALL_NORTH = 0x2;
+  private static final int CLIENT_WALL_EAST = 0x8;
+  private static final int CLIENT_WALL_SOUTH = 0x20;
+  private static final int CLIENT_WALL_WEST = 0x80;
+  private static final int CLIENT_BLOCKED = 0x100 | 0x40000 | 0x200000;
+
+  private static final int MAGIC = 0x4353434D;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 7 * Integer.BYTES;
+
+  private final ByteBuffer flags;
+  private final int baseX;
+  private final int baseY;
+  private final int width;
+  private final int height;
+  private final int planes;
+
+  private CollisionMap(ByteBuffer buffer) throws IOException {
+    buffer.order(ByteOrder.BIG_ENDIAN);
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IOException("Not a version " + VERSION + " collision map");
+    }
+    this.baseX = buffer.getInt(8);
+    this.baseY = buffer.getInt(12);
+    this.width = buffer.getInt(16);
+    this.height = buffer.getInt(20);
+    this.planes = buffer.getInt(24);
+    if ((long) width * height * planes + HEADER_BYTES > buffer.capacity()) {
+      throw new IOException("Collision map is truncated");
+    }
+    this.flags = buffer;
+  }
+
+  /**
+   * Memory-maps a collision map file.
+   *
+   * @param file The file to map.
+   * @return The mapped collision map.
+   * @throws IOException If the file cannot be read or has an invalid header.
+   */
+  public static CollisionMap open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new CollisionMap(buffer);
+    }
+  }
+
+  /**
+   * Writes a collision map file in the format read by {@link #open(Path)}.
+   *
+   * @param file The file to write.
+   * @param baseX World x of the first column.
+   * @param baseY World y of the first row.
+   * @param width Number of columns.
+   * @param height Number of rows.
+   * @param planes Number of planes.
+   * @param tileFlags One flag byte per tile, in plane, row, column order.
+   * @throws IOException If the file cannot be written.
+   * @throws IllegalArgumentException If {@code tileFlags} does not match the dimensions.
+   */
+  public static void write(
+      Path file, int baseX, int baseY, int width, int height, int planes, byte[] tileFlags)
+      throws IOException {
+    if (tileFlags.length != width * height * planes) {
+      throw new IllegalArgumentException("Flag array does not match map dimensions");
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + tileFlags.length);
+    buffer
+        .putInt(MAGIC)
+        .putInt(VERSION)
+        .putInt(baseX)
+        .putInt(baseY)
+        .putInt(width)
+        .putInt(height)
+        .putInt(planes)
+        .put(tileFlags);
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    Files.write(file, buffer.array());
+  }
+
+  /**
+   * Converts a tile's collision flags as the game client reports them to the flags stored here.
+   * Objects, blocking floor decorations and unwalkable floor all block the tile. Corner flags are
+   * not stored, so a diagonal step past a lone corner post is allowed when both orthogonal routes
+   * around it are open.
+   *
+   * @param clientFlags The client's flags for the tile.
+   * @return The flag byte to store for the tile.
+   */
+  public static byte fromClientFlags(int clientFlags) {
+    int flags = 0;
+    if ((clientFlags & CLIENT_BLOCKED) != 0) {
+      flags |= BLOCKED;
+    }
+    if ((clientFlags & CLIENT_WALL_NORTH) != 0) {
+      flags |= WALL_NORTH;
+    }
+    if ((clientFlags & CLIENT_WALL_EAST) != 0) {
+      flags |= WALL_EAST;
+    }
+    if ((clientFlags & CLIENT_WALL_SOUTH) != 0) {
+      flags |= WALL_SOUTH;
+    }
+    if ((clientFlags & CLIENT_WALL_WEST) != 0) {
+      flags |= WALL_WEST;
+    }
+    return (byte) flags;
+  }
+
+  /**
+   * Checks whether the given world tile is covered by this map.
+   *
+   * @param x World x co-ordinate.
+   * @param y World y co-ordinate.
+   * @param z Plane.
+   * @return {@code true} if the tile has collision data.
+   */
+  public boolean contains(int x, int y, int z) {
+    return x >= baseX
+        && y >= baseY
+        && x < baseX + width
+        && y < baseY + height
+        && z >= 0
+        && z < planes;
+  }
+
+  /**
+   * Returns the flags of a world tile. Tiles outside the map are reported as blocked.
+   *
+   * @param x World x co-ordinate.
+   * @param y World y co-ordinate.
+   * @param z Plane.
+   * @return The flag bits of the tile.
+   */
+  public int flags(int x, int y, int z) {
+    if (!contains(x, y, z)) {
+      return BLOCKED;
+    }
+    long index = ((long) z * height + (y - baseY)) * width + (x - baseX);
+    return flags.get(HEADER_BYTES + (int) index) & 0xFF;
+  }
+
+  /**
+   * Checks whether the player can take a single step from a tile in the given direction. Diagonal
+   * steps additionally require both adjacent orthogonal steps to be open, as in game.
+   *
+   * @param x World x co-ordinate of the source tile.
+   * @param y World y co-ordinate of the source tile.
+   * @param z Plane.
+   * @param dx Step along x, one of -1, 0 or 1.
+   * @param dy Step along y, one of -1, 0 or 1.
+   * @return {@code true} if the step is walkable.
+   */
+  public boolean canMove(int x, int y, int z, int dx, int dy) {
+    if (dx != 0 && dy != 0) {
+      return canMoveStraight(x, y, z, dx, 0)
+          && canMoveStraight(x, y, z, 0, dy)
+          && canMoveStraight(x + dx, y, z, 0, dy)
+          && canMoveStraight(x, y + dy, z, dx, 0);
+    }
+    return canMoveStraight(x, y, z, dx, dy);
+  }
+
+  private boolean canMoveStraight(int x, int y, int z, int dx, int dy) {
+    int to = flags(x + dx, y + dy, z);
+    if ((to & BLOCKED) != 0) {
+      return false;
+    }
+    int from = flags(x, y, z);
+    if (dx == 1) {
+      return (from & WALL_EAST) == 0 && (to & WALL_WEST) == 0;
+    } else if (dx == -1) {
+      return (from & WALL_WEST) == 0 && (to & WALL_EAST) == 0;
+    } else if (dy == 1) {
+      return (from & WALL_NORTH) == 0 && (to & WALL_SOUTH) == 0;
+    } else if (dy == -1) {
+      return (from & WALL_SOUTH) == 0 && (to & WALL_NORTH) == 0;
+    }
+    return true;
+  }
+
+  public int getBaseX() {
+    return baseX;
+  }
+
+  public int getBaseY() {
+    return baseY;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+}
@@ -0,0 +1,95 @@
+package com.chromascape.utils.domain.walker;
+
+import static com.chromascape.base.BaseScript.waitRandomMillis;
+
+import com.chromascape.api.Dax;
+import com.chromascape.utils.core.runtime.exception.DaxAuthException;
+import com.chromascape.utils.core.runtime.exception.DaxException;
+import com.chromascape.utils.core.runtime.exception.DaxRateLimitException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.awt.Point;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * {@link PathProvider} backed by the remote {@link Dax} walker API.
+ *
+ * <p>Retries on rate limits and server errors with randomised back-off, and fails fast on
+ * authentication errors.
+ */
+public class DaxPathProvider implements PathProvider {
+
+  private static final Logger logger = LogManager.getLogger(DaxPathProvider.class);
+
+  private static final int RETRIES = 20;
+
+  private final Dax dax;
+  private final ObjectMapper objectMapper;
+
+  /** Constructs a provider using the public DAX endpoint. */
+  public DaxPathProvider() {
+    this(new Dax());
+  }
+
+  /**
+   * Constructs a provider around an existing DAX client.
+   *
+   * @param dax The client used to send path requests.
+   */
+  public DaxPathProvider(Dax dax) {
+    this.dax = dax;
+    this.objectMapper = new ObjectMapper();
+  }
+
+  /**
+   * Sends a payload to the DAX API with start/end positions and members availability. In return -
+   * receives a path that it deserializes and turns into {@link Tile} objects.
+   *
+   * @param start The {@link Tile} the player is currently standing on.
+   * @param destination A {@link Point} object defining the co-ordinates of your destination.
+   * @param isMembers A boolean dictating whether your character is a member or free to play.
+   * @return A {@link List} list of {@link Tile} objects with the first tile being your current
+   *     position.
+   * @throws IOException If a transport error occurs during calling a path from the Dax API.
+   * @throws InterruptedException If the thread is interrupted or the watchdog freezes the thread.
+   */
+  @Override
+  public List<Tile> getPath(Tile start, Point destination, boolean isMembers)
+      throws IOException, InterruptedException {
+    DaxPath daxPath = null;
+    int attempt = 0;
+
+    while (attempt < RETRIES) {
+      try {
+        String rawPath = dax.generatePath(new Point(start.x(), start.y()), destination, isMembers);
+        daxPath = objectMapper.readValue(rawPath, DaxPath.class);
+        break;
+
+      } catch (DaxRateLimitException e) {
+        // Handle the rate limit exception by waiting and retrying
+        attempt++;
+        logger.warn("Dax Rate Limit reached (Attempt {}/{}). Waiting...", attempt, RETRIES);
+        waitRandomMillis(600, 1200);
+
+      } catch (DaxAuthException e) {
+        // Throw IOException if the API key is invalid
+        logger.error("Dax Authentication Failed: {}", e.getMessage());
+        throw new IOException("Invalid DAX credentials. Check your API key: ", e);
+
+      } catch (DaxException e) {
+        // Retry if server error
+        attempt++;
+        logger.error("Dax API error: {}. Retrying...", e.getMessage());
+        waitRandomMillis(1000, 2000);
+      }
+    }
+    if (daxPath == null || daxPath.path() == null) {
+      throw new IOException(
+          "Failed to get a successful path from DAX after " + RETRIES + " retries.");
+    }
+    return new ArrayList<>(daxPath.path());
+  }
+}
@@ -0,0 +1,216 @@
+package com.chromascape.utils.domain.walker;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Offline {@link PathProvider} that runs an A* search over a memory-mapped {@link CollisionMap}.
+ *
+ * <p>Movement follows the game's rules: eight-directional steps of equal cost, with diagonals only
+ * allowed when both adjacent orthogonal steps are open. The search is confined to a window around
+ * the start and destination that grows if no path is found, so short recalculations (e.g. after
+ * veering off path) complete in milliseconds without any network access.
+ */
+public class LocalPathfinder implements PathProvider {
+
+  /** Search window margins tried in order, in tiles around the start/destination bounding box. */
+  private static final int[] SEARCH_MARGINS = {32, 128, 512};
+
+  /** Upper bound on the number of tiles in a single search window. */
+  private static final int MAX_SEARCH_TILES = 4_000_000;
+
+  // Step directions: N, E, S, W, NE, SE, SW, NW
+  private static final int[] DX = {0, 1, 0, -1, 1, 1, -1, -1};
+  private static final int[] DY = {1, 0, -1, 0, 1, -1, -1, 1};
+
+  private final CollisionMap map;
+
+  /**
+   * Constructs a pathfinder over an already opened collision map.
+   *
+   * @param map The collision map to search.
+   */
+  public LocalPathfinder(CollisionMap map) {
+    this.map = map;
+  }
+
+  /**
+   * Opens a collision map file and constructs a pathfinder over it.
+   *
+   * @param file The collision map file, see {@link CollisionMap} for the format.
+   * @return The pathfinder.
+   * @throws IOException If the file cannot be mapped.
+   */
+  public static LocalPathfinder open(Path file) throws IOException {
+    return new LocalPathfinder(CollisionMap.open(file));
+  }
+
+  /**
+   * Finds the shortest walkable path between two tiles on the same plane.
+   *
+   * <p>Membership is not part of the collision data, so {@code isMembers} is ignored.
+   *
+   * @param start The {@link Tile} the player is currently standing on.
+   * @param destination A {@link Point} object defining the co-ordinates of your destination.
+   * @param isMembers Ignored by this provider.
+   * @return A {@link List} of {@link Tile} objects from {@code start} to {@code destination}.
+   * @throws IOException If either tile is outside the map, or no path exists.
+   */
+  @Override
+  public List<Tile> getPath(Tile start, Point destination, boolean isMembers) throws IOException {
+    int z = start.z();
+    if (!map.contains(start.x(), start.y(), z) || !map.contains(destination.x, destination.y, z)) {
+      throw new IOException("Start or destination is outside the collision map");
+    }
+
+    for (int margin : SEARCH_MARGINS) {
+      List<Tile> path = search(start, destination.x, destination.y, margin);
+      if (path != null) {
+        return path;
+      }
+    }
+    throw new IOException(
+        "No path found from " + start + " to " + destination.x + ", " + destination.y);
+  }
+
+  /**
+   * Runs A* inside a window around the start and destination.
+   *
+   * @return The path, or {@code null} if the destination is unreachable inside the window.
+   * @throws IOException If the window would be too large to search.
+   */
+  private List<Tile> search(Tile start, int destX, int destY, int margin) throws IOException {
+    final int z = start.z();
+    int minX = Math.max(map.getBaseX(), Math.min(start.x(), destX) - margin);
+    int minY = Math.max(map.getBaseY(), Math.min(start.y(), destY) - margin);
+    int maxX = Math.min(map.getBaseX() + map.getWidth() - 1, Math.max(start.x(), destX) + margin);
+    int maxY = Math.min(map.getBaseY() + map.getHeight() - 1, Math.max(start.y(), destY) + margin);
+    int width = maxX - minX + 1;
+    int height = maxY - minY + 1;
+    if ((long) width * height > MAX_SEARCH_TILES) {
+      throw new IOException("Destination is too far away for a local search");
+    }
+
+    int[] cost = new int[width * height];
+    int[] parent = new int[width * height];
+    Arrays.fill(cost, Integer.MAX_VALUE);
+    Arrays.fill(parent, -1);
+
+    int startIndex = (start.y() - minY) * width + (start.x() - minX);
+    int goalIndex = (destY - minY) * width + (destX - minX);
+    IntMinHeap open = new IntMinHeap();
+    cost[startIndex] = 0;
+    open.push(startIndex, heuristic(start.x(), start.y(), destX, destY));
+
+    while (!open.isEmpty()) {
+      int priority = open.peekPriority();
+      int current = open.pop();
+      int cx = current % width + minX;
+      int cy = current / width + minY;
+      // Skip stale heap entries left behind by cheaper re-discoveries
+      if (priority - heuristic(cx, cy, destX, destY) > cost[current]) {
+        continue;
+      }
+      if (current == goalIndex) {
+        return reconstruct(parent, goalIndex, width, minX, minY, z);
+      }
+      for (int dir = 0; dir < DX.length; dir++) {
+        int nx = cx + DX[dir];
+        int ny = cy + DY[dir];
+        if (nx < minX || ny < minY || nx > maxX || ny > maxY) {
+          continue;
+        }
+        if (!map.canMove(cx, cy, z, DX[dir], DY[dir])) {
+          continue;
+        }
+        int next = (ny - minY) * width + (nx - minX);
+        int nextCost = cost[current] + 1;
+        if (nextCost < cost[next]) {
+          cost[next] = nextCost;
+          parent[next] = current;
+          open.push(next, nextCost + heuristic(nx, ny, destX, destY));
+        }
+      }
+    }
+    return null;
+  }
+
+  /** Chebyshev distance, admissible since diagonal steps cost the same as straight ones. */
+  private static int heuristic(int x, int y, int destX, int destY) {
+    return Math.max(Math.abs(destX - x), Math.abs(destY - y));
+  }
+
+  private static List<Tile> reconstruct(
+      int[] parent, int goalIndex, int width, int minX, int minY, int z) {
+    List<Tile> path = new ArrayList<>();
+    for (int index = goalIndex; index != -1; index = parent[index]) {
+      path.add(new Tile(index % width + minX, index / width + minY, z));
+    }
+    Collections.reverse(path);
+    return path;
+  }
+
+  /** Minimal binary min-heap of int nodes keyed by int priorities, to avoid boxing. */
+  private static final class IntMinHeap {
+    private int[] nodes = new int[256];
+    private int[] priorities = new int[256];
+    private int size = 0;
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    int peekPriority() {
+      return priorities[0];
+    }
+
+    void push(int node, int priority) {
+      if (size == nodes.length) {
+        nodes = Arrays.copyOf(nodes, size * 2);
+        priorities = Arrays.copyOf(priorities, size * 2);
+      }
+      int i = size++;
+      while (i > 0) {
+        int up = (i - 1) >>> 1;
+        if (priorities[up] <= priority) {
+          break;
+        }
+        nodes[i] = nodes[up];
+        priorities[i] = priorities[up];
+        i = up;
+      }
+      nodes[i] = node;
+      priorities[i] = priority;
+    }
+
+    int pop() {
+      final int top = nodes[0];
+      int lastNode = nodes[--size];
+      int lastPriority = priorities[size];
+      int i = 0;
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+          child++;
+        }
+        if (priorities[child] >= lastPriority) {
+          break;
+        }
+        nodes[i] = nodes[child];
+        priorities[i] = priorities[child];
+        i = child;
+      }
+      nodes[i] = lastNode;
+      priorities[i] = lastPriority;
+      return top;
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package com.chromascape.utils.domain.walker;
+
+import com.chromascape.controller.Controller;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.runtime.exception.ScriptStoppedException;
+import com.chromascape.utils.core.screen.window.ScreenManager;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.TickClock;
+import com.chromascape.utils.core.timing.TimerService.Precision;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Detects player movement by differencing successive captures of the minimap.
+ *
+ * <p>The minimap is centred on the player, so while they walk the whole map scrolls and nearly
+ * every part of it changes between frames. Each capture is split into small blocks that are reduced
+ * to a hash of their quantised pixels, and a frame counts as moving when enough blocks differ from
+ * the previous frame. NPC and player dots only touch a handful of blocks, so they don't register as
+ * movement. Rotating the camera does, since it rotates the minimap too.
+ *
+ * <p>The minimap only starts scrolling on a game tick, so if a {@link TickClock} is attached, each
+ * transition from still to moving is reported to it.
+ *
+ * <p>A sample costs one small capture and a pass over ~25k pixels, far cheaper than an OCR read of
+ * the Tile zone, so it can be taken every frame.
+ */
+public class MinimapMotionDetector {
+
+  /** The result of comparing a frame with the one before it. */
+  public enum Motion {
+    MOVING,
+    STATIONARY
+  }
+
+  /** Interval between samples while waiting, roughly one client frame at 30 fps. */
+  public static final long FRAME_MILLIS = 30;
+
+  /**
+   * How long the minimap must stay still to count as stopped. Walking scrolls the minimap one pixel
+   * roughly every 150ms, so consecutive frames can be identical mid-walk. Two of those intervals
+   * avoid false stops while still being half the tick an OCR based check needs.
+   */
+  public static final long DEFAULT_QUIET_MILLIS = 300;
+
+  /** Side length of a hashed block, in pixels. */
+  private static final int BLOCK_SIZE = 8;
+
+  /** Low bits dropped from each channel, to ignore scaling and blending noise. */
+  private static final int QUANTISE_SHIFT = 3;
+
+  /** Fraction of blocks that must change for a frame to count as moving. */
+  private static final double MOVING_FRACTION = 0.15;
+
+  private final Clock clock = ScriptContext.current().clock();
+  private final Supplier<BufferedImage> frames;
+  private volatile TickClock tickClock;
+
+  private long[] previousHashes;
+  private boolean moving;
+  private long lastMotionNanos;
+  private long lastSampleNanos;
+
+  /**
+   * Constructs a detector that captures the controller's "minimap" zone.
+   *
+   * @param controller the BaseScript's controller object.
+   */
+  public MinimapMotionDetector(Controller controller) {
+    this(() -> captureMinimap(controller));
+  }
+
+  /**
+   * Constructs a detector around an arbitrary frame source.
+   *
+   * @param frames Supplies successive captures of the same region.
+   */
+  public MinimapMotionDetector(Supplier<BufferedImage> frames) {
+    this.frames = frames;
+  }
+
+  /**
+   * Attaches a tick clock that is told whenever the minimap starts moving.
+   *
+   * @param tickClock The clock to feed, or {@code null} to stop feeding one.
+   */
+  public void setTickClock(TickClock tickClock) {
+    this.tickClock = tickClock;
+  }
+
+  private static BufferedImage captureMinimap(Controller controller) {
+    Rectangle zone = controller.zones().getMinimap().get("minimap");
+    return ScreenManager.captureZone(zone);
+  }
+
+  /**
+   * Captures a frame and compares it with the previous one. The first frame, and any frame whose
+   * size differs from the previous one, is reported as {@link Motion#STATIONARY}.
+   *
+   * @return Whether the minimap changed since the previous sample.
+   */
+  public synchronized Motion sample() {
+    long capturedAt = clock.nanoTime();
+    long[] hashes = blockHashes(frames.get());
+    Motion motion = Motion.STATIONARY;
+    if (previousHashes != null && previousHashes.length == hashes.length) {
+      int changed = 0;
+      for (int i = 0; i < hashes.length; i++) {
+        if (hashes[i] != previousHashes[i]) {
+          changed++;
+        }
+      }
+      if (changed >= Math.max(1, hashes.length * MOVING_FRACTION)) {
+        motion = Motion.MOVING;
+        TickClock ticks = tickClock;
+        if (!moving && ticks != null) {
+          ticks.observe(capturedAt, capturedAt - lastSampleNanos);
+        }
+        lastMotionNanos = capturedAt;
+      }
+    }
+    moving = motion == Motion.MOVING;
+    previousHashes = hashes;
+    lastSampleNanos = capturedAt;
+    return motion;
+  }
+
+  /**
+   * Returns the {@link Clock#nanoTime()} at which the last moving frame was captured, or 0 if none
+   * has been seen.
+   *
+   * @return The time of the last detected movement.
+   */
+  public synchronized long lastMotionNanos() {
+    return lastMotionNanos;
+  }
+
+  /**
+   * Samples every frame until the minimap moves or the timeout elapses.
+   *
+   * @param timeoutMillis Maximum time to wait, in milliseconds.
+   * @return {@code true} if movement was seen before the timeout.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public boolean awaitMotion(long timeoutMillis) {
+    long deadline = clock.nanoTime() + timeoutMillis * 1_000_000L;
+    primeIfStale();
+    while (clock.nanoTime() < deadline) {
+      sleepFrame();
+      if (sample() == Motion.MOVING) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Samples every frame until the minimap has not moved for {@code quietMillis}, or the timeout
+   * elapses.
+   *
+   * @param quietMillis How long the minimap must stay still to count as stopped, in milliseconds.
+   * @param timeoutMillis Maximum time to wait, in milliseconds.
+   * @return The {@link Clock#nanoTime()} of the last moving frame, i.e. roughly when the player
+   *     stopped, or of the start of the wait if no movement was seen.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public long awaitStationary(long quietMillis, long timeoutMillis) {
+    long start = clock.nanoTime();
+    long deadline = start + timeoutMillis * 1_000_000L;
+    long quietNanos = quietMillis * 1_000_000L;
+    primeIfStale();
+    long stillSince = start;
+    while (clock.nanoTime() < deadline) {
+      sleepFrame();
+      long now = clock.nanoTime();
+      if (sample() == Motion.MOVING) {
+        stillSince = lastMotionNanos();
+      } else if (now - stillSince >= quietNanos) {
+        break;
+      }
+    }
+    return stillSince;
+  }
+
+  /**
+   * Takes a reference frame if the previous one is too old to compare against, so that a wait
+   * doesn't mistake everything that happened since then for a single frame of movement.
+   */
+  private void primeIfStale() {
+    boolean stale;
+    synchronized (this) {
+      stale =
+          previousHashes == null || clock.nanoTime() - lastSampleNanos > FRAME_MILLIS * 2_000_000L;
+    }
+    if (stale) {
+      sample();
+    }
+  }
+
+  /**
+   * Reduces a frame to one hash per {@link #BLOCK_SIZE} square block.
+   *
+   * @param frame The captured frame.
+   * @return The block hashes in row-major order.
+   */
+  static long[] blockHashes(BufferedImage frame) {
+    int width = frame.getWidth();
+    int height = frame.getHeight();
+    int blocksX = (width + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    int blocksY = (height + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    long[] hashes = new long[blocksX * blocksY];
+    Arrays.fill(hashes, 1125899906842597L);
+
+    WritableRaster raster = frame.getRaster();
+    if (frame.getType() == BufferedImage.TYPE_3BYTE_BGR
+        && raster.getSampleModel() instanceof ComponentSampleModel model
+        && raster.getDataBuffer() instanceof DataBufferByte buffer) {
+      // Fast path for captures from the ScreenManager, read the raster directly. The layout comes
+      // from the sample model, so subimage views such as Frame regions read their own pixels.
+      byte[] data = buffer.getData();
+      int stride = model.getScanlineStride();
+      int pixelStride = model.getPixelStride();
+      int[] bands = model.getBandOffsets();
+      int origin =
+          buffer.getOffset()
+              - raster.getSampleModelTranslateY() * stride
+              - raster.getSampleModelTranslateX() * pixelStride;
+      for (int y = 0; y < height; y++) {
+        int rowBlock = (y / BLOCK_SIZE) * blocksX;
+        int offset = origin + y * stride;
+        for (int x = 0; x < width; x++, offset += pixelStride) {
+          int pixel =
+              ((data[offset + bands[2]] & 0xFF) >> QUANTISE_SHIFT)
+                  | (((data[offset + bands[1]] & 0xFF) >> QUANTISE_SHIFT) << 8)
+                  | (((data[offset + bands[0]] & 0xFF) >> QUANTISE_SHIFT) << 16);
+          int block = rowBlock + x / BLOCK_SIZE;
+          hashes[block] = 31 * hashes[block] + pixel;
+        }
+      }
+    } else {
+      int[] rgb = frame.getRGB(0, 0, width, height, null, 0, width);
+      int mask = (0xFF >> QUANTISE_SHIFT) * 0x010101;
+      for (int y = 0; y < height; y++) {
+        int rowBlock = (y / BLOCK_SIZE) * blocksX;
+        for (int x = 0; x < width; x++) {
+          int pixel = (rgb[y * width + x] >> QUANTISE_SHIFT) & mask;
+          int block = rowBlock + x / BLOCK_SIZE;
+          hashes[block] = 31 * hashes[block] + pixel;
+        }
+      }
+    }
+    return hashes;
+  }
+
+  /**
+   * Sleeps for one frame interval.
+   *
+   * @throws ScriptStoppedException if the calling thread is interrupted.
+   */
+  private void sleepFrame() {
+    try {
+      clock.sleep(TimeUnit.MILLISECONDS.toNanos(FRAME_MILLIS), Precision.COARSE);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // Restore interrupt status
+      throw new ScriptStoppedException();
+    }
+  }
+}
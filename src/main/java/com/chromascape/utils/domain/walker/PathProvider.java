@@ -0,0 +1,43 @@
+package com.chromascape.utils.domain.walker;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A source of walkable paths for the {@link Walker}.
+ *
+ * <p>Implementations may call a remote service (see {@link DaxPathProvider}), search a local
+ * collision map (see {@link LocalPathfinder}) or decorate another provider (see {@link
+ * CachingPathProvider}).
+ */
+public interface PathProvider {
+
+  /**
+   * Calculates a path between the player's position and a destination.
+   *
+   * @param start The {@link Tile} the player is currently standing on.
+   * @param destination A {@link Point} object defining the co-ordinates of your destination. The
+   *     destination is assumed to be on the same plane as {@code start}.
+   * @param isMembers A boolean dictating whether your character is a member or free to play.
+   * @return A mutable {@link List} of {@link Tile} objects with the first tile being the start
+   *     position. Callers may modify the returned list.
+   * @throws IOException If no path could be produced.
+   * @throws InterruptedException If the thread is interrupted while waiting for a path.
+   */
+  List<Tile> getPath(Tile start, Point destination, boolean isMembers)
+      throws IOException, InterruptedException;
+
+  /**
+   * Hints that a path from {@code start} to {@code destination} is likely to be requested soon.
+   * Providers that cache may compute it in the background. The default does nothing.
+   *
+   * @param start The {@link Tile} the path would start from.
+   * @param destination A {@link Point} object defining the co-ordinates of your destination.
+   * @param isMembers A boolean dictating whether your character is a member or free to play.
+   */
+  default void prefetch(Tile start, Point destination, boolean isMembers) {}
+
+  /** Stops any background work and releases its threads. The default does nothing. */
+  default void shutdown() {}
+}
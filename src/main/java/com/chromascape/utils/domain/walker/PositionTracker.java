@@ -0,0 +1,361 @@
+package com.chromascape.utils.domain.walker;
+
+import com.chromascape.controller.Controller;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.runtime.exception.ScriptStoppedException;
+import com.chromascape.utils.core.screen.colour.ColourInstances;
+import com.chromascape.utils.core.screen.colour.ColourObj;
+import com.chromascape.utils.core.timing.Clock;
+import com.chromascape.utils.core.timing.TickClock;
+import com.chromascape.utils.core.timing.TimerService.Precision;
+import com.chromascape.utils.domain.ocr.Ocr;
+import java.awt.Rectangle;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Background service that keeps track of the player's position by reading the Grid Info "Tile" zone
+ * on its own thread.
+ *
+ * <p>Reading the position requires a capture and a full OCR pass. Rather than doing that on the
+ * script thread every time the position is needed, the tracker polls at a fixed rate and publishes
+ * the latest {@link TrackedPosition}. Readers get the position in O(1), and can block on {@link
+ * #awaitChange(Tile, long)} or {@link #awaitStationary(long, long)} to react to movement within one
+ * poll.
+ *
+ * <p>If a {@link MinimapMotionDetector} is attached, the tracker samples it every poll and only
+ * runs OCR when the minimap has moved since the last read, plus an occasional refresh. A standing
+ * player then costs a cheap frame difference per poll rather than a full OCR pass.
+ *
+ * <p>The polling thread is started lazily on first use and stopped by the {@link Controller} on
+ * shutdown. Sample times and timeouts are on the clock of the script that created the tracker.
+ */
+public class PositionTracker {
+
+  /** Default poll period, roughly four samples per game tick. */
+  public static final long DEFAULT_PERIOD_MILLIS = 150;
+
+  /** How long to wait for the first sample before giving up. */
+  private static final long FIRST_SAMPLE_TIMEOUT_MILLIS = 5000;
+
+  /** Consecutive failed reads before a warning is logged. */
+  private static final int FAILURE_WARN_THRESHOLD = 10;
+
+  /** Longest time reads are skipped for while the minimap is still. */
+  private static final long MAX_SKIP_NANOS = 2_000_000_000L;
+
+  private static final Logger logger = LogManager.getLogger(PositionTracker.class);
+
+  private final Clock clock = ScriptContext.current().clock();
+  private final Supplier<Tile> reader;
+  private final long periodMillis;
+
+  /** Guards {@link #latest}, {@link #lastChangeNanos} and {@link #frameCounter}. */
+  private final Object lock = new Object();
+
+  private TrackedPosition latest;
+  private long lastChangeNanos;
+  private long frameCounter;
+
+  private volatile boolean running = false;
+  private volatile MinimapMotionDetector motionDetector;
+  private volatile TickClock tickClock;
+  private Thread pollThread;
+
+  /**
+   * Constructs a tracker that reads the position through the controller's zones at the default
+   * rate.
+   *
+   * @param controller the BaseScript's controller object.
+   */
+  public PositionTracker(Controller controller) {
+    this(controller, DEFAULT_PERIOD_MILLIS);
+  }
+
+  /**
+   * Constructs a tracker that reads the position through the controller's zones.
+   *
+   * @param controller the BaseScript's controller object.
+   * @param periodMillis How often the Tile zone is read, in milliseconds.
+   */
+  public PositionTracker(Controller controller, long periodMillis) {
+    this(() -> readTile(controller), periodMillis);
+  }
+
+  /**
+   * Constructs a tracker around an arbitrary position source.
+   *
+   * @param reader Supplies the current {@link Tile}. May throw if the read fails, in which case the
+   *     sample is skipped.
+   * @param periodMillis How often the reader is polled, in milliseconds.
+   * @throws IllegalArgumentException if {@code periodMillis} is not positive.
+   */
+  public PositionTracker(Supplier<Tile> reader, long periodMillis) {
+    if (periodMillis <= 0) {
+      throw new IllegalArgumentException("periodMillis must be greater than 0");
+    }
+    this.reader = reader;
+    this.periodMillis = periodMillis;
+  }
+
+  /**
+   * Reads the player's position by using OCR on the GridInfo's "Tile" zone.
+   *
+   * @param controller the BaseScript's controller object.
+   * @return The {@link Tile} currently displayed.
+   * @throws NumberFormatException if the zone could not be read as three integers.
+   */
+  public static Tile readTile(Controller controller) {
+    Rectangle zone = controller.zones().getGridInfo().get("Tile");
+    ColourObj colour = ColourInstances.getByName("White");
+    // Extracts the position using OCR and splits it into a 3 value list (x, y, z)
+    String[] stringPos = Ocr.extractText(zone, "Plain 12", colour, true).split(",");
+    return new Tile(
+        Integer.parseInt(stringPos[0]),
+        Integer.parseInt(stringPos[1]),
+        Integer.parseInt(stringPos[2]));
+  }
+
+  /**
+   * Attaches a motion detector used to skip OCR reads while the player is standing still.
+   *
+   * @param motionDetector The detector to sample each poll, or {@code null} to read every poll.
+   */
+  public void setMotionDetector(MinimapMotionDetector motionDetector) {
+    this.motionDetector = motionDetector;
+  }
+
+  /**
+   * Attaches a tick clock that is told whenever the tile changes, since the player only ever moves
+   * on a game tick.
+   *
+   * @param tickClock The clock to feed, or {@code null} to stop feeding one.
+   */
+  public void setTickClock(TickClock tickClock) {
+    this.tickClock = tickClock;
+  }
+
+  /** Starts the polling thread if it is not already running. */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    pollThread = new Thread(this::pollLoop, "PositionTracker");
+    pollThread.setDaemon(true);
+    pollThread.start();
+  }
+
+  /** Stops the polling thread and waits for it to exit. */
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    pollThread.interrupt();
+    try {
+      pollThread.join(periodMillis * 4);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    pollThread = null;
+  }
+
+  /**
+   * Returns the most recently published position, starting the tracker and blocking for the first
+   * sample if necessary.
+   *
+   * @return The latest {@link TrackedPosition}.
+   * @throws IllegalStateException if no position could be read within a few seconds.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public TrackedPosition latest() {
+    start();
+    long deadline = clock.nanoTime() + FIRST_SAMPLE_TIMEOUT_MILLIS * 1_000_000L;
+    synchronized (lock) {
+      while (latest == null) {
+        long remaining = deadline - clock.nanoTime();
+        if (remaining <= 0) {
+          throw new IllegalStateException("Player position could not be read from the Tile zone");
+        }
+        waitOnLock(remaining);
+      }
+      return latest;
+    }
+  }
+
+  /**
+   * Convenience accessor for the latest tile.
+   *
+   * @return The {@link Tile} from {@link #latest()}.
+   */
+  public Tile getTile() {
+    return latest().tile();
+  }
+
+  /**
+   * Blocks until a sample is published whose tile differs from {@code from}, or the timeout
+   * elapses.
+   *
+   * @param from The tile the player is considered to be standing on.
+   * @param timeoutMillis Maximum time to wait, in milliseconds.
+   * @return The latest sample, which still equals {@code from} if the timeout elapsed.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public TrackedPosition awaitChange(Tile from, long timeoutMillis) {
+    TrackedPosition current = latest();
+    long deadline = clock.nanoTime() + timeoutMillis * 1_000_000L;
+    synchronized (lock) {
+      while (latest.tile().equals(from)) {
+        long remaining = deadline - clock.nanoTime();
+        if (remaining <= 0) {
+          break;
+        }
+        waitOnLock(remaining);
+      }
+      current = latest;
+    }
+    return current;
+  }
+
+  /**
+   * Blocks until a sample captured at or after {@code sinceNanos} is published, or the timeout
+   * elapses. Use this after another signal (e.g. the minimap stopping) to get a position read that
+   * is known to postdate it.
+   *
+   * @param sinceNanos The {@link Clock#nanoTime()} the sample must not be older than.
+   * @param timeoutMillis Maximum time to wait, in milliseconds.
+   * @return The latest sample, which may be older than requested if the timeout elapsed.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public TrackedPosition awaitSampleSince(long sinceNanos, long timeoutMillis) {
+    latest();
+    long deadline = clock.nanoTime() + timeoutMillis * 1_000_000L;
+    synchronized (lock) {
+      while (latest.capturedAtNanos() - sinceNanos < 0) {
+        long remaining = deadline - clock.nanoTime();
+        if (remaining <= 0) {
+          break;
+        }
+        waitOnLock(remaining);
+      }
+      return latest;
+    }
+  }
+
+  /**
+   * Blocks until the tile has not changed for at least {@code quietMillis}, or the timeout elapses.
+   *
+   * @param quietMillis How long the tile must stay the same to count as stationary, in
+   *     milliseconds. One game tick (~600ms) is a sensible value.
+   * @param timeoutMillis Maximum time to wait, in milliseconds.
+   * @return The latest sample at the time the wait finished.
+   * @throws ScriptStoppedException if the calling thread is interrupted while waiting.
+   */
+  public TrackedPosition awaitStationary(long quietMillis, long timeoutMillis) {
+    latest();
+    long quietNanos = quietMillis * 1_000_000L;
+    long deadline = clock.nanoTime() + timeoutMillis * 1_000_000L;
+    synchronized (lock) {
+      while (true) {
+        long now = clock.nanoTime();
+        long quietRemaining = lastChangeNanos + quietNanos - now;
+        if (quietRemaining <= 0 || now >= deadline) {
+          return latest;
+        }
+        // Wake up either when the quiet period would be over or when a new sample arrives
+        waitOnLock(Math.min(quietRemaining, deadline - now));
+      }
+    }
+  }
+
+  /**
+   * The loop for the background thread. Reads the position at a fixed rate and publishes each
+   * successful sample.
+   */
+  private void pollLoop() {
+    int consecutiveFailures = 0;
+    long nextPoll = clock.nanoTime();
+    long lastReadNanos = 0;
+
+    while (running) {
+      long capturedAt = clock.nanoTime();
+      try {
+        if (shouldRead(capturedAt, lastReadNanos)) {
+          publish(reader.get(), capturedAt);
+          lastReadNanos = capturedAt;
+        }
+        consecutiveFailures = 0;
+      } catch (Exception e) {
+        // OCR occasionally fails while the zone is redrawn, skip the sample
+        consecutiveFailures++;
+        if (consecutiveFailures == FAILURE_WARN_THRESHOLD) {
+          logger.warn("Failed to read player position {} times in a row", consecutiveFailures);
+        }
+      }
+
+      nextPoll += periodMillis * 1_000_000L;
+      if (nextPoll - clock.nanoTime() <= 0) {
+        // Reads are slower than the poll rate, don't try to catch up
+        nextPoll = clock.nanoTime();
+        continue;
+      }
+      try {
+        clock.sleepUntil(nextPoll, Precision.COARSE);
+      } catch (InterruptedException e) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Decides whether this poll needs an OCR read. Always reads if there is no detector, no sample
+   * yet, the minimap moved since the last read started, or the last read is getting old.
+   */
+  private boolean shouldRead(long now, long lastReadNanos) {
+    MinimapMotionDetector detector = motionDetector;
+    if (detector == null || lastReadNanos == 0 || now - lastReadNanos > MAX_SKIP_NANOS) {
+      return true;
+    }
+    detector.sample();
+    // Movement after the previous read started may not be reflected in it
+    return detector.lastMotionNanos() - lastReadNanos >= 0;
+  }
+
+  /**
+   * Publishes a new sample and wakes any waiting readers.
+   *
+   * @param tile The tile that was read.
+   * @param capturedAt The {@link Clock#nanoTime()} at which the read started.
+   */
+  private void publish(Tile tile, long capturedAt) {
+    synchronized (lock) {
+      if (latest == null || !latest.tile().equals(tile)) {
+        lastChangeNanos = capturedAt;
+        TickClock ticks = tickClock;
+        if (ticks != null && latest != null) {
+          // The change happened somewhere between the previous read and this one
+          ticks.observe(capturedAt, capturedAt - latest.capturedAtNanos());
+        }
+      }
+      latest = new TrackedPosition(tile, capturedAt, ++frameCounter);
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Waits on the lock for up to the given time. Must be called while holding {@link #lock}.
+   *
+   * @param nanos Maximum time to wait, in nanoseconds.
+   * @throws ScriptStoppedException if the calling thread is interrupted.
+   */
+  private void waitOnLock(long nanos) {
+    try {
+      lock.wait(Math.max(1, nanos / 1_000_000L));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // Restore interrupt status
+      throw new ScriptStoppedException();
+    }
+  }
+}
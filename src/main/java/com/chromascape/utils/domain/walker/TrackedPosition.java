@@ -0,0 +1,23 @@
+package com.chromascape.utils.domain.walker;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.timing.Clock;
+
+/**
+ * A single player position sample published by the {@link PositionTracker}.
+ *
+ * @param tile The {@link Tile} read from the Grid Info "Tile" zone.
+ * @param capturedAtNanos The {@link Clock#nanoTime()} at which the zone was captured.
+ * @param frameId Monotonic id of the capture this sample came from, starting at 1.
+ */
+public record TrackedPosition(Tile tile, long capturedAtNanos, long frameId) {
+
+  /**
+   * How long ago this sample was captured, on the calling script's clock.
+   *
+   * @return The age of the sample in milliseconds.
+   */
+  public long ageMillis() {
+    return (ScriptContext.current().clock().nanoTime() - capturedAtNanos) / 1_000_000L;
+  }
+}
@@ -1,21 +1,12 @@
 package com.chromascape.utils.domain.walker;
 
-import static com.chromascape.base.BaseScript.waitRandomMillis;
-
 import com.chromascape.api.Dax;
-import com.chromascape.base.BaseScript;
 import com.chromascape.controller.Controller;
-import com.chromascape.utils.core.runtime.exception.DaxAuthException;
-import com.chromascape.utils.core.runtime.exception.DaxException;
-import com.chromascape.utils.core.runtime.exception.DaxRateLimitException;
-import com.chromascape.utils.core.screen.colour.ColourInstances;
-import com.chromascape.utils.core.screen.colour.ColourObj;
-import com.chromascape.utils.domain.ocr.Ocr;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.chromascape.utils.core.runtime.Workers;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.io.IOException;
-import java.util.Arrays;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CancellationException;
@@ -27,20 +18,25 @@ import org.apache.logging.log4j.Logger;
 /**
  * Provides high-level pathfinding and walking functionality for the bot.
  *
- * <p>The {@code Walker} integrates with the {@link Dax} pathfinding API, in-game OCR, and the
- * minimap/compass systems to move the player character to a given destination tile. It has access
- * to the {@link Controller}, granting it access to screen zones, the virtual mouse, and other
- * utilities.
+ * <p>The {@code Walker} integrates with a {@link PathProvider} (a local A* search over a {@link
+ * CollisionMap} when one is installed, otherwise the {@link Dax} pathfinding API), in-game OCR, and
+ * the minimap/compass systems to move the player character to a given destination tile. It has
+ * access to the {@link Controller}, granting it access to screen zones, the virtual mouse, and
+ * other utilities.
  *
  * <p>Walking is achieved by:
  *
  * <ul>
- *   <li>Using OCR to read the player's current position from the game client.
- *   <li>Querying the DAX API for a path between the current position and the destination.
+ *   <li>Reading the player's current position from the {@link PositionTracker}, which OCRs the game
+ *       client on a background thread.
+ *   <li>Querying the {@link PathProvider} for a path between the current position and the
+ *       destination. Paths are cached, so recalculating near a previous path is free, and a
+ *       recovery path is prefetched in the background when the player starts to drift.
  *   <li>Projecting intermediate path tiles onto the minimap using pixel-per-tile scaling and
  *       compass rotation.
  *   <li>Issuing randomized mouse clicks on the minimap to simulate human-like input.
- *   <li>Polling player movement until the character stops, recalculating the path if necessary.
+ *   <li>Watching the minimap for movement until the character stops, recalculating the path if
+ *       necessary.
  * </ul>
  *
  * <p>The {@code Walker} assumes:
@@ -64,92 +60,99 @@ public class Walker {
 
   private final Controller controller;
   private static final Logger logger = LogManager.getLogger(Walker.class);
-  private final Dax dax;
-  private final ObjectMapper objectMapper;
+  private PathProvider pathProvider;
   private final Compass compass;
   private final Random random;
+  private final PositionTracker tracker;
+  private final MinimapMotionDetector motion;
   private CompletableFuture<Point> pointFuture;
 
+  /** Ticks on some worlds can vary, it's usual on world 302 to be 0.618 per tick. */
+  private static final long TICK_MILLIS = 650;
+
+  /** Upper bound on how long a single leg of the walk may take before re-evaluating. */
+  private static final long STOP_TIMEOUT_MILLIS = 30000;
+
   /**
    * Creates a new Walker for controlling player movement. Initializes dependencies including
-   * controller access, logging, DAX API, and compass handling.
+   * controller access, logging, path provider, and compass handling.
+   *
+   * <p>If a collision map exists at {@link CollisionMap#DEFAULT_PATH}, paths are searched locally.
+   * Otherwise they are requested from the DAX API. Either way they are cached.
    *
    * @param controller The bot's controller
    */
   public Walker(Controller controller) {
     this.controller = controller;
-    this.dax = new Dax();
-    this.objectMapper = new ObjectMapper();
+    this.pathProvider = new CachingPathProvider(createDefaultProvider());
     this.random = new Random();
     this.compass = new Compass(controller);
+    this.tracker = controller.positionTracker();
+    this.motion = controller.minimapMotion();
     this.pointFuture = new CompletableFuture<>();
   }
 
   /**
-   * Gets the player's position by using runtime OCR on the GridInfo's "Tile" zone.
+   * Gets the player's position as last published by the {@link PositionTracker}, which reads the
+   * GridInfo's "Tile" zone on its own thread.
    *
-   * @return An integer array with 3 elements - x, y and z.
+   * @return The player's current {@link Tile}.
    */
   public Tile getPlayerPosition() {
-    Rectangle zone = controller.zones().getGridInfo().get("Tile");
-    ColourObj colour = ColourInstances.getByName("White");
-    // Extracts the position using OCR and splits it into a 3 value list (x, y, z)
-    List<String> stringPos =
-        Arrays.asList(Ocr.extractText(zone, "Plain 12", colour, true).split(","));
-    return new Tile(
-        Integer.parseInt(stringPos.get(0)),
-        Integer.parseInt(stringPos.get(1)),
-        Integer.parseInt(stringPos.get(2)));
+    return tracker.getTile();
+  }
+
+  /**
+   * Replaces the source of paths, e.g. to force the DAX API or to supply a custom collision map.
+   * The provider is used as given, wrap it in a {@link CachingPathProvider} to cache its paths. The
+   * provider it replaces is shut down.
+   *
+   * @param pathProvider The {@link PathProvider} used for all subsequent path calculations.
+   */
+  public void setPathProvider(PathProvider pathProvider) {
+    PathProvider previous = this.pathProvider;
+    this.pathProvider = pathProvider;
+    if (previous != pathProvider) {
+      previous.shutdown();
+    }
+  }
+
+  /** Shuts down the path provider, releasing its background threads. */
+  public void shutdown() {
+    pathProvider.shutdown();
   }
 
   /**
-   * Sends a payload to the DAX API with start/end positions and members availability. In return -
-   * receives a path that it deserializes and turns into {@link Tile} objects.
+   * Picks the local pathfinder if a collision map is installed and readable, falling back to DAX.
+   *
+   * @return The uncached default {@link PathProvider}.
+   */
+  private static PathProvider createDefaultProvider() {
+    if (Files.isReadable(CollisionMap.DEFAULT_PATH)) {
+      try {
+        PathProvider local = LocalPathfinder.open(CollisionMap.DEFAULT_PATH);
+        logger.info("Using local collision map at {}", CollisionMap.DEFAULT_PATH);
+        return local;
+      } catch (IOException e) {
+        logger.error("Failed to open collision map, falling back to DAX: {}", e.getMessage());
+      }
+    }
+    return new DaxPathProvider();
+  }
+
+  /**
+   * Requests a path from the player's current position to the destination.
    *
    * @param destination A {@link Point} object defining the co-ordinates of your destination.
    * @param isMembers A boolean dictating whether your character is a member or free to play.
    * @return A {@link List} list of {@link Tile} objects with the first tile being your current
    *     position.
-   * @throws IOException If a transport error occurs during calling a path from the Dax API.
+   * @throws IOException If the path provider fails to produce a path.
    * @throws InterruptedException If the thread is interrupted or the watchdog freezes the thread.
    */
   private List<Tile> getPath(Point destination, boolean isMembers)
       throws IOException, InterruptedException {
-    Tile position = getPlayerPosition();
-    DaxPath daxPath = null;
-    int retries = 20;
-    int attempt = 0;
-
-    while (attempt < retries) {
-      try {
-        String rawPath =
-            dax.generatePath(new Point(position.x(), position.y()), destination, isMembers);
-        daxPath = objectMapper.readValue(rawPath, DaxPath.class);
-        break;
-
-      } catch (DaxRateLimitException e) {
-        // Handle the rate limit exception by waiting and retrying
-        attempt++;
-        logger.warn("Dax Rate Limit reached (Attempt {}/{}). Waiting...", attempt, retries);
-        waitRandomMillis(600, 1200);
-
-      } catch (DaxAuthException e) {
-        // Throw RuntimeException if the API key is invalid
-        logger.error("Dax Authentication Failed: {}", e.getMessage());
-        throw new IOException("Invalid DAX credentials. Check your API key: ", e);
-
-      } catch (DaxException e) {
-        // Retry if server error
-        attempt++;
-        logger.error("Dax API error: {}. Retrying...", e.getMessage());
-        waitRandomMillis(1000, 2000);
-      }
-    }
-    if (daxPath == null) {
-      throw new IOException(
-          "Failed to get a successful path from DAX after " + retries + " retries.");
-    }
-    return daxPath.path();
+    return pathProvider.getPath(getPlayerPosition(), destination, isMembers);
   }
 
   /**
@@ -162,8 +165,8 @@ public class Walker {
    *
    * @param destination the destination {@link Point} to walk to
    * @param isMembers whether the player is a members account, affecting path calculation
-   * @throws IOException if path retrieval from DAX fails due to transport error
-   * @throws InterruptedException if the thread is interrupted while in the process of calling DAX
+   * @throws IOException if path retrieval fails, e.g. due to a DAX transport error
+   * @throws InterruptedException if the thread is interrupted while waiting for a path
    */
   public void pathTo(Point destination, boolean isMembers)
       throws IOException, InterruptedException {
@@ -177,16 +180,17 @@ public class Walker {
     controller.mouse().moveTo(getClickLocation(target, getPlayerPosition()), "medium");
     controller.mouse().leftClick();
     // Looping until at destination
-    while (getPlayerPosition().x() != destination.getX()
-        || getPlayerPosition().y() != destination.getY()) {
-      if (path.isEmpty()) {
+    while (true) {
+      Tile current = getPlayerPosition();
+      if ((current.x() == destination.getX() && current.y() == destination.getY())
+          || path.isEmpty()) {
         break;
       }
       // Effectively final variables for the lambda function.
       Tile newTarget = chooseNextTarget(path, minHorizon, maxHorizon);
       Tile oldTarget = target;
       // Async precomputing the next click point while waiting for the bot to stop
-      pointFuture = CompletableFuture.supplyAsync(() -> getClickLocation(newTarget, oldTarget));
+      pointFuture = Workers.supplyCpu(() -> getClickLocation(newTarget, oldTarget));
       // This blocks the main thread, but the next point is being computed already.
       logger.info("Precomputing next click at " + newTarget.x() + ", " + newTarget.y());
       waitToStop();
@@ -204,9 +208,12 @@ public class Walker {
         // If the path is out of range recalculate whole path
         target = chooseNextTarget(path, 5, 7);
         if (Math.abs(position.x() - target.x()) > 7 || Math.abs(position.y() - target.y()) > 7) {
-          logger.error("Too far from path, calling Dax...");
+          logger.error("Too far from path, recalculating whole path...");
           path = getPath(destination, isMembers);
           target = chooseNextTarget(path, minHorizon, maxHorizon);
+        } else {
+          // Still recoverable, but have a path from here ready in case the next leg drifts further
+          pathProvider.prefetch(position, destination, isMembers);
         }
         clickpoint = getClickLocation(target, getPlayerPosition());
       } else {
@@ -291,26 +298,15 @@ public class Walker {
   }
 
   /**
-   * Polls the player's position to check if the player has stopped moving. Exits out when stopped.
+   * Blocks until the player has started moving and then stopped again, judged by frame differences
+   * of the minimap rather than OCR of the Tile zone. Once stopped, waits for a position read taken
+   * after the stop so the next target is computed from the final tile.
    */
   private void waitToStop() {
-    // Ticks on some worlds can vary, it's usual on world 302 to be 0.618 per tick
-    long tick = 650;
-    Tile position = getPlayerPosition();
-    // Wait to start moving
-    int attempts = 0;
-    while (position.equals(getPlayerPosition()) && attempts < 3) {
-      BaseScript.waitMillis(tick);
-      attempts++;
-    }
-    // Wait to stop moving
-    while (true) {
-      if (position.equals(getPlayerPosition())) {
-        return;
-      } else {
-        position = getPlayerPosition();
-        BaseScript.waitMillis(tick);
-      }
-    }
+    // Wait to start moving, give up after a few ticks if the click didn't register
+    motion.awaitMotion(TICK_MILLIS * 3);
+    long stoppedAt =
+        motion.awaitStationary(MinimapMotionDetector.DEFAULT_QUIET_MILLIS, STOP_TIMEOUT_MILLIS);
+    tracker.awaitSampleSince(stoppedAt, TICK_MILLIS);
   }
 }
@@ -1,8 +1,10 @@
 package com.chromascape.utils.domain.zones;
 
+import com.chromascape.utils.core.runtime.ScriptContext;
 import com.chromascape.utils.core.screen.topology.MatchResult;
 import com.chromascape.utils.core.screen.topology.TemplateMatching;
 import com.chromascape.utils.core.screen.window.ScreenManager;
+import com.chromascape.utils.core.screen.window.ScreenSource;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.util.List;
@@ -97,11 +99,19 @@ public class ZoneManager {
   }
 
   /**
-   * Checks the two minimap images against the client window, compares them based on accuracy.
+   * Checks the two minimap images against the client window, compares them based on accuracy. A
+   * screen source that knows its layout answers directly.
    *
    * @return {@code boolean} True if Fixed classic, false if Resizable classic.
    */
   private boolean checkIfFixed() {
+    ScreenSource source = ScriptContext.current().getScreenSource();
+    if (source != null && source.locateUiElement(zoneTemplates[0]) != null) {
+      return false;
+    }
+    if (source != null && source.locateUiElement(zoneTemplates[3]) != null) {
+      return true;
+    }
     BufferedImage screen = ScreenManager.captureWindow();
 
     MatchResult result = TemplateMatching.match(zoneTemplates[0], screen, THRESHOLD);
@@ -125,7 +135,18 @@ public class ZoneManager {
    * @return A {@link BufferedImage} representing the game viewport screenshot.
    */
   public BufferedImage getGameView() {
-    BufferedImage gameViewMask = ScreenManager.captureWindow();
+    return maskGameView(ScreenManager.captureWindow());
+  }
+
+  /**
+   * Masks out the UI zones of a window capture that has already been taken, as {@link
+   * #getGameView()} does for a fresh one.
+   *
+   * @param window A capture of the whole game canvas.
+   * @return A {@link BufferedImage} representing the game viewport.
+   */
+  public BufferedImage maskGameView(BufferedImage window) {
+    BufferedImage gameViewMask = window;
     if (ctrlPanelBounds != null) {
       gameViewMask =
           MaskZones.maskZones(
@@ -146,12 +167,17 @@ public class ZoneManager {
 
   /**
    * Locates the bounding rectangle of a UI element by matching a template image within the current
-   * game window capture.
+   * game window capture, unless the context's {@link ScreenSource} knows where it is drawn.
    *
    * @param templatePath The file path to the template image to match.
    * @return A {@link Rectangle} representing the bounds of the matched UI element.
    */
   public Rectangle locateUiElement(String templatePath) {
+    ScreenSource source = ScriptContext.current().getScreenSource();
+    Rectangle known = source != null ? source.locateUiElement(templatePath) : null;
+    if (known != null) {
+      return new Rectangle(known);
+    }
     return TemplateMatching.match(templatePath, ScreenManager.captureWindow(), THRESHOLD).bounds();
   }
 
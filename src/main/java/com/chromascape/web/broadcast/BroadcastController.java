@@ -0,0 +1,36 @@
+package com.chromascape.web.broadcast;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** REST controller exposing the send queue depths of every WebSocket stream. */
+@RestController
+@RequestMapping("/api")
+public class BroadcastController {
+
+  private final WebSocketBroadcaster broadcaster;
+
+  /**
+   * Constructs the controller.
+   *
+   * @param broadcaster the broadcaster whose queues are reported
+   */
+  @Autowired
+  public BroadcastController(WebSocketBroadcaster broadcaster) {
+    this.broadcaster = broadcaster;
+  }
+
+  /**
+   * Returns the queue depths, drop counts, evictions and bandwidth of each WebSocket stream.
+   *
+   * @return HTTP 200 with one entry per stream
+   */
+  @GetMapping("/broadcast/stats")
+  public ResponseEntity<List<TopicStats>> getStats() {
+    return ResponseEntity.ok(broadcaster.stats());
+  }
+}
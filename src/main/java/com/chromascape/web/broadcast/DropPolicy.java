@@ -0,0 +1,22 @@
+package com.chromascape.web.broadcast;
+
+/**
+ * What a session's send queue gives up when messages arrive faster than the client takes them.
+ *
+ * @see Topic
+ */
+public enum DropPolicy {
+
+  /**
+   * Only one message waits. A newer one is merged into it, or replaces it, so a slow client skips
+   * to the latest state. Suits streams where each message supersedes the last, such as viewport
+   * frames, statistics and running state.
+   */
+  KEEP_LATEST,
+
+  /**
+   * Messages wait in order up to the topic's capacity, beyond which the oldest is discarded. Suits
+   * streams where every message matters but a stalled client mustn't hold them all, such as logs.
+   */
+  DROP_OLDEST
+}
@@ -0,0 +1,84 @@
+package com.chromascape.web.broadcast;
+
+import java.util.ArrayDeque;
+
+/**
+ * The messages waiting to be sent to one session, in order, bounded by its topic's {@link
+ * DropPolicy}.
+ *
+ * <p>Besides the messages, the queue tracks how long they have waited without the session taking
+ * any: since the first arrived in an empty queue, or since the last was taken. Merging and
+ * discarding don't reset it, so it only grows large while the session isn't keeping up at all.
+ *
+ * <p>Instances are thread-safe: the broadcasting threads offer and the session's send task polls.
+ *
+ * @param <T> The type of message queued.
+ */
+final class SendQueue<T> {
+
+  private final Topic<T> topic;
+
+  // Guarded by this
+  private final ArrayDeque<T> messages = new ArrayDeque<>();
+  private long waitingSince;
+
+  SendQueue(Topic<T> topic) {
+    this.topic = topic;
+  }
+
+  /**
+   * Queues a message, merging or discarding as the topic's policy says if the queue is full.
+   *
+   * @param message The message.
+   * @param now The current {@link System#nanoTime()}.
+   * @return false if a message was merged, replaced or discarded to make room.
+   */
+  synchronized boolean offer(T message, long now) {
+    if (messages.isEmpty()) {
+      waitingSince = now;
+    }
+    if (messages.size() < topic.getCapacity()) {
+      messages.addLast(message);
+      return true;
+    }
+    if (topic.getPolicy() == DropPolicy.KEEP_LATEST) {
+      messages.addLast(topic.merge().apply(messages.pollLast(), message));
+    } else {
+      messages.pollFirst();
+      messages.addLast(message);
+    }
+    topic.recordDropped();
+    return false;
+  }
+
+  /**
+   * Removes the oldest message.
+   *
+   * @param now The current {@link System#nanoTime()}.
+   * @return The message, or null if none is waiting.
+   */
+  synchronized T poll(long now) {
+    T message = messages.pollFirst();
+    waitingSince = now;
+    return message;
+  }
+
+  /**
+   * Returns the number of messages waiting.
+   *
+   * @return The queue depth.
+   */
+  synchronized int size() {
+    return messages.size();
+  }
+
+  /**
+   * Returns how long messages have waited without the session taking one.
+   *
+   * @param now The current {@link System#nanoTime()}.
+   * @return Nanoseconds, or 0 if nothing is waiting.
+   */
+  synchronized long waitingNanos(long now) {
+    return messages.isEmpty() ? 0 : now - waitingSince;
+  }
+}
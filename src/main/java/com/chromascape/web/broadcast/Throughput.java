@@ -0,0 +1,36 @@
+package com.chromascape.web.broadcast;
+
+import java.util.concurrent.TimeUnit;
+
+/** Bytes sent per second, measured over whole one second windows. */
+final class Throughput {
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  // Guarded by this
+  private long windowStart = System.nanoTime();
+  private long windowBytes;
+  private double lastRate;
+
+  synchronized void record(long bytes, long now) {
+    roll(now);
+    windowBytes += bytes;
+  }
+
+  synchronized double rate(long now) {
+    roll(now);
+    return lastRate;
+  }
+
+  /** Closes the current window once it is a second old. */
+  private void roll(long now) {
+    long elapsed = now - windowStart;
+    if (elapsed < WINDOW_NANOS) {
+      return;
+    }
+    // A gap of more than one window means nothing was sent in the last second
+    lastRate = elapsed < 2 * WINDOW_NANOS ? windowBytes * 1e9 / elapsed : 0;
+    windowStart = now;
+    windowBytes = 0;
+  }
+}
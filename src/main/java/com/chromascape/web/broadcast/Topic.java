@@ -0,0 +1,172 @@
+package com.chromascape.web.broadcast;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import org.springframework.web.socket.WebSocketMessage;
+
+/**
+ * One kind of message sent through the {@link WebSocketBroadcaster}, such as logs or viewport
+ * frames, with the {@link DropPolicy} its session queues follow and the figures of everything sent
+ * on it.
+ *
+ * <p>Messages are queued as objects and only turned into a {@link WebSocketMessage} when they are
+ * sent, so a message merged away or dropped is never serialised.
+ *
+ * @param <T> The type of message queued.
+ */
+public final class Topic<T> {
+
+  private final String name;
+  private final DropPolicy policy;
+  private final int capacity;
+  private final BinaryOperator<T> merge;
+  private final Function<T, WebSocketMessage<?>> encoder;
+
+  private final LongAdder sent = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder evicted = new LongAdder();
+  private final Throughput throughput = new Throughput();
+
+  private Topic(
+      String name,
+      DropPolicy policy,
+      int capacity,
+      BinaryOperator<T> merge,
+      Function<T, WebSocketMessage<?>> encoder) {
+    this.name = name;
+    this.policy = policy;
+    this.capacity = capacity;
+    this.merge = merge;
+    this.encoder = encoder;
+  }
+
+  /**
+   * Creates a topic on which a newer message replaces one still waiting.
+   *
+   * @param name Name the topic's figures are reported under.
+   * @param encoder Turns a message into what is sent.
+   * @param <T> The type of message.
+   * @return The topic.
+   */
+  public static <T> Topic<T> latest(String name, Function<T, WebSocketMessage<?>> encoder) {
+    return latest(name, (waiting, newer) -> newer, encoder);
+  }
+
+  /**
+   * Creates a topic on which a newer message is merged into one still waiting.
+   *
+   * @param name Name the topic's figures are reported under.
+   * @param merge Combines the waiting message with a newer one into a message equivalent to both.
+   * @param encoder Turns a message into what is sent.
+   * @param <T> The type of message.
+   * @return The topic.
+   */
+  public static <T> Topic<T> latest(
+      String name, BinaryOperator<T> merge, Function<T, WebSocketMessage<?>> encoder) {
+    return new Topic<>(name, DropPolicy.KEEP_LATEST, 1, merge, encoder);
+  }
+
+  /**
+   * Creates a topic on which messages wait in order, discarding the oldest beyond a capacity.
+   *
+   * @param name Name the topic's figures are reported under.
+   * @param capacity Most messages waiting for one session.
+   * @param encoder Turns a message into what is sent.
+   * @param <T> The type of message.
+   * @return The topic.
+   * @throws IllegalArgumentException if the capacity is not positive.
+   */
+  public static <T> Topic<T> bounded(
+      String name, int capacity, Function<T, WebSocketMessage<?>> encoder) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be greater than 0");
+    }
+    return new Topic<>(name, DropPolicy.DROP_OLDEST, capacity, null, encoder);
+  }
+
+  /**
+   * Returns the name of the topic.
+   *
+   * @return The name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns what a session's queue gives up when it is full.
+   *
+   * @return The policy.
+   */
+  public DropPolicy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * Returns the most messages waiting for one session.
+   *
+   * @return 1 for {@link DropPolicy#KEEP_LATEST}, else the capacity given.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns the number of messages sent, counting each session separately.
+   *
+   * @return The sent count.
+   */
+  public long getSent() {
+    return sent.sum();
+  }
+
+  /**
+   * Returns the number of messages merged into a newer one, replaced, or discarded before a session
+   * could be sent them.
+   *
+   * @return The dropped count.
+   */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /**
+   * Returns the number of sessions closed for falling too far behind.
+   *
+   * @return The evicted count.
+   */
+  public long getEvicted() {
+    return evicted.sum();
+  }
+
+  /**
+   * Returns the rate messages were sent at over the last second, across all sessions.
+   *
+   * @return Bytes per second.
+   */
+  public double getBytesPerSecond() {
+    return throughput.rate(System.nanoTime());
+  }
+
+  BinaryOperator<T> merge() {
+    return merge;
+  }
+
+  WebSocketMessage<?> encode(T message) {
+    return encoder.apply(message);
+  }
+
+  void recordSent(int bytes, long now) {
+    sent.increment();
+    throughput.record(bytes, now);
+  }
+
+  void recordDropped() {
+    dropped.increment();
+  }
+
+  void recordEvicted() {
+    evicted.increment();
+  }
+}
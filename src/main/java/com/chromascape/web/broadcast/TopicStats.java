@@ -0,0 +1,29 @@
+package com.chromascape.web.broadcast;
+
+/**
+ * The send queues of one {@link Topic} as they stand, and what the topic has sent since startup.
+ *
+ * @param topic Name of the topic.
+ * @param policy What a full queue gives up.
+ * @param capacity Most messages waiting for one session.
+ * @param sessions Sessions currently subscribed.
+ * @param queued Messages waiting, across all sessions.
+ * @param maxQueued Messages waiting for the session furthest behind.
+ * @param waitingMillis Longest a session has had messages waiting without taking one.
+ * @param sent Messages sent, counting each session separately.
+ * @param dropped Messages merged, replaced or discarded before they could be sent.
+ * @param evicted Sessions closed for falling too far behind.
+ * @param bytesPerSecond Bytes sent over the last second, across all sessions.
+ */
+public record TopicStats(
+    String topic,
+    DropPolicy policy,
+    int capacity,
+    int sessions,
+    int queued,
+    int maxQueued,
+    double waitingMillis,
+    long sent,
+    long dropped,
+    long evicted,
+    double bytesPerSecond) {}
@@ -0,0 +1,309 @@
+package com.chromascape.web.broadcast;
+
+import com.chromascape.utils.core.runtime.Workers;
+import com.chromascape.web.instance.InstanceChannel;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Sends messages to WebSocket sessions for every handler, so none of them blocks the thread that
+ * produced a message or lets a stalled browser tab hold unbounded memory.
+ *
+ * <p>Each subscribed session gets its own {@link SendQueue}, bounded by its {@link Topic}'s {@link
+ * DropPolicy}, and at most one send task on the shared blocking executor, so its messages go out in
+ * order and a slow session only ever delays itself. A session may also be given a minimum interval
+ * between sends; messages arriving meanwhile wait in its queue.
+ *
+ * <p>A session that has had messages waiting for {@value #EVICT_PROPERTY} seconds, {@value
+ * #DEFAULT_EVICT_SECONDS} by default, without taking any is saturated, and is closed with {@link
+ * CloseStatus#SESSION_NOT_RELIABLE} so the browser reconnects and starts afresh. The depth of every
+ * queue is reported by {@link #stats()}.
+ */
+@Component
+public class WebSocketBroadcaster {
+
+  /** System property holding how long a session may leave messages waiting before eviction. */
+  public static final String EVICT_PROPERTY = "chromascape.ws.evictSeconds";
+
+  /** Default longest wait, in seconds. */
+  public static final int DEFAULT_EVICT_SECONDS = 10;
+
+  private static final Logger logger = LoggerFactory.getLogger(WebSocketBroadcaster.class);
+
+  private final long evictNanos =
+      TimeUnit.SECONDS.toNanos(
+          Math.max(1, Integer.getInteger(EVICT_PROPERTY, DEFAULT_EVICT_SECONDS)));
+
+  /** Topics declared by the handlers, in declaration order. */
+  private final List<Topic<?>> topics = new CopyOnWriteArrayList<>();
+
+  /** Send state of every subscribed session, keyed by session id. */
+  private final Map<String, Outbox<?>> outboxes = new ConcurrentHashMap<>();
+
+  /** Runs the send tasks, at most one per session at a time. */
+  private final ExecutorService executor = Workers.newBlockingExecutor("ws-send");
+
+  /**
+   * Declares a topic, so its figures are reported even while nobody is subscribed.
+   *
+   * @param topic The topic.
+   * @param <T> The type of message.
+   * @return The same topic.
+   */
+  public <T> Topic<T> declare(Topic<T> topic) {
+    topics.add(topic);
+    return topic;
+  }
+
+  /**
+   * Subscribes a session to a topic.
+   *
+   * @param topic The topic the session receives.
+   * @param session The new session.
+   */
+  public void subscribe(Topic<?> topic, WebSocketSession session) {
+    subscribe(topic, session, 0);
+  }
+
+  /**
+   * Subscribes a session to a topic, sending it no more often than an interval.
+   *
+   * @param topic The topic the session receives.
+   * @param session The new session.
+   * @param intervalNanos Shortest time between two sends, in nanoseconds.
+   */
+  public void subscribe(Topic<?> topic, WebSocketSession session, long intervalNanos) {
+    outboxes.put(session.getId(), new Outbox<>(topic, session, intervalNanos));
+  }
+
+  /**
+   * Unsubscribes a session, discarding anything still waiting for it.
+   *
+   * @param session The closed session.
+   */
+  public void unsubscribe(WebSocketSession session) {
+    outboxes.remove(session.getId());
+  }
+
+  /**
+   * Returns the open sessions subscribed to a topic.
+   *
+   * @param topic The topic.
+   * @return A snapshot of the sessions.
+   */
+  public List<WebSocketSession> sessions(Topic<?> topic) {
+    List<WebSocketSession> sessions = new ArrayList<>();
+    for (Outbox<?> outbox : outboxes.values()) {
+      if (outbox.topic == topic && outbox.session.isOpen()) {
+        sessions.add(outbox.session);
+      }
+    }
+    return sessions;
+  }
+
+  /**
+   * Queues a message for every session subscribed to a topic.
+   *
+   * @param topic The topic.
+   * @param message The message.
+   * @param <T> The type of message.
+   */
+  public <T> void publish(Topic<T> topic, T message) {
+    for (Outbox<?> outbox : outboxes.values()) {
+      if (outbox.topic == topic) {
+        offer(outbox, topic, message);
+      }
+    }
+  }
+
+  /**
+   * Queues a message for every session subscribed to a topic that follows a script instance (see
+   * {@link InstanceChannel}).
+   *
+   * @param topic The topic.
+   * @param instanceId The instance the message belongs to.
+   * @param message The message.
+   * @param <T> The type of message.
+   */
+  public <T> void publish(Topic<T> topic, String instanceId, T message) {
+    for (Outbox<?> outbox : outboxes.values()) {
+      if (outbox.topic == topic && instanceId.equals(InstanceChannel.of(outbox.session))) {
+        offer(outbox, topic, message);
+      }
+    }
+  }
+
+  /**
+   * Queues a message for one session.
+   *
+   * @param topic The topic the session is subscribed to.
+   * @param session The session.
+   * @param message The message.
+   * @param <T> The type of message.
+   */
+  public <T> void send(Topic<T> topic, WebSocketSession session, T message) {
+    Outbox<?> outbox = outboxes.get(session.getId());
+    if (outbox != null && outbox.topic == topic) {
+      offer(outbox, topic, message);
+    }
+  }
+
+  /**
+   * Returns the queue depths and send figures of every declared topic.
+   *
+   * @return One entry per topic, in declaration order.
+   */
+  public List<TopicStats> stats() {
+    long now = System.nanoTime();
+    List<TopicStats> stats = new ArrayList<>(topics.size());
+    for (Topic<?> topic : topics) {
+      int sessions = 0;
+      int queued = 0;
+      int maxQueued = 0;
+      long waiting = 0;
+      for (Outbox<?> outbox : outboxes.values()) {
+        if (outbox.topic == topic) {
+          int depth = outbox.queue.size();
+          sessions++;
+          queued += depth;
+          maxQueued = Math.max(maxQueued, depth);
+          waiting = Math.max(waiting, outbox.queue.waitingNanos(now));
+        }
+      }
+      stats.add(
+          new TopicStats(
+              topic.getName(),
+              topic.getPolicy(),
+              topic.getCapacity(),
+              sessions,
+              queued,
+              maxQueued,
+              waiting / 1e6,
+              topic.getSent(),
+              topic.getDropped(),
+              topic.getEvicted(),
+              topic.getBytesPerSecond()));
+    }
+    return stats;
+  }
+
+  /**
+   * Closes every session that has fallen too far behind, and forgets closed ones.
+   *
+   * <p>Runs once a second.
+   */
+  @Scheduled(fixedRate = 1000)
+  public void evictSaturated() {
+    long now = System.nanoTime();
+    for (Outbox<?> outbox : outboxes.values()) {
+      if (!outbox.session.isOpen()) {
+        outboxes.remove(outbox.session.getId());
+      } else if (outbox.queue.waitingNanos(now) > evictNanos) {
+        outboxes.remove(outbox.session.getId());
+        outbox.topic.recordEvicted();
+        logger.warn(
+            "Evicting {} WebSocket session {} with {} messages waiting",
+            outbox.topic.getName(),
+            outbox.session.getId(),
+            outbox.queue.size());
+        // Closing may block behind the stalled send, so keep it off the scheduler
+        executor.submit(() -> close(outbox.session));
+      }
+    }
+  }
+
+  /** Queues a message and starts the session's send task if it isn't running. */
+  @SuppressWarnings("unchecked")
+  private <T> void offer(Outbox<?> outbox, Topic<T> topic, T message) {
+    Outbox<T> typed = (Outbox<T>) outbox;
+    typed.queue.offer(message, System.nanoTime());
+    if (typed.sending.compareAndSet(false, true)) {
+      executor.submit(() -> drain(typed));
+    }
+  }
+
+  /**
+   * Sends a session's waiting messages, one per interval, until none is left.
+   *
+   * @param outbox The session to send to.
+   */
+  private <T> void drain(Outbox<T> outbox) {
+    try {
+      while (true) {
+        long wait = outbox.nextSendNanos - System.nanoTime();
+        if (wait > 0) {
+          // Messages arriving meanwhile wait in the queue
+          Thread.sleep(Duration.ofNanos(wait));
+        }
+        T message = outbox.queue.poll(System.nanoTime());
+        if (message == null || !outbox.session.isOpen()) {
+          break;
+        }
+        WebSocketMessage<?> payload = outbox.topic.encode(message);
+        long sentAt = System.nanoTime();
+        outbox.session.sendMessage(payload);
+        outbox.nextSendNanos = sentAt + outbox.intervalNanos;
+        outbox.topic.recordSent(payload.getPayloadLength(), System.nanoTime());
+      }
+    } catch (IOException | IllegalStateException e) {
+      outboxes.remove(outbox.session.getId());
+      logger.warn(
+          "Failed to send {} to WebSocket session: {}", outbox.topic.getName(), e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      outbox.sending.set(false);
+      // A message may have arrived after the last poll, while the flag was still set
+      if (outbox.queue.size() > 0
+          && outbox.session.isOpen()
+          && outbox.sending.compareAndSet(false, true)) {
+        executor.submit(() -> drain(outbox));
+      }
+    }
+  }
+
+  private static void close(WebSocketSession session) {
+    try {
+      session.close(CloseStatus.SESSION_NOT_RELIABLE);
+    } catch (IOException e) {
+      logger.debug("Failed to close evicted WebSocket session: {}", e.getMessage());
+    }
+  }
+
+  /** Send state of one subscribed session. */
+  private static final class Outbox<T> {
+
+    private final Topic<T> topic;
+    private final WebSocketSession session;
+    private final long intervalNanos;
+    private final SendQueue<T> queue;
+
+    /** Whether a send task is running for this session. */
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    /** Earliest time the next message may be sent, only touched by the send task. */
+    private volatile long nextSendNanos;
+
+    Outbox(Topic<T> topic, WebSocketSession session, long intervalNanos) {
+      this.topic = topic;
+      this.session = session;
+      this.intervalNanos = intervalNanos;
+      this.queue = new SendQueue<>(topic);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.chromascape.web.instance;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import java.net.URI;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Resolves which script instance a WebSocket session follows.
+ *
+ * <p>Per-instance streams (viewport, semantic state, statistics) take the instance id as a query
+ * parameter, e.g. {@code /ws/viewport?instance=instance-2}. Sessions without one follow the
+ * dashboard's script in the default context, so existing clients are unaffected.
+ */
+public final class InstanceChannel {
+
+  /** Name of the query parameter holding the instance id. */
+  public static final String PARAMETER = "instance";
+
+  private static final String ATTRIBUTE = InstanceChannel.class.getName();
+
+  private InstanceChannel() {}
+
+  /**
+   * Returns the instance id a session follows, parsing it from the handshake URI on first use.
+   *
+   * @param session the WebSocket session
+   * @return the instance id, {@link ScriptContext#DEFAULT_ID} if none was given
+   */
+  public static String of(WebSocketSession session) {
+    Object cached = session.getAttributes().get(ATTRIBUTE);
+    if (cached instanceof String id) {
+      return id;
+    }
+    String id = ScriptContext.DEFAULT_ID;
+    URI uri = session.getUri();
+    if (uri != null) {
+      String requested =
+          UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst(PARAMETER);
+      if (requested != null && !requested.isBlank()) {
+        id = requested;
+      }
+    }
+    session.getAttributes().put(ATTRIBUTE, id);
+    return id;
+  }
+}
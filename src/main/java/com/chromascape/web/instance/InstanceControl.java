@@ -0,0 +1,168 @@
+package com.chromascape.web.instance;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.statistics.ScriptStatistics;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for running several scripts at once, each against its own RuneLite client.
+ *
+ * <p>Every script started here gets its own {@link ScriptContext}, identified by the id returned on
+ * creation. The id addresses the instance in the endpoints below and selects its stream on the
+ * viewport, semantic state and statistics WebSockets (see {@link InstanceChannel}). The dashboard's
+ * script, started through {@link ScriptControl}, is listed with the id {@value
+ * ScriptContext#DEFAULT_ID}.
+ */
+@RestController
+@RequestMapping("/api/instances")
+public class InstanceControl {
+
+  private static final Logger logger = LogManager.getLogger(InstanceControl.class.getName());
+
+  /**
+   * Summary of one script instance.
+   *
+   * @param id the instance id
+   * @param script the script class name
+   * @param pid the target client's process ID, 0 for the first client found
+   * @param running whether the script is still running
+   * @param state the semantic state name
+   * @param elapsedMillis the runtime in milliseconds
+   * @param cycles the cycles completed
+   * @param inputs the inputs sent
+   * @param objectsDetected the objects detected
+   */
+  public record InstanceInfo(
+      String id,
+      String script,
+      int pid,
+      boolean running,
+      String state,
+      long elapsedMillis,
+      int cycles,
+      int inputs,
+      int objectsDetected) {
+
+    static InstanceInfo of(ScriptInstance instance) {
+      ScriptContext context = instance.getContext();
+      ScriptStatistics stats = context.statistics();
+      return new InstanceInfo(
+          context.getId(),
+          instance.getScriptName(),
+          context.getPid(),
+          instance.isRunning(),
+          context.getState().name(),
+          stats.getElapsedTime(),
+          stats.getCycles(),
+          stats.getInputs(),
+          stats.getObjectsDetected());
+    }
+  }
+
+  /**
+   * Lists every instance that has been started and not removed.
+   *
+   * @return HTTP 200 with the instances, ordered by id
+   */
+  @GetMapping
+  public ResponseEntity<List<InstanceInfo>> list() {
+    return ResponseEntity.ok(
+        ScriptInstanceManager.getInstance().getAll().stream()
+            .map(InstanceInfo::of)
+            .sorted(Comparator.comparing(InstanceInfo::id))
+            .toList());
+  }
+
+  /**
+   * Returns one instance.
+   *
+   * @param id the instance id
+   * @return HTTP 200 with the instance, or 404 if unknown
+   */
+  @GetMapping("/{id}")
+  public ResponseEntity<InstanceInfo> get(@PathVariable String id) {
+    ScriptInstance instance = ScriptInstanceManager.getInstance().get(id);
+    if (instance == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(InstanceInfo.of(instance));
+  }
+
+  /**
+   * Starts a script in a new context.
+   *
+   * @param config the script to run and, optionally, the pid of the client to drive
+   * @return HTTP 201 with the new instance, 400 for an invalid script, or 503 if every worker is
+   *     busy
+   */
+  @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<Object> create(@RequestBody RunConfig config) {
+    if (config.script() == null || config.script().isEmpty()) {
+      return ResponseEntity.badRequest().body("Script must be specified.");
+    }
+    ScriptInstanceManager manager = ScriptInstanceManager.getInstance();
+    try {
+      ScriptContext context = new ScriptContext(manager.nextId(), config.targetPid());
+      ScriptInstance instance = new ScriptInstance(context, config, null);
+      manager.start(instance);
+      logger.info("Started {} as {}", instance.getScriptName(), context.getId());
+      return ResponseEntity.status(HttpStatus.CREATED).body(InstanceInfo.of(instance));
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      logger.error("Script not found: {}", e.getMessage());
+      return ResponseEntity.badRequest().body("Script class not found.");
+    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+      logger.error("Failed to instantiate script: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Failed to start script.");
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .body("Too many scripts are running.");
+    }
+  }
+
+  /**
+   * Stops an instance and waits for its script to exit.
+   *
+   * @param id the instance id
+   * @return HTTP 200 once stopped, or 404 if unknown
+   */
+  @PostMapping("/{id}/stop")
+  public ResponseEntity<Object> stop(@PathVariable String id) {
+    ScriptInstance instance = ScriptInstanceManager.getInstance().get(id);
+    if (instance == null) {
+      return ResponseEntity.notFound().build();
+    }
+    logger.info("Received stop request for {}", id);
+    instance.stop();
+    return ResponseEntity.ok().build();
+  }
+
+  /**
+   * Forgets a stopped instance.
+   *
+   * @param id the instance id
+   * @return HTTP 204 if removed, or 409 if it is unknown or still running
+   */
+  @DeleteMapping("/{id}")
+  public ResponseEntity<Object> remove(@PathVariable String id) {
+    if (ScriptInstanceManager.getInstance().remove(id)) {
+      return ResponseEntity.noContent().build();
+    }
+    return ResponseEntity.status(HttpStatus.CONFLICT).body("Instance is unknown or still running.");
+  }
+}
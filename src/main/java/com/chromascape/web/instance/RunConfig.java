@@ -3,15 +3,16 @@ package com.chromascape.web.instance;
 /**
  * Represents the configuration settings for running a script instance.
  *
- * <p>Contains the duration the script should run, the script identifier, and a flag indicating
- * whether the client UI is fixed or resizable.
+ * <p>Contains the script identifier and, when several RuneLite clients are open, the process ID of
+ * the client the script should drive.
  */
-public record RunConfig(String script) {
+public record RunConfig(String script, Integer pid) {
 
   /**
-   * Constructs a new RunConfig with the specified duration, script, and fixed flag.
+   * Constructs a new RunConfig with the specified script and client.
    *
    * @param script the identifier or name of the script to run
+   * @param pid the process ID of the target client, or {@code null} for the first client found
    */
   public RunConfig {}
 
@@ -24,4 +25,13 @@ public record RunConfig(String script) {
   public String script() {
     return script;
   }
+
+  /**
+   * Returns the process ID of the client to drive.
+   *
+   * @return the pid, or 0 if the first client found should be used
+   */
+  public int targetPid() {
+    return pid == null ? 0 : pid;
+  }
 }
@@ -1,6 +1,8 @@
 package com.chromascape.web.instance;
 
+import com.chromascape.utils.core.runtime.ScriptContext;
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.RejectedExecutionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.http.HttpStatus;
@@ -55,13 +57,21 @@ public class ScriptControl {
 
       logger.info("Config valid: attempting to run script");
 
-      // Instantiate and start the script instance
-      ScriptInstance instance = new ScriptInstance(config, stateHandler);
-      ScriptInstanceManager.getInstance().setInstance(instance);
-      instance.start();
+      // Instantiate and start the script instance in the default context
+      ScriptInstance instance =
+          new ScriptInstance(ScriptContext.getDefault(), config, stateHandler);
+      ScriptInstanceManager.getInstance().start(instance);
 
       return ResponseEntity.ok("Script started successfully.");
 
+    } catch (IllegalStateException e) {
+      logger.error("Script already running: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.CONFLICT).body("A script is already running.");
+    } catch (RejectedExecutionException e) {
+      logger.error("No free script worker: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .body("Too many scripts are running.");
+
     } catch (ClassNotFoundException e) {
       logger.error("Script class not found: {}", e.getMessage());
       return ResponseEntity.badRequest().body("Script class not found.");
@@ -89,7 +99,10 @@ public class ScriptControl {
   @PostMapping(path = "/stop", consumes = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<Object> stopScript() {
     logger.info("Received stop request");
-    ScriptInstanceManager.getInstance().getInstanceRef().stop();
+    ScriptInstance instance = ScriptInstanceManager.getInstance().getInstanceRef();
+    if (instance != null) {
+      instance.stop();
+    }
     return ResponseEntity.ok().build();
   }
 }
@@ -1,39 +1,52 @@
 package com.chromascape.web.instance;
 
 import com.chromascape.base.BaseScript;
+import com.chromascape.utils.core.runtime.ScriptContext;
 import com.chromascape.utils.core.statistics.StatisticsManager;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Manages the lifecycle of a script instance.
  *
  * <p>This class dynamically loads and instantiates a script class based on the provided
- * configuration, runs the script in its own thread, and provides control methods to start and stop
- * the script execution.
+ * configuration, runs the script on a worker thread with its own {@link ScriptContext}, and
+ * provides control methods to start and stop the script execution.
  */
 public class ScriptInstance {
 
   private final BaseScript instance;
-  private volatile Thread thread;
+  private final String scriptName;
+  private final ScriptContext context;
   private final WebSocketStateHandler stateHandler;
+  private final CountDownLatch finished = new CountDownLatch(1);
+  private volatile Future<?> future;
+  private volatile boolean started;
+  private volatile boolean running;
 
   /**
    * Constructs a ScriptInstance by dynamically loading the script class specified in the config.
    *
+   * @param context the context the script runs in; the default context for the dashboard's script
    * @param config the RunConfig containing script name
+   * @param stateHandler handler notified when the default context's script starts and stops, or
+   *     {@code null}
    * @throws NoSuchMethodException if the expected constructor is not found
    * @throws ClassNotFoundException if the script class cannot be found
    * @throws InvocationTargetException if the constructor throws an exception
    * @throws InstantiationException if the class is abstract or an interface
    * @throws IllegalAccessException if the constructor is not accessible
    */
-  public ScriptInstance(RunConfig config, WebSocketStateHandler stateHandler)
+  public ScriptInstance(ScriptContext context, RunConfig config, WebSocketStateHandler stateHandler)
       throws NoSuchMethodException,
           ClassNotFoundException,
           InvocationTargetException,
           InstantiationException,
           IllegalAccessException {
+    this.context = context;
     this.stateHandler = stateHandler;
 
     String fileName = config.script();
@@ -42,30 +55,44 @@ public class ScriptInstance {
     Class<?> script = Class.forName("com.chromascape.scripts." + className);
     Constructor<?> constructor = script.getDeclaredConstructor();
     instance = (BaseScript) constructor.newInstance();
+    scriptName = className;
   }
 
   /**
-   * Starts the script execution in a new thread.
+   * Starts the script execution on a worker from the given pool, bound to this instance's context.
    *
    * <p>Resets the statistics via {@link StatisticsManager#reset()} before running, so that each run
    * starts with fresh metrics.
    *
    * <p>Also broadcasts a {@code true} state to clients.
+   *
+   * @param workers the pool to run on
+   * @throws java.util.concurrent.RejectedExecutionException if the pool has no free worker
    */
-  public void start() {
-    thread =
-        new Thread(
-            () -> {
-              stateHandler.broadcast(true);
-              StatisticsManager.reset();
-              try {
-                instance.run();
-              } finally {
-                StatisticsManager.stop();
-                stateHandler.broadcast(false);
-              }
-            });
-    thread.start();
+  public void start(ExecutorService workers) {
+    running = true;
+    try {
+      future = workers.submit(() -> context.runWith(this::runScript));
+    } catch (RuntimeException e) {
+      running = false;
+      finished.countDown();
+      throw e;
+    }
+  }
+
+  /** Body of the worker task; runs with the context bound. */
+  private void runScript() {
+    started = true;
+    broadcast(true);
+    StatisticsManager.reset();
+    try {
+      instance.run();
+    } finally {
+      StatisticsManager.stop();
+      running = false;
+      broadcast(false);
+      finished.countDown();
+    }
   }
 
   /**
@@ -77,15 +104,52 @@ public class ScriptInstance {
    */
   public void stop() {
     instance.stop();
-    StatisticsManager.stop();
-    if (thread != null) {
-      thread.interrupt();
+    context.statistics().stop();
+    if (future != null) {
+      future.cancel(true);
       try {
-        thread.join();
+        // A task cancelled before it started never runs, so there is nothing to wait for
+        if (started) {
+          finished.await();
+        }
       } catch (InterruptedException ignored) {
-        // Thread join interrupted, ignore to proceed with shutdown
+        // Wait interrupted, ignore to proceed with shutdown
       }
     }
-    stateHandler.broadcast(false);
+    running = false;
+    broadcast(false);
+  }
+
+  /**
+   * Returns whether the script is still running.
+   *
+   * @return true until the script's run loop has exited.
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Returns the context the script runs in.
+   *
+   * @return the context
+   */
+  public ScriptContext getContext() {
+    return context;
+  }
+
+  /**
+   * Returns the name of the script class, relative to the scripts package.
+   *
+   * @return the script name
+   */
+  public String getScriptName() {
+    return scriptName;
+  }
+
+  private void broadcast(boolean isRunning) {
+    if (stateHandler != null) {
+      stateHandler.broadcast(isRunning);
+    }
   }
 }
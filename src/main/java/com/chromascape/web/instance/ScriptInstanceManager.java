@@ -1,14 +1,32 @@
 package com.chromascape.web.instance;
 
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.runtime.Workers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Singleton manager class that maintains the current active ScriptInstance.
+ * Singleton manager class that keeps track of the running {@link ScriptInstance}s.
  *
- * <p>This class provides thread-safe access to a single ScriptInstance, allowing setting and
- * retrieving the currently running script instance.
+ * <p>Instances are addressed by the id of their {@link ScriptContext}. The dashboard's script uses
+ * the default context; further scripts get their own context, so one JVM can drive several clients.
+ * Scripts run on {@link Workers#newBlockingExecutor(String) blocking workers}, which are virtual
+ * threads when {@code chromascape.virtualThreads} is set. At most {@code chromascape.maxInstances}
+ * (default 4) scripts run at once; starting another is rejected rather than queued, since a queued
+ * script could wait forever.
  */
 public class ScriptInstanceManager {
   private static ScriptInstanceManager instance;
-  private ScriptInstance currentInstance;
+
+  private final Map<String, ScriptInstance> instances = new ConcurrentHashMap<>();
+  private final AtomicInteger nextId = new AtomicInteger(1);
+  private final int maxInstances = Math.max(1, Integer.getInteger("chromascape.maxInstances", 4));
+  private final ExecutorService workers = Workers.newBlockingExecutor("script-worker");
 
   /** Private constructor to enforce singleton pattern. */
   private ScriptInstanceManager() {}
@@ -28,20 +46,87 @@ public class ScriptInstanceManager {
   }
 
   /**
-   * Sets the current active ScriptInstance.
+   * Returns a fresh id for a new context.
+   *
+   * @return a unique instance id
+   */
+  public String nextId() {
+    return "instance-" + nextId.getAndIncrement();
+  }
+
+  /**
+   * Registers an instance and starts it on a worker, replacing any finished instance with the same
+   * id.
+   *
+   * @param scriptInstance the instance to start
+   * @throws IllegalStateException if an instance with the same id is still running
+   * @throws RejectedExecutionException if {@code chromascape.maxInstances} scripts are running
+   */
+  public synchronized void start(ScriptInstance scriptInstance) {
+    String id = scriptInstance.getContext().getId();
+    ScriptInstance previous = instances.get(id);
+    if (previous != null && previous.isRunning()) {
+      throw new IllegalStateException("Instance " + id + " is already running");
+    }
+    long running = instances.values().stream().filter(ScriptInstance::isRunning).count();
+    if (running >= maxInstances) {
+      throw new RejectedExecutionException(maxInstances + " instances are already running");
+    }
+    scriptInstance.start(workers);
+    instances.put(id, scriptInstance);
+  }
+
+  /**
+   * Returns the instance with the given id.
+   *
+   * @param id the context id
+   * @return the instance, or null if none has been started with that id
+   */
+  public ScriptInstance get(String id) {
+    return instances.get(id);
+  }
+
+  /**
+   * Returns the context an id addresses: the default context for {@value ScriptContext#DEFAULT_ID},
+   * whether or not the dashboard's script has been started, else the context of that instance.
+   *
+   * @param id the context id
+   * @return the context, or null if no instance has been started with that id
+   */
+  public ScriptContext contextOf(String id) {
+    if (ScriptContext.DEFAULT_ID.equals(id)) {
+      return ScriptContext.getDefault();
+    }
+    ScriptInstance instance = instances.get(id);
+    return instance != null ? instance.getContext() : null;
+  }
+
+  /**
+   * Returns every instance that has been started, running or not.
+   *
+   * @return a snapshot of the instances
+   */
+  public List<ScriptInstance> getAll() {
+    return new ArrayList<>(instances.values());
+  }
+
+  /**
+   * Removes a stopped instance from the registry.
    *
-   * @param scriptInstance the ScriptInstance to set as current
+   * @param id the context id
+   * @return true if an instance was removed
    */
-  public void setInstance(ScriptInstance scriptInstance) {
-    this.currentInstance = scriptInstance;
+  public boolean remove(String id) {
+    ScriptInstance existing = instances.get(id);
+    return existing != null && !existing.isRunning() && instances.remove(id, existing);
   }
 
   /**
-   * Returns a reference to the current active ScriptInstance.
+   * Returns a reference to the dashboard's script instance.
    *
-   * @return the current ScriptInstance, or null if none is set
+   * @return the instance running in the default context, or null if none has been started
    */
   public ScriptInstance getInstanceRef() {
-    return currentInstance;
+    return instances.get(ScriptContext.DEFAULT_ID);
   }
 }
@@ -1,10 +1,8 @@
 package com.chromascape.web.instance;
 
-import java.io.IOException;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import com.chromascape.web.broadcast.Topic;
+import com.chromascape.web.broadcast.WebSocketBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
@@ -17,8 +15,9 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
  * connected WebSocket clients.
  *
  * <p>Clients subscribing to this endpoint will receive messages containing {@code "true"} if a
- * script is running, or {@code "false"} if no script is active. The handler maintains a thread-safe
- * set of active sessions and automatically handles client connect/disconnect events.
+ * script is running, or {@code "false"} if no script is active. Sessions are subscribed to the
+ * running state stream of the {@link WebSocketBroadcaster}, which only keeps the latest state for a
+ * client that is behind, and connect/disconnect events are handled automatically.
  *
  * <p>This component is typically registered in {@link
  * org.springframework.web.socket.config.annotation.WebSocketConfigurer} to expose a `/ws/state`
@@ -27,11 +26,11 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 @Component
 public class WebSocketStateHandler extends TextWebSocketHandler {
 
-  /** Logger for internal events and errors. */
-  private final Logger logger = LogManager.getLogger(this.getClass().getName());
+  /** Queues and sends the state to the connected sessions. */
+  private final WebSocketBroadcaster broadcaster;
 
-  /** Thread-safe set of all currently connected WebSocket sessions. */
-  private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+  /** The running state stream. */
+  private final Topic<Boolean> topic;
 
   /**
    * Tracks the last broadcasted state (running or not) to immediately synchronize new connections.
@@ -40,24 +39,33 @@ public class WebSocketStateHandler extends TextWebSocketHandler {
    */
   private volatile boolean lastState = false;
 
+  /**
+   * Constructs the handler.
+   *
+   * @param broadcaster the broadcaster sending to connected sessions
+   */
+  @Autowired
+  public WebSocketStateHandler(WebSocketBroadcaster broadcaster) {
+    this.broadcaster = broadcaster;
+    this.topic =
+        broadcaster.declare(
+            Topic.latest("state", running -> new TextMessage(Boolean.toString(running))));
+  }
+
   /**
    * Invoked after a new WebSocket connection is established.
    *
-   * <p>Adds the session to the active set and immediately sends the {@code lastState} so the client
-   * UI can sync its start/stop button without waiting for a new event.
+   * <p>Subscribes the session and immediately queues the {@code lastState} so the client UI can
+   * sync its start/stop button without waiting for a new event.
    *
    * @param session the session that was established
    */
   @Override
   public void afterConnectionEstablished(@Nullable WebSocketSession session) {
-    sessions.add(session);
-    // Send current state immediately to the new session
-    if (session != null && session.isOpen()) {
-      try {
-        session.sendMessage(new TextMessage(Boolean.toString(lastState)));
-      } catch (IOException e) {
-        logger.error("Failed to send initial state to client", e);
-      }
+    if (session != null) {
+      broadcaster.subscribe(topic, session);
+      // Send current state immediately to the new session
+      broadcaster.send(topic, session, lastState);
     }
   }
 
@@ -70,7 +78,9 @@ public class WebSocketStateHandler extends TextWebSocketHandler {
   @Override
   public void afterConnectionClosed(
       @Nullable WebSocketSession session, @Nullable CloseStatus status) {
-    sessions.remove(session);
+    if (session != null) {
+      broadcaster.unsubscribe(session);
+    }
   }
 
   /**
@@ -85,14 +95,6 @@ public class WebSocketStateHandler extends TextWebSocketHandler {
    */
   public void broadcast(boolean isRunning) {
     this.lastState = isRunning;
-    for (WebSocketSession session : sessions) {
-      if (session.isOpen()) {
-        try {
-          session.sendMessage(new TextMessage(Boolean.toString(isRunning)));
-        } catch (IOException e) {
-          logger.error("Failed to send running state to client", e);
-        }
-      }
-    }
+    broadcaster.publish(topic, isRunning);
   }
 }
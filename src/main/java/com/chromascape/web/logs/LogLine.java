@@ -0,0 +1,56 @@
+package com.chromascape.web.logs;
+
+/**
+ * One log event as captured on the logging thread, before it is serialised for the web UI.
+ *
+ * @param level The level name, e.g. {@code INFO}.
+ * @param message The formatted message.
+ */
+record LogLine(String level, String message) {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * Appends the event as a JSON object: {@code {"seq":..,"level":"..","message":".."}}.
+   *
+   * @param out The builder to append to.
+   * @param sequence Position of the event in the stream, so clients can skip ones they have.
+   */
+  void appendJson(StringBuilder out, long sequence) {
+    out.append("{\"seq\":").append(sequence).append(",\"level\":");
+    appendString(out, level);
+    out.append(",\"message\":");
+    appendString(out, message);
+    out.append('}');
+  }
+
+  /**
+   * Appends a string as a quoted JSON string, escaping what RFC 8259 requires.
+   *
+   * @param out The builder to append to.
+   * @param value The string, or null for an empty one.
+   */
+  static void appendString(StringBuilder out, String value) {
+    out.append('"');
+    if (value != null) {
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '"' -> out.append("\\\"");
+          case '\\' -> out.append("\\\\");
+          case '\n' -> out.append("\\n");
+          case '\r' -> out.append("\\r");
+          case '\t' -> out.append("\\t");
+          default -> {
+            if (c < 0x20) {
+              out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            } else {
+              out.append(c);
+            }
+          }
+        }
+      }
+    }
+    out.append('"');
+  }
+}
@@ -0,0 +1,101 @@
+package com.chromascape.web.logs;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded lock-free queue of log events, filled by any number of logging threads and emptied by
+ * the single thread that streams them.
+ *
+ * <p>Each slot carries a sequence number saying whose turn it is: a producer claims the next
+ * position with a compare-and-set, stores its event and publishes it by advancing the slot's
+ * sequence, and the consumer frees a slot by advancing it once more. Logging never waits: when the
+ * consumer has fallen a whole buffer behind, the event is counted and dropped.
+ *
+ * @param <E> The type of event.
+ */
+final class LogRing<E> {
+
+  private final int mask;
+  private final Object[] events;
+  private final AtomicLongArray sequences;
+
+  /** Next position a producer claims. */
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Next position the consumer takes, only touched by the consumer. */
+  private long head;
+
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * Constructs an empty ring.
+   *
+   * @param capacity Events the ring holds, rounded up to a power of two.
+   */
+  LogRing(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+    mask = size - 1;
+    events = new Object[size];
+    sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Adds an event without blocking. Safe to call from any thread.
+   *
+   * @param event The event.
+   * @return false if the ring was full and the event was dropped.
+   */
+  boolean offer(E event) {
+    while (true) {
+      long position = tail.get();
+      int slot = (int) position & mask;
+      long lag = sequences.get(slot) - position;
+      if (lag == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          events[slot] = event;
+          // Publishes the event to the consumer
+          sequences.lazySet(slot, position + 1);
+          return true;
+        }
+      } else if (lag < 0) {
+        // The slot still holds the event from a lap ago
+        dropped.increment();
+        return false;
+      }
+      // Otherwise another producer claimed this position first; try the next one
+    }
+  }
+
+  /**
+   * Removes the oldest event. Only called by the consumer thread.
+   *
+   * @return The event, or null if none has been published.
+   */
+  @SuppressWarnings("unchecked")
+  E poll() {
+    int slot = (int) head & mask;
+    if (sequences.get(slot) != head + 1) {
+      return null;
+    }
+    final E event = (E) events[slot];
+    events[slot] = null;
+    // Hands the slot back to producers for the next lap
+    sequences.lazySet(slot, head + events.length);
+    head++;
+    return event;
+  }
+
+  /**
+   * Returns the number of events dropped because the ring was full.
+   *
+   * @return The dropped count.
+   */
+  long getDropped() {
+    return dropped.sum();
+  }
+}
@@ -1,12 +1,16 @@
 package com.chromascape.web.logs;
 
-import java.io.IOException;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import com.chromascape.web.broadcast.Topic;
+import com.chromascape.web.broadcast.WebSocketBroadcaster;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
@@ -15,15 +19,28 @@ import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 /**
- * WebSocket handler for broadcasting log messages to connected clients.
+ * WebSocket handler for streaming log events to connected clients.
  *
- * <p>This handler manages active WebSocket sessions and provides a broadcast method for delivering
- * log messages to all connected clients. It is designed to be thread-safe and robust against
- * session disconnects and transport errors.
+ * <p>Logging threads only hand events to {@link #publish(String, String)}, which puts them in a
+ * lock-free {@link LogRing} of {@value #BUFFER_PROPERTY} events, {@value #DEFAULT_BUFFER} by
+ * default, and returns; an event that finds the ring full is dropped rather than making the script
+ * wait. A single stream thread empties the ring every {@value #FLUSH_MILLIS}ms, serialises the
+ * events that arrived meanwhile and sends them as one JSON array through the log stream of the
+ * {@link WebSocketBroadcaster}. Each event carries a sequence number:
+ *
+ * <pre>
+ * [{"seq":41,"level":"INFO","message":"Clicked bank"},{"seq":42,...}]
+ * </pre>
+ *
+ * <p>The stream thread keeps the last {@value #REPLAY_PROPERTY} events, {@value #DEFAULT_REPLAY} by
+ * default, and sends them as the first message to a client that connects, so a page opened late
+ * still shows what led up to now. Every batch matters, so each session keeps up to {@value
+ * #CAPACITY_PROPERTY} of them, {@value #DEFAULT_CAPACITY} by default, in order; a client that falls
+ * further behind loses the oldest ones rather than holding up the application or its memory.
  *
  * <p>Usage: Register this handler as a bean in your Spring application context and wire it in your
- * WebSocket config. The {@code broadcast} method should be called by your log appender whenever a
- * new log message is available for real-time delivery.
+ * WebSocket config. The {@code publish} method should be called by your log appender whenever a new
+ * log event is available for real-time delivery.
  *
  * <p>All log messages and transport errors are recorded via SLF4J for operational visibility.
  *
@@ -33,36 +50,96 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 @Component
 public class LogWebSocketHandler extends TextWebSocketHandler {
 
+  /** System property holding how many batches of log events may wait for one client. */
+  public static final String CAPACITY_PROPERTY = "chromascape.ws.logCapacity";
+
+  /** Default number of batches that may wait for one client. */
+  public static final int DEFAULT_CAPACITY = 256;
+
+  /** System property holding how many events the ring buffer holds before dropping. */
+  public static final String BUFFER_PROPERTY = "chromascape.ws.logBuffer";
+
+  /** Default ring buffer size. */
+  public static final int DEFAULT_BUFFER = 8192;
+
+  /** System property holding how many recent events a new client is sent. */
+  public static final String REPLAY_PROPERTY = "chromascape.ws.logReplay";
+
+  /** Default number of events replayed. */
+  public static final int DEFAULT_REPLAY = 200;
+
+  /** How long the stream thread gathers events before sending them. */
+  public static final int FLUSH_MILLIS = 50;
+
+  /** Most events in one message. */
+  private static final int MAX_BATCH = 256;
+
   /** SLF4J logger for connection and error events. */
   private static final Logger logger = LoggerFactory.getLogger(LogWebSocketHandler.class);
 
+  /** Queues and sends messages to the connected sessions. */
+  private final WebSocketBroadcaster broadcaster;
+
+  /** The log stream, whose messages are JSON arrays of events. */
+  private final Topic<String> topic;
+
+  /** Events waiting for the stream thread. */
+  private final LogRing<LogLine> ring =
+      new LogRing<>(Math.max(2, Integer.getInteger(BUFFER_PROPERTY, DEFAULT_BUFFER)));
+
+  /** Most events kept for replay. */
+  private final int replaySize = Math.max(0, Integer.getInteger(REPLAY_PROPERTY, DEFAULT_REPLAY));
+
+  /** The last events sent, serialised, only touched by the stream thread. */
+  private final ArrayDeque<String> history = new ArrayDeque<>();
+
+  /** Sessions waiting for the stream thread to replay the history and subscribe them. */
+  private final Queue<WebSocketSession> joining = new ConcurrentLinkedQueue<>();
+
+  /** Sequence number of the next event, only touched by the stream thread. */
+  private long sequence;
+
+  private final Thread streamThread;
+  private volatile boolean running = true;
+
   /**
-   * Thread-safe set of active WebSocket sessions. {@link CopyOnWriteArraySet} is used to avoid
-   * concurrent modification issues during broadcast.
+   * Constructs the handler.
+   *
+   * @param broadcaster the broadcaster sending to connected sessions
    */
-  private final Set<WebSocketSession> sessions = new CopyOnWriteArraySet<>();
-
-  /** Executor service to send WebSocket requests without blocking the main thread. */
-  private final ExecutorService wsExecutor = Executors.newCachedThreadPool();
+  @Autowired
+  public LogWebSocketHandler(WebSocketBroadcaster broadcaster) {
+    this.broadcaster = broadcaster;
+    this.topic =
+        broadcaster.declare(
+            Topic.bounded(
+                "logs",
+                Math.max(1, Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY)),
+                TextMessage::new));
+    this.streamThread = new Thread(this::stream, "LogStream");
+    streamThread.setDaemon(true);
+    streamThread.start();
+  }
 
   /**
-   * Called when a new WebSocket connection is established. Adds the session to the active set and
-   * logs the connection.
+   * Called when a new WebSocket connection is established. Hands the session to the stream thread,
+   * which replays the recent events to it before any newer ones, and logs the connection.
    *
    * @param session the new WebSocket session (maybe null, per Spring contract)
    */
   @Override
   public void afterConnectionEstablished(@Nullable WebSocketSession session) {
-    sessions.add(session);
     // Defensive null check; session is typically non-null after establishment.
     if (session != null) {
+      joining.add(session);
+      LockSupport.unpark(streamThread);
       logger.info("WebSocket client connected");
     }
   }
 
   /**
-   * Called when a WebSocket connection is closed. Removes the session from the active set and logs
-   * the disconnection.
+   * Called when a WebSocket connection is closed. Unsubscribes the session and logs the
+   * disconnection.
    *
    * @param session the closed WebSocket session (maybe null)
    * @param status the close status (maybe null)
@@ -70,14 +147,15 @@ public class LogWebSocketHandler extends TextWebSocketHandler {
   @Override
   public void afterConnectionClosed(
       @Nullable WebSocketSession session, @Nullable CloseStatus status) {
-    sessions.remove(session);
     if (session != null) {
+      joining.remove(session);
+      broadcaster.unsubscribe(session);
       logger.info("WebSocket client disconnected");
     }
   }
 
   /**
-   * Called when a transport error occurs for a session. Removes the session, closes it with a
+   * Called when a transport error occurs for a session. Unsubscribes the session, closes it with a
    * server error status, and logs the error.
    *
    * @param session the affected WebSocket session (maybe null)
@@ -87,8 +165,9 @@ public class LogWebSocketHandler extends TextWebSocketHandler {
   @Override
   public void handleTransportError(
       @Nullable WebSocketSession session, @Nullable Throwable exception) throws Exception {
-    sessions.remove(session);
     if (session != null) {
+      joining.remove(session);
+      broadcaster.unsubscribe(session);
       session.close(CloseStatus.SERVER_ERROR);
       assert exception != null;
       logger.error("WebSocket transport error for session: {}", exception.getMessage());
@@ -96,26 +175,105 @@ public class LogWebSocketHandler extends TextWebSocketHandler {
   }
 
   /**
-   * Broadcasts a message to all connected WebSocket clients. If a session fails to receive the
-   * message, it is removed from the active set and the failure is logged.
+   * Hands a log event to the stream thread without blocking. Safe to call from any thread.
+   *
+   * @param level the level name, e.g. {@code INFO}
+   * @param message the formatted message
+   * @return false if the ring buffer was full and the event was dropped
+   */
+  public boolean publish(String level, String message) {
+    return ring.offer(new LogLine(level, message));
+  }
+
+  /**
+   * Returns the number of events dropped because the stream thread had fallen a whole ring buffer
+   * behind.
+   *
+   * @return the dropped event count
+   */
+  public long getDroppedEvents() {
+    return ring.getDropped();
+  }
+
+  /** Stops the stream thread; events published afterwards are never sent. */
+  @PreDestroy
+  public void stop() {
+    running = false;
+    LockSupport.unpark(streamThread);
+  }
+
+  /** Body of the stream thread: sends what arrived in batches, then admits new sessions. */
+  private void stream() {
+    StringBuilder batch = new StringBuilder();
+    while (running) {
+      int count;
+      try {
+        count = sendBatch(batch);
+        admitJoining();
+      } catch (RuntimeException e) {
+        // Logged events land back in the ring, which is fine: this thread is still alive
+        logger.error("Failed to stream log events: {}", e.getMessage());
+        count = 0;
+      }
+      if (count < MAX_BATCH) {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_MILLIS));
+      }
+    }
+  }
+
+  /**
+   * Serialises up to {@link #MAX_BATCH} waiting events into one message and queues it for every
+   * subscribed session.
    *
-   * @param message the message to broadcast
+   * @param batch a builder to reuse
+   * @return the number of events sent
+   */
+  private int sendBatch(StringBuilder batch) {
+    batch.setLength(0);
+    batch.append('[');
+    int count = 0;
+    LogLine line;
+    while (count < MAX_BATCH && (line = ring.poll()) != null) {
+      if (count > 0) {
+        batch.append(',');
+      }
+      int start = batch.length();
+      line.appendJson(batch, sequence++);
+      remember(batch.substring(start));
+      count++;
+    }
+    if (count > 0) {
+      broadcaster.publish(topic, batch.append(']').toString());
+    }
+    return count;
+  }
+
+  /** Keeps a serialised event for replay, forgetting the oldest beyond the replay size. */
+  private void remember(String event) {
+    if (replaySize == 0) {
+      return;
+    }
+    if (history.size() == replaySize) {
+      history.pollFirst();
+    }
+    history.addLast(event);
+  }
+
+  /**
+   * Subscribes the sessions that connected since the last batch and sends them the history. Done on
+   * the stream thread, so a new session gets every event exactly once: those before it from the
+   * history and those after it from the batches that follow.
    */
-  public void broadcast(String message) {
-    for (WebSocketSession session : sessions) {
-      wsExecutor.submit(
-          () -> {
-            try {
-              synchronized (session) {
-                if (session.isOpen()) {
-                  session.sendMessage(new TextMessage(message));
-                }
-              }
-            } catch (IOException e) {
-              sessions.remove(session);
-              logger.warn("Failed to send message to session: {}", e.getMessage());
-            }
-          });
+  private void admitJoining() {
+    WebSocketSession session;
+    while ((session = joining.poll()) != null) {
+      if (!session.isOpen()) {
+        continue;
+      }
+      broadcaster.subscribe(topic, session);
+      if (!history.isEmpty()) {
+        broadcaster.send(topic, session, "[" + String.join(",", history) + "]");
+      }
     }
   }
 }
@@ -8,11 +8,12 @@ import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 
 /**
- * A custom Log4j2 appender that broadcasts log messages to all connected WebSocket clients.
+ * A custom Log4j2 appender that streams log messages to all connected WebSocket clients.
  *
  * <p>This appender is intended for use in a Spring Boot application where {@link
- * LogWebSocketHandler} manages client connections. Each log message emitted by Log4j2 will be sent
- * to every active WebSocket session via the {@code broadcast} method.
+ * LogWebSocketHandler} manages client connections. Each log event emitted by Log4j2 is handed to
+ * the handler's {@code publish} method, which only puts it in a ring buffer, so the logging thread
+ * never waits for serialisation or a WebSocket send.
  *
  * <p>Typical usage involves registering this appender in {@code log4j2.xml} and configuring the
  * WebSocket handler via Spring. See documentation for wiring instructions.
@@ -77,8 +78,9 @@ public class WebSocketLogAppender extends AbstractAppender {
   }
 
   /**
-   * Called by Log4j2 for each log event. Broadcasts the formatted log message to all connected
-   * WebSocket clients. If the handler is not set, the message is silently dropped.
+   * Called by Log4j2 for each log event. Hands the level and formatted message to the handler,
+   * which streams them to all connected WebSocket clients. If the handler is not set, the message
+   * is silently dropped.
    *
    * @param event the log event to append/broadcast
    */
@@ -88,20 +90,7 @@ public class WebSocketLogAppender extends AbstractAppender {
       // Handler not configured; drop message.
       return;
     }
-    String level = event.getLevel().name();
-    String message = event.getMessage().getFormattedMessage();
-    // Simple JSON construction (escaping quotes in message is prudent but assuming
-    // simple logs for now)
-    // A more robust way would be using a library, but this keeps deps low.
-    String json =
-        String.format(
-            "{\"level\": \"%s\", \"message\": \"%s\"}",
-            level, message.replace("\"", "\\\"").replace("\n", " ").replace("\r", ""));
-
-    try {
-      webSocketHandler.broadcast(json);
-    } catch (Exception e) {
-      System.err.println("Failed to broadcast log: " + e.getMessage());
-    }
+    // Mutable message parameters must be formatted now; serialising waits for the stream thread
+    webSocketHandler.publish(event.getLevel().name(), event.getMessage().getFormattedMessage());
   }
 }
@@ -1,11 +1,10 @@
 package com.chromascape.web.state;
 
 import com.chromascape.utils.core.state.BotState;
-import java.io.IOException;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.chromascape.web.broadcast.Topic;
+import com.chromascape.web.broadcast.WebSocketBroadcaster;
+import com.chromascape.web.instance.InstanceChannel;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
@@ -17,9 +16,10 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
  * WebSocket handler responsible for broadcasting the bot's current semantic state to all connected
  * frontend clients.
  *
- * <p>This handler manages a thread-safe set of active WebSocket sessions. It listens for
- * connections at {@code /ws/semantic-state} and provides methods to push state updates via JSON
- * messages containing the state name, display label, and CSS styling class.
+ * <p>This handler subscribes connecting sessions to the semantic state stream of the {@link
+ * WebSocketBroadcaster}. It listens for connections at {@code /ws/semantic-state} and provides
+ * methods to push state updates via JSON messages containing the state name, display label, and CSS
+ * styling class. Only the current state matters, so a client that is behind skips to it.
  *
  * @see com.chromascape.utils.core.state.BotState
  * @see WebsocketBotStateListener
@@ -27,21 +27,36 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 @Component
 public class SemanticWebSocketHandler extends TextWebSocketHandler {
 
-  private static final Logger logger = LoggerFactory.getLogger(SemanticWebSocketHandler.class);
-  private final Set<WebSocketSession> sessions = new CopyOnWriteArraySet<>();
+  private final WebSocketBroadcaster broadcaster;
+  private final Topic<BotState> topic;
 
   /**
-   * Registers a new WebSocket session when a client connects.
+   * Constructs the handler.
+   *
+   * @param broadcaster the broadcaster sending to connected sessions
+   */
+  @Autowired
+  public SemanticWebSocketHandler(WebSocketBroadcaster broadcaster) {
+    this.broadcaster = broadcaster;
+    this.topic =
+        broadcaster.declare(
+            Topic.latest("semantic-state", state -> new TextMessage(toJson(state))));
+  }
+
+  /**
+   * Subscribes a new WebSocket session when a client connects.
    *
    * @param session the new WebSocket session
    */
   @Override
   public void afterConnectionEstablished(@Nullable WebSocketSession session) {
-    sessions.add(session);
+    if (session != null) {
+      broadcaster.subscribe(topic, session);
+    }
   }
 
   /**
-   * Removes a WebSocket session when the connection is closed.
+   * Unsubscribes a WebSocket session when the connection is closed.
    *
    * @param session the closed WebSocket session
    * @param status the closure status
@@ -49,11 +64,14 @@ public class SemanticWebSocketHandler extends TextWebSocketHandler {
   @Override
   public void afterConnectionClosed(
       @Nullable WebSocketSession session, @Nullable CloseStatus status) {
-    sessions.remove(session);
+    if (session != null) {
+      broadcaster.unsubscribe(session);
+    }
   }
 
   /**
-   * Broadcasts the specified {@link BotState} to all currently connected WebSocket sessions.
+   * Broadcasts the specified {@link BotState} to all currently connected WebSocket sessions that
+   * follow the given script instance (see {@link InstanceChannel}).
    *
    * <p>The state is serialized into a JSON object with the following fields:
    *
@@ -63,26 +81,16 @@ public class SemanticWebSocketHandler extends TextWebSocketHandler {
    *   <li>{@code css}: The associated CSS class for styling UI elements.
    * </ul>
    *
+   * @param instanceId the id of the instance whose state changed
    * @param state the new state to broadcast; must not be null
    */
-  public void broadcastState(BotState state) {
-    String json =
-        String.format(
-            "{\"state\": \"%s\", \"label\": \"%s\", \"css\": \"%s\"}",
-            state.name(), state.getDisplayName(), state.getCssClass());
+  public void broadcastState(String instanceId, BotState state) {
+    broadcaster.publish(topic, instanceId, state);
+  }
 
-    for (WebSocketSession session : sessions) {
-      if (session.isOpen()) {
-        try {
-          synchronized (session) {
-            if (session.isOpen()) {
-              session.sendMessage(new TextMessage(json));
-            }
-          }
-        } catch (IOException e) {
-          logger.warn("Failed to send state update: {}", e.getMessage());
-        }
-      }
-    }
+  private static String toJson(BotState state) {
+    return String.format(
+        "{\"state\": \"%s\", \"label\": \"%s\", \"css\": \"%s\"}",
+        state.name(), state.getDisplayName(), state.getCssClass());
   }
 }
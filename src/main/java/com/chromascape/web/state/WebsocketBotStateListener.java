@@ -1,5 +1,6 @@
 package com.chromascape.web.state;
 
+import com.chromascape.utils.core.runtime.ScriptContext;
 import com.chromascape.utils.core.state.BotState;
 import com.chromascape.utils.core.state.BotStateListener;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,12 +41,13 @@ public class WebsocketBotStateListener implements BotStateListener {
    * Invoked when the bot's state changes.
    *
    * <p>This method delegates the new state to the {@link SemanticWebSocketHandler} to be broadcast
-   * to all active WebSocket sessions.
+   * to all active WebSocket sessions following the script that changed state. It is called on that
+   * script's thread, so {@link ScriptContext#current()} identifies it.
    *
    * @param state the new {@link BotState} of the application
    */
   @Override
   public void onStateChange(BotState state) {
-    handler.broadcastState(state);
+    handler.broadcastState(ScriptContext.current().getId(), state);
   }
 }
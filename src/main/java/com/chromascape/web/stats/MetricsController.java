@@ -0,0 +1,42 @@
+package com.chromascape.web.stats;
+
+import com.chromascape.utils.core.metrics.MetricsRegistry;
+import com.chromascape.utils.core.metrics.PrometheusFormat;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.web.instance.ScriptInstance;
+import com.chromascape.web.instance.ScriptInstanceManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the metrics of every script instance in the Prometheus text format.
+ *
+ * <p>Scrape it with a job such as {@code static_configs: [{targets: ['localhost:8080']}]}; each
+ * series carries a {@value PrometheusFormat#INSTANCE_LABEL} label, so running scripts can be told
+ * apart. Nothing is computed between scrapes.
+ */
+@RestController
+public class MetricsController {
+
+  /**
+   * Returns the metrics of the default context and every script instance.
+   *
+   * @return HTTP 200 with the exposition text
+   */
+  @GetMapping("/metrics")
+  public ResponseEntity<String> getMetrics() {
+    Map<String, MetricsRegistry> registries = new LinkedHashMap<>();
+    registries.put(ScriptContext.DEFAULT_ID, ScriptContext.getDefault().metrics());
+    for (ScriptInstance instance : ScriptInstanceManager.getInstance().getAll()) {
+      ScriptContext context = instance.getContext();
+      registries.putIfAbsent(context.getId(), context.metrics());
+    }
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_TYPE, PrometheusFormat.CONTENT_TYPE)
+        .body(PrometheusFormat.write(registries));
+  }
+}
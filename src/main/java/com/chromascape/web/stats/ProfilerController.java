@@ -0,0 +1,82 @@
+package com.chromascape.web.stats;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.statistics.StageProfiler;
+import com.chromascape.utils.core.statistics.StageProfiler.StageSummary;
+import com.chromascape.utils.core.statistics.WaitStatistics;
+import com.chromascape.utils.core.statistics.WaitStatistics.WaitSummary;
+import com.chromascape.web.instance.ScriptInstanceManager;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the per-stage timings collected by the {@link StageProfiler}, and the
+ * per-condition wait metrics collected by {@link WaitStatistics}.
+ *
+ * <p>The same data is pushed every second on the statistics WebSocket; this endpoint is for tooling
+ * that wants to poll or reset it. The stage timings and wait metrics belong to one script instance,
+ * chosen with the {@code instance} parameter, e.g. {@code /api/profiler?instance=2}; without it
+ * they are those of the dashboard's script.
+ */
+@RestController
+@RequestMapping("/api")
+public class ProfilerController {
+
+  /**
+   * Returns the timings of every stage recorded since an instance's script started.
+   *
+   * @param instance the instance id
+   * @return HTTP 200 with one entry per stage, most self time first, or 404 if the instance is
+   *     unknown
+   */
+  @GetMapping("/profiler")
+  public ResponseEntity<List<StageSummary>> getProfile(
+      @RequestParam(defaultValue = ScriptContext.DEFAULT_ID) String instance) {
+    ScriptContext context = ScriptInstanceManager.getInstance().contextOf(instance);
+    if (context == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(context.profiler().snapshot());
+  }
+
+  /**
+   * Returns the metrics of every named wait condition since an instance's script started.
+   *
+   * @param instance the instance id
+   * @return HTTP 200 with one entry per condition, most polls first, or 404 if the instance is
+   *     unknown
+   */
+  @GetMapping("/profiler/waits")
+  public ResponseEntity<List<WaitSummary>> getWaits(
+      @RequestParam(defaultValue = ScriptContext.DEFAULT_ID) String instance) {
+    ScriptContext context = ScriptInstanceManager.getInstance().contextOf(instance);
+    if (context == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(context.waits().snapshot());
+  }
+
+  /**
+   * Clears an instance's recorded timings and wait metrics, e.g. to measure a single phase of a
+   * running script.
+   *
+   * @param instance the instance id
+   * @return HTTP 200 once cleared, or 404 if the instance is unknown
+   */
+  @PostMapping("/profiler/reset")
+  public ResponseEntity<Object> resetProfile(
+      @RequestParam(defaultValue = ScriptContext.DEFAULT_ID) String instance) {
+    ScriptContext context = ScriptInstanceManager.getInstance().contextOf(instance);
+    if (context == null) {
+      return ResponseEntity.notFound().build();
+    }
+    context.profiler().reset();
+    context.waits().reset();
+    return ResponseEntity.ok().build();
+  }
+}
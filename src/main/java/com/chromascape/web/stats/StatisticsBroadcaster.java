@@ -1,7 +1,14 @@
 package com.chromascape.web.stats;
 
-import com.chromascape.utils.core.statistics.StatisticsManager;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.statistics.ScriptStatistics;
+import com.chromascape.utils.core.statistics.StageProfiler;
+import com.chromascape.web.instance.ScriptInstanceManager;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -10,13 +17,17 @@ import org.springframework.stereotype.Component;
  * Component responsible for broadcasting application statistics to connected WebSocket clients.
  *
  * <p>This class executes a scheduled task every second to aggregate performance metrics from the
- * {@link StatisticsManager} (such as uptime, CPU cycles, inputs, and object detections). These
- * metrics are formatted into a JSON payload and sent to the {@link StatisticsWebSocketHandler}.
+ * {@link ScriptStatistics} of each followed script instance (such as uptime, CPU cycles, inputs,
+ * and object detections). These metrics are formatted into a JSON payload and sent to the {@link
+ * StatisticsWebSocketHandler}.
  */
 @Component
 public class StatisticsBroadcaster {
 
+  private static final Logger logger = LoggerFactory.getLogger(StatisticsBroadcaster.class);
+
   private final StatisticsWebSocketHandler handler;
+  private final ObjectMapper mapper = new ObjectMapper();
 
   /**
    * Constructs a new broadcaster with the given WebSocket handler.
@@ -38,24 +49,52 @@ public class StatisticsBroadcaster {
    *   <li>Logic Cycles
    *   <li>Input Actions
    *   <li>Objects Detected
+   *   <li>Per-stage timings from the {@link StageProfiler}
    * </ul>
    *
-   * <p>The data is serialized into a simple JSON string before broadcast.
+   * <p>The data is serialized into a simple JSON string before broadcast. Each followed script
+   * instance gets its own payload, with its own stage timings.
    */
   @Scheduled(fixedRate = 1000)
   public void pushStats() {
-    long elapsedTime = StatisticsManager.getElapsedTime();
-    String duration = formatDuration(elapsedTime);
-    int cycles = StatisticsManager.getCycles();
-    int inputs = StatisticsManager.getInputs();
-    int objects = StatisticsManager.getObjectsDetected();
+    for (String id : handler.followedInstances()) {
+      ScriptContext context = ScriptInstanceManager.getInstance().contextOf(id);
+      if (context != null) {
+        handler.broadcast(id, toJson(context.statistics(), stageTimings(context.profiler())));
+      }
+    }
+  }
 
-    String json =
-        String.format(
-            "{\"time\": \"%s\", \"cycles\": %d, \"inputs\": %d, \"objects\": %d}",
-            duration, cycles, inputs, objects);
+  /**
+   * Serialises an instance's stage timings.
+   *
+   * @param profiler the instance's profile
+   * @return a JSON array
+   */
+  private String stageTimings(StageProfiler profiler) {
+    try {
+      return mapper.writeValueAsString(profiler.snapshot());
+    } catch (JsonProcessingException e) {
+      logger.warn("Failed to serialise stage timings: {}", e.getMessage());
+      return "[]";
+    }
+  }
 
-    handler.broadcast(json);
+  /**
+   * Formats one instance's statistics as the JSON payload sent to clients.
+   *
+   * @param statistics the instance's statistics
+   * @param stages the serialised stage timings
+   * @return the payload
+   */
+  private String toJson(ScriptStatistics statistics, String stages) {
+    String duration = formatDuration(statistics.getElapsedTime());
+    int cycles = statistics.getCycles();
+    int inputs = statistics.getInputs();
+    int objects = statistics.getObjectsDetected();
+    return String.format(
+        "{\"time\": \"%s\", \"cycles\": %d, \"inputs\": %d, \"objects\": %d, \"stages\": %s}",
+        duration, cycles, inputs, objects, stages);
   }
 
   /**
@@ -1,10 +1,11 @@
 package com.chromascape.web.stats;
 
-import java.io.IOException;
+import com.chromascape.web.broadcast.Topic;
+import com.chromascape.web.broadcast.WebSocketBroadcaster;
+import com.chromascape.web.instance.InstanceChannel;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
@@ -15,28 +16,37 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 /**
  * WebSocket handler that manages connections for the statistics endpoint.
  *
- * <p>Listens on {@code /ws/stats}. This handler maintains a registry of active sessions and
- * provides a mechanism to broadcast statistical data updates to all connected clients in real-time.
+ * <p>Listens on {@code /ws/stats}. This handler subscribes connecting sessions to the statistics
+ * stream of the {@link WebSocketBroadcaster}, which delivers updates to all connected clients in
+ * real-time. Each client follows one script instance, chosen with the {@code instance} query
+ * parameter (see {@link InstanceChannel}). Each update supersedes the last, so a client that is
+ * still being sent one when the next is due skips straight to the newest.
  */
 @Component
 public class StatisticsWebSocketHandler extends TextWebSocketHandler {
 
-  private static final Logger logger = LoggerFactory.getLogger(StatisticsWebSocketHandler.class);
+  /** Queues and sends updates to the connected sessions. */
+  private final WebSocketBroadcaster broadcaster;
+
+  /** The statistics stream. */
+  private final Topic<String> topic;
 
   /**
-   * A thread-safe set of active WebSocket sessions.
+   * Constructs the handler.
    *
-   * <p>{@link CopyOnWriteArraySet} is used here to ensure safe iteration during broadcasts while
-   * allowing concurrent additions and removals of sessions.
+   * @param broadcaster the broadcaster sending to connected sessions
    */
-  private final Set<WebSocketSession> sessions = new CopyOnWriteArraySet<>();
+  @Autowired
+  public StatisticsWebSocketHandler(WebSocketBroadcaster broadcaster) {
+    this.broadcaster = broadcaster;
+    this.topic = broadcaster.declare(Topic.latest("stats", TextMessage::new));
+  }
 
   /**
    * Invoked after a WebSocket negotiation has succeeded and the WebSocket connection is opened and
    * ready for use.
    *
-   * <p>This implementation registers the new session in the tracking set to receive future
-   * broadcasts.
+   * <p>This implementation subscribes the new session to future broadcasts.
    *
    * @param session the new {@link WebSocketSession}; may be {@code null} if the framework passes a
    *     null session (though unlikely in standard Spring WebSocket flow)
@@ -44,7 +54,7 @@ public class StatisticsWebSocketHandler extends TextWebSocketHandler {
   @Override
   public void afterConnectionEstablished(@Nullable WebSocketSession session) {
     if (session != null) {
-      sessions.add(session);
+      broadcaster.subscribe(topic, session);
     }
   }
 
@@ -52,8 +62,8 @@ public class StatisticsWebSocketHandler extends TextWebSocketHandler {
    * Invoked after the WebSocket connection has been closed by either side, or after a transport
    * error has occurred.
    *
-   * <p>This implementation removes the session from the tracking set to prevent memory leaks and
-   * attempted writes to closed connections.
+   * <p>This implementation unsubscribes the session to prevent memory leaks and attempted writes to
+   * closed connections.
    *
    * @param session the {@link WebSocketSession} that was closed
    * @param status the close status code and reason
@@ -62,30 +72,30 @@ public class StatisticsWebSocketHandler extends TextWebSocketHandler {
   public void afterConnectionClosed(
       @Nullable WebSocketSession session, @Nullable CloseStatus status) {
     if (session != null) {
-      sessions.remove(session);
+      broadcaster.unsubscribe(session);
     }
   }
 
   /**
-   * Broadcasts the provided statistics JSON string to all currently connected and open clients.
+   * Returns the ids of the instances followed by at least one open session.
    *
-   * <p>If a session is closed or encounters an I/O error during sending, the exception is logged,
-   * but the broadcast continues to other clients.
+   * @return The followed instance ids.
+   */
+  public Set<String> followedInstances() {
+    Set<String> ids = new HashSet<>();
+    for (WebSocketSession session : broadcaster.sessions(topic)) {
+      ids.add(InstanceChannel.of(session));
+    }
+    return ids;
+  }
+
+  /**
+   * Queues the provided statistics JSON string for all connected clients following an instance.
    *
+   * @param instanceId The instance the stats belong to.
    * @param statsJson The JSON string containing the current stats to be sent to clients.
    */
-  public void broadcast(String statsJson) {
-    if (sessions.isEmpty()) {
-      return;
-    }
-    for (WebSocketSession session : sessions) {
-      if (session.isOpen()) {
-        try {
-          session.sendMessage(new TextMessage(statsJson));
-        } catch (IOException e) {
-          logger.warn("Failed to send stats update: {}", e.getMessage());
-        }
-      }
-    }
+  public void broadcast(String instanceId, String statsJson) {
+    broadcaster.publish(topic, instanceId, statsJson);
   }
 }
@@ -0,0 +1,178 @@
+package com.chromascape.web.viewport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Rect;
+
+/**
+ * Turns one instance's viewport frames into {@link ViewportFrame} updates that only carry the tiles
+ * that changed.
+ *
+ * <p>Each frame is split into {@value #TILE_SIZE} pixel square tiles, which are reduced to a hash
+ * of their bytes and compared with the previous frame's. Only changed tiles are encoded, and a
+ * frame in which nothing changed produces no update at all, so a mask that is redrawn identically
+ * on every {@code getChromaObjsInColour} call costs a hash pass rather than an encode and a send.
+ *
+ * <p>The whole frame is sent instead when a viewer needs it to start from, when the size changes,
+ * when most tiles changed anyway, and at least as often as {@value #KEYFRAME_PROPERTY} says, every
+ * {@value #DEFAULT_KEYFRAME_SECONDS} seconds by default, so a client can never drift from the
+ * server's copy for long.
+ *
+ * <p>Instances are used by the viewport's single worker, so they are not thread-safe.
+ */
+public class TileDeltaEncoder {
+
+  /** Side length of a tile, in pixels. A multiple of the JPEG block size. */
+  public static final int TILE_SIZE = 64;
+
+  /** System property holding the longest time between keyframes, in seconds. */
+  public static final String KEYFRAME_PROPERTY = "chromascape.viewport.keyframeSeconds";
+
+  /** Default longest time between keyframes. */
+  public static final int DEFAULT_KEYFRAME_SECONDS = 10;
+
+  /** Above this fraction of changed tiles one whole frame is cheaper than the separate tiles. */
+  private static final double MAX_CHANGED_FRACTION = 0.5;
+
+  private final ViewportEncoder encoder;
+  private final long keyframeIntervalNanos;
+
+  // The previous frame, as the client last had it
+  private long[] hashes;
+  private int width;
+  private int height;
+  private int channels;
+  private long lastKeyframeNanos;
+  private byte[] pixels = new byte[0];
+
+  /**
+   * Constructs an encoder with the keyframe interval from {@value #KEYFRAME_PROPERTY}.
+   *
+   * @param encoder Encodes tiles and records the cost of each update.
+   */
+  public TileDeltaEncoder(ViewportEncoder encoder) {
+    this(
+        encoder,
+        TimeUnit.SECONDS.toNanos(
+            Math.max(1, Integer.getInteger(KEYFRAME_PROPERTY, DEFAULT_KEYFRAME_SECONDS))));
+  }
+
+  /**
+   * Constructs an encoder.
+   *
+   * @param encoder Encodes tiles and records the cost of each update.
+   * @param keyframeIntervalNanos Longest time between keyframes, in nanoseconds.
+   */
+  public TileDeltaEncoder(ViewportEncoder encoder, long keyframeIntervalNanos) {
+    this.encoder = encoder;
+    this.keyframeIntervalNanos = keyframeIntervalNanos;
+  }
+
+  /**
+   * Compares a frame with the previous one and encodes what changed, then releases the frame.
+   *
+   * @param frame A frame from {@link ViewportEncoder#prepare(Mat)}.
+   * @param keyframeWanted Whether a viewer needs the whole frame, e.g. because it just connected.
+   * @return The update, or {@code null} if the frame matches the previous one.
+   */
+  public ViewportFrame encode(Mat frame, boolean keyframeWanted) {
+    try {
+      long start = System.nanoTime();
+      long[] current = tileHashes(frame);
+      boolean sameShape =
+          hashes != null
+              && frame.cols() == width
+              && frame.rows() == height
+              && frame.channels() == channels;
+
+      List<Integer> changed = new ArrayList<>();
+      if (sameShape) {
+        for (int i = 0; i < current.length; i++) {
+          if (current[i] != hashes[i]) {
+            changed.add(i);
+          }
+        }
+      }
+      final boolean keyframe =
+          keyframeWanted
+              || !sameShape
+              || start - lastKeyframeNanos >= keyframeIntervalNanos
+              || changed.size() > current.length * MAX_CHANGED_FRACTION;
+
+      hashes = current;
+      width = frame.cols();
+      height = frame.rows();
+      channels = frame.channels();
+
+      ViewportFrame update;
+      if (keyframe) {
+        update = ViewportFrame.keyframe(width, height, encoder.encode(frame));
+        lastKeyframeNanos = start;
+      } else if (changed.isEmpty()) {
+        encoder.recordUnchanged();
+        return null;
+      } else {
+        update = ViewportFrame.delta(width, height, encodeTiles(frame, changed));
+      }
+      encoder.recordFrame(System.nanoTime() - start, update.byteSize(), keyframe);
+      return update;
+    } finally {
+      frame.release();
+    }
+  }
+
+  /** Encodes the given tiles of a frame, each as its own image. */
+  private List<ViewportFrame.Patch> encodeTiles(Mat frame, List<Integer> tiles) {
+    int tilesX = tilesAcross(width);
+    List<ViewportFrame.Patch> patches = new ArrayList<>(tiles.size());
+    for (int tile : tiles) {
+      int x = (tile % tilesX) * TILE_SIZE;
+      int y = (tile / tilesX) * TILE_SIZE;
+      int tileWidth = Math.min(TILE_SIZE, width - x);
+      int tileHeight = Math.min(TILE_SIZE, height - y);
+      try (Rect rect = new Rect(x, y, tileWidth, tileHeight);
+          Mat region = new Mat(frame, rect)) {
+        patches.add(new ViewportFrame.Patch(x, y, tileWidth, tileHeight, encoder.encode(region)));
+      }
+    }
+    return patches;
+  }
+
+  /**
+   * Reduces a frame to one hash per tile.
+   *
+   * @param frame A continuous frame.
+   * @return The tile hashes in row-major order.
+   */
+  private long[] tileHashes(Mat frame) {
+    int frameWidth = frame.cols();
+    int frameHeight = frame.rows();
+    int rowBytes = frameWidth * frame.channels();
+    int length = rowBytes * frameHeight;
+    if (pixels.length < length) {
+      pixels = new byte[length];
+    }
+    frame.data().get(pixels, 0, length);
+
+    int tilesX = tilesAcross(frameWidth);
+    int tileBytes = TILE_SIZE * frame.channels();
+    long[] result = new long[tilesX * tilesAcross(frameHeight)];
+    Arrays.fill(result, 1125899906842597L);
+    for (int y = 0; y < frameHeight; y++) {
+      int rowTile = (y / TILE_SIZE) * tilesX;
+      int offset = y * rowBytes;
+      for (int x = 0; x < rowBytes; x++) {
+        int tile = rowTile + x / tileBytes;
+        result[tile] = 31 * result[tile] + pixels[offset + x];
+      }
+    }
+    return result;
+  }
+
+  private static int tilesAcross(int length) {
+    return (length + TILE_SIZE - 1) / TILE_SIZE;
+  }
+}
@@ -0,0 +1,35 @@
+package com.chromascape.web.viewport;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** REST controller exposing the encode and bandwidth cost of the viewport stream. */
+@RestController
+@RequestMapping("/api")
+public class ViewportController {
+
+  private final WebsocketViewport viewport;
+
+  /**
+   * Constructs the controller.
+   *
+   * @param viewport the viewport whose stream is reported
+   */
+  @Autowired
+  public ViewportController(WebsocketViewport viewport) {
+    this.viewport = viewport;
+  }
+
+  /**
+   * Returns the encode time, frame size, drop count and bandwidth of the viewport stream.
+   *
+   * @return HTTP 200 with the current figures
+   */
+  @GetMapping("/viewport/stats")
+  public ResponseEntity<ViewportStats> getStats() {
+    return ResponseEntity.ok(viewport.stats());
+  }
+}
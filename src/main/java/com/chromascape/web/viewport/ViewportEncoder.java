@@ -0,0 +1,240 @@
+package com.chromascape.web.viewport;
+
+import static org.bytedeco.opencv.global.opencv_imgproc.COLOR_BGRA2BGR;
+import static org.bytedeco.opencv.global.opencv_imgproc.INTER_AREA;
+import static org.bytedeco.opencv.global.opencv_imgproc.cvtColor;
+import static org.bytedeco.opencv.global.opencv_imgproc.resize;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.IntPointer;
+import org.bytedeco.opencv.global.opencv_imgcodecs;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Size;
+
+/**
+ * Turns viewport frames into the image bytes sent to the web UI.
+ *
+ * <p>Colour frames are sent as JPEG. Single-channel frames, which are almost always binary masks,
+ * are sent as PNG: it is lossless, so mask edges stay sharp, and a mask's long runs of one value
+ * compress to less than a JPEG of it would.
+ *
+ * <p>Frames are scaled down to fit a maximum size on the script thread, which also copies them so
+ * the caller can release its {@link Mat} straight away, and are encoded once with OpenCV on the
+ * viewport's worker, however many clients receive them. Which parts of a frame are encoded is up to
+ * each instance's {@link TileDeltaEncoder}; this class encodes them and keeps the figures for all
+ * instances. The quality and size limits are read from the {@value #QUALITY_PROPERTY}, {@value
+ * #MAX_WIDTH_PROPERTY} and {@value #MAX_HEIGHT_PROPERTY} system properties.
+ */
+public class ViewportEncoder {
+
+  /** System property holding the JPEG quality, from 0 to 100. */
+  public static final String QUALITY_PROPERTY = "chromascape.viewport.quality";
+
+  /** System property holding the widest frame sent, in pixels. */
+  public static final String MAX_WIDTH_PROPERTY = "chromascape.viewport.maxWidth";
+
+  /** System property holding the tallest frame sent, in pixels. */
+  public static final String MAX_HEIGHT_PROPERTY = "chromascape.viewport.maxHeight";
+
+  /** Default JPEG quality, enough for templates and colour frames to stay legible. */
+  public static final int DEFAULT_QUALITY = 75;
+
+  /** Default widest frame, about the size the dashboard displays it at. */
+  public static final int DEFAULT_MAX_WIDTH = 800;
+
+  /** Default tallest frame. */
+  public static final int DEFAULT_MAX_HEIGHT = 600;
+
+  /** zlib level for PNG masks; higher levels barely shrink a mask and cost several times more. */
+  private static final int PNG_COMPRESSION = 1;
+
+  private final int quality;
+  private final int maxWidth;
+  private final int maxHeight;
+
+  private final LongAdder frames = new LongAdder();
+  private final LongAdder keyframes = new LongAdder();
+  private final LongAdder unchangedFrames = new LongAdder();
+  private final LongAdder encodeNanos = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+
+  /**
+   * Constructs an encoder.
+   *
+   * @param quality JPEG quality, from 0 to 100.
+   * @param maxWidth Frames wider than this are scaled down, in pixels.
+   * @param maxHeight Frames taller than this are scaled down, in pixels.
+   * @throws IllegalArgumentException if the quality is out of range or a size is not positive.
+   */
+  public ViewportEncoder(int quality, int maxWidth, int maxHeight) {
+    if (quality < 0 || quality > 100) {
+      throw new IllegalArgumentException("quality must be between 0 and 100");
+    }
+    if (maxWidth <= 0 || maxHeight <= 0) {
+      throw new IllegalArgumentException("maxWidth and maxHeight must be greater than 0");
+    }
+    this.quality = quality;
+    this.maxWidth = maxWidth;
+    this.maxHeight = maxHeight;
+  }
+
+  /**
+   * Constructs an encoder configured by system properties, falling back to the defaults.
+   *
+   * @return The encoder.
+   */
+  public static ViewportEncoder fromSystemProperties() {
+    return new ViewportEncoder(
+        Integer.getInteger(QUALITY_PROPERTY, DEFAULT_QUALITY),
+        Integer.getInteger(MAX_WIDTH_PROPERTY, DEFAULT_MAX_WIDTH),
+        Integer.getInteger(MAX_HEIGHT_PROPERTY, DEFAULT_MAX_HEIGHT));
+  }
+
+  /**
+   * Copies a frame, scaled down to fit the maximum size if it is larger, and without any alpha
+   * channel, since JPEG has none.
+   *
+   * @param image The frame from the script, left untouched.
+   * @return A new continuous {@link Mat} with one or three channels, owned by the caller.
+   */
+  public Mat prepare(Mat image) {
+    Mat frame = new Mat();
+    if (image.channels() == 4) {
+      cvtColor(image, frame, COLOR_BGRA2BGR);
+      image = frame;
+    }
+    double scale =
+        Math.min(
+            1.0, Math.min((double) maxWidth / image.cols(), (double) maxHeight / image.rows()));
+    if (scale < 1.0) {
+      int width = Math.max(1, (int) Math.round(image.cols() * scale));
+      int height = Math.max(1, (int) Math.round(image.rows() * scale));
+      try (Size size = new Size(width, height)) {
+        resize(image, frame, size, 0, 0, INTER_AREA);
+      }
+    } else if (image != frame) {
+      image.copyTo(frame);
+    }
+    return frame;
+  }
+
+  /**
+   * Encodes an image, or a region of one, to PNG if it has a single channel and to JPEG otherwise.
+   *
+   * @param image A prepared frame or a region of one.
+   * @return The encoded bytes.
+   * @throws IllegalStateException if OpenCV can't encode the image.
+   */
+  public byte[] encode(Mat image) {
+    boolean png = image.channels() == 1;
+    try (BytePointer buffer = new BytePointer();
+        IntPointer params =
+            png
+                ? new IntPointer(opencv_imgcodecs.IMWRITE_PNG_COMPRESSION, PNG_COMPRESSION)
+                : new IntPointer(opencv_imgcodecs.IMWRITE_JPEG_QUALITY, quality)) {
+      if (!opencv_imgcodecs.imencode(png ? ".png" : ".jpg", image, buffer, params)) {
+        throw new IllegalStateException(
+            "OpenCV could not encode an image with " + image.channels() + " channels");
+      }
+      byte[] encoded = new byte[(int) buffer.limit()];
+      buffer.get(encoded);
+      return encoded;
+    }
+  }
+
+  /**
+   * Records the cost of an encoded update.
+   *
+   * @param nanos Time taken to compare and encode the frame.
+   * @param size Size of the update on the wire.
+   * @param keyframe Whether the whole frame was encoded.
+   */
+  void recordFrame(long nanos, int size, boolean keyframe) {
+    frames.increment();
+    if (keyframe) {
+      keyframes.increment();
+    }
+    encodeNanos.add(nanos);
+    bytes.add(size);
+  }
+
+  /** Records a frame that needed no update because no tile changed. */
+  void recordUnchanged() {
+    unchangedFrames.increment();
+  }
+
+  /**
+   * Returns the JPEG quality.
+   *
+   * @return The quality, from 0 to 100.
+   */
+  public int getQuality() {
+    return quality;
+  }
+
+  /**
+   * Returns the widest frame sent.
+   *
+   * @return The maximum width in pixels.
+   */
+  public int getMaxWidth() {
+    return maxWidth;
+  }
+
+  /**
+   * Returns the tallest frame sent.
+   *
+   * @return The maximum height in pixels.
+   */
+  public int getMaxHeight() {
+    return maxHeight;
+  }
+
+  /**
+   * Returns the number of updates encoded, keyframes and deltas.
+   *
+   * @return The update count.
+   */
+  public long getFramesEncoded() {
+    return frames.sum();
+  }
+
+  /**
+   * Returns the number of updates that encoded the whole frame.
+   *
+   * @return The keyframe count.
+   */
+  public long getKeyframes() {
+    return keyframes.sum();
+  }
+
+  /**
+   * Returns the number of frames skipped because they matched the previous one.
+   *
+   * @return The unchanged frame count.
+   */
+  public long getUnchangedFrames() {
+    return unchangedFrames.sum();
+  }
+
+  /**
+   * Returns the mean time taken to compare and encode a frame that produced an update.
+   *
+   * @return Milliseconds per update, or 0 if none has been encoded.
+   */
+  public double getMeanEncodeMillis() {
+    long count = frames.sum();
+    return count == 0 ? 0 : encodeNanos.sum() / 1e6 / count;
+  }
+
+  /**
+   * Returns the mean size of an update.
+   *
+   * @return Bytes per update, or 0 if none has been encoded.
+   */
+  public double getMeanFrameBytes() {
+    long count = frames.sum();
+    return count == 0 ? 0 : (double) bytes.sum() / count;
+  }
+}
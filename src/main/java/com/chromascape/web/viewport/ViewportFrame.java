@@ -0,0 +1,180 @@
+package com.chromascape.web.viewport;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One viewport update: image patches to draw over the client's copy of the frame, in order.
+ *
+ * <p>A keyframe starts with a patch covering the whole frame and tells the client to start afresh
+ * at its size. Other updates only carry the tiles that changed since the previous update. Updates a
+ * client hasn't been sent yet are {@link #mergedWith(ViewportFrame) merged} rather than dropped, so
+ * skipping a delta never leaves stale tiles on screen.
+ *
+ * <p>On the wire an update is, big-endian: a type byte (0 for a keyframe, 1 for a delta), the frame
+ * width and height and the patch count as unsigned shorts, then for each patch its x, y, width and
+ * height as unsigned shorts, the image length as an int, and the JPEG or PNG bytes.
+ */
+public final class ViewportFrame {
+
+  /** Type byte of a keyframe. */
+  public static final byte KEYFRAME = 0;
+
+  /** Type byte of a delta. */
+  public static final byte DELTA = 1;
+
+  private static final int HEADER_BYTES = 7;
+  private static final int PATCH_HEADER_BYTES = 12;
+
+  /**
+   * An encoded region of the frame.
+   *
+   * @param x Left edge in frame pixels.
+   * @param y Top edge in frame pixels.
+   * @param width Width of the region.
+   * @param height Height of the region.
+   * @param image The encoded pixels, JPEG or PNG.
+   */
+  public record Patch(int x, int y, int width, int height, byte[] image) {
+
+    /** Identifies the region, so a newer patch of it replaces an older one. */
+    private long key() {
+      return ((long) x << 48) | ((long) y << 32) | ((long) width << 16) | height;
+    }
+  }
+
+  private final boolean keyframe;
+  private final int width;
+  private final int height;
+  private final List<Patch> patches;
+
+  private ViewportFrame(boolean keyframe, int width, int height, List<Patch> patches) {
+    this.keyframe = keyframe;
+    this.width = width;
+    this.height = height;
+    this.patches = Collections.unmodifiableList(patches);
+  }
+
+  /**
+   * Creates a keyframe.
+   *
+   * @param width Frame width.
+   * @param height Frame height.
+   * @param image The whole frame, encoded.
+   * @return The update.
+   */
+  public static ViewportFrame keyframe(int width, int height, byte[] image) {
+    return new ViewportFrame(true, width, height, List.of(new Patch(0, 0, width, height, image)));
+  }
+
+  /**
+   * Creates a delta.
+   *
+   * @param width Frame width, unchanged since the last keyframe.
+   * @param height Frame height, unchanged since the last keyframe.
+   * @param patches The changed tiles.
+   * @return The update.
+   */
+  public static ViewportFrame delta(int width, int height, List<Patch> patches) {
+    return new ViewportFrame(false, width, height, new ArrayList<>(patches));
+  }
+
+  /**
+   * Combines this update with one that followed it, for a client that was sent neither. A newer
+   * keyframe replaces this update; a newer delta is drawn over it, replacing any patch of the same
+   * region.
+   *
+   * @param newer The following update.
+   * @return An update equivalent to sending both in order.
+   */
+  public ViewportFrame mergedWith(ViewportFrame newer) {
+    if (newer.keyframe || newer.width != width || newer.height != height) {
+      return newer;
+    }
+    Map<Long, Patch> merged = new LinkedHashMap<>();
+    for (Patch patch : patches) {
+      merged.put(patch.key(), patch);
+    }
+    for (Patch patch : newer.patches) {
+      // Move the region to the end, so it is drawn over anything it overlaps
+      merged.remove(patch.key());
+      merged.put(patch.key(), patch);
+    }
+    return new ViewportFrame(keyframe, width, height, new ArrayList<>(merged.values()));
+  }
+
+  /**
+   * Returns whether this update starts afresh.
+   *
+   * @return true for a keyframe.
+   */
+  public boolean isKeyframe() {
+    return keyframe;
+  }
+
+  /**
+   * Returns the frame width.
+   *
+   * @return The width in pixels.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Returns the frame height.
+   *
+   * @return The height in pixels.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Returns the patches to draw, in order.
+   *
+   * @return An unmodifiable list.
+   */
+  public List<Patch> getPatches() {
+    return patches;
+  }
+
+  /**
+   * Returns the size of the update on the wire.
+   *
+   * @return The length of {@link #toBytes()}.
+   */
+  public int byteSize() {
+    int size = HEADER_BYTES;
+    for (Patch patch : patches) {
+      size += PATCH_HEADER_BYTES + patch.image().length;
+    }
+    return size;
+  }
+
+  /**
+   * Serialises the update in the wire format described above.
+   *
+   * @return The message payload.
+   */
+  public byte[] toBytes() {
+    ByteBuffer buffer = ByteBuffer.allocate(byteSize());
+    buffer.put(keyframe ? KEYFRAME : DELTA);
+    buffer.putShort((short) width);
+    buffer.putShort((short) height);
+    buffer.putShort((short) patches.size());
+    for (Patch patch : patches) {
+      buffer.putShort((short) patch.x());
+      buffer.putShort((short) patch.y());
+      buffer.putShort((short) patch.width());
+      buffer.putShort((short) patch.height());
+      buffer.putInt(patch.image().length);
+      buffer.put(patch.image());
+    }
+    return buffer.array();
+  }
+}
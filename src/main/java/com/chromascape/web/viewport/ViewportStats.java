@@ -0,0 +1,29 @@
+package com.chromascape.web.viewport;
+
+/**
+ * What streaming the viewport has cost since startup.
+ *
+ * @param framesEncoded Updates encoded, each once however many clients received it.
+ * @param keyframes Updates that carried the whole frame rather than the changed tiles.
+ * @param unchangedFrames Frames that needed no update because no tile changed.
+ * @param meanEncodeMillis Mean time taken to compare and encode a frame that produced an update.
+ * @param meanFrameBytes Mean size of an update.
+ * @param framesSent Updates sent, counting each client separately.
+ * @param framesMerged Updates merged into a newer one because a client hadn't been sent them yet.
+ * @param bytesPerSecond Bytes sent over the last second, across all clients.
+ * @param quality The JPEG quality colour frames are encoded at.
+ * @param maxWidth The widest frame sent.
+ * @param maxHeight The tallest frame sent.
+ */
+public record ViewportStats(
+    long framesEncoded,
+    long keyframes,
+    long unchangedFrames,
+    double meanEncodeMillis,
+    double meanFrameBytes,
+    long framesSent,
+    long framesMerged,
+    double bytesPerSecond,
+    int quality,
+    int maxWidth,
+    int maxHeight) {}
@@ -1,47 +1,92 @@
 package com.chromascape.web.viewport;
 
-import java.io.IOException;
+import com.chromascape.web.broadcast.Topic;
+import com.chromascape.web.broadcast.WebSocketBroadcaster;
+import com.chromascape.web.instance.InstanceChannel;
+import java.net.URI;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
-import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * A WebSocket handler specifically for the viewport endpoint.
  *
- * <p>This class manages the active WebSocket connections and provides functionality to broadcast
- * image updates to all connected clients.
+ * <p>This class subscribes connecting sessions to the viewport stream of the {@link
+ * WebSocketBroadcaster} and queues each of them the {@link ViewportFrame} updates of the script
+ * instance it watches, sent as binary messages. Clients choose the instance with the {@code
+ * instance} query parameter, see {@link InstanceChannel}.
+ *
+ * <p>Every client is sent at most {@value #FPS_PROPERTY} updates per second, or fewer if it asks
+ * for a lower rate with the {@code fps} query parameter. Updates that arrive while a client is
+ * waiting for its next slot, or still sending the previous one, are merged into the one waiting, so
+ * a slow client skips intermediate frames and always ends on the latest rather than falling behind.
+ * A new client is sent nothing until a keyframe, and the next update is made one for it.
  */
 @Component
 public class ViewportWebSocketHandler extends TextWebSocketHandler {
 
+  /** System property holding the highest frame rate sent to a client. */
+  public static final String FPS_PROPERTY = "chromascape.viewport.fps";
+
+  /** Default highest frame rate. */
+  public static final int DEFAULT_FPS = 10;
+
+  /** Name of the query parameter a client lowers its frame rate with. */
+  public static final String FPS_PARAMETER = "fps";
+
   private static final Logger logger = LoggerFactory.getLogger(ViewportWebSocketHandler.class);
 
-  /** A thread-safe set of active WebSocket sessions. */
-  private final Set<WebSocketSession> sessions = new CopyOnWriteArraySet<>();
+  private final int maxFps = Math.max(1, Integer.getInteger(FPS_PROPERTY, DEFAULT_FPS));
 
-  /** Executor service for sending messages asynchronously to avoid blocking. */
-  private final ExecutorService wsExecutor = Executors.newCachedThreadPool();
+  /** Queues and sends updates to the connected sessions. */
+  private final WebSocketBroadcaster broadcaster;
+
+  /** The viewport stream, on which a waiting update is merged with newer ones. */
+  private final Topic<ViewportFrame> topic;
 
   /**
-   * Invoked after the WebSocket connection has been closed by either side, or after a transport
-   * error has occurred.
+   * Ids of the sessions that have been queued a keyframe, only touched by the broadcasting worker
+   * and on disconnect.
+   */
+  private final Set<String> synced = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Constructs the handler.
+   *
+   * @param broadcaster the broadcaster sending to connected sessions
+   */
+  @Autowired
+  public ViewportWebSocketHandler(WebSocketBroadcaster broadcaster) {
+    this.broadcaster = broadcaster;
+    this.topic =
+        broadcaster.declare(
+            Topic.latest(
+                "viewport",
+                ViewportFrame::mergedWith,
+                frame -> new BinaryMessage(frame.toBytes())));
+  }
+
+  /**
+   * Invoked after the WebSocket connection has been opened and is ready for use.
    *
    * @param session The session that was established.
    */
   @Override
   public void afterConnectionEstablished(@Nullable WebSocketSession session) {
-    sessions.add(session);
     if (session != null) {
-      logger.info("Viewport WebSocket client connected");
+      int fps = requestedFps(session);
+      broadcaster.subscribe(topic, session, TimeUnit.SECONDS.toNanos(1) / fps);
+      logger.info("Viewport WebSocket client connected at up to {} fps", fps);
     }
   }
 
@@ -55,8 +100,9 @@ public class ViewportWebSocketHandler extends TextWebSocketHandler {
   @Override
   public void afterConnectionClosed(
       @Nullable WebSocketSession session, @Nullable CloseStatus status) {
-    sessions.remove(session);
     if (session != null) {
+      broadcaster.unsubscribe(session);
+      synced.remove(session.getId());
       logger.info("Viewport WebSocket client disconnected");
     }
   }
@@ -71,8 +117,9 @@ public class ViewportWebSocketHandler extends TextWebSocketHandler {
   @Override
   public void handleTransportError(
       @Nullable WebSocketSession session, @Nullable Throwable exception) throws Exception {
-    sessions.remove(session);
     if (session != null) {
+      broadcaster.unsubscribe(session);
+      synced.remove(session.getId());
       session.close(CloseStatus.SERVER_ERROR);
       logger.error(
           "Viewport WebSocket transport error: {}",
@@ -81,34 +128,107 @@ public class ViewportWebSocketHandler extends TextWebSocketHandler {
   }
 
   /**
-   * Broadcasts a text message to all currently connected clients.
+   * Returns whether any connected client watches an instance.
    *
-   * <p>Broadcasting is done asynchronously for each client to prevent one slow client from blocking
-   * the update for others.
+   * @param instanceId The instance id.
+   * @return true if at least one open session follows it.
+   */
+  public boolean hasSessions(String instanceId) {
+    for (WebSocketSession session : broadcaster.sessions(topic)) {
+      if (instanceId.equals(InstanceChannel.of(session))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns whether a client watching an instance has yet to receive a keyframe, so the next update
+   * should be one.
    *
-   * @param message The message string to broadcast (e.g., a Data URI).
+   * @param instanceId The instance id.
+   * @return true if a viewer has nothing to apply deltas to.
    */
-  public void broadcast(String message) {
-    if (sessions.isEmpty()) {
-      return;
+  public boolean needsKeyframe(String instanceId) {
+    for (WebSocketSession session : broadcaster.sessions(topic)) {
+      if (!synced.contains(session.getId()) && instanceId.equals(InstanceChannel.of(session))) {
+        return true;
+      }
     }
-    for (WebSocketSession session : sessions) {
-      if (!session.isOpen()) {
-        sessions.remove(session);
+    return false;
+  }
+
+  /**
+   * Queues an update for every connected client watching an instance.
+   *
+   * <p>Sending is done asynchronously for each client to prevent one slow client from blocking the
+   * update for others. The same encoded tiles are shared by every client.
+   *
+   * @param instanceId The instance the update belongs to.
+   * @param frame The update.
+   */
+  public void broadcast(String instanceId, ViewportFrame frame) {
+    for (WebSocketSession session : broadcaster.sessions(topic)) {
+      if (!instanceId.equals(InstanceChannel.of(session))) {
+        continue;
+      }
+      if (frame.isKeyframe()) {
+        synced.add(session.getId());
+      } else if (!synced.contains(session.getId())) {
+        // Deltas are meaningless without the keyframe before them
         continue;
       }
-      wsExecutor.submit(
-          () -> {
-            try {
-              // Double check before sending
-              if (session.isOpen()) {
-                session.sendMessage(new TextMessage(message));
-              }
-            } catch (IOException e) {
-              logger.warn("Failed to send viewport data to session: {}", e.getMessage());
-              sessions.remove(session);
-            }
-          });
+      broadcaster.send(topic, session, frame);
+    }
+  }
+
+  /**
+   * Returns the number of updates sent, counting each client separately.
+   *
+   * @return The update count.
+   */
+  public long getFramesSent() {
+    return topic.getSent();
+  }
+
+  /**
+   * Returns the number of updates merged into a newer one before they could be sent.
+   *
+   * @return The merged update count.
+   */
+  public long getFramesMerged() {
+    return topic.getDropped();
+  }
+
+  /**
+   * Returns the rate frames were sent at over the last second, across all clients.
+   *
+   * @return Bytes per second.
+   */
+  public double getBytesPerSecond() {
+    return topic.getBytesPerSecond();
+  }
+
+  /**
+   * Reads the frame rate a client asked for from its handshake URI.
+   *
+   * @param session The new session.
+   * @return The requested rate, capped at the configured maximum.
+   */
+  private int requestedFps(WebSocketSession session) {
+    URI uri = session.getUri();
+    if (uri == null) {
+      return maxFps;
+    }
+    String requested =
+        UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst(FPS_PARAMETER);
+    if (requested == null) {
+      return maxFps;
+    }
+    try {
+      return Math.max(1, Math.min(maxFps, Integer.parseInt(requested)));
+    } catch (NumberFormatException e) {
+      return maxFps;
     }
   }
 }
@@ -1,15 +1,12 @@
 package com.chromascape.web.viewport;
 
+import com.chromascape.utils.core.runtime.ScriptContext;
 import com.chromascape.utils.core.screen.viewport.Viewport;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
-import javax.imageio.ImageIO;
-import org.bytedeco.javacv.Java2DFrameUtils;
 import org.bytedeco.opencv.opencv_core.Mat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,13 +17,17 @@ import org.springframework.stereotype.Component;
 /**
  * A Websocket-based implementation of the {@link Viewport} interface.
  *
- * <p>This component is responsible for receiving visual updates from the bot, converting them to a
- * web-friendly format (Base64 PNG), and broadcasting them to connected clients via the {@link
- * ViewportWebSocketHandler}.
+ * <p>This component is responsible for receiving visual updates from the bot, encoding the tiles
+ * that changed once as JPEG or PNG with a {@link TileDeltaEncoder}, and broadcasting the resulting
+ * {@link ViewportFrame} to connected clients via the {@link ViewportWebSocketHandler}, which paces
+ * each client separately.
  *
- * <p>To ensure optimal performance, image conversion and network transmission are handled
- * asynchronously on a separate thread, with frame dropping logic to prevent backpressure on the
- * main bot loop.
+ * <p>To ensure optimal performance, encoding and network transmission are handled asynchronously on
+ * a separate thread, with frame dropping logic to prevent backpressure on the main bot loop. The
+ * bot thread only scales the frame down, which also copies it.
+ *
+ * <p>Each script instance has its own channel, keyed by the id of the {@link ScriptContext} that
+ * produced the frame, so frames from one client never replace or reach viewers of another.
  */
 @Component
 public class WebsocketViewport implements Viewport {
@@ -37,15 +38,15 @@ public class WebsocketViewport implements Viewport {
   /** Websocket handler to broadcast messages. */
   private final ViewportWebSocketHandler handler;
 
-  /** Holds the latest update to be processed, or null if empty. */
-  private final AtomicReference<BufferedImage> pendingUpdate = new AtomicReference<>();
+  /** Scales and encodes frames. */
+  private final ViewportEncoder encoder = ViewportEncoder.fromSystemProperties();
+
+  /** Per-instance frame state, keyed by context id. */
+  private final Map<String, Channel> channels = new ConcurrentHashMap<>();
 
   /** Executor service for running the background processing tasks. */
   private final ExecutorService executor = Executors.newSingleThreadExecutor();
 
-  /** Flag indicating whether the background worker is currently busy. */
-  private volatile boolean isProcessing = false;
-
   /**
    * Constructs a new WebsocketViewport.
    *
@@ -59,75 +60,115 @@ public class WebsocketViewport implements Viewport {
   /**
    * Accepts a new image state from the bot.
    *
-   * <p>If the worker thread is free, the {@link Mat} is converted to a {@link BufferedImage} and
-   * queued for processing. If the worker is busy, the frame is dropped to maintain performance.
+   * <p>If the worker thread is free, the {@link Mat} is scaled down into a copy and queued for
+   * encoding. If the worker is busy, the frame is dropped to maintain performance. Frames from an
+   * instance nobody is watching are dropped before they are copied.
    *
    * @param mat The raw OpenCV matrix representing the new state.
    */
   @Override
   public void updateState(Mat mat) {
+    String id = ScriptContext.current().getId();
+    if (!handler.hasSessions(id)) {
+      return;
+    }
+    Channel channel = channels.computeIfAbsent(id, key -> new Channel(key, encoder));
+
     // Optimization: Check if we are already processing a frame.
     // If we are backlogged, DROP this frame immediately to save CPU.
-    // We only convert to BufferedImage if we actually plan to queue it.
-    if (isProcessing && pendingUpdate.get() != null) {
+    // We only copy the frame if we actually plan to queue it.
+    if (channel.isProcessing && channel.pendingUpdate.get() != null) {
       return;
     }
 
-    // Convert here. This cost is only incurred if we are NOT backlogged.
-    BufferedImage image = Java2DFrameUtils.toBufferedImage(mat);
+    // Copy here. This cost is only incurred if we are NOT backlogged.
+    Mat frame = encoder.prepare(mat);
 
-    // Atomically set the latest update
-    pendingUpdate.set(image);
+    // Atomically set the latest update, releasing any frame it replaces
+    Mat replaced = channel.pendingUpdate.getAndSet(frame);
+    if (replaced != null) {
+      replaced.release();
+    }
 
     // If not currently processing, trigger the worker
-    if (!isProcessing) {
-      executor.submit(this::processPendingUpdate);
+    if (!channel.isProcessing) {
+      executor.submit(() -> processPendingUpdate(channel));
     }
   }
 
   /**
    * The background worker loop that processes and sends images.
    *
-   * <p>It continues running as long as there are pending updates in the {@code pendingUpdate}
-   * reference.
+   * <p>It continues running as long as there are pending updates in the channel's {@code
+   * pendingUpdate} reference.
+   *
+   * @param channel The instance whose frames to send.
    */
-  private void processPendingUpdate() {
-    isProcessing = true;
+  private void processPendingUpdate(Channel channel) {
+    channel.isProcessing = true;
     try {
       // Keep processing as long as there is a pending update
-      BufferedImage image = pendingUpdate.getAndSet(null);
-      while (image != null) {
+      Mat frame = channel.pendingUpdate.getAndSet(null);
+      while (frame != null) {
         try {
-          String base64Image = encodeImageToBase64(image);
-          // Send raw data URI string directly
-          String message = "data:image/png;base64," + base64Image;
-          handler.broadcast(message);
-        } catch (IOException e) {
+          ViewportFrame update = channel.tiles.encode(frame, handler.needsKeyframe(channel.id));
+          if (update != null) {
+            handler.broadcast(channel.id, update);
+          }
+        } catch (RuntimeException e) {
           logger.error("Failed to encode image for Viewport: {}", e.getMessage());
         }
 
         // Check if a new update came in while we were processing
-        image = pendingUpdate.getAndSet(null);
+        frame = channel.pendingUpdate.getAndSet(null);
       }
     } finally {
-      isProcessing = false;
+      channel.isProcessing = false;
       // Double check race condition
-      if (pendingUpdate.get() != null) {
-        executor.submit(this::processPendingUpdate);
+      if (channel.pendingUpdate.get() != null) {
+        executor.submit(() -> processPendingUpdate(channel));
       }
     }
   }
 
   /**
-   * Encodes a BufferedImage into a Base64 string representation of a PNG.
+   * Returns how much encoding and sending frames has cost.
    *
-   * @param image The image to encode.
-   * @return The Base64 encoded string.
-   * @throws IOException If writing the image fails.
+   * @return The current figures.
    */
-  private String encodeImageToBase64(BufferedImage image) throws IOException {
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    ImageIO.write(image, "png", outputStream);
-    return Base64.getEncoder().encodeToString(outputStream.toByteArray());
+  public ViewportStats stats() {
+    return new ViewportStats(
+        encoder.getFramesEncoded(),
+        encoder.getKeyframes(),
+        encoder.getUnchangedFrames(),
+        encoder.getMeanEncodeMillis(),
+        encoder.getMeanFrameBytes(),
+        handler.getFramesSent(),
+        handler.getFramesMerged(),
+        handler.getBytesPerSecond(),
+        encoder.getQuality(),
+        encoder.getMaxWidth(),
+        encoder.getMaxHeight());
+  }
+
+  /** Frame state of one script instance. */
+  private static final class Channel {
+
+    /** Id of the instance the frames come from. */
+    private final String id;
+
+    /** Tracks which tiles the instance's viewers already have. */
+    private final TileDeltaEncoder tiles;
+
+    /** Holds the latest update to be processed, or null if empty. */
+    private final AtomicReference<Mat> pendingUpdate = new AtomicReference<>();
+
+    /** Flag indicating whether the background worker is currently busy with this channel. */
+    private volatile boolean isProcessing = false;
+
+    Channel(String id, ViewportEncoder encoder) {
+      this.id = id;
+      this.tiles = new TileDeltaEncoder(encoder);
+    }
   }
 }
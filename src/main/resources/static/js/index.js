@@ -162,6 +162,8 @@ function setupWindowModeDropdown() {
 
 /**
  * Establishes a WebSocket connection to the backend log stream.
+ * Each message is a JSON array of log events; the first one after connecting replays recent
+ * events. Events already shown before a reconnect are skipped by sequence number.
  * Incoming logs are appended to the console output terminal in real time.
  * Handles automatic reconnection on closure.
  */
@@ -169,13 +171,37 @@ function connectLogWebSocket() {
     const wsProtocol = location.protocol === "https:" ? "wss" : "ws";
     const wsUrl = `${wsProtocol}://${location.host}/ws/logs`;
     let ws;
+    let lastSeq = -1;
 
     function initialize() {
         ws = new WebSocket(wsUrl);
+        let replay = true;
 
         ws.onopen = () => console.log("Connected to log WebSocket:", wsUrl);
 
-        ws.onmessage = (event) => appendLogLine(event.data);
+        ws.onmessage = (event) => {
+            let events;
+            try {
+                events = JSON.parse(event.data);
+            } catch (e) {
+                events = event.data;
+            }
+            if (!Array.isArray(events)) {
+                appendLogLine(events);
+                return;
+            }
+            if (replay && events.length > 0 && events[events.length - 1].seq < lastSeq) {
+                // The server restarted, so its sequence numbers did too
+                lastSeq = -1;
+            }
+            replay = false;
+            for (const logObj of events) {
+                if (logObj.seq > lastSeq) {
+                    lastSeq = logObj.seq;
+                    appendLogLine(logObj);
+                }
+            }
+        };
 
         ws.onclose = (event) => {
             console.warn("Log WebSocket closed:", event.reason);
@@ -193,10 +219,10 @@ function connectLogWebSocket() {
 
 /**
  * Appends a single log line to the terminal output.
- * Parses the log data as JSON if possible to style by log level.
+ * Styles log events by level; anything else is shown as plain text.
  * Auto-scrolls to the bottom if the user is near the end of the log.
  * 
- * @param {string} data - Raw log data string (JSON or plain text)
+ * @param {object|string} data - A log event with level and message, or plain text
  */
 function appendLogLine(data) {
     const terminal = document.getElementById("consoleOutput");
@@ -207,17 +233,16 @@ function appendLogLine(data) {
     const logEl = document.createElement("div");
     logEl.className = "log-entry";
 
-    try {
-        const logObj = JSON.parse(data);
-        const level = logObj.level || "INFO";
-        const msg = logObj.message || data;
+    if (data !== null && typeof data === "object") {
+        const level = data.level || "INFO";
+        const msg = data.message || "";
 
         logEl.classList.add(`log-${level}`);
         logEl.textContent = `[${level}] ${msg}`;
-    } catch (e) {
+    } else {
         // Fallback for non-JSON messages
         logEl.classList.add("log-INFO");
-        logEl.textContent = data;
+        logEl.textContent = String(data);
     }
 
     terminal.appendChild(logEl);
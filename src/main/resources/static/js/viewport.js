@@ -31,32 +31,84 @@ document.addEventListener('DOMContentLoaded', () => {
     loaderContainer.appendChild(loader);
     loaderContainer.appendChild(loaderText);
 
-    // Create the main image element (hidden initially)
-    const img = document.createElement('img');
-    img.id = 'viewport-image';
-    img.className = 'img-fluid border border-secondary rounded shadow-sm';
-    img.style.maxHeight = '400px';
-    img.style.display = 'none';
+    // Create the canvas frames are composited on (hidden initially)
+    const canvas = document.createElement('canvas');
+    canvas.id = 'viewport-image';
+    canvas.className = 'img-fluid border border-secondary rounded shadow-sm';
+    canvas.style.maxHeight = '400px';
+    canvas.style.display = 'none';
+    const context = canvas.getContext('2d');
 
     wrapper.appendChild(loaderContainer);
-    wrapper.appendChild(img);
+    wrapper.appendChild(canvas);
     viewportContainer.appendChild(wrapper);
 
     const socket = new WebSocket('ws://' + window.location.host + '/ws/viewport');
+    // Updates arrive as binary messages, see ViewportFrame for the layout
+    socket.binaryType = 'arraybuffer';
 
-    socket.onmessage = (event) => {
-        try {
-            // Hide loader if visible
-            if (loaderContainer.style.display !== 'none') {
-                loaderContainer.style.display = 'none';
-                img.style.display = 'inline-block';
-            }
-
-            // Update the single image view
-            img.src = event.data;
-        } catch (e) {
-            console.error('Failed to process viewport message', e);
+    const KEYFRAME = 0;
+
+    /**
+     * Splits an update into its header and image patches.
+     * @param {ArrayBuffer} buffer
+     */
+    const parseUpdate = (buffer) => {
+        const view = new DataView(buffer);
+        const update = {
+            keyframe: view.getUint8(0) === KEYFRAME,
+            width: view.getUint16(1),
+            height: view.getUint16(3),
+            patches: []
+        };
+        const count = view.getUint16(5);
+        let offset = 7;
+        for (let i = 0; i < count; i++) {
+            const x = view.getUint16(offset);
+            const y = view.getUint16(offset + 2);
+            const length = view.getInt32(offset + 8);
+            const bytes = new Uint8Array(buffer, offset + 12, length);
+            // Masks are sent as PNG, everything else as JPEG
+            const type = bytes[0] === 0x89 ? 'image/png' : 'image/jpeg';
+            const image = new Blob([bytes], { type });
+            update.patches.push({ x, y, image });
+            offset += 12 + length;
+        }
+        return update;
+    };
+
+    /**
+     * Draws an update's patches over the canvas, starting afresh on a keyframe.
+     * @param {ArrayBuffer} buffer
+     */
+    const applyUpdate = async (buffer) => {
+        const update = parseUpdate(buffer);
+        const bitmaps = await Promise.all(
+            update.patches.map(patch => createImageBitmap(patch.image)));
+
+        if (update.keyframe && (canvas.width !== update.width || canvas.height !== update.height)) {
+            canvas.width = update.width;
+            canvas.height = update.height;
         }
+        bitmaps.forEach((bitmap, i) => {
+            context.drawImage(bitmap, update.patches[i].x, update.patches[i].y);
+            bitmap.close();
+        });
+
+        // Hide loader if visible
+        if (update.keyframe && loaderContainer.style.display !== 'none') {
+            loaderContainer.style.display = 'none';
+            canvas.style.display = 'inline-block';
+        }
+    };
+
+    // Decoding is asynchronous, so chain updates to draw them in the order they arrived
+    let drawing = Promise.resolve();
+
+    socket.onmessage = (event) => {
+        drawing = drawing
+            .then(() => applyUpdate(event.data))
+            .catch(e => console.error('Failed to process viewport message', e));
     };
 
 });
@@ -0,0 +1,81 @@
+package com.chromascape.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chromascape.base.BaseScript;
+import com.chromascape.utils.actions.InventoryScanner;
+import com.chromascape.utils.actions.ItemDropper;
+import com.chromascape.utils.actions.PointSelector;
+import com.chromascape.utils.core.screen.colour.ColourObj;
+import com.chromascape.utils.core.timing.PollPolicies;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.Random;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs a mining script through the real controller, zone manager, mouse and item dropper against a
+ * {@link MiningScene}, and checks that it goes faster than a live client.
+ */
+class SimulationTest {
+
+  private static final int CYCLES = 200;
+
+  @Test
+  void runsMiningCyclesFasterThanRealTime() throws InterruptedException {
+    MiningScene scene = new MiningScene(new Random(7));
+    Simulation simulation = new Simulation(scene);
+
+    SimulationReport report = simulation.run(new ColourMiningScript(), CYCLES, 120_000);
+
+    assertEquals(CYCLES, report.cycles());
+    assertTrue(scene.getOresMined() > CYCLES / 2, "ores mined " + scene.getOresMined());
+    assertTrue(scene.getOresDropped() >= 28, "ores dropped " + scene.getOresDropped());
+    assertTrue(report.speedup() > 1, "speedup " + report.speedup());
+    assertTrue(simulation.getClient().isClosed(), "input not released on shutdown");
+  }
+
+  /** Mines the Cyan rocks, waiting for each ore, and drops the inventory when it is full. */
+  static class ColourMiningScript extends BaseScript {
+
+    private static final ColourObj ROCK =
+        new ColourObj("Rock", new Scalar(85, 200, 200, 0), new Scalar(95, 255, 255, 0));
+
+    @Override
+    protected void cycle() {
+      List<Rectangle> slots = controller().zones().getInventorySlots();
+      boolean[] occupied = InventoryScanner.readOccupancy(slots);
+      if (occupied[slots.size() - 1]) {
+        ItemDropper.dropAll(this);
+      }
+      Point rock =
+          PointSelector.getRandomPointByColourObj(controller().zones().getGameView(), ROCK, 15);
+      if (rock == null) {
+        // Every rock is depleted
+        waitMillis(600);
+        return;
+      }
+      int before = count(InventoryScanner.readOccupancy(slots));
+      controller().mouse().moveTo(rock, "medium");
+      controller().mouse().leftClick();
+      waitUntil(
+          "ore mined",
+          () -> count(InventoryScanner.readOccupancy(slots)) > before,
+          5000,
+          PollPolicies.fixed(600));
+    }
+
+    private static int count(boolean[] occupied) {
+      int count = 0;
+      for (boolean slot : occupied) {
+        if (slot) {
+          count++;
+        }
+      }
+      return count;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.chromascape.utils.actions;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Runs {@link InventoryScanner} over synthetic slot images. */
+class InventoryScannerTest {
+
+  private static final int SLOT = 36;
+
+  @Test
+  void emptyBackgroundIsNotOccupied() {
+    BufferedImage image = background();
+
+    assertFalse(InventoryScanner.isOccupied(image, 0, 0, SLOT, SLOT));
+  }
+
+  @Test
+  void outlinedItemIsOccupied() {
+    BufferedImage image = background();
+    drawItem(image, new Color(150, 120, 60));
+
+    assertTrue(InventoryScanner.isOccupied(image, 0, 0, SLOT, SLOT));
+  }
+
+  @Test
+  void darkItemSpriteIsOccupied() {
+    BufferedImage image = background();
+    drawItem(image, new Color(24, 22, 20));
+
+    assertTrue(InventoryScanner.isOccupied(image, 0, 0, SLOT, SLOT));
+  }
+
+  @Test
+  void fewStrayDarkPixelsAreIgnored() {
+    BufferedImage image = background();
+    for (int i = 0; i < 5; i++) {
+      image.setRGB(3 + i * 5, 7, 0);
+    }
+
+    assertFalse(InventoryScanner.isOccupied(image, 0, 0, SLOT, SLOT));
+  }
+
+  @Test
+  void onlyTheGivenSlotIsRead() {
+    BufferedImage image = background(SLOT * 2);
+    drawItem(image, new Color(150, 120, 60), SLOT);
+
+    assertFalse(InventoryScanner.isOccupied(image, 0, 0, SLOT, SLOT));
+    assertTrue(InventoryScanner.isOccupied(image, SLOT, 0, SLOT, SLOT));
+  }
+
+  @Test
+  void slotsPartlyOutsideTheCaptureAreClipped() {
+    BufferedImage image = background();
+    drawItem(image, new Color(150, 120, 60));
+
+    assertTrue(InventoryScanner.isOccupied(image, -10, -10, SLOT, SLOT));
+    assertFalse(InventoryScanner.isOccupied(image, SLOT, SLOT, SLOT, SLOT));
+  }
+
+  /** The inventory's brown texture: mottled, but nowhere near black. */
+  private static BufferedImage background() {
+    return background(SLOT);
+  }
+
+  private static BufferedImage background(int width) {
+    BufferedImage image = new BufferedImage(width, SLOT, BufferedImage.TYPE_INT_RGB);
+    Random random = new Random(3);
+    for (int y = 0; y < SLOT; y++) {
+      for (int x = 0; x < width; x++) {
+        int shade = random.nextInt(16);
+        image.setRGB(x, y, new Color(56 + shade, 48 + shade, 36 + shade).getRGB());
+      }
+    }
+    return image;
+  }
+
+  /** Draws a sprite with the client's one-pixel black outline. */
+  private static void drawItem(BufferedImage image, Color fill) {
+    drawItem(image, fill, 0);
+  }
+
+  private static void drawItem(BufferedImage image, Color fill, int slotX) {
+    Graphics2D g = image.createGraphics();
+    g.setColor(fill);
+    g.fillOval(slotX + 8, 6, 20, 24);
+    g.setColor(Color.BLACK);
+    g.drawOval(slotX + 8, 6, 20, 24);
+    g.dispose();
+  }
+}
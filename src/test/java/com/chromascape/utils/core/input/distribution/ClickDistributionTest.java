@@ -0,0 +1,98 @@
+package com.chromascape.utils.core.input.distribution;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import org.apache.commons.math3.distribution.MultivariateNormalDistribution;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link ClickDistribution} with the rejection sampler it replaced, which drew from a
+ * commons-math {@link MultivariateNormalDistribution} until the rounded point fell inside.
+ */
+class ClickDistributionTest {
+
+  private static final int SAMPLES = 200_000;
+
+  /** Shared generator, as in the old implementation. */
+  private static final MersenneTwister RNG = new MersenneTwister();
+
+  /** Chi-square critical value for p = 0.001 at the widest axis used below (39 degrees). */
+  private static final double CHI_SQUARE_LIMIT = 72.1;
+
+  @Test
+  void pointsStayInsideTheRectangle() {
+    Rectangle rect = new Rectangle(-7, 300, 6, 40);
+    int[] xs = new int[SAMPLES];
+    int[] ys = new int[SAMPLES];
+
+    ClickDistribution.fillPoints(rect, 0.5, xs, ys);
+
+    for (int i = 0; i < SAMPLES; i++) {
+      assertTrue(rect.contains(xs[i], ys[i]), "(" + xs[i] + ", " + ys[i] + ") is outside");
+    }
+  }
+
+  @Test
+  void marginalsMatchRejectionSampler() {
+    Rectangle rect = new Rectangle(100, 50, 40, 12);
+    // Low tightness truncates most of the distribution, high tightness almost none of it
+    for (double tightness : new double[] {1.5, 5}) {
+      int[][] expected = {new int[rect.width], new int[rect.height]};
+      int[][] actual = {new int[rect.width], new int[rect.height]};
+
+      MultivariateNormalDistribution reference = reference(rect, tightness);
+      for (int i = 0; i < SAMPLES; i++) {
+        Point p = sampleReference(reference, rect);
+        expected[0][p.x - rect.x]++;
+        expected[1][p.y - rect.y]++;
+      }
+      int[] xs = new int[SAMPLES];
+      int[] ys = new int[SAMPLES];
+      ClickDistribution.fillPoints(rect, tightness, xs, ys);
+      for (int i = 0; i < SAMPLES; i++) {
+        actual[0][xs[i] - rect.x]++;
+        actual[1][ys[i] - rect.y]++;
+      }
+
+      for (int axis = 0; axis < 2; axis++) {
+        double chiSquare = chiSquare(expected[axis], actual[axis]);
+        assertTrue(
+            chiSquare < CHI_SQUARE_LIMIT,
+            "tightness " + tightness + " axis " + axis + " chi-square " + chiSquare);
+      }
+    }
+  }
+
+  private static MultivariateNormalDistribution reference(Rectangle rect, double tightness) {
+    double stdDevX = rect.width / tightness;
+    double stdDevY = rect.height / tightness;
+    double[] mean = {rect.getCenterX(), rect.getCenterY()};
+    double[][] covariance = {{stdDevX * stdDevX, 0}, {0, stdDevY * stdDevY}};
+    return new MultivariateNormalDistribution(RNG, mean, covariance);
+  }
+
+  private static Point sampleReference(MultivariateNormalDistribution mnd, Rectangle rect) {
+    Point point;
+    do {
+      double[] sample = mnd.sample();
+      point = new Point((int) Math.round(sample[0]), (int) Math.round(sample[1]));
+    } while (!rect.contains(point));
+    return point;
+  }
+
+  /** Two-sample chi-square statistic for histograms built from equal sample counts. */
+  private static double chiSquare(int[] expected, int[] actual) {
+    double sum = 0;
+    for (int i = 0; i < expected.length; i++) {
+      int total = expected[i] + actual[i];
+      if (total > 0) {
+        double diff = expected[i] - actual[i];
+        sum += diff * diff / total;
+      }
+    }
+    return sum;
+  }
+}
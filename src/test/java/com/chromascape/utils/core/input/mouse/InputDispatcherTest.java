@@ -0,0 +1,51 @@
+package com.chromascape.utils.core.input.mouse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+
+/** Checks that an {@link InputDispatcher} delivers points and releases its thread on close. */
+class InputDispatcherTest {
+
+  @Test
+  void awaitedPointIsSentLast() {
+    List<Point> sent = new CopyOnWriteArrayList<>();
+    InputDispatcher dispatcher = new InputDispatcher("dispatcher-test-order", sent::add);
+    try {
+      for (int i = 0; i < 100; i++) {
+        dispatcher.submit(new Point(i, i));
+      }
+      dispatcher.submitAndAwait(new Point(500, 500));
+
+      assertEquals(new Point(500, 500), sent.get(sent.size() - 1));
+    } finally {
+      dispatcher.close();
+    }
+  }
+
+  @Test
+  void closeStopsTheConsumerThread() throws InterruptedException {
+    String name = "dispatcher-test-close";
+    InputDispatcher dispatcher = new InputDispatcher(name, point -> {});
+    dispatcher.submitAndAwait(new Point(1, 1));
+    Thread consumer = findThread(name);
+
+    dispatcher.close();
+    consumer.join(5_000);
+
+    assertFalse(consumer.isAlive(), "consumer still running after close");
+    // A closed dispatcher must not leave callers waiting for a thread that is gone
+    dispatcher.submitAndAwait(new Point(2, 2));
+  }
+
+  private static Thread findThread(String name) {
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> thread.getName().equals(name))
+        .findFirst()
+        .orElseThrow();
+  }
+}
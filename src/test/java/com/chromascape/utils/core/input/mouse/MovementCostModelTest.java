@@ -0,0 +1,51 @@
+package com.chromascape.utils.core.input.mouse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Checks the estimates of a {@link MovementCostModel} built from a seeded generator. */
+class MovementCostModelTest {
+
+  private static final MovementCostModel MODEL =
+      new MovementCostModel(new TrajectoryGenerator(new Random(7)));
+
+  @Test
+  void costRisesWithDistance() {
+    double previous = MODEL.travelMillis(0, "medium");
+    for (int distance : new int[] {100, 300, 600, 1200, 2000, 3000}) {
+      double cost = MODEL.travelMillis(distance, "medium");
+      assertTrue(cost > previous, distance + "px took " + cost + "ms, shorter took " + previous);
+      previous = cost;
+    }
+  }
+
+  @Test
+  void slowerProfilesCostMore() {
+    assertTrue(MODEL.travelMillis(500, "slow") > MODEL.travelMillis(500, "fast"));
+    assertEquals(MODEL.travelMillis(500, "medium"), MODEL.travelMillis(500, "unknown"));
+  }
+
+  @Test
+  void smallerTargetCostsMoreAtTheSameDistance() {
+    Point cursor = new Point(0, 0);
+    Rectangle large = new Rectangle(380, -20, 40, 40);
+    Rectangle small = new Rectangle(396, -4, 8, 8);
+
+    double largeCost = MODEL.expectedMillis(cursor, large, "medium");
+    double smallCost = MODEL.expectedMillis(cursor, small, "medium");
+
+    assertTrue(smallCost > largeCost, "small " + smallCost + "ms, large " + largeCost + "ms");
+  }
+
+  @Test
+  void sameSeedGivesTheSameEstimates() {
+    MovementCostModel other = new MovementCostModel(new TrajectoryGenerator(new Random(7)));
+
+    assertEquals(MODEL.travelMillis(750, "fast"), other.travelMillis(750, "fast"));
+  }
+}
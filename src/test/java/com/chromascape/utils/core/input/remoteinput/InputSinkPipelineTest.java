@@ -0,0 +1,116 @@
+package com.chromascape.utils.core.input.remoteinput;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chromascape.utils.core.input.remoteinput.Kinput.MouseButton;
+import com.chromascape.utils.core.input.remoteinput.Kinput.MouseEventType;
+import com.chromascape.utils.core.input.remoteinput.RecordingSink.Event;
+import com.chromascape.utils.core.input.remoteinput.RecordingSink.Kind;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Runs {@link Kinput} against a {@link RecordingSink} through the input middleware. */
+class InputSinkPipelineTest {
+
+  @Test
+  void defaultPipelineSendsOneNativeCallPerMove() {
+    RecordingSink recorder = new RecordingSink();
+    Kinput kinput = new Kinput(Kinput.defaultPipeline(recorder));
+
+    for (int i = 0; i < 100; i++) {
+      kinput.moveMouse(i, i);
+    }
+
+    assertEquals(1, recorder.count(Kind.FOCUS, InputSink.FOCUS_GAINED));
+    assertEquals(1, recorder.count(Kind.MOUSE, MouseEventType.MOUSE_ENTER.id));
+    assertEquals(100, recorder.count(Kind.MOUSE, MouseEventType.MOUSE_MOVE.id));
+    List<Event> events = recorder.getEvents();
+    assertEquals(99, events.get(events.size() - 1).x());
+  }
+
+  @Test
+  void focusIsResentAfterFocusLostAndAfterRefresh() throws InterruptedException {
+    RecordingSink recorder = new RecordingSink();
+    InputSink sink = new FocusDedupSink(recorder, 20);
+
+    sink.focusEvent(InputSink.FOCUS_GAINED);
+    sink.focusEvent(InputSink.FOCUS_GAINED);
+    sink.focusEvent(InputSink.FOCUS_LOST);
+    sink.focusEvent(InputSink.FOCUS_GAINED);
+    Thread.sleep(30);
+    sink.focusEvent(InputSink.FOCUS_GAINED);
+
+    assertEquals(3, recorder.count(Kind.FOCUS, InputSink.FOCUS_GAINED));
+    assertEquals(1, recorder.count(Kind.FOCUS, InputSink.FOCUS_LOST));
+  }
+
+  @Test
+  void enterIsResentAfterExit() {
+    RecordingSink recorder = new RecordingSink();
+    InputSink sink = new EnterMoveCollapseSink(recorder);
+
+    mouse(sink, MouseEventType.MOUSE_ENTER);
+    mouse(sink, MouseEventType.MOUSE_ENTER);
+    mouse(sink, MouseEventType.MOUSE_EXIT);
+    mouse(sink, MouseEventType.MOUSE_ENTER);
+
+    assertEquals(2, recorder.count(Kind.MOUSE, MouseEventType.MOUSE_ENTER.id));
+  }
+
+  @Test
+  void enterIsResentAfterFocusAndAfterRefresh() throws InterruptedException {
+    RecordingSink recorder = new RecordingSink();
+    InputSink sink = new EnterMoveCollapseSink(recorder, 20);
+
+    mouse(sink, MouseEventType.MOUSE_ENTER);
+    mouse(sink, MouseEventType.MOUSE_ENTER);
+    sink.focusEvent(InputSink.FOCUS_GAINED);
+    mouse(sink, MouseEventType.MOUSE_ENTER);
+    mouse(sink, MouseEventType.MOUSE_ENTER);
+    Thread.sleep(30);
+    mouse(sink, MouseEventType.MOUSE_ENTER);
+
+    assertEquals(3, recorder.count(Kind.MOUSE, MouseEventType.MOUSE_ENTER.id));
+  }
+
+  @Test
+  void rateLimiterSpacesMovesButNotClicks() {
+    RecordingSink recorder = new RecordingSink();
+    InputSink sink = new MoveRateLimitSink(recorder, 100);
+
+    for (int i = 0; i < 5; i++) {
+      mouse(sink, MouseEventType.MOUSE_MOVE);
+    }
+    mouse(sink, MouseEventType.MOUSE_PRESS);
+
+    List<Event> events = recorder.getEvents();
+    for (int i = 1; i < 5; i++) {
+      long gap = events.get(i).recordedAtNanos() - events.get(i - 1).recordedAtNanos();
+      assertTrue(gap >= 9_000_000L, "moves " + (i - 1) + " and " + i + " were " + gap + "ns apart");
+    }
+    long pressGap = events.get(5).recordedAtNanos() - events.get(4).recordedAtNanos();
+    assertTrue(pressGap < 9_000_000L, "press was delayed by " + pressGap + "ns");
+  }
+
+  @Test
+  void latencyRecorderCountsEveryCallAndDestroyClosesThePipeline() {
+    RecordingSink recorder = new RecordingSink();
+    LatencyRecordingSink latency = new LatencyRecordingSink(recorder);
+    Kinput kinput = new Kinput(Kinput.defaultPipeline(latency));
+
+    kinput.moveMouse(1, 1);
+    kinput.moveMouse(2, 2);
+    kinput.sendCharEvent('a');
+    kinput.destroy();
+
+    assertEquals(1, latency.getFocusLatency().getCount());
+    assertEquals(3, latency.getMouseLatency().getCount());
+    assertEquals(1, latency.getKeyLatency().getCount());
+    assertTrue(recorder.isClosed());
+  }
+
+  private static void mouse(InputSink sink, MouseEventType type) {
+    sink.mouseEvent(type.id, System.currentTimeMillis(), 0, 0, 0, 0, false, MouseButton.NONE.id);
+  }
+}
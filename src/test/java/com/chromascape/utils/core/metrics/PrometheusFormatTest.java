@@ -0,0 +1,66 @@
+package com.chromascape.utils.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Checks that {@link MetricsRegistry} series are written as Prometheus text. */
+class PrometheusFormatTest {
+
+  @Test
+  void seriesOfOneNameShareFamilyAcrossInstances() {
+    MetricsRegistry first = new MetricsRegistry();
+    MetricsRegistry second = new MetricsRegistry();
+    first.counter(Metrics.INPUTS, "type", "click").add(3);
+    first.counter(Metrics.INPUTS, "type", "move").increment();
+    second.counter(Metrics.INPUTS, "type", "click").increment();
+    second.gauge(Metrics.RUNNING, () -> 1);
+    Map<String, MetricsRegistry> registries = new LinkedHashMap<>();
+    registries.put("default", first);
+    registries.put("1", second);
+
+    String text = PrometheusFormat.write(registries);
+
+    assertEquals(
+        "# TYPE chromascape_inputs_total counter\n"
+            + "chromascape_inputs_total{script_instance=\"default\",type=\"click\"} 3\n"
+            + "chromascape_inputs_total{script_instance=\"default\",type=\"move\"} 1\n"
+            + "chromascape_inputs_total{script_instance=\"1\",type=\"click\"} 1\n"
+            + "# TYPE chromascape_running gauge\n"
+            + "chromascape_running{script_instance=\"1\"} 1.0\n",
+        text);
+  }
+
+  @Test
+  void timersAreWrittenAsSummariesInSeconds() {
+    MetricsRegistry registry = new MetricsRegistry();
+    Timer timer = registry.timer(Metrics.OCR_SECONDS, "font", "a\"b");
+    for (int i = 0; i < 100; i++) {
+      timer.record(2_000_000);
+    }
+
+    String text = PrometheusFormat.write(Map.of("default", registry));
+
+    assertTrue(text.startsWith("# TYPE chromascape_ocr_seconds summary\n"), text);
+    assertTrue(text.contains("font=\"a\\\"b\",quantile=\"0.5\"} 0.00"), text);
+    String count = "chromascape_ocr_seconds_count{script_instance=\"default\",font=\"a\\\"b\"} 100";
+    assertTrue(text.contains(count), text);
+    assertTrue(text.contains("chromascape_ocr_seconds_sum{"), text);
+  }
+
+  @Test
+  void sameNameAndTagsReturnTheSameMetric() {
+    MetricsRegistry registry = new MetricsRegistry();
+    Counter counter = registry.counter(Metrics.CYCLES);
+
+    assertSame(counter, registry.counter(Metrics.CYCLES));
+    assertThrows(IllegalArgumentException.class, () -> registry.timer(Metrics.CYCLES));
+    assertThrows(IllegalArgumentException.class, () -> registry.counter("bad name"));
+    assertThrows(IllegalArgumentException.class, () -> registry.counter(Metrics.INPUTS, "type"));
+  }
+}
@@ -0,0 +1,143 @@
+package com.chromascape.utils.core.perception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chromascape.simulation.VirtualClock;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives a {@link PerceptionService} from a synthetic frame source whose "XP" goes up every few
+ * frames, and checks that waiters share detector runs and never see stale values.
+ */
+class PerceptionServiceTest {
+
+  private static final long PERIOD_MILLIS = 5;
+
+  @Test
+  void waitersShareOneDetectorRunPerFrame() throws InterruptedException {
+    AtomicInteger frames = new AtomicInteger();
+    AtomicInteger detections = new AtomicInteger();
+    PerceptionService service = new PerceptionService(() -> frame(frames), PERIOD_MILLIS);
+    try {
+      List<Thread> waiters = new ArrayList<>();
+      List<PerceptionEvent<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        Thread waiter =
+            new Thread(
+                () -> {
+                  Signal<Integer> xp =
+                      service.register(
+                          "xp",
+                          frame -> {
+                            detections.incrementAndGet();
+                            return xpOf(frame);
+                          });
+                  PerceptionEvent<Integer> event = xp.await(value -> value >= 10, 5000);
+                  synchronized (results) {
+                    results.add(event);
+                  }
+                });
+        waiters.add(waiter);
+        waiter.start();
+      }
+      for (Thread waiter : waiters) {
+        waiter.join();
+      }
+
+      assertEquals(4, results.size());
+      for (PerceptionEvent<Integer> event : results) {
+        assertNotNull(event);
+        assertTrue(event.value() >= 10);
+      }
+      assertTrue(
+          detections.get() <= service.getFrameCount(),
+          detections.get() + " detections for " + service.getFrameCount() + " frames");
+    } finally {
+      service.stop();
+    }
+  }
+
+  @Test
+  void changesAreReportedWithTheFrameGap() {
+    AtomicInteger frames = new AtomicInteger();
+    PerceptionService service = new PerceptionService(() -> frame(frames), PERIOD_MILLIS);
+    try {
+      Signal<Integer> xp = service.register("xp", PerceptionServiceTest::xpOf);
+      List<PerceptionEvent<Integer>> changes = new ArrayList<>();
+      try (Signal.Subscription subscription = xp.subscribe(changes::add)) {
+        Integer start = xp.await(value -> true, 1000).value();
+        PerceptionEvent<Integer> event = xp.awaitChange(start, 1000);
+
+        assertNotNull(event);
+        assertEquals(event.previous() + 1, (int) event.value());
+        assertTrue(event.resolutionNanos() > 0);
+        assertTrue(event.resolutionNanos() < PERIOD_MILLIS * 1_000_000L * 20);
+      }
+      assertTrue(!changes.isEmpty() && changes.stream().allMatch(PerceptionEvent::changed));
+    } finally {
+      service.stop();
+    }
+  }
+
+  @Test
+  void framesAreOnlyCapturedWhileSomeoneWaits() throws InterruptedException {
+    AtomicInteger frames = new AtomicInteger();
+    PerceptionService service = new PerceptionService(() -> frame(frames), PERIOD_MILLIS);
+    try {
+      Signal<Integer> xp = service.register("xp", PerceptionServiceTest::xpOf);
+      assertNull(xp.await(value -> false, 50));
+      long captured = service.getFrameCount();
+      Thread.sleep(PERIOD_MILLIS * 10);
+
+      assertTrue(captured > 0);
+      assertTrue(service.getFrameCount() - captured <= 1, "captured with nobody waiting");
+    } finally {
+      service.stop();
+    }
+  }
+
+  @Test
+  void idleServiceLeavesVirtualClockAlone() throws InterruptedException {
+    AtomicInteger frames = new AtomicInteger();
+    VirtualClock clock = new VirtualClock();
+    ScriptContext context = new ScriptContext("perception-test", 0);
+    context.setClock(clock);
+    PerceptionService service =
+        context.callWith(() -> new PerceptionService(() -> frame(frames), PERIOD_MILLIS));
+    try {
+      Signal<Integer> xp = service.register("xp", PerceptionServiceTest::xpOf);
+      long start = System.nanoTime();
+      assertNull(xp.await(value -> false, 60_000));
+      long realMillis = (System.nanoTime() - start) / 1_000_000L;
+      final long idleFrom = clock.nanoTime();
+      Thread.sleep(PERIOD_MILLIS * 10);
+
+      assertTrue(realMillis < 30_000, "virtual wait took " + realMillis + "ms");
+      assertTrue(
+          clock.nanoTime() - idleFrom <= PERIOD_MILLIS * 1_000_000L,
+          "clock advanced with nobody waiting");
+    } finally {
+      service.stop();
+    }
+  }
+
+  /** A blank frame whose XP is encoded in the first pixel, going up one every three frames. */
+  private static Frame frame(AtomicInteger frames) {
+    BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+    image.setRGB(0, 0, frames.getAndIncrement() / 3);
+    return new Frame(image, new Point(), System.nanoTime());
+  }
+
+  private static Integer xpOf(Frame frame) {
+    return frame.image().getRGB(0, 0) & 0xFFFFFF;
+  }
+}
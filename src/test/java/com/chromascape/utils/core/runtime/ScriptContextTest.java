@@ -0,0 +1,58 @@
+package com.chromascape.utils.core.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.chromascape.utils.core.state.BotState;
+import com.chromascape.utils.core.state.StateManager;
+import com.chromascape.utils.core.statistics.StatisticsManager;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/** Checks that the static managers keep scripts in different contexts apart. */
+class ScriptContextTest {
+
+  @Test
+  void concurrentContextsCountSeparately() throws InterruptedException {
+    ScriptContext first = new ScriptContext("first", 0);
+    ScriptContext second = new ScriptContext("second", 0);
+    Thread a = new Thread(() -> first.runWith(() -> work(1000, BotState.SEARCHING)));
+    Thread b = new Thread(() -> second.runWith(() -> work(250, BotState.ACTING)));
+    a.start();
+    b.start();
+    a.join();
+    b.join();
+
+    assertEquals(1000, first.statistics().getCycles());
+    assertEquals(250, second.statistics().getCycles());
+    assertEquals(BotState.SEARCHING, first.getState());
+    assertEquals(BotState.ACTING, second.getState());
+  }
+
+  @Test
+  void threadsStartedByScriptInheritItsContext() throws InterruptedException {
+    ScriptContext context = new ScriptContext("parent", 0);
+    AtomicReference<ScriptContext> seen = new AtomicReference<>();
+    context.runWith(
+        () -> {
+          Thread child = new Thread(() -> seen.set(ScriptContext.current()));
+          child.start();
+          try {
+            child.join();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+
+    assertSame(context, seen.get());
+    assertSame(ScriptContext.getDefault(), ScriptContext.current());
+  }
+
+  private static void work(int cycles, BotState state) {
+    StatisticsManager.reset();
+    for (int i = 0; i < cycles; i++) {
+      StatisticsManager.incrementCycles();
+      StateManager.setState(state);
+    }
+  }
+}
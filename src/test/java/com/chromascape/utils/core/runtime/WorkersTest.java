@@ -0,0 +1,101 @@
+package com.chromascape.utils.core.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chromascape.utils.core.runtime.Workers.Mode;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the executors {@link Workers} hands out: that virtual mode runs many concurrent waits on
+ * fewer platform threads, that CPU work keeps the caller's script context, and that pooled threads
+ * never pick up a context by inheritance.
+ */
+class WorkersTest {
+
+  private static final int WAITERS = 500;
+  private static final long WAIT_MILLIS = 50;
+
+  @Test
+  void virtualThreadsRunWaitsOnFewerPlatformThreads() throws Exception {
+    // Warm up both modes so class loading and the carrier pool don't count against either
+    runWaiters(Mode.PLATFORM);
+    runWaiters(Mode.VIRTUAL);
+
+    long platform = runWaiters(Mode.PLATFORM);
+    long virtual = runWaiters(Mode.VIRTUAL);
+
+    assertTrue(
+        virtual < platform, "virtual used " + virtual + " threads, platform used " + platform);
+  }
+
+  @Test
+  void cpuWorkRunsInTheCallersContext() throws Exception {
+    ScriptContext context = new ScriptContext("cpu", 0);
+    ScriptContext seen = context.callWith(() -> Workers.supplyCpu(ScriptContext::current)).get();
+
+    assertSame(context, seen);
+    assertSame(ScriptContext.getDefault(), Workers.supplyCpu(ScriptContext::current).get());
+  }
+
+  @Test
+  void pooledThreadsDoNotInheritTheCreatorsContext() throws Exception {
+    ScriptContext context = new ScriptContext("pooled", 0);
+    for (Mode mode : Mode.values()) {
+      ExecutorService executor = Workers.newBlockingExecutor(mode, "inherit-test");
+      try {
+        // The first task creates the pool thread while the context is bound
+        ScriptContext seen = context.callWith(() -> submitAndGet(executor, ScriptContext::current));
+
+        assertSame(ScriptContext.getDefault(), seen, mode.name());
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  private static <T> T submitAndGet(ExecutorService executor, Callable<T> task) {
+    try {
+      return executor.submit(task).get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Runs {@link #WAITERS} concurrent sleeps.
+   *
+   * @return The peak number of live platform threads above the count before starting.
+   */
+  private static long runWaiters(Mode mode) throws Exception {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    final int baseline = threads.getThreadCount();
+    threads.resetPeakThreadCount();
+    List<Future<?>> futures = new ArrayList<>(WAITERS);
+
+    ExecutorService executor = Workers.newBlockingExecutor(mode, "bench");
+    for (int i = 0; i < WAITERS; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                Thread.sleep(WAIT_MILLIS);
+                return null;
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    return threads.getPeakThreadCount() - baseline;
+  }
+}
@@ -0,0 +1,74 @@
+package com.chromascape.utils.core.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.statistics.StageProfiler.StageSummary;
+import org.junit.jupiter.api.Test;
+
+/** Checks that {@link StageProfiler} splits time between nested stages and between scripts. */
+class StageProfilerTest {
+
+  @Test
+  void nestedSpansAreSubtractedFromParentSelfTime() throws InterruptedException {
+    StageProfiler profile = StageProfiler.current();
+    profile.reset();
+    for (int i = 0; i < 3; i++) {
+      try (StageProfiler.Span outer = StageProfiler.start("test.outer")) {
+        Thread.sleep(5);
+        try (StageProfiler.Span inner = StageProfiler.start("test.inner")) {
+          Thread.sleep(20);
+        }
+      }
+    }
+
+    StageSummary outer = find(profile, "test.outer");
+    StageSummary inner = find(profile, "test.inner");
+    assertEquals(3, outer.count());
+    assertEquals(3, inner.count());
+    assertTrue(inner.selfMillis() >= 60, "inner self " + inner.selfMillis());
+    assertTrue(outer.selfMillis() >= 15, "outer self " + outer.selfMillis());
+    assertTrue(outer.selfMillis() < inner.selfMillis(), "outer self " + outer.selfMillis());
+    assertTrue(outer.p50Millis() >= inner.p50Millis());
+  }
+
+  @Test
+  void closingTwiceIsIgnored() {
+    StageProfiler profile = StageProfiler.current();
+    profile.reset();
+    StageProfiler.Span span = StageProfiler.start("test.twice");
+    span.close();
+    span.close();
+
+    assertEquals(1, find(profile, "test.twice").count());
+  }
+
+  @Test
+  void eachScriptKeepsItsOwnProfile() {
+    ScriptContext first = new ScriptContext("profiler-first", 0);
+    ScriptContext second = new ScriptContext("profiler-second", 0);
+
+    first.runWith(
+        () -> {
+          StageProfiler.start(StageProfiler.OCR).close();
+          // Threads the script starts, such as its position tracker, count against it
+          Thread tracker = new Thread(() -> StageProfiler.start(StageProfiler.OCR).close());
+          tracker.start();
+          try {
+            tracker.join();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    second.runWith(() -> StageProfiler.start(StageProfiler.CAPTURE).close());
+    second.profiler().reset();
+
+    assertEquals(2, find(first.profiler(), StageProfiler.OCR).count());
+    assertTrue(second.profiler().snapshot().isEmpty(), second.profiler().summary());
+  }
+
+  private static StageSummary find(StageProfiler profile, String name) {
+    return profile.snapshot().stream().filter(s -> s.name().equals(name)).findFirst().orElseThrow();
+  }
+}
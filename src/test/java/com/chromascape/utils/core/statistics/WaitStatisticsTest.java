@@ -0,0 +1,44 @@
+package com.chromascape.utils.core.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chromascape.utils.core.runtime.ScriptContext;
+import com.chromascape.utils.core.statistics.WaitStatistics.WaitSummary;
+import org.junit.jupiter.api.Test;
+
+/** Checks that {@link WaitStatistics} keeps each script's waits apart. */
+class WaitStatisticsTest {
+
+  @Test
+  void sameNamedConditionsAreKeptPerScript() {
+    ScriptContext first = new ScriptContext("waits-first", 0);
+    ScriptContext second = new ScriptContext("waits-second", 0);
+
+    first.runWith(
+        () -> {
+          WaitStatistics.record("bank.open", true, 5_000_000L, 2);
+          WaitStatistics.record("bank.open", false, 50_000_000L, 10);
+        });
+    second.runWith(() -> WaitStatistics.record("bank.open", true, 1_000_000L, 1));
+
+    WaitSummary summary = first.waits().snapshot().get(0);
+    assertEquals(2, summary.waits());
+    assertEquals(1, summary.timeouts());
+    assertEquals(12, summary.totalPolls());
+    assertEquals(1, second.waits().snapshot().get(0).waits());
+  }
+
+  @Test
+  void resetClearsOnlyItsOwnScript() {
+    ScriptContext running = new ScriptContext("waits-running", 0);
+    ScriptContext starting = new ScriptContext("waits-starting", 0);
+    running.runWith(() -> WaitStatistics.record("inventory.full", true, 1_000_000L, 3));
+    starting.runWith(() -> WaitStatistics.record("inventory.full", true, 1_000_000L, 3));
+
+    starting.runWith(() -> WaitStatistics.current().reset());
+
+    assertTrue(starting.waits().snapshot().isEmpty(), starting.waits().summary());
+    assertEquals(1, running.waits().snapshot().get(0).waits());
+  }
+}
@@ -0,0 +1,73 @@
+package com.chromascape.utils.core.timing;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link AdaptivePollPolicy} with fixed polling on a simulated condition that comes true
+ * about two seconds into each wait, as an XP drop after crossing an obstacle does.
+ */
+class AdaptivePollPolicyTest {
+
+  private static final int WAITS = 500;
+  private static final long MEAN_NANOS = 2_000_000_000L;
+  private static final long SPREAD_NANOS = 150_000_000L;
+
+  @Test
+  void adaptivePollingIsCheapAndResponsive() {
+    double[] fine = simulate(PollPolicies.fixed(50));
+    double[] coarse = simulate(PollPolicies.fixed(600));
+    double[] adaptive = simulate(PollPolicies.adaptive());
+
+    assertTrue(adaptive[0] < fine[0] / 2, "adaptive polls " + adaptive[0]);
+    assertTrue(adaptive[1] < coarse[1] / 2, "adaptive latency " + adaptive[1]);
+  }
+
+  @Test
+  void learnsOnlyFromSuccessfulWaits() {
+    AdaptivePollPolicy policy = PollPolicies.adaptive();
+    for (int i = 0; i < 10; i++) {
+      policy.onFinished(false, 30_000_000_000L);
+    }
+    assertNull(policy.getExpectedWindowMillis());
+
+    for (int i = 0; i < 10; i++) {
+      policy.onFinished(true, (1000 + i * 10) * 1_000_000L);
+    }
+    long[] window = policy.getExpectedWindowMillis();
+    assertNotNull(window);
+    assertTrue(window[0] >= 1000 && window[1] <= 1090, window[0] + "-" + window[1]);
+  }
+
+  /**
+   * Runs {@link #WAITS} simulated waits on a virtual clock.
+   *
+   * @return Mean polls per wait, and mean milliseconds between the condition coming true and the
+   *     poll that saw it.
+   */
+  private static double[] simulate(PollPolicy policy) {
+    Random random = new Random(7);
+    long totalPolls = 0;
+    long totalLateNanos = 0;
+    for (int i = 0; i < WAITS; i++) {
+      long trueAt = MEAN_NANOS + (long) (random.nextGaussian() * SPREAD_NANOS);
+      long now = 0;
+      int polls = 0;
+      while (true) {
+        polls++;
+        if (now >= trueAt) {
+          break;
+        }
+        now = Math.max(now, policy.nextPollNanos(0, polls, now));
+      }
+      policy.onFinished(true, now);
+      totalPolls += polls;
+      totalLateNanos += now - trueAt;
+    }
+    return new double[] {(double) totalPolls / WAITS, totalLateNanos / 1_000_000.0 / WAITS};
+  }
+}
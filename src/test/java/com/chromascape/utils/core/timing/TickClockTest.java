@@ -0,0 +1,116 @@
+package com.chromascape.utils.core.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chromascape.simulation.VirtualClock;
+import com.chromascape.utils.core.runtime.ScriptContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Feeds a {@link TickClock} on a {@link VirtualClock} with tick boundaries at known phases. */
+class TickClockTest {
+
+  private static final long TICK_NANOS = 600_000_000L;
+  private static final long POLL_NANOS = 20_000_000L;
+
+  private VirtualClock clock;
+  private TickClock ticks;
+  private int tick;
+
+  @BeforeEach
+  void setUp() {
+    clock = new VirtualClock();
+    ScriptContext context = new ScriptContext("tick-test", 0);
+    context.setClock(clock);
+    ticks = context.callWith(TickClock::new);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ticks.shutdown();
+  }
+
+  @Test
+  void convergesOnThePhaseAfterEnoughSamples() {
+    for (int i = 0; i < 4; i++) {
+      observeBoundaryAt(200);
+    }
+    assertFalse(ticks.isCalibrated());
+    assertEquals(clock.nanoTime() + TICK_NANOS / 2, ticks.nextTickAfter(clock.nanoTime()));
+
+    observeBoundaryAt(200);
+
+    assertTrue(ticks.isCalibrated());
+    assertEquals(200, ticks.getPhaseMillis(), 1);
+    assertTrue(ticks.getJitterMillis() < 1, "jitter " + ticks.getJitterMillis());
+    assertEquals(1_400_000_000L, ticks.nextTickAfter(1_000_000_000L), 1_000_000);
+  }
+
+  @Test
+  void boundariesEitherSideOfZeroAverageToZero() {
+    for (int i = 0; i < 10; i++) {
+      observeBoundaryAt(i % 2 == 0 ? 595 : 5);
+    }
+
+    double phase = ticks.getPhaseMillis();
+    assertTrue(phase < 3 || phase > 597, "phase " + phase);
+    assertTrue(ticks.getJitterMillis() < 10, "jitter " + ticks.getJitterMillis());
+  }
+
+  @Test
+  void singleOutliersAreIgnored() {
+    for (int i = 0; i < 10; i++) {
+      observeBoundaryAt(200);
+    }
+
+    observeBoundaryAt(500);
+    observeBoundaryAt(200);
+    observeBoundaryAt(500);
+
+    assertTrue(ticks.isCalibrated());
+    assertEquals(200, ticks.getPhaseMillis(), 1);
+  }
+
+  @Test
+  void recalibratesAfterThePhaseJumps() {
+    for (int i = 0; i < 10; i++) {
+      observeBoundaryAt(200);
+    }
+
+    for (int i = 0; i < 3; i++) {
+      observeBoundaryAt(500);
+      assertEquals(200, ticks.getPhaseMillis(), 1);
+    }
+    observeBoundaryAt(500);
+    assertFalse(ticks.isCalibrated());
+
+    for (int i = 0; i < 4; i++) {
+      observeBoundaryAt(500);
+    }
+    assertTrue(ticks.isCalibrated());
+    assertEquals(500, ticks.getPhaseMillis(), 1);
+  }
+
+  @Test
+  void impreciseObservationsAreIgnored() {
+    for (int i = 0; i < 10; i++) {
+      ticks.observe(nextBoundary(200), TICK_NANOS);
+    }
+
+    assertFalse(ticks.isCalibrated());
+  }
+
+  /** Reports a change seen one poll after a boundary at {@code phaseMillis} into the next tick. */
+  private void observeBoundaryAt(long phaseMillis) {
+    ticks.observe(nextBoundary(phaseMillis) + POLL_NANOS / 2, POLL_NANOS);
+  }
+
+  private long nextBoundary(long phaseMillis) {
+    long boundary = tick++ * TICK_NANOS + phaseMillis * 1_000_000L;
+    clock.advance(boundary - clock.nanoTime());
+    return boundary;
+  }
+}
@@ -0,0 +1,176 @@
+package com.chromascape.utils.domain.walker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chromascape.api.Dax;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.awt.Point;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Exercises {@link CachingPathProvider} in front of a {@link Dax} client and a stub server. */
+class CachingPathProviderTest {
+
+  private static final Tile START = new Tile(3200, 3200, 0);
+  private static final Point DESTINATION = new Point(3210, 3200);
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger rateLimited = new AtomicInteger();
+  private volatile long latencyMillis = 0;
+
+  private CachingPathProvider provider;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/walker/generatePath", this::handle);
+    serverExecutor = Executors.newCachedThreadPool();
+    server.setExecutor(serverExecutor);
+    server.start();
+
+    URI endpoint =
+        URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/walker/generatePath");
+    provider = new CachingPathProvider(new DaxPathProvider(new Dax(endpoint)));
+  }
+
+  @AfterEach
+  void stopServer() {
+    provider.shutdown();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  void repeatedRequestsAreServedFromCache() throws Exception {
+    List<Tile> first = provider.getPath(START, DESTINATION, true);
+    List<Tile> second = provider.getPath(START, DESTINATION, true);
+
+    assertEquals(1, requests.get());
+    assertEquals(first, second);
+  }
+
+  @Test
+  void requestFromNearCachedPathRejoinsIt() throws Exception {
+    provider.getPath(START, DESTINATION, true);
+    // Three tiles off the path, in a different start bucket
+    Tile nearby = new Tile(3208, 3203, 0);
+    List<Tile> path = provider.getPath(nearby, DESTINATION, true);
+
+    assertEquals(1, requests.get());
+    assertEquals(nearby, path.get(0));
+    assertEquals(new Tile(3210, 3200, 0), path.get(path.size() - 1));
+  }
+
+  @Test
+  void membershipIsPartOfTheKey() throws Exception {
+    provider.getPath(START, DESTINATION, true);
+    provider.getPath(START, DESTINATION, false);
+
+    assertEquals(2, requests.get());
+  }
+
+  @Test
+  void concurrentIdenticalRequestsAreCoalesced() throws Exception {
+    latencyMillis = 300;
+    ExecutorService callers = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<List<Tile>>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        results.add(callers.submit(() -> provider.getPath(START, DESTINATION, true)));
+      }
+      for (Future<List<Tile>> result : results) {
+        assertEquals(START, result.get(5, TimeUnit.SECONDS).get(0));
+      }
+    } finally {
+      callers.shutdownNow();
+    }
+
+    assertEquals(1, requests.get());
+  }
+
+  @Test
+  void rateLimitedRequestIsRetried() throws Exception {
+    rateLimited.set(1);
+    List<Tile> path = provider.getPath(START, DESTINATION, true);
+
+    assertEquals(2, requests.get());
+    assertEquals(11, path.size());
+  }
+
+  @Test
+  void prefetchedPathIsReused() throws Exception {
+    latencyMillis = 200;
+    provider.prefetch(START, DESTINATION, true);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (requests.get() == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+
+    long started = System.nanoTime();
+    List<Tile> path = provider.getPath(START, DESTINATION, true);
+    long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+    assertEquals(1, requests.get());
+    assertEquals(START, path.get(0));
+    assertTrue(waitedMillis < 1000, "Waited " + waitedMillis + "ms for a prefetched path");
+  }
+
+  @Test
+  void prefetchAfterShutdownIsIgnored() throws Exception {
+    provider.shutdown();
+    provider.prefetch(START, DESTINATION, true);
+    Thread.sleep(100);
+    assertEquals(0, requests.get());
+
+    provider.getPath(START, DESTINATION, true);
+    assertEquals(1, requests.get());
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    exchange.getRequestBody().readAllBytes();
+    try {
+      Thread.sleep(latencyMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (rateLimited.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+      exchange.sendResponseHeaders(429, -1);
+      exchange.close();
+      return;
+    }
+
+    StringBuilder tiles = new StringBuilder();
+    for (int x = START.x(); x <= DESTINATION.x; x++) {
+      if (tiles.length() > 0) {
+        tiles.append(',');
+      }
+      tiles.append(String.format("{\"x\":%d,\"y\":%d,\"z\":0}", x, START.y()));
+    }
+    byte[] body =
+        ("{\"pathStatus\":\"SUCCESS\",\"path\":[" + tiles + "],\"cost\":1}")
+            .getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
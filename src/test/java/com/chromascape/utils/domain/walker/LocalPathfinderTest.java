@@ -0,0 +1,155 @@
+package com.chromascape.utils.domain.walker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Runs {@link LocalPathfinder} over small synthetic {@link CollisionMap}s. */
+class LocalPathfinderTest {
+
+  private static final int BASE_X = 3200;
+  private static final int BASE_Y = 3200;
+
+  @TempDir Path dir;
+
+  @Test
+  void openGroundIsCrossedDiagonally() throws IOException {
+    LocalPathfinder pathfinder = pathfinder(10, 10, new byte[100]);
+
+    List<Tile> path = pathfinder.getPath(tile(0, 0), point(5, 5), false);
+
+    assertEquals(6, path.size());
+    assertEquals(tile(0, 0), path.get(0));
+    assertEquals(tile(5, 5), path.get(path.size() - 1));
+    assertContiguous(path);
+  }
+
+  @Test
+  void blockedTilesAreWalkedAround() throws IOException {
+    byte[] flags = new byte[100];
+    // A wall of blocked tiles at x = 5, open only at y = 9
+    for (int y = 0; y < 9; y++) {
+      flags[y * 10 + 5] = CollisionMap.BLOCKED;
+    }
+    LocalPathfinder pathfinder = pathfinder(10, 10, flags);
+
+    List<Tile> path = pathfinder.getPath(tile(0, 0), point(9, 0), false);
+
+    assertTrue(path.contains(tile(5, 9)), path.toString());
+    for (Tile step : path) {
+      assertEquals(0, flags[(step.y() - BASE_Y) * 10 + (step.x() - BASE_X)], step.toString());
+    }
+    assertContiguous(path);
+  }
+
+  @Test
+  void diagonalStepsNeedBothSidesOpen() throws IOException {
+    byte[] flags = new byte[9];
+    flags[1] = CollisionMap.BLOCKED; // east of the start
+    LocalPathfinder pathfinder = pathfinder(3, 3, flags);
+
+    List<Tile> path = pathfinder.getPath(tile(0, 0), point(1, 1), false);
+
+    // The corner can't be cut, so the path goes north first
+    assertEquals(List.of(tile(0, 0), tile(0, 1), tile(1, 1)), path);
+  }
+
+  @Test
+  void wallsOnTileEdgesBlockSteps() throws IOException {
+    byte[] flags = new byte[3];
+    flags[0] = (byte) CollisionMap.WALL_EAST;
+    LocalPathfinder pathfinder = pathfinder(3, 1, flags);
+
+    assertThrows(IOException.class, () -> pathfinder.getPath(tile(0, 0), point(2, 0), false));
+  }
+
+  @Test
+  void enclosedDestinationHasNoPath() throws IOException {
+    byte[] flags = new byte[100];
+    for (int i = 3; i <= 7; i++) {
+      flags[3 * 10 + i] = CollisionMap.BLOCKED;
+      flags[7 * 10 + i] = CollisionMap.BLOCKED;
+      flags[i * 10 + 3] = CollisionMap.BLOCKED;
+      flags[i * 10 + 7] = CollisionMap.BLOCKED;
+    }
+    LocalPathfinder pathfinder = pathfinder(10, 10, flags);
+
+    assertThrows(IOException.class, () -> pathfinder.getPath(tile(0, 0), point(5, 5), false));
+  }
+
+  @Test
+  void destinationOutsideTheMapIsRejected() throws IOException {
+    LocalPathfinder pathfinder = pathfinder(10, 10, new byte[100]);
+
+    assertThrows(IOException.class, () -> pathfinder.getPath(tile(0, 0), point(10, 0), false));
+  }
+
+  @Test
+  void searchWindowGrowsForLongDetours() throws IOException {
+    int size = 200;
+    byte[] flags = new byte[size * size];
+    // A wall at x = 15 whose only gap is far outside the first 32-tile window
+    for (int y = 0; y < size; y++) {
+      if (y != 190) {
+        flags[y * size + 15] = CollisionMap.BLOCKED;
+      }
+    }
+    LocalPathfinder pathfinder = pathfinder(size, size, flags);
+
+    List<Tile> path = pathfinder.getPath(tile(10, 100), point(20, 100), false);
+
+    assertTrue(path.contains(tile(15, 190)), path.toString());
+    assertContiguous(path);
+  }
+
+  @Test
+  void searchesLargerThanTheTileLimitAreRefused() throws IOException {
+    int size = 2100;
+    LocalPathfinder pathfinder = pathfinder(size, size, new byte[size * size]);
+
+    assertThrows(
+        IOException.class, () -> pathfinder.getPath(tile(0, 0), point(size - 1, size - 1), false));
+  }
+
+  @Test
+  void clientFlagsAreConverted() {
+    assertEquals(0, CollisionMap.fromClientFlags(0));
+    assertEquals(CollisionMap.BLOCKED, CollisionMap.fromClientFlags(0x100));
+    assertEquals(CollisionMap.BLOCKED, CollisionMap.fromClientFlags(0x200000));
+    assertEquals(
+        CollisionMap.WALL_NORTH | CollisionMap.WALL_WEST, CollisionMap.fromClientFlags(0x2 | 0x80));
+    assertEquals(0, CollisionMap.fromClientFlags(0x1));
+  }
+
+  private LocalPathfinder pathfinder(int width, int height, byte[] flags) throws IOException {
+    Path file = dir.resolve("collision.map");
+    CollisionMap.write(file, BASE_X, BASE_Y, width, height, 1, flags);
+    return LocalPathfinder.open(file);
+  }
+
+  private static Tile tile(int dx, int dy) {
+    return new Tile(BASE_X + dx, BASE_Y + dy, 0);
+  }
+
+  private static Point point(int dx, int dy) {
+    return new Point(BASE_X + dx, BASE_Y + dy);
+  }
+
+  private static void assertContiguous(List<Tile> path) {
+    assertFalse(path.isEmpty());
+    for (int i = 1; i < path.size(); i++) {
+      Tile from = path.get(i - 1);
+      Tile to = path.get(i);
+      int step = Math.max(Math.abs(to.x() - from.x()), Math.abs(to.y() - from.y()));
+      assertEquals(1, step, from + " -> " + to);
+    }
+  }
+}
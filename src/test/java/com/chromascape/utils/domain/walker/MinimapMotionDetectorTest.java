@@ -0,0 +1,102 @@
+package com.chromascape.utils.domain.walker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.chromascape.utils.domain.walker.MinimapMotionDetector.Motion;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Runs {@link MinimapMotionDetector} over synthetic minimap captures. */
+class MinimapMotionDetectorTest {
+
+  private static final int SIZE = 64;
+
+  @Test
+  void rasterAndGenericPathsAgree() {
+    BufferedImage capture = noise(SIZE, SIZE, 1);
+
+    assertArrayEquals(
+        MinimapMotionDetector.blockHashes(copy(capture, BufferedImage.TYPE_INT_RGB)),
+        MinimapMotionDetector.blockHashes(capture));
+  }
+
+  @Test
+  void subimageViewsHashTheirOwnPixels() {
+    BufferedImage capture = noise(SIZE, SIZE, 2);
+    BufferedImage region = capture.getSubimage(16, 8, 32, 24);
+
+    long[] hashes = MinimapMotionDetector.blockHashes(region);
+
+    assertEquals(4 * 3, hashes.length);
+    assertArrayEquals(
+        MinimapMotionDetector.blockHashes(copy(region, BufferedImage.TYPE_3BYTE_BGR)), hashes);
+    assertFalse(
+        Arrays.equals(
+            MinimapMotionDetector.blockHashes(capture.getSubimage(0, 0, 32, 24)), hashes));
+  }
+
+  @Test
+  void channelNoiseBelowTheQuantisationIsIgnored() {
+    BufferedImage capture = noise(SIZE, SIZE, 3);
+    BufferedImage noisy = copy(capture, BufferedImage.TYPE_3BYTE_BGR);
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        // Clear the dropped low bits, then set them all, so the quantised value is unchanged
+        capture.setRGB(x, y, capture.getRGB(x, y) & 0xF8F8F8);
+        noisy.setRGB(x, y, capture.getRGB(x, y) | 0x070707);
+      }
+    }
+
+    assertArrayEquals(
+        MinimapMotionDetector.blockHashes(capture), MinimapMotionDetector.blockHashes(noisy));
+  }
+
+  @Test
+  void scrollingIsMovingAndDotsAreNot() {
+    BufferedImage still = noise(SIZE + 4, SIZE, 4);
+    BufferedImage dot = copy(still, BufferedImage.TYPE_3BYTE_BGR);
+    dot.setRGB(20, 20, 0xFFFF00);
+    dot.setRGB(21, 20, 0xFFFF00);
+    Queue<BufferedImage> frames =
+        new ArrayDeque<>(
+            List.of(
+                still.getSubimage(0, 0, SIZE, SIZE),
+                still.getSubimage(0, 0, SIZE, SIZE),
+                dot.getSubimage(0, 0, SIZE, SIZE),
+                still.getSubimage(4, 0, SIZE, SIZE)));
+    MinimapMotionDetector detector = new MinimapMotionDetector(frames::remove);
+
+    assertEquals(Motion.STATIONARY, detector.sample());
+    assertEquals(Motion.STATIONARY, detector.sample());
+    assertEquals(Motion.STATIONARY, detector.sample());
+    assertEquals(Motion.MOVING, detector.sample());
+  }
+
+  /** A capture-like image of random colours, seeded so failures reproduce. */
+  private static BufferedImage noise(int width, int height, long seed) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+    Random random = new Random(seed);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        image.setRGB(x, y, random.nextInt(0x1000000));
+      }
+    }
+    return image;
+  }
+
+  private static BufferedImage copy(BufferedImage image, int type) {
+    BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), type);
+    Graphics2D g = copy.createGraphics();
+    g.drawImage(image, 0, 0, null);
+    g.dispose();
+    return copy;
+  }
+}
@@ -0,0 +1,82 @@
+package com.chromascape.web.broadcast;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * Feeds send queues faster than they are drained, as a stalled browser tab would, and checks that
+ * memory stays bounded, order is kept, and the wait that triggers eviction only grows while nothing
+ * is taken.
+ */
+class SendQueueTest {
+
+  private static final int MESSAGES = 1_000_000;
+
+  @Test
+  void boundedQueueKeepsTheNewestInOrder() {
+    Topic<String> topic = Topic.bounded("logs", 3, TextMessage::new);
+    SendQueue<String> queue = new SendQueue<>(topic);
+
+    for (int i = 0; i < 5; i++) {
+      queue.offer("line " + i, i);
+    }
+
+    assertEquals(3, queue.size());
+    assertEquals(2, topic.getDropped());
+    assertEquals("line 2", queue.poll(5));
+    assertEquals("line 3", queue.poll(5));
+    assertEquals("line 4", queue.poll(5));
+    assertNull(queue.poll(5));
+  }
+
+  @Test
+  void latestQueueMergesIntoTheWaitingMessage() {
+    Topic<String> topic = Topic.latest("frames", (waiting, newer) -> waiting + newer, null);
+    SendQueue<String> queue = new SendQueue<>(topic);
+
+    assertTrue(queue.offer("a", 0));
+    assertFalse(queue.offer("b", 1));
+    assertFalse(queue.offer("c", 2));
+
+    assertEquals(1, queue.size());
+    assertEquals(2, topic.getDropped());
+    assertEquals("abc", queue.poll(3));
+  }
+
+  @Test
+  void waitOnlyGrowsWhileNothingIsTaken() {
+    long second = TimeUnit.SECONDS.toNanos(1);
+    SendQueue<String> queue = new SendQueue<>(Topic.bounded("logs", 2, TextMessage::new));
+
+    assertEquals(0, queue.waitingNanos(0));
+    queue.offer("a", 0);
+    queue.offer("b", second);
+    queue.offer("c", 2 * second);
+    // Discarding to make room doesn't count as progress
+    assertEquals(3 * second, queue.waitingNanos(3 * second));
+
+    queue.poll(4 * second);
+    assertEquals(second, queue.waitingNanos(5 * second));
+    queue.poll(5 * second);
+    assertEquals(0, queue.waitingNanos(6 * second));
+  }
+
+  @Test
+  void stalledSessionHoldsAtMostItsCapacity() {
+    Topic<String> topic = Topic.bounded("logs", 256, TextMessage::new);
+    SendQueue<String> queue = new SendQueue<>(topic);
+
+    for (int i = 0; i < MESSAGES; i++) {
+      queue.offer("message", i);
+    }
+
+    assertEquals(256, queue.size());
+    assertEquals(MESSAGES - 256, topic.getDropped());
+  }
+}
@@ -0,0 +1,91 @@
+package com.chromascape.web.logs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Logs from several threads into the ring the log stream drains, as scripts and the web server
+ * would, and checks what the stream thread serialises.
+ */
+class LogStreamTest {
+
+  private static final int THREADS = 4;
+  private static final int EVENTS_PER_THREAD = 250_000;
+
+  @Test
+  void concurrentProducersLoseNothingAndKeepTheirOrder() throws InterruptedException {
+    LogRing<long[]> ring = new LogRing<>(1024);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> producers = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      long producer = t;
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  return;
+                }
+                for (long i = 0; i < EVENTS_PER_THREAD; i++) {
+                  while (!ring.offer(new long[] {producer, i})) {
+                    // The test wants every event, so retry where the appender would drop
+                    Thread.yield();
+                  }
+                }
+              });
+      thread.start();
+      producers.add(thread);
+    }
+
+    long[] next = new long[THREADS];
+    int received = 0;
+    start.countDown();
+    while (received < THREADS * EVENTS_PER_THREAD) {
+      long[] event = ring.poll();
+      if (event == null) {
+        Thread.yield();
+        continue;
+      }
+      assertEquals(next[(int) event[0]]++, event[1]);
+      received++;
+    }
+    for (Thread thread : producers) {
+      thread.join();
+    }
+
+    assertNull(ring.poll());
+  }
+
+  @Test
+  void fullRingDropsInsteadOfBlocking() {
+    LogRing<String> ring = new LogRing<>(3);
+
+    for (int i = 0; i < 4; i++) {
+      assertTrue(ring.offer("event " + i));
+    }
+    assertFalse(ring.offer("event 4"));
+
+    assertEquals(1, ring.getDropped());
+    assertEquals("event 0", ring.poll());
+    assertTrue(ring.offer("event 5"));
+  }
+
+  @Test
+  void eventsSerialiseToValidJson() {
+    StringBuilder json = new StringBuilder();
+    new LogLine("WARN", "Said \"hi\"\\\n\tthen\u0001left").appendJson(json, 7);
+
+    assertEquals(
+        "{\"seq\":7,\"level\":\"WARN\","
+            + "\"message\":\"Said \\\"hi\\\"\\\\\\n\\tthen\\u0001left\"}",
+        json.toString());
+  }
+}
@@ -0,0 +1,94 @@
+package com.chromascape.web.viewport;
+
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC1;
+import static org.bytedeco.opencv.global.opencv_imgproc.rectangle;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Point;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Feeds a mask whose detected object moves a little between frames through a {@link
+ * TileDeltaEncoder}, as repeated {@code getChromaObjsInColour} calls would, and compares the bytes
+ * sent with sending every frame whole.
+ */
+class TileDeltaEncoderTest {
+
+  private static final int FRAMES = 100;
+
+  @Test
+  void onlyChangedTilesAreSent() {
+    ViewportEncoder encoder = new ViewportEncoder(75, 800, 600);
+    TileDeltaEncoder tiles = new TileDeltaEncoder(encoder, TimeUnit.HOURS.toNanos(1));
+
+    long deltaBytes = 0;
+    long wholeBytes = 0;
+    for (int i = 0; i < FRAMES; i++) {
+      // The object moves every other frame and is redrawn identically in between
+      ViewportFrame update = tiles.encode(mask(i / 2), false);
+      if (update != null) {
+        deltaBytes += update.byteSize();
+      }
+    }
+    for (int i = 0; i < FRAMES; i++) {
+      Mat frame = mask(i / 2);
+      wholeBytes += encoder.encode(frame).length;
+      frame.release();
+    }
+
+    assertEquals(1, encoder.getKeyframes());
+    assertEquals(FRAMES / 2, encoder.getUnchangedFrames());
+    assertTrue(deltaBytes * 4 < wholeBytes, deltaBytes + " vs " + wholeBytes);
+  }
+
+  @Test
+  void viewersGetKeyframeWhenTheyAskForOne() {
+    TileDeltaEncoder tiles =
+        new TileDeltaEncoder(new ViewportEncoder(75, 800, 600), TimeUnit.HOURS.toNanos(1));
+
+    assertTrue(tiles.encode(mask(0), false).isKeyframe());
+    assertNull(tiles.encode(mask(0), false));
+    ViewportFrame delta = tiles.encode(mask(1), false);
+    assertFalse(delta.isKeyframe());
+    assertTrue(delta.getPatches().size() <= 4, delta.getPatches().size() + " tiles changed");
+    assertTrue(tiles.encode(mask(1), true).isKeyframe());
+  }
+
+  @Test
+  void mergedDeltasKeepTheNewestPatchOfEachTile() {
+    byte[] image = {1};
+    ViewportFrame keyframe = ViewportFrame.keyframe(128, 128, image);
+    ViewportFrame first =
+        ViewportFrame.delta(
+            128,
+            128,
+            List.of(
+                new ViewportFrame.Patch(0, 0, 64, 64, image),
+                new ViewportFrame.Patch(64, 0, 64, 64, image)));
+    ViewportFrame second =
+        ViewportFrame.delta(
+            128, 128, List.of(new ViewportFrame.Patch(0, 0, 64, 64, new byte[] {2})));
+
+    ViewportFrame merged = keyframe.mergedWith(first).mergedWith(second);
+
+    assertTrue(merged.isKeyframe());
+    assertEquals(3, merged.getPatches().size());
+    assertEquals(2, merged.getPatches().get(2).image()[0]);
+    assertEquals(merged.byteSize(), merged.toBytes().length);
+  }
+
+  /** A game view sized mask with a small object whose position depends on {@code step}. */
+  private static Mat mask(int step) {
+    Mat mat = new Mat(500, 760, CV_8UC1, new Scalar(0));
+    int x = 200 + step * 3;
+    rectangle(mat, new Point(x, 200), new Point(x + 30, 240), new Scalar(255), -1, 8, 0);
+    return mat;
+  }
+}
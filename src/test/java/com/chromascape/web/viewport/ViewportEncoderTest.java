@@ -0,0 +1,82 @@
+package com.chromascape.web.viewport;
+
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC1;
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC4;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.IMREAD_UNCHANGED;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.imdecode;
+import static org.bytedeco.opencv.global.opencv_imgproc.rectangle;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.bytedeco.javacv.Java2DFrameUtils;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Point;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Encodes a game view sized mask as the viewport does, and compares it with the Base64 PNG the
+ * viewport used to send.
+ */
+class ViewportEncoderTest {
+
+  @Test
+  void masksAreScaledDownAndSmallerThanBase64Png() throws IOException {
+    ViewportEncoder encoder = new ViewportEncoder(75, 400, 400);
+    Mat mask = mask(1000, 500, CV_8UC1);
+
+    Mat frame = encoder.prepare(mask);
+    byte[] png = encoder.encode(frame);
+    frame.release();
+
+    ByteArrayOutputStream previous = new ByteArrayOutputStream();
+    ImageIO.write(Java2DFrameUtils.toBufferedImage(mask), "png", previous);
+    int base64Length = (previous.size() + 2) / 3 * 4;
+
+    assertEquals(0x89, png[0] & 0xFF);
+    assertEquals('P', png[1]);
+    assertTrue(png.length < base64Length, png.length + " >= " + base64Length);
+    try (Mat decoded = imdecode(new Mat(png), IMREAD_UNCHANGED)) {
+      assertEquals(400, decoded.cols());
+      assertEquals(200, decoded.rows());
+      assertEquals(1, decoded.channels());
+    }
+    mask.release();
+  }
+
+  @Test
+  void smallFramesWithAlphaKeepTheirSize() {
+    ViewportEncoder encoder = new ViewportEncoder(75, 400, 400);
+    Mat template = mask(32, 24, CV_8UC4);
+
+    Mat frame = encoder.prepare(template);
+    byte[] jpeg = encoder.encode(frame);
+    frame.release();
+
+    assertEquals(0xFF, jpeg[0] & 0xFF);
+    assertEquals(0xD8, jpeg[1] & 0xFF);
+    try (Mat decoded = imdecode(new Mat(jpeg), IMREAD_UNCHANGED)) {
+      assertEquals(32, decoded.cols());
+      assertEquals(24, decoded.rows());
+      assertEquals(3, decoded.channels());
+    }
+    template.release();
+  }
+
+  /** A black image with a white block in it, as a colour mask would look. */
+  private static Mat mask(int width, int height, int type) {
+    Mat mat = new Mat(height, width, type, new Scalar(0, 0, 0, 255));
+    rectangle(
+        mat,
+        new Point(width / 4, height / 4),
+        new Point(width / 2, height / 2),
+        new Scalar(255, 255, 255, 255),
+        -1,
+        8,
+        0);
+    return mat;
+  }
+}